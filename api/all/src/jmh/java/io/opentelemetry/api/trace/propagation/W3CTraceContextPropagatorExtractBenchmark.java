@@ -30,6 +30,8 @@ import org.openjdk.jmh.annotations.Warmup;
 public class W3CTraceContextPropagatorExtractBenchmark {
 
   private static final String TRACEPARENT = "traceparent";
+  private static final String TRACESTATE = "tracestate";
+  private static final String TRACESTATE_HEADER = "rojo=00f067aa0ba902b7,congo=t61rcWkgMzE";
   private static final int COUNT = 5;
   private static final List<String> traceparentsHeaders =
       Arrays.asList(
@@ -53,7 +55,9 @@ public class W3CTraceContextPropagatorExtractBenchmark {
         }
       };
   private static final List<Map<String, String>> carriers =
-      getCarrierForHeader(traceparentsHeaders);
+      getCarrierForHeader(traceparentsHeaders, null);
+  private static final List<Map<String, String>> carriersWithTraceState =
+      getCarrierForHeader(traceparentsHeaders, TRACESTATE_HEADER);
 
   /** Benchmark for measuring HttpTraceContext extract. */
   @Benchmark
@@ -72,11 +76,34 @@ public class W3CTraceContextPropagatorExtractBenchmark {
     return result;
   }
 
-  private static List<Map<String, String>> getCarrierForHeader(List<String> headers) {
+  /** Benchmark for measuring HttpTraceContext extract with a tracestate header. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(COUNT)
+  @Nullable
+  public Context measureExtractWithTraceState() {
+    Context result = null;
+    for (int i = 0; i < COUNT; i++) {
+      result =
+          w3cTraceContextPropagator.extract(Context.root(), carriersWithTraceState.get(i), getter);
+    }
+    return result;
+  }
+
+  private static List<Map<String, String>> getCarrierForHeader(
+      List<String> headers, @Nullable String traceStateHeader) {
     List<Map<String, String>> carriers = new ArrayList<>();
     for (String header : headers) {
       Map<String, String> carrier = new HashMap<>();
       carrier.put(TRACEPARENT, header);
+      if (traceStateHeader != null) {
+        // A new string for each carrier, as if each was read from a request
+        carrier.put(TRACESTATE, new String(traceStateHeader));
+      }
       carriers.add(carrier);
     }
     return carriers;
@@ -44,7 +44,11 @@ public class W3CTraceContextPropagatorInjectBenchmark {
       W3CTraceContextPropagator.getInstance();
   private final Map<String, String> carrier = new HashMap<>();
   private final TextMapSetter<Map<String, String>> setter = Map::put;
-  private final List<Context> contexts = createContexts(spanContexts);
+  private final List<Context> contexts = createContexts(spanContexts, TraceState.getDefault());
+  private final List<Context> contextsWithTraceState =
+      createContexts(
+          spanContexts,
+          TraceState.builder().put("congo", "t61rcWkgMzE").put("rojo", "00f067aa0ba902b7").build());
 
   /** Benchmark for measuring inject with default trace state and sampled trace options. */
   @Benchmark
@@ -61,14 +65,33 @@ public class W3CTraceContextPropagatorInjectBenchmark {
     return carrier;
   }
 
+  /** Benchmark for measuring inject with a trace state and sampled trace options. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(COUNT)
+  public Map<String, String> measureInjectWithTraceState() {
+    for (int i = 0; i < COUNT; i++) {
+      w3cTraceContextPropagator.inject(contextsWithTraceState.get(i), carrier, setter);
+    }
+    return carrier;
+  }
+
   private static SpanContext createTestSpanContext(String traceId, String spanId) {
     return SpanContext.create(traceId, spanId, TraceFlags.getSampled(), TraceState.getDefault());
   }
 
-  private static List<Context> createContexts(List<SpanContext> spanContexts) {
+  private static List<Context> createContexts(
+      List<SpanContext> spanContexts, TraceState traceState) {
     List<Context> contexts = new ArrayList<>();
     for (SpanContext context : spanContexts) {
-      contexts.add(Context.root().with(Span.wrap(context)));
+      SpanContext withTraceState =
+          SpanContext.create(
+              context.getTraceId(), context.getSpanId(), context.getTraceFlags(), traceState);
+      contexts.add(Context.root().with(Span.wrap(withTraceState)));
     }
     return contexts;
   }
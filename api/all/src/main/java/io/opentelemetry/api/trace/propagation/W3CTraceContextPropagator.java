@@ -6,7 +6,7 @@
 package io.opentelemetry.api.trace.propagation;
 
 import static io.opentelemetry.api.trace.propagation.internal.W3CTraceContextEncoding.decodeTraceState;
-import static io.opentelemetry.api.trace.propagation.internal.W3CTraceContextEncoding.encodeTraceState;
+import static io.opentelemetry.api.trace.propagation.internal.W3CTraceContextEncoding.encodeTraceStateCached;
 
 import io.opentelemetry.api.internal.OtelEncodingUtils;
 import io.opentelemetry.api.internal.TemporaryBuffers;
@@ -23,9 +23,7 @@ import io.opentelemetry.context.propagation.TextMapSetter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -59,22 +57,9 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
   private static final int TRACE_OPTION_OFFSET =
       SPAN_ID_OFFSET + SPAN_ID_HEX_SIZE + TRACEPARENT_DELIMITER_SIZE;
   private static final int TRACEPARENT_HEADER_SIZE = TRACE_OPTION_OFFSET + TRACE_OPTION_HEX_SIZE;
-  private static final Set<String> VALID_VERSIONS;
-  private static final String VERSION_00 = "00";
+  private static final char INVALID_VERSION_CHAR = 'f';
   private static final W3CTraceContextPropagator INSTANCE = new W3CTraceContextPropagator();
 
-  static {
-    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
-    VALID_VERSIONS = new HashSet<>();
-    for (int i = 0; i < 255; i++) {
-      String version = Long.toHexString(i);
-      if (version.length() < 2) {
-        version = '0' + version;
-      }
-      VALID_VERSIONS.add(version);
-    }
-  }
-
   private W3CTraceContextPropagator() {
     // singleton
   }
@@ -126,7 +111,7 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
       // No need to add an empty "tracestate" header.
       return;
     }
-    setter.set(carrier, TRACE_STATE, encodeTraceState(traceState));
+    setter.set(carrier, TRACE_STATE, encodeTraceStateCached(traceState));
   }
 
   @Override
@@ -148,36 +133,36 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
 
   private static <C> SpanContext extractImpl(@Nullable C carrier, TextMapGetter<C> getter) {
     String traceParent = getter.get(carrier, TRACE_PARENT);
-    if (traceParent == null) {
+    if (traceParent == null || !isValidTraceParent(traceParent)) {
       return SpanContext.getInvalid();
     }
 
-    SpanContext contextFromParentHeader = extractContextFromTraceParent(traceParent);
-    if (!contextFromParentHeader.isValid()) {
-      return contextFromParentHeader;
-    }
-
+    // The trace state is decoded before creating the span context, so that only one is created
+    TraceState traceState = TraceState.getDefault();
     String traceStateHeader = getter.get(carrier, TRACE_STATE);
-    if (traceStateHeader == null || traceStateHeader.isEmpty()) {
-      return contextFromParentHeader;
+    if (traceStateHeader != null && !traceStateHeader.isEmpty()) {
+      try {
+        traceState = decodeTraceState(traceStateHeader);
+      } catch (IllegalArgumentException e) {
+        logger.fine("Unparseable tracestate header. Returning span context without state.");
+      }
     }
 
-    try {
-      TraceState traceState = decodeTraceState(traceStateHeader);
-      return SpanContext.createFromRemoteParent(
-          contextFromParentHeader.getTraceId(),
-          contextFromParentHeader.getSpanId(),
-          contextFromParentHeader.getTraceFlags(),
-          traceState);
-    } catch (IllegalArgumentException e) {
-      logger.fine("Unparseable tracestate header. Returning span context without state.");
-      return contextFromParentHeader;
-    }
+    String traceId = traceParent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_HEX_SIZE);
+    String spanId = traceParent.substring(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SPAN_ID_HEX_SIZE);
+    TraceFlags traceFlags =
+        TraceFlags.fromByte(
+            OtelEncodingUtils.byteFromBase16(
+                traceParent.charAt(TRACE_OPTION_OFFSET),
+                traceParent.charAt(TRACE_OPTION_OFFSET + 1)));
+    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, traceState);
   }
 
-  private static SpanContext extractContextFromTraceParent(String traceparent) {
-    // TODO(bdrutu): Do we need to verify that version is hex and that
-    // for the version the length is the expected one?
+  /**
+   * Returns whether the {@code traceparent} header is valid, checking the fields in place so that
+   * no substrings are allocated for invalid headers.
+   */
+  private static boolean isValidTraceParent(CharSequence traceparent) {
     boolean isValid =
         (traceparent.length() == TRACEPARENT_HEADER_SIZE
                 || (traceparent.length() > TRACEPARENT_HEADER_SIZE
@@ -187,31 +172,41 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
             && traceparent.charAt(TRACE_OPTION_OFFSET - 1) == TRACEPARENT_DELIMITER;
     if (!isValid) {
       logger.fine("Unparseable traceparent header. Returning INVALID span context.");
-      return SpanContext.getInvalid();
+      return false;
     }
 
-    String version = traceparent.substring(0, 2);
-    if (!VALID_VERSIONS.contains(version)) {
-      return SpanContext.getInvalid();
+    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
+    char firstVersionChar = traceparent.charAt(0);
+    char secondVersionChar = traceparent.charAt(1);
+    if (!OtelEncodingUtils.isValidBase16Character(firstVersionChar)
+        || !OtelEncodingUtils.isValidBase16Character(secondVersionChar)
+        || (firstVersionChar == INVALID_VERSION_CHAR
+            && secondVersionChar == INVALID_VERSION_CHAR)) {
+      return false;
     }
-    if (version.equals(VERSION_00) && traceparent.length() > TRACEPARENT_HEADER_SIZE) {
-      return SpanContext.getInvalid();
+    if (firstVersionChar == VERSION.charAt(0)
+        && secondVersionChar == VERSION.charAt(1)
+        && traceparent.length() > TRACEPARENT_HEADER_SIZE) {
+      return false;
     }
 
-    String traceId = traceparent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TraceId.getLength());
-    String spanId = traceparent.substring(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SpanId.getLength());
-    char firstTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET);
-    char secondTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET + 1);
+    return isValidId(traceparent, TRACE_ID_OFFSET, TRACE_ID_HEX_SIZE)
+        && isValidId(traceparent, SPAN_ID_OFFSET, SPAN_ID_HEX_SIZE)
+        && OtelEncodingUtils.isValidBase16Character(traceparent.charAt(TRACE_OPTION_OFFSET))
+        && OtelEncodingUtils.isValidBase16Character(traceparent.charAt(TRACE_OPTION_OFFSET + 1));
+  }
 
-    if (!OtelEncodingUtils.isValidBase16Character(firstTraceFlagsChar)
-        || !OtelEncodingUtils.isValidBase16Character(secondTraceFlagsChar)) {
-      return SpanContext.getInvalid();
+  /** Returns whether the chars are lowercase hex and not all zero, as for a valid ID. */
+  private static boolean isValidId(CharSequence chars, int offset, int length) {
+    boolean allZero = true;
+    for (int i = offset; i < offset + length; i++) {
+      char c = chars.charAt(i);
+      if (!OtelEncodingUtils.isValidBase16Character(c)) {
+        return false;
+      }
+      allZero &= c == '0';
     }
-
-    TraceFlags traceFlags =
-        TraceFlags.fromByte(
-            OtelEncodingUtils.byteFromBase16(firstTraceFlagsChar, secondTraceFlagsChar));
-    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, TraceState.getDefault());
+    return !allZero;
   }
 
   @Override
@@ -9,7 +9,6 @@ import static io.opentelemetry.api.internal.Utils.checkArgument;
 
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.api.trace.TraceStateBuilder;
-import java.util.regex.Pattern;
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -29,30 +28,94 @@ public final class W3CTraceContextEncoding {
   private static final int TRACESTATE_MAX_MEMBERS = 32;
   private static final char TRACESTATE_KEY_VALUE_DELIMITER = '=';
   private static final char TRACESTATE_ENTRY_DELIMITER = ',';
-  private static final Pattern TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN =
-      Pattern.compile("[ \t]*" + TRACESTATE_ENTRY_DELIMITER + "[ \t]*");
+
+  // Small direct mapped caches of recently decoded headers and encoded trace states for
+  // propagation, since most requests carry one of a few trace states. Entries are immutable, so
+  // racing updates of a slot at most lose an entry.
+  private static final int CACHE_SIZE = 32;
+  private static final DecodedTraceState[] decodedTraceStates = new DecodedTraceState[CACHE_SIZE];
+  private static final EncodedTraceState[] encodedTraceStates = new EncodedTraceState[CACHE_SIZE];
 
   /**
    * Decodes a trace state header into a {@link TraceState} object.
    *
    * @throws IllegalArgumentException if {@code traceStateHeader} does not comply with the
    *     specification
+   * @see #decodeTraceState(CharSequence)
    */
   public static TraceState decodeTraceState(String traceStateHeader) {
+    return decodeTraceState((CharSequence) traceStateHeader);
+  }
+
+  /**
+   * Decodes a trace state header into a {@link TraceState} object. Recently decoded headers are
+   * cached, so decoding a header with the same text again returns the same {@link TraceState}
+   * without allocating.
+   *
+   * @throws IllegalArgumentException if {@code traceStateHeader} does not comply with the
+   *     specification
+   */
+  public static TraceState decodeTraceState(CharSequence traceStateHeader) {
+    int hash = hash(traceStateHeader);
+    int index = hash & (CACHE_SIZE - 1);
+    DecodedTraceState cached = decodedTraceStates[index];
+    if (cached != null && cached.hash == hash && cached.header.contentEquals(traceStateHeader)) {
+      return cached.traceState;
+    }
+    TraceState traceState = parseTraceState(traceStateHeader);
+    decodedTraceStates[index] =
+        new DecodedTraceState(traceStateHeader.toString(), hash, traceState);
+    return traceState;
+  }
+
+  /**
+   * Parses the list-members of the header, which are separated by a delimiter and optional spaces
+   * or tabs around it. Empty list-members at the end are ignored.
+   */
+  private static TraceState parseTraceState(CharSequence header) {
+    int length = header.length();
+    int listMembers = 1;
+    for (int i = 0; i < length; i++) {
+      if (header.charAt(i) == TRACESTATE_ENTRY_DELIMITER) {
+        listMembers++;
+      }
+    }
+    boolean trailing = listMembers > 1;
     TraceStateBuilder traceStateBuilder = TraceState.builder();
-    String[] listMembers = TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN.split(traceStateHeader);
-    checkArgument(
-        listMembers.length <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
     // Iterate in reverse order because when call builder set the elements is added in the
     // front of the list.
-    for (int i = listMembers.length - 1; i >= 0; i--) {
-      String listMember = listMembers[i];
-      int index = listMember.indexOf(TRACESTATE_KEY_VALUE_DELIMITER);
+    int end = length;
+    for (int i = listMembers - 1; i >= 0; i--) {
+      int delimiter = i == 0 ? -1 : lastIndexOf(header, TRACESTATE_ENTRY_DELIMITER, end - 1);
+      int memberStart = delimiter + 1;
+      if (delimiter != -1) {
+        while (memberStart < end && isWhitespace(header.charAt(memberStart))) {
+          memberStart++;
+        }
+      }
+      int memberEnd = end;
+      if (end != length) {
+        while (memberEnd > memberStart && isWhitespace(header.charAt(memberEnd - 1))) {
+          memberEnd--;
+        }
+      }
+      end = delimiter;
+      if (trailing) {
+        if (memberStart == memberEnd) {
+          listMembers--;
+          continue;
+        }
+        trailing = false;
+        checkArgument(listMembers <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
+      }
+      int index = indexOf(header, TRACESTATE_KEY_VALUE_DELIMITER, memberStart, memberEnd);
       checkArgument(index != -1, "Invalid TraceState list-member format.");
-      traceStateBuilder.put(listMember.substring(0, index), listMember.substring(index + 1));
+      traceStateBuilder.put(
+          header.subSequence(memberStart, index).toString(),
+          header.subSequence(index + 1, memberEnd).toString());
     }
     TraceState traceState = traceStateBuilder.build();
-    if (traceState.size() != listMembers.length) {
+    if (traceState.size() != listMembers) {
       // Validation failure, drop the tracestate
       return TraceState.getDefault();
     }
@@ -64,6 +127,31 @@ public final class W3CTraceContextEncoding {
     if (traceState.isEmpty()) {
       return "";
     }
+    return buildTraceState(traceState);
+  }
+
+  /**
+   * Return the trace state encoded as a string according to the W3C specification, caching the
+   * encoding of recently encoded trace states. Meant for propagators, which typically encode the
+   * same few trace states over and over; callers encoding many distinct trace states, such as
+   * exporters, should use {@link #encodeTraceState(TraceState)} instead, so that they don't evict
+   * the cached encodings.
+   */
+  public static String encodeTraceStateCached(TraceState traceState) {
+    if (traceState.isEmpty()) {
+      return "";
+    }
+    int index = System.identityHashCode(traceState) & (CACHE_SIZE - 1);
+    EncodedTraceState cached = encodedTraceStates[index];
+    if (cached != null && cached.traceState == traceState) {
+      return cached.header;
+    }
+    String header = buildTraceState(traceState);
+    encodedTraceStates[index] = new EncodedTraceState(traceState, header);
+    return header;
+  }
+
+  private static String buildTraceState(TraceState traceState) {
     StringBuilder builder = new StringBuilder(TRACESTATE_MAX_SIZE);
     traceState.forEach(
         (key, value) -> {
@@ -74,4 +162,59 @@ public final class W3CTraceContextEncoding {
         });
     return builder.toString();
   }
+
+  private static int hash(CharSequence chars) {
+    if (chars instanceof String) {
+      return chars.hashCode();
+    }
+    int hash = 0;
+    for (int i = 0; i < chars.length(); i++) {
+      hash = 31 * hash + chars.charAt(i);
+    }
+    return hash;
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  private static int indexOf(CharSequence chars, char c, int fromIndex, int toIndex) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      if (chars.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int lastIndexOf(CharSequence chars, char c, int fromIndex) {
+    for (int i = fromIndex; i >= 0; i--) {
+      if (chars.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class DecodedTraceState {
+    private final String header;
+    private final int hash;
+    private final TraceState traceState;
+
+    private DecodedTraceState(String header, int hash, TraceState traceState) {
+      this.header = header;
+      this.hash = hash;
+      this.traceState = traceState;
+    }
+  }
+
+  private static final class EncodedTraceState {
+    private final TraceState traceState;
+    private final String header;
+
+    private EncodedTraceState(TraceState traceState, String header) {
+      this.traceState = traceState;
+      this.header = header;
+    }
+  }
 }
@@ -294,6 +294,41 @@ class W3CTraceContextPropagatorTest {
                 TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
   }
 
+  @Test
+  void extract_NotSampledContext_TraceStateTrailingDelimiter() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_NOT_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, TRACESTATE_NOT_DEFAULT_ENCODING + ", ,");
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
+  }
+
+  @Test
+  void extract_TraceStateReused() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "foo=bar,reused=true");
+    TraceState traceState =
+        getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+            .getTraceState();
+
+    // A header with the same text is decoded to the same trace state
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, new String("foo=bar,reused=true"));
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+                .getTraceState())
+        .isSameAs(traceState);
+
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "foo=baz,reused=true");
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter))
+                .getTraceState())
+        .isEqualTo(TraceState.builder().put("reused", "true").put("foo", "baz").build());
+  }
+
   @Test
   void extract_EmptyHeader() {
     Map<String, String> invalidHeaders = new LinkedHashMap<>();
@@ -0,0 +1,185 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.incubator.logs;
+
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The default {@link StructuredBodyWriter}, which builds an {@link AnyValue} tree and sets it with
+ * {@link ExtendedLogRecordBuilder#setBody(AnyValue)}.
+ */
+final class AnyValueStructuredBodyWriter implements StructuredBodyWriter {
+
+  private final ExtendedLogRecordBuilder logRecordBuilder;
+  private final Deque<Container> containers = new ArrayDeque<>();
+  // The number of ignored containers which are open, whose content is ignored too
+  private int ignoredDepth;
+  private boolean ended;
+
+  AnyValueStructuredBodyWriter(ExtendedLogRecordBuilder logRecordBuilder) {
+    this.logRecordBuilder = logRecordBuilder;
+    containers.push(new Container("", /* isArray= */ false));
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, String value) {
+    return value == null ? this : put(key, AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, boolean value) {
+    return put(key, AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, long value) {
+    return put(key, AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, double value) {
+    return put(key, AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, byte[] value) {
+    return value == null ? this : put(key, AnyValue.of(value));
+  }
+
+  private StructuredBodyWriter put(@Nullable String key, AnyValue<?> value) {
+    Container container = containers.peek();
+    if (isOpen() && key != null && !container.isArray) {
+      container.fields.add(KeyAnyValue.of(key, value));
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter startKeyValueList(String key) {
+    return start(key, /* isArray= */ false);
+  }
+
+  @Override
+  public StructuredBodyWriter startArray(String key) {
+    return start(key, /* isArray= */ true);
+  }
+
+  private StructuredBodyWriter start(@Nullable String key, boolean isArray) {
+    if (isOpen() && key != null && !containers.peek().isArray) {
+      containers.push(new Container(key, isArray));
+    } else if (!ended) {
+      ignoredDepth++;
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter add(String value) {
+    return value == null ? this : add(AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter add(boolean value) {
+    return add(AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter add(long value) {
+    return add(AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter add(double value) {
+    return add(AnyValue.of(value));
+  }
+
+  @Override
+  public StructuredBodyWriter add(byte[] value) {
+    return value == null ? this : add(AnyValue.of(value));
+  }
+
+  private StructuredBodyWriter add(AnyValue<?> value) {
+    Container container = containers.peek();
+    if (isOpen() && container.isArray) {
+      container.elements.add(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter startKeyValueList() {
+    return start(/* isArray= */ false);
+  }
+
+  @Override
+  public StructuredBodyWriter startArray() {
+    return start(/* isArray= */ true);
+  }
+
+  private StructuredBodyWriter start(boolean isArray) {
+    if (isOpen() && containers.peek().isArray) {
+      containers.push(new Container("", isArray));
+    } else if (!ended) {
+      ignoredDepth++;
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter end() {
+    if (ignoredDepth > 0) {
+      ignoredDepth--;
+    } else if (!ended && containers.size() > 1) {
+      Container container = containers.pop();
+      Container parent = containers.peek();
+      if (parent.isArray) {
+        parent.elements.add(container.toAnyValue());
+      } else {
+        parent.fields.add(KeyAnyValue.of(container.key, container.toAnyValue()));
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public LogRecordBuilder endBody() {
+    if (ended) {
+      return logRecordBuilder;
+    }
+    ignoredDepth = 0;
+    while (containers.size() > 1) {
+      end();
+    }
+    ended = true;
+    return logRecordBuilder.setBody(containers.pop().toAnyValue());
+  }
+
+  private boolean isOpen() {
+    return !ended && ignoredDepth == 0;
+  }
+
+  private static final class Container {
+    // The key of the field in the parent key value list, empty for array elements and the body
+    private final String key;
+    private final boolean isArray;
+    private final List<KeyAnyValue> fields = new ArrayList<>();
+    private final List<AnyValue<?>> elements = new ArrayList<>();
+
+    private Container(String key, boolean isArray) {
+      this.key = key;
+      this.isArray = isArray;
+    }
+
+    private AnyValue<?> toAnyValue() {
+      return isArray ? AnyValue.of(elements) : AnyValue.of(fields.toArray(new KeyAnyValue[0]));
+    }
+  }
+}
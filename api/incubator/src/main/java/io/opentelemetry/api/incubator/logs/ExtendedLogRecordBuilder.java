@@ -12,4 +12,18 @@ public interface ExtendedLogRecordBuilder extends LogRecordBuilder {
 
   /** Set the body {@link AnyValue}. */
   LogRecordBuilder setBody(AnyValue<?> body);
+
+  /**
+   * Returns a {@link StructuredBodyWriter} which writes a key value list body field by field, and
+   * sets it on this builder with {@link StructuredBodyWriter#endBody()}.
+   *
+   * <p>By default, the fields are collected into an {@link AnyValue} which is set with {@link
+   * #setBody(AnyValue)}. Implementations may instead encode the fields as they are written,
+   * avoiding the {@link AnyValue} tree.
+   *
+   * @since 1.41.0
+   */
+  default StructuredBodyWriter setStructuredBody() {
+    return new AnyValueStructuredBodyWriter(this);
+  }
 }
@@ -6,6 +6,7 @@
 package io.opentelemetry.api.incubator.logs;
 
 import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
 
 /** Extended {@link Logger} with experimental APIs. */
 public interface ExtendedLogger extends Logger {
@@ -20,4 +21,17 @@ public interface ExtendedLogger extends Logger {
   default boolean isEnabled() {
     return true;
   }
+
+  /**
+   * Returns {@code true} if the logger is enabled for log records with the {@code severity}.
+   *
+   * <p>Like {@link #isEnabled()}, but also allows the logger to drop log records below a minimum
+   * severity, so callers can skip building log records which would be dropped. Callers should call
+   * this before each call to {@link #logRecordBuilder()}.
+   *
+   * @since 1.41.0
+   */
+  default boolean isEnabled(Severity severity) {
+    return isEnabled();
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.incubator.logs;
+
+import io.opentelemetry.api.logs.LogRecordBuilder;
+
+/**
+ * Writes a structured log record body field by field, as an alternative to building an {@link
+ * AnyValue} tree for {@link ExtendedLogRecordBuilder#setBody(AnyValue)}. The body is a key value
+ * list. Nested key value lists and arrays are started with {@code start...} methods and ended with
+ * {@link #end()}.
+ *
+ * <p>{@code put} methods and the keyed {@code start...} methods add fields to the innermost open
+ * key value list. {@code add} methods and the unkeyed {@code start...} methods add elements to the
+ * innermost open array. Calls which don't match the innermost open container, and fields or
+ * elements with a {@code null} key or value, are ignored.
+ *
+ * <pre>{@code
+ * ((ExtendedLogRecordBuilder) logger.logRecordBuilder())
+ *     .setStructuredBody()
+ *     .put("event", "order.placed")
+ *     .put("amount", 42.5)
+ *     .startArray("items")
+ *     .add("sku-1")
+ *     .add("sku-2")
+ *     .end()
+ *     .endBody()
+ *     .emit();
+ * }</pre>
+ *
+ * <p>Implementations are not thread safe.
+ */
+public interface StructuredBodyWriter {
+
+  /** Adds a string field to the innermost open key value list. */
+  StructuredBodyWriter put(String key, String value);
+
+  /** Adds a boolean field to the innermost open key value list. */
+  StructuredBodyWriter put(String key, boolean value);
+
+  /** Adds a long field to the innermost open key value list. */
+  StructuredBodyWriter put(String key, long value);
+
+  /** Adds a double field to the innermost open key value list. */
+  StructuredBodyWriter put(String key, double value);
+
+  /** Adds a bytes field to the innermost open key value list. */
+  StructuredBodyWriter put(String key, byte[] value);
+
+  /** Starts a key value list field in the innermost open key value list. */
+  StructuredBodyWriter startKeyValueList(String key);
+
+  /** Starts an array field in the innermost open key value list. */
+  StructuredBodyWriter startArray(String key);
+
+  /** Adds a string element to the innermost open array. */
+  StructuredBodyWriter add(String value);
+
+  /** Adds a boolean element to the innermost open array. */
+  StructuredBodyWriter add(boolean value);
+
+  /** Adds a long element to the innermost open array. */
+  StructuredBodyWriter add(long value);
+
+  /** Adds a double element to the innermost open array. */
+  StructuredBodyWriter add(double value);
+
+  /** Adds a bytes element to the innermost open array. */
+  StructuredBodyWriter add(byte[] value);
+
+  /** Starts a key value list element in the innermost open array. */
+  StructuredBodyWriter startKeyValueList();
+
+  /** Starts an array element in the innermost open array. */
+  StructuredBodyWriter startArray();
+
+  /** Ends the innermost open key value list or array. Ignored if only the body is open. */
+  StructuredBodyWriter end();
+
+  /**
+   * Ends any open key value lists and arrays, sets the body on the log record builder and returns
+   * it. Further calls to this writer are ignored.
+   */
+  LogRecordBuilder endBody();
+}
@@ -28,12 +28,13 @@ import org.openjdk.jmh.infra.Blackhole;
 @State(Scope.Benchmark)
 public class ContextBenchmark {
 
-  @Param({"2", "3", "4", "5", "10", "20", "40"})
+  @Param({"2", "3", "4", "5", "10", "20", "25", "40"})
   private int size;
 
   private int middle;
 
   private List<ContextKey<String>> keys;
+  private final ContextKey<String> missingKey = ContextKey.named("missing");
   private Context context = Context.root();
 
   @Setup
@@ -69,6 +70,11 @@ public class ContextBenchmark {
     }
   }
 
+  @Benchmark
+  public String readMissing() {
+    return context.get(missingKey);
+  }
+
   @Benchmark
   public Context writeOne() {
     return Context.root().with(keys.get(0), "value");
@@ -82,4 +88,16 @@ public class ContextBenchmark {
     }
     return context;
   }
+
+  /** Adds a key to a context with {@code size} keys, such as a span to a deep context. */
+  @Benchmark
+  public Context writeOneToDeep() {
+    return context.with(missingKey, "value");
+  }
+
+  /** Replaces the value of the first key of a context with {@code size} keys. */
+  @Benchmark
+  public Context replaceFirst() {
+    return context.with(keys.get(0), "other");
+  }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of attaching and closing contexts with the default {@link ContextStorage}, on a
+ * platform thread or on virtual threads. Each invocation runs a batch of operations in a task, to
+ * amortize the cost of submitting it. Virtual threads require Java 21+.
+ */
+@Threads(value = 1)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ContextStorageBenchmark {
+
+  private static final int OPERATIONS = 1000;
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  @Param({"platform", "virtual"})
+  private String threads;
+
+  private ExecutorService executor;
+  private Context context;
+
+  @Setup
+  public void setup() {
+    executor =
+        threads.equals("virtual")
+            ? newVirtualThreadPerTaskExecutor()
+            : Executors.newSingleThreadExecutor();
+    context = Context.root().with(KEY, "value");
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  /** Attaches a context which is not current, which allocates a scope. */
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public void attachNewContext() throws Exception {
+    run(
+        () -> {
+          for (int i = 0; i < OPERATIONS; i++) {
+            try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+              // Attach and close only
+            }
+          }
+        });
+  }
+
+  /** Attaches the context which is already current, which returns the no-op scope. */
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public void attachCurrentContext() throws Exception {
+    run(
+        () -> {
+          try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+            for (int i = 0; i < OPERATIONS; i++) {
+              try (io.opentelemetry.context.Scope ignored2 = context.makeCurrent()) {
+                // Attach and close only
+              }
+            }
+          }
+        });
+  }
+
+  /** Reads the current context, with a context attached. */
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public void current() throws Exception {
+    run(
+        () -> {
+          try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+            for (int i = 0; i < OPERATIONS; i++) {
+              if (Context.current() != context) {
+                throw new AssertionError();
+              }
+            }
+          }
+        });
+  }
+
+  private void run(Runnable task) throws Exception {
+    executor.submit(task).get();
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Virtual threads require Java 21+", e);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of propagating the current context to tasks run by the common {@link ForkJoinPool},
+ * compared with running them without a context.
+ */
+@Threads(value = 1)
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ContextWrappingBenchmark {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  private Context context;
+  private Executor wrappedPool;
+
+  @Setup
+  public void setup() {
+    context = Context.root().with(KEY, "value");
+    wrappedPool = Context.taskWrapping(ForkJoinPool.commonPool());
+  }
+
+  @Benchmark
+  public String completableFuture() {
+    try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+      return CompletableFuture.supplyAsync(ContextWrappingBenchmark::currentValue)
+          .thenApplyAsync(ContextWrappingBenchmark::append)
+          .join();
+    }
+  }
+
+  @Benchmark
+  public String completableFuture_taskWrapping() {
+    try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+      return CompletableFuture.supplyAsync(ContextWrappingBenchmark::currentValue, wrappedPool)
+          .thenApplyAsync(ContextWrappingBenchmark::append, wrappedPool)
+          .join();
+    }
+  }
+
+  @Benchmark
+  public String completableFuture_wrapCallbacks() {
+    try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+      return CompletableFuture.supplyAsync(
+              context.wrapSupplier(ContextWrappingBenchmark::currentValue))
+          .thenApplyAsync(context.wrapFunction(ContextWrappingBenchmark::append))
+          .join();
+    }
+  }
+
+  @Benchmark
+  public String forkJoinTask() {
+    return ForkJoinPool.commonPool()
+        .invoke(ForkJoinTask.adapt(ContextWrappingBenchmark::currentValue));
+  }
+
+  @Benchmark
+  public String forkJoinTask_wrap() {
+    return ForkJoinPool.commonPool()
+        .invoke(context.wrap(ForkJoinTask.adapt(ContextWrappingBenchmark::currentValue)));
+  }
+
+  private static String currentValue() {
+    String value = Context.current().get(KEY);
+    return value == null ? "" : value;
+  }
+
+  private static String append(String value) {
+    return value + currentValue();
+  }
+}
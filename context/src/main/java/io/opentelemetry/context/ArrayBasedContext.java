@@ -29,6 +29,10 @@ final class ArrayBasedContext implements Context {
 
   private static final Context ROOT = new ArrayBasedContext(new Object[0]);
 
+  // The number of keys above which a HashTrieContext is used instead, as scanning the keys takes
+  // longer than hashing.
+  static final int MAX_ARRAY_KEYS = 8;
+
   // Used by auto-instrumentation agent. Check with auto-instrumentation before making changes to
   // this method.
   //
@@ -76,6 +80,9 @@ final class ArrayBasedContext implements Context {
         return new ArrayBasedContext(newEntries);
       }
     }
+    if (entries.length == MAX_ARRAY_KEYS * 2) {
+      return HashTrieContext.create(entries, key, value);
+    }
     Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
     newEntries[newEntries.length - 2] = key;
     newEntries[newEntries.length - 1] = value;
@@ -26,6 +26,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -114,6 +115,13 @@ public interface Context {
    * dbExecutor = Context.wrapTasks(threadPool)} to ensure calls like {@code dbExecutor.execute(()
    * -> database.query())} have {@link Context} available on the thread executing database queries.
    *
+   * <p>The returned {@link Executor} can also be passed to the async methods of {@link
+   * java.util.concurrent.CompletableFuture}, for example {@code
+   * CompletableFuture.supplyAsync(supplier, Context.taskWrapping(ForkJoinPool.commonPool()))}. The
+   * context is captured once for each task rather than by wrapping each callback, and dependent
+   * async stages which use the same {@link Executor} are submitted with the context of the stage
+   * which completed them.
+   *
    * @since 1.1.0
    */
   static Executor taskWrapping(Executor executor) {
@@ -226,6 +234,19 @@ public interface Context {
     };
   }
 
+  /**
+   * Returns a {@link ForkJoinTask} that makes this the {@linkplain Context#current() current
+   * context} and then invokes the input {@link ForkJoinTask}, for example for {@code
+   * ForkJoinPool.commonPool().invoke(Context.current().wrap(task))}. Subtasks forked by the input
+   * task have this context when they are run by the same thread, but not when they are stolen by
+   * another thread of the pool, unless they are wrapped too.
+   *
+   * @since 1.41.0
+   */
+  default <T> ForkJoinTask<T> wrap(ForkJoinTask<T> task) {
+    return new ContextForkJoinTask<>(this, task);
+  }
+
   /**
    * Returns an {@link Executor} that will execute callbacks in the given {@code executor}, making
    * this the {@linkplain Context#current() current context} before each execution.
@@ -0,0 +1,47 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.util.concurrent.ForkJoinTask;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ForkJoinTask} which makes a {@link Context} current and then invokes a delegate task,
+ * completing with its result or exception.
+ *
+ * <p>Unlike other {@link ForkJoinTask}s, this task isn't serializable, since the context isn't.
+ */
+@SuppressWarnings("serial")
+final class ContextForkJoinTask<T> extends ForkJoinTask<T> {
+
+  private final Context context;
+  private final ForkJoinTask<T> delegate;
+  @Nullable private T result;
+
+  ContextForkJoinTask(Context context, ForkJoinTask<T> delegate) {
+    this.context = context;
+    this.delegate = delegate;
+  }
+
+  @Override
+  @Nullable
+  public T getRawResult() {
+    return result;
+  }
+
+  @Override
+  protected void setRawResult(@Nullable T value) {
+    result = value;
+  }
+
+  @Override
+  protected boolean exec() {
+    try (Scope ignored = context.makeCurrent()) {
+      result = delegate.invoke();
+    }
+    return true;
+  }
+}
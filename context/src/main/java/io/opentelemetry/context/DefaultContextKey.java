@@ -5,9 +5,16 @@
 
 package io.opentelemetry.context;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class DefaultContextKey<T> implements ContextKey<T> {
 
+  // Hashes are spread by the golden ratio, so they are distinct for the first 2^32 keys and their
+  // low bits, which select the first levels of a HashTrieContext, differ for consecutive keys.
+  private static final AtomicInteger nextHash = new AtomicInteger();
+
   private final String name;
+  final int hash = nextHash.getAndAdd(0x9E3779B9);
 
   DefaultContextKey(String name) {
     this.name = name;
@@ -0,0 +1,254 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Context} with many entries, stored in a persistent hash array mapped trie. Keys are
+ * compared by reference and hashed with {@link #hash(ContextKey)}. {@link #get(ContextKey)} visits
+ * at most one node per 5 bits of the hash, and {@link #with(ContextKey, Object)} only copies the
+ * nodes on the path to the key, sharing the rest of the trie with this context.
+ *
+ * <p>{@link ArrayBasedContext} switches to this implementation once it has more than {@link
+ * ArrayBasedContext#MAX_ARRAY_KEYS} keys, since scanning a small array is faster than hashing.
+ */
+final class HashTrieContext implements Context {
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+  private final Node root;
+
+  private HashTrieContext(Node root) {
+    this.root = root;
+  }
+
+  /** Returns a context with the {@code entries} of an {@link ArrayBasedContext} and a new key. */
+  static <V> Context create(Object[] entries, ContextKey<V> key, @Nullable V value) {
+    Node root = BitmapNode.EMPTY;
+    for (int i = 0; i < entries.length; i += 2) {
+      ContextKey<?> entryKey = (ContextKey<?>) entries[i];
+      root = root.with(entryKey, entries[i + 1], hash(entryKey), 0);
+    }
+    return new HashTrieContext(root.with(key, value, hash(key), 0));
+  }
+
+  /**
+   * Returns the hash of the {@code key}. Keys created with {@link ContextKey#named(String)} have
+   * distinct hashes which are assigned when they are created.
+   */
+  static int hash(ContextKey<?> key) {
+    return key instanceof DefaultContextKey
+        ? ((DefaultContextKey<?>) key).hash
+        : System.identityHashCode(key);
+  }
+
+  @Override
+  @Nullable
+  public <V> V get(ContextKey<V> key) {
+    @SuppressWarnings("unchecked")
+    V result = (V) root.get(key, hash(key), 0);
+    return result;
+  }
+
+  @Override
+  public <V> Context with(ContextKey<V> key, V value) {
+    Node newRoot = root.with(key, value, hash(key), 0);
+    return newRoot == root ? this : new HashTrieContext(newRoot);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    root.appendEntries(sb);
+    // get rid of that last pesky comma
+    if (sb.length() > 1) {
+      sb.setLength(sb.length() - 2);
+    }
+    sb.append('}');
+    return sb.toString();
+  }
+
+  private abstract static class Node {
+
+    @Nullable
+    abstract Object get(ContextKey<?> key, int hash, int shift);
+
+    /** Returns a node with the entry, or this node if it already has the entry. */
+    abstract Node with(ContextKey<?> key, @Nullable Object value, int hash, int shift);
+
+    abstract void appendEntries(StringBuilder sb);
+  }
+
+  /**
+   * A node with an entry or a child node for each bit set in its bitmap, selected by 5 bits of the
+   * hash. The array holds a key and its value for an entry, or null and the child node.
+   */
+  private static final class BitmapNode extends Node {
+
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] array;
+
+    private BitmapNode(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    @Nullable
+    Object get(ContextKey<?> key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int index = index(bit);
+      Object entryKey = array[index];
+      if (entryKey == null) {
+        return ((Node) array[index + 1]).get(key, hash, shift + BITS_PER_LEVEL);
+      }
+      return entryKey == key ? array[index + 1] : null;
+    }
+
+    @Override
+    Node with(ContextKey<?> key, @Nullable Object value, int hash, int shift) {
+      int bit = bit(hash, shift);
+      int index = index(bit);
+      if ((bitmap & bit) == 0) {
+        Object[] newArray = new Object[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, index);
+        newArray[index] = key;
+        newArray[index + 1] = value;
+        System.arraycopy(array, index, newArray, index + 2, array.length - index);
+        return new BitmapNode(bitmap | bit, newArray);
+      }
+
+      Object entryKey = array[index];
+      Object entryValue = array[index + 1];
+      if (entryKey == null) {
+        Node child = (Node) entryValue;
+        Node newChild = child.with(key, value, hash, shift + BITS_PER_LEVEL);
+        return newChild == child ? this : replace(index, null, newChild);
+      }
+      if (entryKey == key) {
+        return entryValue == value ? this : replace(index, key, value);
+      }
+      ContextKey<?> existingKey = (ContextKey<?>) entryKey;
+      Node child =
+          createNode(
+              shift + BITS_PER_LEVEL, existingKey, entryValue, hash(existingKey), key, value, hash);
+      return replace(index, null, child);
+    }
+
+    private BitmapNode replace(int index, @Nullable Object key, @Nullable Object value) {
+      Object[] newArray = array.clone();
+      newArray[index] = key;
+      newArray[index + 1] = value;
+      return new BitmapNode(bitmap, newArray);
+    }
+
+    private int index(int bit) {
+      return 2 * Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    void appendEntries(StringBuilder sb) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).appendEntries(sb);
+        } else {
+          sb.append(array[i]).append('=').append(array[i + 1]).append(", ");
+        }
+      }
+    }
+  }
+
+  /** A node with the entries of keys which have the same hash. */
+  private static final class CollisionNode extends Node {
+
+    private final int hash;
+    private final Object[] entries;
+
+    private CollisionNode(int hash, Object[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    @Override
+    @Nullable
+    Object get(ContextKey<?> key, int hash, int shift) {
+      for (int i = 0; i < entries.length; i += 2) {
+        if (entries[i] == key) {
+          return entries[i + 1];
+        }
+      }
+      return null;
+    }
+
+    @Override
+    Node with(ContextKey<?> key, @Nullable Object value, int hash, int shift) {
+      if (hash != this.hash) {
+        // Nest this node in a bitmap node, in which the keys differ
+        BitmapNode parent = new BitmapNode(bit(this.hash, shift), new Object[] {null, this});
+        return parent.with(key, value, hash, shift);
+      }
+      for (int i = 0; i < entries.length; i += 2) {
+        if (entries[i] == key) {
+          if (entries[i + 1] == value) {
+            return this;
+          }
+          Object[] newEntries = entries.clone();
+          newEntries[i + 1] = value;
+          return new CollisionNode(hash, newEntries);
+        }
+      }
+      Object[] newEntries = new Object[entries.length + 2];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = key;
+      newEntries[entries.length + 1] = value;
+      return new CollisionNode(hash, newEntries);
+    }
+
+    @Override
+    void appendEntries(StringBuilder sb) {
+      for (int i = 0; i < entries.length; i += 2) {
+        sb.append(entries[i]).append('=').append(entries[i + 1]).append(", ");
+      }
+    }
+  }
+
+  private static Node createNode(
+      int shift,
+      ContextKey<?> key1,
+      @Nullable Object value1,
+      int hash1,
+      ContextKey<?> key2,
+      @Nullable Object value2,
+      int hash2) {
+    if (hash1 == hash2) {
+      return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+    }
+    int bit1 = bit(hash1, shift);
+    int bit2 = bit(hash2, shift);
+    if (bit1 == bit2) {
+      // The hashes differ in a later level, which the shift reaches before it exceeds 31
+      Node child = createNode(shift + BITS_PER_LEVEL, key1, value1, hash1, key2, value2, hash2);
+      return new BitmapNode(bit1, new Object[] {null, child});
+    }
+    // Entries are ordered by the index of their bit
+    Object[] array =
+        ((hash1 >>> shift) & LEVEL_MASK) < ((hash2 >>> shift) & LEVEL_MASK)
+            ? new Object[] {key1, value1, key2, value2}
+            : new Object[] {key2, value2, key1, value1};
+    return new BitmapNode(bit1 | bit2, array);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & LEVEL_MASK);
+  }
+}
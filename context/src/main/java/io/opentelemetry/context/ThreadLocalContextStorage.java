@@ -14,7 +14,10 @@ enum ThreadLocalContextStorage implements ContextStorage {
 
   private static final Logger logger = Logger.getLogger(ThreadLocalContextStorage.class.getName());
 
-  private static final ThreadLocal<Context> THREAD_LOCAL_STORAGE = new ThreadLocal<>();
+  // Each thread's current context is kept in a mutable holder, which is looked up once per attach
+  // and close instead of calling ThreadLocal.set, and is only created when a thread first attaches
+  // a context other than the root.
+  private static final ThreadLocal<ContextHolder> THREAD_LOCAL_STORAGE = new ThreadLocal<>();
 
   @Override
   public Scope attach(Context toAttach) {
@@ -23,31 +26,41 @@ enum ThreadLocalContextStorage implements ContextStorage {
       return NoopScope.INSTANCE;
     }
 
-    Context beforeAttach = current();
-    if (toAttach == beforeAttach) {
+    ContextHolder holder = THREAD_LOCAL_STORAGE.get();
+    Context beforeAttach = holder == null ? null : holder.context;
+    if (toAttach == beforeAttach
+        || (beforeAttach == null && toAttach == ArrayBasedContext.root())) {
+      // The context is already current, the root being current when no context is attached.
       return NoopScope.INSTANCE;
     }
 
-    THREAD_LOCAL_STORAGE.set(toAttach);
+    if (holder == null) {
+      holder = new ContextHolder();
+      THREAD_LOCAL_STORAGE.set(holder);
+    }
+    holder.context = toAttach;
 
-    return new ScopeImpl(beforeAttach, toAttach);
+    return new ScopeImpl(holder, beforeAttach, toAttach);
   }
 
-  private class ScopeImpl implements Scope {
+  private static final class ScopeImpl implements Scope {
+    private final ContextHolder holder;
     @Nullable private final Context beforeAttach;
     private final Context toAttach;
     private boolean closed;
 
-    private ScopeImpl(@Nullable Context beforeAttach, Context toAttach) {
+    private ScopeImpl(ContextHolder holder, @Nullable Context beforeAttach, Context toAttach) {
+      this.holder = holder;
       this.beforeAttach = beforeAttach;
       this.toAttach = toAttach;
     }
 
     @Override
     public void close() {
-      if (!closed && current() == toAttach) {
+      // The holder is only current on the thread which attached the context.
+      if (!closed && holder.context == toAttach && THREAD_LOCAL_STORAGE.get() == holder) {
         closed = true;
-        THREAD_LOCAL_STORAGE.set(beforeAttach);
+        holder.context = beforeAttach;
       } else {
         logger.log(
             Level.FINE,
@@ -59,7 +72,12 @@ enum ThreadLocalContextStorage implements ContextStorage {
   @Override
   @Nullable
   public Context current() {
-    return THREAD_LOCAL_STORAGE.get();
+    ContextHolder holder = THREAD_LOCAL_STORAGE.get();
+    return holder == null ? null : holder.context;
+  }
+
+  private static final class ContextHolder {
+    @Nullable private Context context;
   }
 
   enum NoopScope implements Scope {
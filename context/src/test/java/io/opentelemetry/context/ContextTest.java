@@ -6,6 +6,7 @@
 package io.opentelemetry.context;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -16,12 +17,16 @@ import static org.mockito.Mockito.when;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.github.netmikey.logunit.api.LogCapturer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -358,6 +363,36 @@ class ContextTest {
     }
   }
 
+  @Test
+  void wrapForkJoinTask() {
+    ForkJoinTask<String> task = ForkJoinTask.adapt(() -> Context.current().get(ANIMAL));
+
+    assertThat(ForkJoinPool.commonPool().invoke(CAT.wrap(task))).isEqualTo("cat");
+    assertThat(task.isDone()).isTrue();
+
+    ForkJoinTask<String> failing =
+        ForkJoinTask.adapt(
+            (Callable<String>)
+                () -> {
+                  throw new IllegalStateException(Context.current().get(ANIMAL));
+                });
+    assertThatThrownBy(() -> ForkJoinPool.commonPool().invoke(CAT.wrap(failing)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("cat");
+  }
+
+  @Test
+  void taskWrappingCompletableFuture() {
+    Executor executor = Context.taskWrapping(ForkJoinPool.commonPool());
+    CompletableFuture<String> future;
+    try (Scope ignored = CAT.makeCurrent()) {
+      future =
+          CompletableFuture.supplyAsync(() -> Context.current().get(ANIMAL), executor)
+              .thenApplyAsync(animal -> animal + "," + Context.current().get(ANIMAL), executor);
+    }
+    assertThat(future.join()).isEqualTo("cat,cat");
+  }
+
   @Nested
   @TestInstance(Lifecycle.PER_CLASS)
   class WrapExecutorService {
@@ -541,6 +576,25 @@ class ContextTest {
     }
   }
 
+  @Test
+  void attachRootWithNothingAttached() {
+    try (Scope scope = Context.root().makeCurrent()) {
+      assertThat(scope).isSameAs(Scope.noop());
+      assertThat(Context.current()).isEqualTo(Context.root());
+    }
+  }
+
+  @Test
+  void closingScopeOnOtherThreadIsNoop() throws Exception {
+    Context context = Context.current().with(ANIMAL, "cat");
+    try (Scope scope = context.makeCurrent()) {
+      Thread thread = new Thread(scope::close);
+      thread.start();
+      thread.join();
+      assertThat(Context.current()).isSameAs(context);
+    }
+  }
+
   // We test real context-related above but should test cleanup gets delegated, which is best with
   // a mock.
   @Nested
@@ -646,6 +700,52 @@ class ContextTest {
     assertThat(twoKeys.get(cheese)).isEqualTo("whiz");
   }
 
+  @Test
+  void manyKeys() {
+    List<ContextKey<Integer>> keys = new ArrayList<>();
+    List<Context> contexts = new ArrayList<>();
+    Context context = Context.root();
+    for (int i = 0; i < 100; i++) {
+      // Mix in keys which aren't created with ContextKey.named
+      ContextKey<Integer> key =
+          i % 3 == 0 ? new ContextKey<Integer>() {} : ContextKey.named("k" + i);
+      keys.add(key);
+      context = context.with(key, i);
+      contexts.add(context);
+    }
+
+    assertThat(context).isInstanceOf(HashTrieContext.class);
+    for (int i = 0; i < keys.size(); i++) {
+      assertThat(context.get(keys.get(i))).isEqualTo(i);
+      // Earlier contexts are unchanged
+      assertThat(contexts.get(i).get(keys.get(i))).isEqualTo(i);
+      if (i + 1 < keys.size()) {
+        assertThat(contexts.get(i).get(keys.get(i + 1))).isNull();
+      }
+    }
+    assertThat(context.get(ANIMAL)).isNull();
+
+    Context updated = context.with(keys.get(50), -1);
+    assertThat(updated.get(keys.get(50))).isEqualTo(-1);
+    assertThat(updated.get(keys.get(51))).isEqualTo(51);
+    assertThat(context.get(keys.get(50))).isEqualTo(50);
+    assertThat(updated.with(keys.get(50), -1)).isSameAs(updated);
+    assertThat(updated.with(keys.get(50), null).get(keys.get(50))).isNull();
+  }
+
+  @Test
+  void manyKeysString() {
+    Context context = Context.root();
+    for (int i = 0; i < ArrayBasedContext.MAX_ARRAY_KEYS + 1; i++) {
+      context = context.with(ContextKey.named("k" + i), i);
+    }
+    String string = context.toString();
+    for (int i = 0; i < ArrayBasedContext.MAX_ARRAY_KEYS + 1; i++) {
+      assertThat(string).contains("k" + i + "=" + i);
+    }
+    assertThat(string).startsWith("{").endsWith("}").doesNotContain(", }");
+  }
+
   @SuppressWarnings("HashCodeToString")
   private static class HashCollidingKey implements ContextKey<String> {
     @Override
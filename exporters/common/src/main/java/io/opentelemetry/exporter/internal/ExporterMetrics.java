@@ -10,15 +10,31 @@ import static io.opentelemetry.api.common.AttributeKey.stringKey;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
  * Helper for recording metrics from exporters.
  *
+ * <p>Besides counters of exported items, this records histograms of the time spent marshaling and
+ * sending export requests and of their size. Attributes are computed once per instance and
+ * measurements are recorded with the root {@link Context}, so recording doesn't look up the
+ * current span and measurements never sample exemplars with the default trace based exemplar
+ * filter.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
@@ -26,6 +42,18 @@ public class ExporterMetrics {
 
   private static final AttributeKey<String> ATTRIBUTE_KEY_TYPE = stringKey("type");
   private static final AttributeKey<Boolean> ATTRIBUTE_KEY_SUCCESS = booleanKey("success");
+  private static final AttributeKey<Boolean> ATTRIBUTE_KEY_THROTTLED = booleanKey("throttled");
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final List<Double> DURATION_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0,
+              10.0));
+  private static final List<Long> SIZE_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              1024L, 4096L, 16384L, 65536L, 262144L, 1048576L, 4194304L, 16777216L, 67108864L));
 
   private final Supplier<MeterProvider> meterProviderSupplier;
   private final String exporterName;
@@ -33,6 +61,8 @@ public class ExporterMetrics {
   private final Attributes seenAttrs;
   private final Attributes successAttrs;
   private final Attributes failedAttrs;
+  private final Attributes retriedAttrs;
+  private final Attributes throttledAttrs;
 
   /** Access via {@link #seen()}. */
   @Nullable private volatile LongCounter seen;
@@ -40,6 +70,21 @@ public class ExporterMetrics {
   /** Access via {@link #exported()} . */
   @Nullable private volatile LongCounter exported;
 
+  /** Access via {@link #retries()} . */
+  @Nullable private volatile LongCounter retries;
+
+  /** Access via {@link #marshalDuration()} . */
+  @Nullable private volatile DoubleHistogram marshalDuration;
+
+  /** Access via {@link #sendDuration()} . */
+  @Nullable private volatile DoubleHistogram sendDuration;
+
+  /** Access via {@link #requestSize()} . */
+  @Nullable private volatile LongHistogram requestSize;
+
+  /** Access via {@link #compressedRequestSize()} . */
+  @Nullable private volatile LongHistogram compressedRequestSize;
+
   private ExporterMetrics(
       Supplier<MeterProvider> meterProviderSupplier,
       String exporterName,
@@ -51,6 +96,8 @@ public class ExporterMetrics {
     this.seenAttrs = Attributes.builder().put(ATTRIBUTE_KEY_TYPE, type).build();
     this.successAttrs = this.seenAttrs.toBuilder().put(ATTRIBUTE_KEY_SUCCESS, true).build();
     this.failedAttrs = this.seenAttrs.toBuilder().put(ATTRIBUTE_KEY_SUCCESS, false).build();
+    this.retriedAttrs = this.seenAttrs.toBuilder().put(ATTRIBUTE_KEY_THROTTLED, false).build();
+    this.throttledAttrs = this.seenAttrs.toBuilder().put(ATTRIBUTE_KEY_THROTTLED, true).build();
   }
 
   /** Record number of records seen. */
@@ -68,6 +115,53 @@ public class ExporterMetrics {
     exported().add(value, failedAttrs);
   }
 
+  /** Record a retry attempt of an export request. */
+  public void addRetry() {
+    retries().add(1, retriedAttrs);
+  }
+
+  /** Record a retry of an export request which was skipped because the retry budget ran out. */
+  public void addRetryThrottled() {
+    retries().add(1, throttledAttrs);
+  }
+
+  /** Record the time it took to marshal an export request. */
+  public void recordMarshalDuration(long nanos) {
+    marshalDuration().record(nanos / NANOS_PER_SECOND, seenAttrs, Context.root());
+  }
+
+  /**
+   * Record the time from handing an export request to the sender until its outcome is known,
+   * including retries.
+   */
+  public void recordSendDuration(long nanos, boolean success) {
+    sendDuration()
+        .record(nanos / NANOS_PER_SECOND, success ? successAttrs : failedAttrs, Context.root());
+  }
+
+  /** Record the size of an export request before compression. */
+  public void recordRequestSize(long bytes) {
+    requestSize().record(bytes, seenAttrs, Context.root());
+  }
+
+  /** Record the size of an export request after compression. */
+  public void recordCompressedRequestSize(long bytes) {
+    compressedRequestSize().record(bytes, seenAttrs, Context.root());
+  }
+
+  /**
+   * Returns a {@link Compressor} which delegates to the {@code compressor} and records the size of
+   * each compressed request with {@link #recordCompressedRequestSize(long)} when its compressing
+   * stream is closed, or {@code null} if the {@code compressor} is {@code null}.
+   */
+  @Nullable
+  public Compressor measureCompressedSize(@Nullable Compressor compressor) {
+    if (compressor == null) {
+      return null;
+    }
+    return new MeasuringCompressor(compressor, this);
+  }
+
   private LongCounter seen() {
     LongCounter seen = this.seen;
     if (seen == null) {
@@ -86,6 +180,77 @@ public class ExporterMetrics {
     return exported;
   }
 
+  private LongCounter retries() {
+    LongCounter retries = this.retries;
+    if (retries == null) {
+      retries = meter().counterBuilder(exporterName + ".exporter.retries").build();
+      this.retries = retries;
+    }
+    return retries;
+  }
+
+  private DoubleHistogram marshalDuration() {
+    DoubleHistogram marshalDuration = this.marshalDuration;
+    if (marshalDuration == null) {
+      marshalDuration =
+          meter()
+              .histogramBuilder(exporterName + ".exporter.marshal.duration")
+              .setUnit("s")
+              .setDescription("The time it took to marshal export requests.")
+              .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+              .build();
+      this.marshalDuration = marshalDuration;
+    }
+    return marshalDuration;
+  }
+
+  private DoubleHistogram sendDuration() {
+    DoubleHistogram sendDuration = this.sendDuration;
+    if (sendDuration == null) {
+      sendDuration =
+          meter()
+              .histogramBuilder(exporterName + ".exporter.send.duration")
+              .setUnit("s")
+              .setDescription("The time it took to send export requests, including retries.")
+              .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+              .build();
+      this.sendDuration = sendDuration;
+    }
+    return sendDuration;
+  }
+
+  private LongHistogram requestSize() {
+    LongHistogram requestSize = this.requestSize;
+    if (requestSize == null) {
+      requestSize =
+          meter()
+              .histogramBuilder(exporterName + ".exporter.request.size")
+              .ofLongs()
+              .setUnit("By")
+              .setDescription("The size of export requests before compression.")
+              .setExplicitBucketBoundariesAdvice(SIZE_BUCKETS)
+              .build();
+      this.requestSize = requestSize;
+    }
+    return requestSize;
+  }
+
+  private LongHistogram compressedRequestSize() {
+    LongHistogram compressedRequestSize = this.compressedRequestSize;
+    if (compressedRequestSize == null) {
+      compressedRequestSize =
+          meter()
+              .histogramBuilder(exporterName + ".exporter.request.compressed_size")
+              .ofLongs()
+              .setUnit("By")
+              .setDescription("The size of export requests after compression.")
+              .setExplicitBucketBoundariesAdvice(SIZE_BUCKETS)
+              .build();
+      this.compressedRequestSize = compressedRequestSize;
+    }
+    return compressedRequestSize;
+  }
+
   private Meter meter() {
     return meterProviderSupplier
         .get()
@@ -127,4 +292,63 @@ public class ExporterMetrics {
       String exporterName, String type, Supplier<MeterProvider> meterProvider) {
     return new ExporterMetrics(meterProvider, exporterName, type, "http-json");
   }
+
+  private static final class MeasuringCompressor implements Compressor {
+
+    private final Compressor delegate;
+    private final ExporterMetrics exporterMetrics;
+
+    private MeasuringCompressor(Compressor delegate, ExporterMetrics exporterMetrics) {
+      this.delegate = delegate;
+      this.exporterMetrics = exporterMetrics;
+    }
+
+    @Override
+    public String getEncoding() {
+      return delegate.getEncoding();
+    }
+
+    @Override
+    public OutputStream compress(OutputStream outputStream) throws IOException {
+      CountingOutputStream counting = new CountingOutputStream(outputStream);
+      return new FilterOutputStream(delegate.compress(counting)) {
+        private boolean closed;
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+          super.close();
+          if (!closed) {
+            closed = true;
+            exporterMetrics.recordCompressedRequestSize(counting.count);
+          }
+        }
+      };
+    }
+  }
+
+  private static final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    private CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.RateLimiter;
+
+/**
+ * A token bucket limiting the rate of export retries of an exporter, so that when a backend
+ * recovers from an outage, retries don't add up to a thundering herd on top of regular traffic.
+ * Each retry spends a token; when the bucket is empty requests fail without further attempts until
+ * tokens refill.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class RetryBudget {
+
+  // The bucket holds this many seconds worth of retries
+  private static final double MAX_RETRY_BURST_SECONDS = 10;
+
+  private final RateLimiter rateLimiter;
+  private final ExporterMetrics exporterMetrics;
+
+  private RetryBudget(RateLimiter rateLimiter, ExporterMetrics exporterMetrics) {
+    this.rateLimiter = rateLimiter;
+    this.exporterMetrics = exporterMetrics;
+  }
+
+  /**
+   * Returns a {@link RetryBudget} with a new token bucket refilling at the {@link
+   * RetryPolicy#getMaxRetriesPerSecond()} of the {@code retryPolicy}, and recording retries to the
+   * {@code exporterMetrics}.
+   */
+  public static RetryBudget create(RetryPolicy retryPolicy, ExporterMetrics exporterMetrics) {
+    double retriesPerSecond = retryPolicy.getMaxRetriesPerSecond();
+    return new RetryBudget(
+        new RateLimiter(
+            retriesPerSecond, retriesPerSecond * MAX_RETRY_BURST_SECONDS, Clock.getDefault()),
+        exporterMetrics);
+  }
+
+  /**
+   * Returns a {@link RetryBudget} drawing from the {@code rateLimiter} and recording retries to the
+   * {@code exporterMetrics}.
+   */
+  public static RetryBudget create(RateLimiter rateLimiter, ExporterMetrics exporterMetrics) {
+    return new RetryBudget(rateLimiter, exporterMetrics);
+  }
+
+  /**
+   * Returns whether a retry may be attempted, spending a token from the budget if it can. Both
+   * outcomes are recorded to the exporter metrics.
+   */
+  public boolean tryAcquire() {
+    if (rateLimiter.trySpend(1.0)) {
+      exporterMetrics.addRetry();
+      return true;
+    }
+    exporterMetrics.addRetryThrottled();
+    return false;
+  }
+}
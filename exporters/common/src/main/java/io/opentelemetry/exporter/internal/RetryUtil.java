@@ -6,11 +6,18 @@
 package io.opentelemetry.exporter.internal;
 
 import io.opentelemetry.exporter.internal.grpc.GrpcExporterUtil;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * This class is internal and is hence not for public use. Its APIs are unstable and can change at
@@ -47,4 +54,45 @@ public final class RetryUtil {
   public static Set<Integer> retryableHttpResponseCodes() {
     return RETRYABLE_HTTP_STATUS_CODES;
   }
+
+  /**
+   * Returns the delay requested by the server in a {@code Retry-After} HTTP header, which is either
+   * a number of seconds or an HTTP date, or {@code -1} if the header is absent or invalid.
+   */
+  public static long parseRetryAfterNanos(@Nullable String retryAfter) {
+    if (retryAfter == null || retryAfter.isEmpty()) {
+      return -1;
+    }
+    String value = retryAfter.trim();
+    try {
+      long seconds = Long.parseLong(value);
+      return seconds < 0 ? -1 : TimeUnit.SECONDS.toNanos(seconds);
+    } catch (NumberFormatException e) {
+      // Not delay-seconds, try HTTP-date
+    }
+    try {
+      long retryAtMillis =
+          ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+              .toInstant()
+              .toEpochMilli();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryAtMillis - System.currentTimeMillis()));
+    } catch (DateTimeParseException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns the delay requested by the server in the {@code google.rpc.RetryInfo} of a base64
+   * encoded {@code grpc-status-details-bin} header, or {@code -1} if there is none.
+   */
+  public static long parseGrpcRetryDelayNanos(@Nullable String grpcStatusDetails) {
+    if (grpcStatusDetails == null || grpcStatusDetails.isEmpty()) {
+      return -1;
+    }
+    try {
+      return GrpcExporterUtil.getRetryDelayNanos(Base64.getDecoder().decode(grpcStatusDetails));
+    } catch (IllegalArgumentException | IOException e) {
+      return -1;
+    }
+  }
 }
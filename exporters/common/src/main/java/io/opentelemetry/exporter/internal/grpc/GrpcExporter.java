@@ -44,27 +44,46 @@ public final class GrpcExporter<T extends Marshaler> {
       String type,
       GrpcSender<T> grpcSender,
       Supplier<MeterProvider> meterProviderSupplier) {
+    this(type, grpcSender, ExporterMetrics.createGrpc(exporterName, type, meterProviderSupplier));
+  }
+
+  public GrpcExporter(String type, GrpcSender<T> grpcSender, ExporterMetrics exporterMetrics) {
     this.type = type;
     this.grpcSender = grpcSender;
-    this.exporterMetrics = ExporterMetrics.createGrpc(exporterName, type, meterProviderSupplier);
+    this.exporterMetrics = exporterMetrics;
   }
 
   public CompletableResultCode export(T exportRequest, int numItems) {
+    return export(exportRequest, numItems, -1);
+  }
+
+  /**
+   * Exports the {@code exportRequest}, recording {@code marshalNanos} as the time it took to
+   * marshal it unless it is negative.
+   */
+  public CompletableResultCode export(T exportRequest, int numItems, long marshalNanos) {
     if (isShutdown.get()) {
       return CompletableResultCode.ofFailure();
     }
 
     exporterMetrics.addSeen(numItems);
+    if (marshalNanos >= 0) {
+      exporterMetrics.recordMarshalDuration(marshalNanos);
+    }
+    exporterMetrics.recordRequestSize(exportRequest.getBinarySerializedSize());
 
     CompletableResultCode result = new CompletableResultCode();
+    long startNanos = System.nanoTime();
 
     grpcSender.send(
         exportRequest,
         () -> {
+          exporterMetrics.recordSendDuration(System.nanoTime() - startNanos, true);
           exporterMetrics.addSuccess(numItems);
           result.succeed();
         },
         (response, throwable) -> {
+          exporterMetrics.recordSendDuration(System.nanoTime() - startNanos, false);
           exporterMetrics.addFailed(numItems);
           switch (response.grpcStatusValue()) {
             case GRPC_STATUS_UNIMPLEMENTED:
@@ -11,6 +11,8 @@ import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.internal.ConfigUtil;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterBuilderUtil;
+import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.TlsConfigHelper;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
@@ -195,24 +197,28 @@ public class GrpcExporterBuilder<T extends Marshaler> {
           return result;
         };
 
+    ExporterMetrics exporterMetrics =
+        ExporterMetrics.createGrpc(exporterName, type, meterProviderSupplier);
+
     boolean isPlainHttp = "http".equals(endpoint.getScheme());
     GrpcSenderProvider grpcSenderProvider = resolveGrpcSenderProvider();
     GrpcSender<T> grpcSender =
         grpcSenderProvider.createSender(
             endpoint,
             grpcEndpointPath,
-            compressor,
+            exporterMetrics.measureCompressedSize(compressor),
             timeoutNanos,
             connectTimeoutNanos,
             headerSupplier,
             grpcChannel,
             grpcStubFactory,
             retryPolicy,
+            retryPolicy == null ? null : RetryBudget.create(retryPolicy, exporterMetrics),
             isPlainHttp ? null : tlsConfigHelper.getSslContext(),
             isPlainHttp ? null : tlsConfigHelper.getTrustManager());
     LOGGER.log(Level.FINE, "Using GrpcSender: " + grpcSender.getClass().getName());
 
-    return new GrpcExporter<>(exporterName, type, grpcSender, meterProviderSupplier);
+    return new GrpcExporter<>(type, grpcSender, exporterMetrics);
   }
 
   public String toString(boolean includePrefixAndSuffix) {
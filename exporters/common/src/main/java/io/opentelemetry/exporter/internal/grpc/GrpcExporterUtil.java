@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.internal.grpc;
 
 import io.opentelemetry.exporter.internal.marshal.CodedInputStream;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -27,6 +28,8 @@ public final class GrpcExporterUtil {
   public static final int GRPC_STATUS_UNAVAILABLE = 14;
   public static final int GRPC_STATUS_DATA_LOSS = 15;
 
+  private static final String RETRY_INFO_TYPE = "/google.rpc.RetryInfo";
+
   static void logUnimplemented(Logger logger, String type, @Nullable String fullErrorMessage) {
     String envVar;
     switch (type) {
@@ -81,4 +84,94 @@ public final class GrpcExporterUtil {
     // Serialized Status proto had no message, proto always defaults to empty string when not found.
     return "";
   }
+
+  /**
+   * Parses the retry delay out of the {@code google.rpc.RetryInfo} detail of a serialized gRPC
+   * Status, as sent by servers in the {@code grpc-status-details-bin} header to ask clients to
+   * back off. Returns {@code -1} if the status has no retry info.
+   */
+  public static long getRetryDelayNanos(byte[] serializedStatus) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedStatus);
+    while (true) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          return -1;
+        case 26: // details
+          long retryDelayNanos = getRetryInfoDelayNanos(input.readByteArray());
+          if (retryDelayNanos >= 0) {
+            return retryDelayNanos;
+          }
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+  }
+
+  private static long getRetryInfoDelayNanos(byte[] serializedAny) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedAny);
+    String typeUrl = "";
+    byte[] value = null;
+    boolean done = false;
+    while (!done) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          done = true;
+          break;
+        case 10: // type_url
+          typeUrl = input.readStringRequireUtf8();
+          break;
+        case 18: // value
+          value = input.readByteArray();
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+    if (value == null || !typeUrl.endsWith(RETRY_INFO_TYPE)) {
+      return -1;
+    }
+
+    // RetryInfo has a single field, retry_delay, of type google.protobuf.Duration
+    input = CodedInputStream.newInstance(value);
+    while (true) {
+      int tag = input.readTag();
+      if (tag == 0) {
+        return -1;
+      }
+      if (tag == 10) {
+        return getDurationNanos(input.readByteArray());
+      }
+      input.skipField(tag);
+    }
+  }
+
+  private static long getDurationNanos(byte[] serializedDuration) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(serializedDuration);
+    long seconds = 0;
+    long nanos = 0;
+    boolean done = false;
+    while (!done) {
+      int tag = input.readTag();
+      switch (tag) {
+        case 0:
+          done = true;
+          break;
+        case 8: // seconds
+          seconds = input.readInt64();
+          break;
+        case 16: // nanos
+          nanos = input.readRawVarint32();
+          break;
+        default:
+          input.skipField(tag);
+          break;
+      }
+    }
+    return Math.max(0, TimeUnit.SECONDS.toNanos(seconds) + nanos);
+  }
 }
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Utilities for working with gRPC channels.
@@ -32,9 +33,14 @@ public final class ManagedChannelUtil {
 
   /**
    * Convert the {@link RetryPolicy} into a gRPC service config for the {@code serviceName}. The
-   * resulting map can be passed to {@link ManagedChannelBuilder#defaultServiceConfig(Map)}.
+   * resulting map can be passed to {@link ManagedChannelBuilder#defaultServiceConfig(Map)}. If the
+   * {@code retryPolicy} is {@code null}, retries are disabled and the service config is empty.
    */
-  public static Map<String, ?> toServiceConfig(String serviceName, RetryPolicy retryPolicy) {
+  public static Map<String, ?> toServiceConfig(
+      String serviceName, @Nullable RetryPolicy retryPolicy) {
+    if (retryPolicy == null) {
+      return Collections.emptyMap();
+    }
     List<Double> retryableStatusCodes =
         RetryUtil.retryableGrpcStatusCodes().stream().map(Double::parseDouble).collect(toList());
 
@@ -50,7 +56,17 @@ public final class ManagedChannelUtil {
         "name", Collections.singletonList(Collections.singletonMap("service", serviceName)));
     methodConfig.put("retryPolicy", retryConfig);
 
-    return Collections.singletonMap("methodConfig", Collections.singletonList(methodConfig));
+    // Throttle retries across all calls on the channel once most of them fail, so retries don't
+    // overwhelm a recovering server.
+    // https://github.com/grpc/proposal/blob/master/A6-client-retries.md#throttling-retry-attempts-and-hedged-rpcs
+    Map<String, Object> retryThrottling = new HashMap<>();
+    retryThrottling.put("maxTokens", 10.0);
+    retryThrottling.put("tokenRatio", 0.1);
+
+    Map<String, Object> serviceConfig = new HashMap<>();
+    serviceConfig.put("methodConfig", Collections.singletonList(methodConfig));
+    serviceConfig.put("retryThrottling", retryThrottling);
+    return serviceConfig;
   }
 
   /** Shutdown the gRPC channel. */
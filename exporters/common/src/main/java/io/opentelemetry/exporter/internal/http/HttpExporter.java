@@ -35,6 +35,7 @@ public final class HttpExporter<T extends Marshaler> {
   private final String type;
   private final HttpSender httpSender;
   private final ExporterMetrics exporterMetrics;
+  private final boolean exportAsJson;
 
   public HttpExporter(
       String exporterName,
@@ -42,22 +43,51 @@ public final class HttpExporter<T extends Marshaler> {
       HttpSender httpSender,
       Supplier<MeterProvider> meterProviderSupplier,
       boolean exportAsJson) {
-    this.type = type;
-    this.httpSender = httpSender;
-    this.exporterMetrics =
+    this(
+        type,
+        httpSender,
         exportAsJson
             ? ExporterMetrics.createHttpJson(exporterName, type, meterProviderSupplier)
-            : ExporterMetrics.createHttpProtobuf(exporterName, type, meterProviderSupplier);
+            : ExporterMetrics.createHttpProtobuf(exporterName, type, meterProviderSupplier),
+        exportAsJson);
+  }
+
+  public HttpExporter(String type, HttpSender httpSender, ExporterMetrics exporterMetrics) {
+    this(type, httpSender, exporterMetrics, /* exportAsJson= */ false);
+  }
+
+  public HttpExporter(
+      String type, HttpSender httpSender, ExporterMetrics exporterMetrics, boolean exportAsJson) {
+    this.type = type;
+    this.httpSender = httpSender;
+    this.exporterMetrics = exporterMetrics;
+    this.exportAsJson = exportAsJson;
   }
 
   public CompletableResultCode export(T exportRequest, int numItems) {
+    return export(exportRequest, numItems, -1);
+  }
+
+  /**
+   * Exports the {@code exportRequest}, recording {@code marshalNanos} as the time it took to
+   * marshal it unless it is negative.
+   */
+  public CompletableResultCode export(T exportRequest, int numItems, long marshalNanos) {
     if (isShutdown.get()) {
       return CompletableResultCode.ofFailure();
     }
 
     exporterMetrics.addSeen(numItems);
+    if (marshalNanos >= 0) {
+      exporterMetrics.recordMarshalDuration(marshalNanos);
+    }
+    // The size of JSON requests isn't known until they are written
+    if (!exportAsJson) {
+      exporterMetrics.recordRequestSize(exportRequest.getBinarySerializedSize());
+    }
 
     CompletableResultCode result = new CompletableResultCode();
+    long startNanos = System.nanoTime();
 
     httpSender.send(
         exportRequest,
@@ -66,11 +96,13 @@ public final class HttpExporter<T extends Marshaler> {
           int statusCode = httpResponse.statusCode();
 
           if (statusCode >= 200 && statusCode < 300) {
+            exporterMetrics.recordSendDuration(System.nanoTime() - startNanos, true);
             exporterMetrics.addSuccess(numItems);
             result.succeed();
             return;
           }
 
+          exporterMetrics.recordSendDuration(System.nanoTime() - startNanos, false);
           exporterMetrics.addFailed(numItems);
 
           byte[] body = null;
@@ -93,6 +125,7 @@ public final class HttpExporter<T extends Marshaler> {
           result.fail();
         },
         e -> {
+          exporterMetrics.recordSendDuration(System.nanoTime() - startNanos, false);
           exporterMetrics.addFailed(numItems);
           logger.log(
               Level.SEVERE,
@@ -9,6 +9,8 @@ import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.internal.ConfigUtil;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterBuilderUtil;
+import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.TlsConfigHelper;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
 import io.opentelemetry.exporter.internal.compression.Compressor;
@@ -24,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -62,6 +65,7 @@ public final class HttpExporterBuilder<T extends Marshaler> {
   @Nullable private RetryPolicy retryPolicy;
   private Supplier<MeterProvider> meterProviderSupplier = GlobalOpenTelemetry::getMeterProvider;
   @Nullable private Authenticator authenticator;
+  @Nullable private ExecutorService executorService;
 
   public HttpExporterBuilder(String exporterName, String type, String defaultEndpoint) {
     this.exporterName = exporterName;
@@ -138,6 +142,11 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     return this;
   }
 
+  public HttpExporterBuilder<T> setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+    return this;
+  }
+
   public HttpExporterBuilder<T> exportAsJson() {
     this.exportAsJson = true;
     return this;
@@ -160,6 +169,7 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     copy.meterProviderSupplier = meterProviderSupplier;
     copy.authenticator = authenticator;
     copy.proxyOptions = proxyOptions;
+    copy.executorService = executorService;
     return copy;
   }
 
@@ -185,12 +195,17 @@ public final class HttpExporterBuilder<T extends Marshaler> {
           return result;
         };
 
+    ExporterMetrics exporterMetrics =
+        exportAsJson
+            ? ExporterMetrics.createHttpJson(exporterName, type, meterProviderSupplier)
+            : ExporterMetrics.createHttpProtobuf(exporterName, type, meterProviderSupplier);
+
     boolean isPlainHttp = endpoint.startsWith("http://");
     HttpSenderProvider httpSenderProvider = resolveHttpSenderProvider();
     HttpSender httpSender =
         httpSenderProvider.createSender(
             endpoint,
-            compressor,
+            exporterMetrics.measureCompressedSize(compressor),
             exportAsJson,
             exportAsJson ? "application/json" : "application/x-protobuf",
             timeoutNanos,
@@ -199,11 +214,13 @@ public final class HttpExporterBuilder<T extends Marshaler> {
             proxyOptions,
             authenticator,
             retryPolicy,
+            retryPolicy == null ? null : RetryBudget.create(retryPolicy, exporterMetrics),
             isPlainHttp ? null : tlsConfigHelper.getSslContext(),
-            isPlainHttp ? null : tlsConfigHelper.getTrustManager());
+            isPlainHttp ? null : tlsConfigHelper.getTrustManager(),
+            executorService);
     LOGGER.log(Level.FINE, "Using HttpSender: " + httpSender.getClass().getName());
 
-    return new HttpExporter<>(exporterName, type, httpSender, meterProviderSupplier, exportAsJson);
+    return new HttpExporter<>(type, httpSender, exporterMetrics, exportAsJson);
   }
 
   public String toString(boolean includePrefixAndSuffix) {
@@ -233,6 +250,9 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     }
     // Note: omit tlsConfigHelper because we can't log the configuration in any readable way
     // Note: omit meterProviderSupplier because we can't log the configuration in any readable way
+    if (executorService != null) {
+      joiner.add("executorService=" + executorService);
+    }
     // Note: omit authenticator because we can't log the configuration in any readable way
     return joiner.toString();
   }
@@ -257,8 +277,10 @@ public final class HttpExporterBuilder<T extends Marshaler> {
    *   <li>{@code io.opentelemetry.exporter.internal.http.HttpSenderProvider} is set, use the
    *       matching provider. If none match, throw {@link IllegalStateException}.
    * </ul>
+   *
+   * <p>This is also used by exporters which send their own payloads with a {@link HttpSender}.
    */
-  private static HttpSenderProvider resolveHttpSenderProvider() {
+  public static HttpSenderProvider resolveHttpSenderProvider() {
     Map<String, HttpSenderProvider> httpSenderProviders = new HashMap<>();
     for (HttpSenderProvider spi :
         ServiceLoader.load(HttpSenderProvider.class, HttpExporterBuilder.class.getClassLoader())) {
@@ -5,12 +5,14 @@
 
 package io.opentelemetry.exporter.internal.http;
 
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -25,7 +27,13 @@ import javax.net.ssl.X509TrustManager;
  */
 public interface HttpSenderProvider {
 
-  /** Returns a {@link HttpSender} configured with the provided parameters. */
+  /**
+   * Returns a {@link HttpSender} configured with the provided parameters.
+   *
+   * <p>If {@code executorService} is {@code null}, the sender manages its own threads and shuts
+   * them down on {@link HttpSender#shutdown()}. Otherwise, the caller retains ownership of the
+   * executor and is responsible for shutting it down.
+   */
   @SuppressWarnings("TooManyParameters")
   HttpSender createSender(
       String endpoint,
@@ -38,6 +46,8 @@ public interface HttpSenderProvider {
       @Nullable ProxyOptions proxyOptions,
       @Nullable Authenticator authenticator,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
-      @Nullable X509TrustManager trustManager);
+      @Nullable X509TrustManager trustManager,
+      @Nullable ExecutorService executorService);
 }
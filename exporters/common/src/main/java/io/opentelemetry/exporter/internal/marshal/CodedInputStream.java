@@ -42,6 +42,7 @@ import static io.opentelemetry.exporter.internal.marshal.WireFormat.MAX_VARINT_S
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Minimal copy of protobuf-java's CodedInputStream, currently only used in GrpcStatusUtil.
@@ -102,6 +103,29 @@ public final class CodedInputStream {
     throw newTruncatedException();
   }
 
+  /** Reads a bytes field. */
+  public byte[] readByteArray() throws IOException {
+    final int size = readRawVarint32();
+    if (size > 0 && size <= (limit - pos)) {
+      byte[] result = Arrays.copyOfRange(buffer, pos, pos + size);
+      pos += size;
+      return result;
+    }
+
+    if (size == 0) {
+      return new byte[0];
+    }
+    if (size <= 0) {
+      throw newNegativeException();
+    }
+    throw newTruncatedException();
+  }
+
+  /** Reads an int64 field. */
+  public long readInt64() throws IOException {
+    return readRawVarint64SlowPath();
+  }
+
   /** Skips a field. */
   public boolean skipField(final int tag) throws IOException {
     switch (WireFormat.getTagWireType(tag)) {
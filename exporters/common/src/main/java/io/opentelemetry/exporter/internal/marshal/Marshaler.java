@@ -26,7 +26,7 @@ public abstract class Marshaler {
 
   /** Marshals into the {@link OutputStream} in proto JSON format. */
   public final void writeJsonTo(OutputStream output) throws IOException {
-    try (JsonSerializer serializer = new JsonSerializer(output)) {
+    try (Utf8JsonSerializer serializer = new Utf8JsonSerializer(output)) {
       serializer.writeMessageValue(this);
     }
   }
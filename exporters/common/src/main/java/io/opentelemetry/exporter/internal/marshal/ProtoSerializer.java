@@ -13,6 +13,7 @@ import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /** Serializer for the protobuf binary wire format. */
 final class ProtoSerializer extends Serializer implements AutoCloseable {
@@ -255,6 +256,13 @@ final class ProtoSerializer extends Serializer implements AutoCloseable {
     output.writeRawBytes(protoSerialized);
   }
 
+  @Override
+  public <T> void writeSerializedMessage(
+      byte[] protoSerialized, T value, Function<T, ? extends Marshaler> marshalerFactory)
+      throws IOException {
+    output.writeRawBytes(protoSerialized);
+  }
+
   @Override
   public void close() throws IOException {
     try {
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 
 /**
@@ -566,6 +567,17 @@ public abstract class Serializer implements AutoCloseable {
   public abstract void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
       throws IOException;
 
+  /**
+   * Writes the value for a message field that has been pre-serialized in the protobuf binary
+   * format. Serializers of other formats instead write the message with the marshaler the {@code
+   * marshalerFactory} returns for the {@code value}, so it is only created when it is needed.
+   */
+  public <T> void writeSerializedMessage(
+      byte[] protoSerialized, T value, Function<T, ? extends Marshaler> marshalerFactory)
+      throws IOException {
+    marshalerFactory.apply(value).writeTo(this);
+  }
+
   @Override
   public abstract void close() throws IOException;
 }
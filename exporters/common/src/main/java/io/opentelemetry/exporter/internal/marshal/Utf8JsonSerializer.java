@@ -0,0 +1,573 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Serializer for the protobuf JSON format which encodes UTF-8 directly into a reusable buffer.
+ * Unlike {@link JsonSerializer}, it does not depend on Jackson and does not allocate while writing
+ * field names, strings, IDs or integer values, so it can be used together with the {@link
+ * StatelessMarshaler} low allocation path.
+ *
+ * <p>The output is equivalent to the output of {@link JsonSerializer}.
+ */
+final class Utf8JsonSerializer extends Serializer {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  // In practice, there is often only one thread that calls this code in the BatchSpanProcessor so
+  // reusing the buffer for the thread is almost free.
+  private static final ThreadLocal<byte[]> THREAD_LOCAL_BUFFER = new ThreadLocal<>();
+
+  private static final byte[] HEX_DIGITS = {
+    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+  };
+
+  private static final byte[] BASE64_ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  // For each 7-bit character, 0 if it can be written as is, otherwise the character to write after
+  // the backslash, where 'u' means the \\u00XX form. Matches the escaping done by Jackson.
+  private static final byte[] ESCAPES = new byte[0x80];
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      ESCAPES[i] = 'u';
+    }
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\t'] = 't';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+  }
+
+  private final OutputStream output;
+  private final byte[] buffer;
+  private int position;
+  // Whether a value has been written in the current object or array, in which case the next field
+  // or element must be preceded by a comma.
+  private boolean needsComma;
+
+  Utf8JsonSerializer(OutputStream output) {
+    this.output = output;
+    byte[] buffer = THREAD_LOCAL_BUFFER.get();
+    if (buffer == null) {
+      buffer = new byte[BUFFER_SIZE];
+    } else {
+      // Claim the buffer so that a nested serializer on the same thread allocates its own.
+      THREAD_LOCAL_BUFFER.set(null);
+    }
+    this.buffer = buffer;
+  }
+
+  @Override
+  protected void writeTraceId(ProtoFieldInfo field, String traceId) throws IOException {
+    writeFieldName(field);
+    writeAsciiString(traceId);
+  }
+
+  @Override
+  protected void writeSpanId(ProtoFieldInfo field, String spanId) throws IOException {
+    writeFieldName(field);
+    writeAsciiString(spanId);
+  }
+
+  @Override
+  public void writeBool(ProtoFieldInfo field, boolean value) throws IOException {
+    writeFieldName(field);
+    writeAscii(value ? "true" : "false");
+    needsComma = true;
+  }
+
+  @Override
+  protected void writeEnum(ProtoFieldInfo field, ProtoEnumInfo enumValue) throws IOException {
+    writeFieldName(field);
+    writeLong(enumValue.getEnumNumber());
+    needsComma = true;
+  }
+
+  @Override
+  protected void writeUint32(ProtoFieldInfo field, int value) throws IOException {
+    writeFieldName(field);
+    writeLong(value);
+    needsComma = true;
+  }
+
+  @Override
+  protected void writeSInt32(ProtoFieldInfo field, int value) throws IOException {
+    writeFieldName(field);
+    writeLong(value);
+    needsComma = true;
+  }
+
+  @Override
+  protected void writeint32(ProtoFieldInfo field, int value) throws IOException {
+    writeFieldName(field);
+    writeLong(value);
+    needsComma = true;
+  }
+
+  @Override
+  public void writeInt64(ProtoFieldInfo field, long value) throws IOException {
+    writeFieldName(field);
+    writeQuotedLong(value);
+  }
+
+  @Override
+  protected void writeFixed64(ProtoFieldInfo field, long value) throws IOException {
+    writeFieldName(field);
+    writeQuotedLong(value);
+  }
+
+  @Override
+  protected void writeFixed64Value(long value) throws IOException {
+    beginValue();
+    writeQuotedLong(value);
+  }
+
+  @Override
+  protected void writeUInt64Value(long value) throws IOException {
+    beginValue();
+    writeQuotedLong(value);
+  }
+
+  @Override
+  protected void writeFixed32(ProtoFieldInfo field, int value) throws IOException {
+    writeFieldName(field);
+    writeLong(value);
+    needsComma = true;
+  }
+
+  @Override
+  public void writeDouble(ProtoFieldInfo field, double value) throws IOException {
+    writeFieldName(field);
+    writeDoubleNumber(value);
+  }
+
+  @Override
+  protected void writeDoubleValue(double value) throws IOException {
+    beginValue();
+    writeDoubleNumber(value);
+  }
+
+  @Override
+  public void writeString(ProtoFieldInfo field, byte[] utf8Bytes) throws IOException {
+    writeFieldName(field);
+    writeByte('"');
+    writeEscapedUtf8(utf8Bytes);
+    writeByte('"');
+    needsComma = true;
+  }
+
+  @Override
+  public void writeString(
+      ProtoFieldInfo field, String string, int utf8Length, MarshalerContext context)
+      throws IOException {
+    writeFieldName(field);
+    writeByte('"');
+    // if the length of the latin1 string and the utf8 output are the same then the string must be
+    // composed of only 7bit characters and its bytes can be copied without encoding
+    if (context.marshalStringUnsafe()
+        && UnsafeString.isAvailable()
+        && string.length() == utf8Length
+        && UnsafeString.isLatin1(string)) {
+      writeEscapedUtf8(UnsafeString.getBytes(string));
+    } else {
+      writeUtf8(string, /* escape= */ true);
+    }
+    writeByte('"');
+    needsComma = true;
+  }
+
+  @Override
+  public void writeBytes(ProtoFieldInfo field, byte[] value) throws IOException {
+    writeFieldName(field);
+    writeByte('"');
+    writeBase64(value);
+    writeByte('"');
+    needsComma = true;
+  }
+
+  @Override
+  protected void writeStartMessage(ProtoFieldInfo field, int protoMessageSize) throws IOException {
+    writeFieldName(field);
+    writeStartObject();
+  }
+
+  @Override
+  protected void writeEndMessage() throws IOException {
+    writeEndObject();
+  }
+
+  @Override
+  protected void writeStartRepeatedPrimitive(
+      ProtoFieldInfo field, int protoSizePerElement, int numElements) throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+  }
+
+  @Override
+  protected void writeEndRepeatedPrimitive() throws IOException {
+    writeEndArray();
+  }
+
+  @Override
+  protected void writeStartRepeatedVarint(ProtoFieldInfo field, int payloadSize)
+      throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+  }
+
+  @Override
+  protected void writeEndRepeatedVarint() throws IOException {
+    writeEndArray();
+  }
+
+  @Override
+  public void serializeRepeatedMessage(ProtoFieldInfo field, Marshaler[] repeatedMessage)
+      throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+    for (Marshaler marshaler : repeatedMessage) {
+      writeMessageValue(marshaler);
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public void serializeRepeatedMessage(
+      ProtoFieldInfo field, List<? extends Marshaler> repeatedMessage) throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+    for (int i = 0; i < repeatedMessage.size(); i++) {
+      writeMessageValue(repeatedMessage.get(i));
+    }
+    writeEndArray();
+  }
+
+  @Override
+  public <T> void serializeRepeatedMessageWithContext(
+      ProtoFieldInfo field,
+      List<? extends T> messages,
+      StatelessMarshaler<T> marshaler,
+      MarshalerContext context)
+      throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+    for (int i = 0; i < messages.size(); i++) {
+      T message = messages.get(i);
+      writeStartObject();
+      marshaler.writeTo(this, message, context);
+      writeEndObject();
+    }
+    writeEndArray();
+  }
+
+  @Override
+  protected void writeStartRepeated(ProtoFieldInfo field) throws IOException {
+    writeFieldName(field);
+    writeStartArray();
+  }
+
+  @Override
+  protected void writeEndRepeated() throws IOException {
+    writeEndArray();
+  }
+
+  @Override
+  protected void writeStartRepeatedElement(ProtoFieldInfo field, int protoMessageSize)
+      throws IOException {
+    writeStartObject();
+  }
+
+  @Override
+  protected void writeEndRepeatedElement() throws IOException {
+    writeEndObject();
+  }
+
+  // Not a field.
+  void writeMessageValue(Marshaler message) throws IOException {
+    writeStartObject();
+    message.writeTo(this);
+    writeEndObject();
+  }
+
+  @Override
+  public void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
+      throws IOException {
+    if (jsonSerialized.isEmpty()) {
+      return;
+    }
+    beginValue();
+    writeUtf8(jsonSerialized, /* escape= */ false);
+    needsComma = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flushBuffer();
+      output.flush();
+    } catch (IOException e) {
+      // If close is called automatically as part of try-with-resources, it's possible that
+      // output.flush() will throw the same exception. Re-throwing the same exception in a finally
+      // block triggers an IllegalArgumentException indicating illegal self suppression. To avoid
+      // this, we wrap the exception so a different instance is thrown.
+      throw new IOException(e);
+    } finally {
+      position = 0;
+      THREAD_LOCAL_BUFFER.set(buffer);
+    }
+  }
+
+  private void beginValue() throws IOException {
+    if (needsComma) {
+      writeByte(',');
+    }
+  }
+
+  private void writeFieldName(ProtoFieldInfo field) throws IOException {
+    beginValue();
+    // Field names are generated from the proto definitions and never need escaping.
+    writeByte('"');
+    writeAscii(field.getJsonName());
+    writeByte('"');
+    writeByte(':');
+    needsComma = false;
+  }
+
+  private void writeStartObject() throws IOException {
+    beginValue();
+    writeByte('{');
+    needsComma = false;
+  }
+
+  private void writeEndObject() throws IOException {
+    writeByte('}');
+    needsComma = true;
+  }
+
+  private void writeStartArray() throws IOException {
+    beginValue();
+    writeByte('[');
+    needsComma = false;
+  }
+
+  private void writeEndArray() throws IOException {
+    writeByte(']');
+    needsComma = true;
+  }
+
+  private void writeAsciiString(String value) throws IOException {
+    writeByte('"');
+    writeAscii(value);
+    writeByte('"');
+    needsComma = true;
+  }
+
+  private void writeQuotedLong(long value) throws IOException {
+    writeByte('"');
+    writeLong(value);
+    writeByte('"');
+    needsComma = true;
+  }
+
+  private void writeDoubleNumber(double value) throws IOException {
+    // Like Jackson, non-finite values are not valid JSON numbers and are written as strings.
+    boolean quote = Double.isNaN(value) || Double.isInfinite(value);
+    if (quote) {
+      writeByte('"');
+    }
+    writeAscii(Double.toString(value));
+    if (quote) {
+      writeByte('"');
+    }
+    needsComma = true;
+  }
+
+  private void writeLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      writeAscii("-9223372036854775808");
+      return;
+    }
+    ensureCapacity(20);
+    if (value < 0) {
+      buffer[position++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+      digits++;
+    }
+    int end = position + digits;
+    for (int i = end - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + (value % 10));
+      value /= 10;
+    }
+    position = end;
+  }
+
+  private void writeAscii(String value) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      writeByte(value.charAt(i));
+    }
+  }
+
+  /** Copies already UTF-8 encoded bytes, escaping characters as needed. */
+  private void writeEscapedUtf8(byte[] utf8Bytes) throws IOException {
+    int start = 0;
+    for (int i = 0; i < utf8Bytes.length; i++) {
+      byte b = utf8Bytes[i];
+      // Bytes of multi-byte sequences are negative and only need escaping for supplementary
+      // characters, which are written as escaped surrogate pairs like Jackson does.
+      if (b >= 0 && ESCAPES[b] != 0) {
+        writeBytes(utf8Bytes, start, i - start);
+        writeEscape(b);
+        start = i + 1;
+      } else if ((b & 0xF8) == 0xF0 && i + 3 < utf8Bytes.length) {
+        writeBytes(utf8Bytes, start, i - start);
+        int codePoint =
+            (b & 0x07) << 18
+                | (utf8Bytes[i + 1] & 0x3F) << 12
+                | (utf8Bytes[i + 2] & 0x3F) << 6
+                | (utf8Bytes[i + 3] & 0x3F);
+        writeUnicodeEscape(Character.highSurrogate(codePoint));
+        writeUnicodeEscape(Character.lowSurrogate(codePoint));
+        i += 3;
+        start = i + 1;
+      }
+    }
+    writeBytes(utf8Bytes, start, utf8Bytes.length - start);
+  }
+
+  // encode utf8 the same way as StatelessMarshalerUtil, but escaping JSON special characters and
+  // replacing unpaired surrogates with '?' like String.getBytes
+  private void writeUtf8(String string, boolean escape) throws IOException {
+    int length = string.length();
+    for (int i = 0; i < length; i++) {
+      char c = string.charAt(i);
+      if (c < 0x80) {
+        if (escape && ESCAPES[c] != 0) {
+          writeEscape(c);
+        } else {
+          writeByte(c);
+        }
+      } else if (c < 0x800) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (0xC0 | (c >>> 6));
+        buffer[position++] = (byte) (0x80 | (0x3F & c));
+      } else if (!Character.isSurrogate(c)) {
+        ensureCapacity(3);
+        buffer[position++] = (byte) (0xE0 | (c >>> 12));
+        buffer[position++] = (byte) (0x80 | (0x3F & (c >>> 6)));
+        buffer[position++] = (byte) (0x80 | (0x3F & c));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(string.charAt(i + 1))) {
+        char low = string.charAt(++i);
+        if (escape) {
+          // Like Jackson, supplementary characters are written as escaped surrogate pairs.
+          writeUnicodeEscape(c);
+          writeUnicodeEscape(low);
+          continue;
+        }
+        int codePoint = Character.toCodePoint(c, low);
+        ensureCapacity(4);
+        buffer[position++] = (byte) (0xF0 | (codePoint >>> 18));
+        buffer[position++] = (byte) (0x80 | (0x3F & (codePoint >>> 12)));
+        buffer[position++] = (byte) (0x80 | (0x3F & (codePoint >>> 6)));
+        buffer[position++] = (byte) (0x80 | (0x3F & codePoint));
+      } else {
+        writeByte('?');
+      }
+    }
+  }
+
+  private void writeEscape(int c) throws IOException {
+    byte escape = ESCAPES[c];
+    if (escape == 'u') {
+      writeUnicodeEscape(c);
+    } else {
+      ensureCapacity(2);
+      buffer[position++] = '\\';
+      buffer[position++] = escape;
+    }
+  }
+
+  private void writeUnicodeEscape(int c) throws IOException {
+    ensureCapacity(6);
+    buffer[position++] = '\\';
+    buffer[position++] = 'u';
+    buffer[position++] = HEX_DIGITS[(c >>> 12) & 0xF];
+    buffer[position++] = HEX_DIGITS[(c >>> 8) & 0xF];
+    buffer[position++] = HEX_DIGITS[(c >>> 4) & 0xF];
+    buffer[position++] = HEX_DIGITS[c & 0xF];
+  }
+
+  private void writeBase64(byte[] value) throws IOException {
+    int i = 0;
+    for (; i + 3 <= value.length; i += 3) {
+      int bits = (value[i] & 0xFF) << 16 | (value[i + 1] & 0xFF) << 8 | (value[i + 2] & 0xFF);
+      ensureCapacity(4);
+      buffer[position++] = BASE64_ALPHABET[bits >>> 18];
+      buffer[position++] = BASE64_ALPHABET[(bits >>> 12) & 0x3F];
+      buffer[position++] = BASE64_ALPHABET[(bits >>> 6) & 0x3F];
+      buffer[position++] = BASE64_ALPHABET[bits & 0x3F];
+    }
+    int remaining = value.length - i;
+    if (remaining == 0) {
+      return;
+    }
+    int bits = (value[i] & 0xFF) << 16 | (remaining == 2 ? (value[i + 1] & 0xFF) << 8 : 0);
+    ensureCapacity(4);
+    buffer[position++] = BASE64_ALPHABET[bits >>> 18];
+    buffer[position++] = BASE64_ALPHABET[(bits >>> 12) & 0x3F];
+    buffer[position++] = remaining == 2 ? BASE64_ALPHABET[(bits >>> 6) & 0x3F] : (byte) '=';
+    buffer[position++] = '=';
+  }
+
+  private void writeByte(int b) throws IOException {
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte) b;
+  }
+
+  private void writeBytes(byte[] value, int offset, int length) throws IOException {
+    if (length <= buffer.length - position) {
+      System.arraycopy(value, offset, buffer, position, length);
+      position += length;
+      return;
+    }
+    flushBuffer();
+    if (length <= buffer.length) {
+      System.arraycopy(value, offset, buffer, 0, length);
+      position = length;
+    } else {
+      output.write(value, offset, length);
+    }
+  }
+
+  private void ensureCapacity(int size) throws IOException {
+    if (buffer.length - position < size) {
+      flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (position > 0) {
+      output.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+}
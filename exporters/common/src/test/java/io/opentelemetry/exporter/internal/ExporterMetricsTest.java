@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.compression.GzipCompressor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ExporterMetricsTest {
+
+  private static final Attributes TYPE_ATTRIBUTES =
+      Attributes.of(AttributeKey.stringKey("type"), "span");
+
+  private final InMemoryMetricReader reader = InMemoryMetricReader.create();
+  private final SdkMeterProvider meterProvider =
+      SdkMeterProvider.builder().registerMetricReader(reader).build();
+  private final ExporterMetrics exporterMetrics =
+      ExporterMetrics.createHttpProtobuf("test", "span", () -> meterProvider);
+
+  @AfterEach
+  void tearDown() {
+    meterProvider.close();
+  }
+
+  @Test
+  void recordHistograms() {
+    exporterMetrics.recordMarshalDuration(2_000_000);
+    exporterMetrics.recordRequestSize(1500);
+    exporterMetrics.recordSendDuration(250_000_000, true);
+    exporterMetrics.recordSendDuration(1_000_000_000, false);
+
+    assertThat(reader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("test.exporter.marshal.duration")
+                    .hasUnit("s")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasAttributes(TYPE_ATTRIBUTES)
+                                        .hasSum(0.002)
+                                        .hasExemplars())),
+            metric ->
+                assertThat(metric)
+                    .hasName("test.exporter.request.size")
+                    .hasUnit("By")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point -> point.hasAttributes(TYPE_ATTRIBUTES).hasSum(1500))),
+            metric ->
+                assertThat(metric)
+                    .hasName("test.exporter.send.duration")
+                    .hasUnit("s")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasAttributes(
+                                            TYPE_ATTRIBUTES.toBuilder()
+                                                .put("success", true)
+                                                .build())
+                                        .hasSum(0.25),
+                                point ->
+                                    point
+                                        .hasAttributes(
+                                            TYPE_ATTRIBUTES.toBuilder()
+                                                .put("success", false)
+                                                .build())
+                                        .hasSum(1.0))));
+  }
+
+  @Test
+  void measureCompressedSize() throws IOException {
+    assertThat(exporterMetrics.measureCompressedSize(null)).isNull();
+
+    Compressor compressor = exporterMetrics.measureCompressedSize(GzipCompressor.getInstance());
+    assertThat(compressor).isNotNull();
+    assertThat(compressor.getEncoding()).isEqualTo("gzip");
+
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = compressor.compress(compressed)) {
+      out.write("hello hello hello hello".getBytes(StandardCharsets.UTF_8));
+    }
+
+    assertThat(reader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("test.exporter.request.compressed_size")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasAttributes(TYPE_ATTRIBUTES)
+                                        .hasCount(1)
+                                        .hasSum(compressed.size()))));
+  }
+}
@@ -10,8 +10,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Duration;
+import com.google.rpc.RetryInfo;
 import com.google.rpc.Status;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class GrpcExporterUtilTest {
@@ -48,4 +51,33 @@ class GrpcExporterUtilTest {
     assertThatThrownBy(() -> GrpcExporterUtil.getStatusMessage(new byte[] {0, 1, 3, 0}))
         .isInstanceOf(IOException.class);
   }
+
+  @Test
+  void parseRetryDelay() throws Exception {
+    assertThat(
+            GrpcExporterUtil.getRetryDelayNanos(
+                Status.newBuilder()
+                    .setCode(14)
+                    .setMessage("unavailable")
+                    .addDetails(Any.newBuilder().setValue(ByteString.copyFromUtf8("any")).build())
+                    .addDetails(
+                        Any.pack(
+                            RetryInfo.newBuilder()
+                                .setRetryDelay(
+                                    Duration.newBuilder().setSeconds(2).setNanos(500).build())
+                                .build()))
+                    .build()
+                    .toByteArray()))
+        .isEqualTo(TimeUnit.SECONDS.toNanos(2) + 500);
+    assertThat(
+            GrpcExporterUtil.getRetryDelayNanos(
+                Status.newBuilder()
+                    .setCode(14)
+                    .addDetails(Any.newBuilder().setValue(ByteString.copyFromUtf8("any")).build())
+                    .build()
+                    .toByteArray()))
+        .isEqualTo(-1);
+    assertThat(GrpcExporterUtil.getRetryDelayNanos(Status.getDefaultInstance().toByteArray()))
+        .isEqualTo(-1);
+  }
 }
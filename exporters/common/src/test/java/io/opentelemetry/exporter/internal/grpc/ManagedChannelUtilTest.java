@@ -5,6 +5,7 @@
 
 package io.opentelemetry.exporter.internal.grpc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -37,14 +38,29 @@ class ManagedChannelUtilTest {
             + "    \"name\": [{\n"
             + "      \"service\": \"opentelemetry.proto.MyService\"\n"
             + "    }]\n"
-            + "  }]\n"
+            + "  }],\n"
+            + "  \"retryThrottling\": {\n"
+            + "    \"maxTokens\": 10.0,\n"
+            + "    \"tokenRatio\": 0.1\n"
+            + "  }\n"
             + "}";
     JSONAssert.assertEquals(
-        expectedServiceConfig, new ObjectMapper().writeValueAsString(serviceConfig), false);
+        expectedServiceConfig, new ObjectMapper().writeValueAsString(serviceConfig), true);
 
     // Validate that the map format does not throw when passed to managed channel builder.
     // Any type mismatch will throw.
     ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forTarget("localhost");
     assertThatCode(() -> builder.defaultServiceConfig(serviceConfig)).doesNotThrowAnyException();
   }
+
+  @Test
+  void toServiceConfig_NoRetryPolicy() {
+    Map<String, ?> serviceConfig =
+        ManagedChannelUtil.toServiceConfig("opentelemetry.proto.MyService", null);
+
+    // Retries aren't throttled when they're disabled
+    assertThat(serviceConfig).isEmpty();
+    ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forTarget("localhost");
+    assertThatCode(() -> builder.defaultServiceConfig(serviceConfig)).doesNotThrowAnyException();
+  }
 }
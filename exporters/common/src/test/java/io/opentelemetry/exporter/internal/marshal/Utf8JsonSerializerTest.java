@@ -0,0 +1,199 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Utf8JsonSerializerTest {
+
+  private static final ProtoFieldInfo TRACE_ID = ProtoFieldInfo.create(1, 10, "traceId");
+  private static final ProtoFieldInfo SPAN_ID = ProtoFieldInfo.create(2, 18, "spanId");
+  private static final ProtoFieldInfo BOOL = ProtoFieldInfo.create(3, 24, "bool");
+  private static final ProtoFieldInfo ENUM = ProtoFieldInfo.create(4, 32, "enum");
+  private static final ProtoFieldInfo INT32 = ProtoFieldInfo.create(5, 40, "int32");
+  private static final ProtoFieldInfo INT64 = ProtoFieldInfo.create(6, 48, "int64");
+  private static final ProtoFieldInfo FIXED64 = ProtoFieldInfo.create(7, 57, "fixed64");
+  private static final ProtoFieldInfo DOUBLE = ProtoFieldInfo.create(8, 65, "double");
+  private static final ProtoFieldInfo STRING = ProtoFieldInfo.create(9, 74, "string");
+  private static final ProtoFieldInfo BYTES = ProtoFieldInfo.create(10, 82, "bytes");
+  private static final ProtoFieldInfo MESSAGE = ProtoFieldInfo.create(11, 90, "message");
+  private static final ProtoFieldInfo REPEATED_DOUBLE =
+      ProtoFieldInfo.create(12, 98, "repeatedDouble");
+  private static final ProtoFieldInfo REPEATED_FIXED64 =
+      ProtoFieldInfo.create(13, 106, "repeatedFixed64");
+  private static final ProtoFieldInfo REPEATED_MESSAGE =
+      ProtoFieldInfo.create(14, 114, "repeatedMessage");
+
+  @Test
+  void matchesJacksonOutput() throws IOException {
+    Marshaler marshaler = new TestMarshaler("value", new byte[] {1, 2, 3, 4, 5}, 1.5);
+
+    assertThat(toUtf8Json(marshaler)).isEqualTo(toJacksonJson(marshaler));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "plain ascii",
+        "quote \" backslash \\ slash /",
+        "control \b\t\n\f\r\u0000\u001f\u007f",
+        "latin1 \u00e9\u00ff",
+        "bmp \u4e2d\u6587",
+        "supplementary \ud83d\ude00"
+      })
+  void matchesJacksonOutput_Strings(String value) throws IOException {
+    Marshaler marshaler = new TestMarshaler(value, new byte[0], 0);
+
+    assertThat(toUtf8Json(marshaler)).isEqualTo(toJacksonJson(marshaler));
+
+    for (boolean useUnsafe : new boolean[] {true, false}) {
+      Marshaler stringMarshaler = new StringMarshaler(value, useUnsafe);
+
+      assertThat(toUtf8Json(stringMarshaler)).isEqualTo(toJacksonJson(stringMarshaler));
+    }
+  }
+
+  @Test
+  void matchesJacksonOutput_Bytes() throws IOException {
+    for (int length = 0; length < 8; length++) {
+      byte[] bytes = new byte[length];
+      Arrays.fill(bytes, (byte) 0xfb);
+      Marshaler marshaler = new TestMarshaler("", bytes, 0);
+
+      assertThat(toUtf8Json(marshaler)).isEqualTo(toJacksonJson(marshaler));
+    }
+  }
+
+  @Test
+  void matchesJacksonOutput_Doubles() throws IOException {
+    for (double value :
+        new double[] {
+          -0.5, 1e-10, 1e21, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY
+        }) {
+      Marshaler marshaler = new TestMarshaler("", new byte[0], value);
+
+      assertThat(toUtf8Json(marshaler)).isEqualTo(toJacksonJson(marshaler));
+    }
+  }
+
+  @Test
+  void matchesJacksonOutput_LargerThanBuffer() throws IOException {
+    char[] chars = new char[20_000];
+    Arrays.fill(chars, '\u00e9');
+    chars[10_000] = '"';
+    Marshaler marshaler = new TestMarshaler(new String(chars), new byte[30_000], 2.0);
+
+    assertThat(toUtf8Json(marshaler)).isEqualTo(toJacksonJson(marshaler));
+  }
+
+  private static String toUtf8Json(Marshaler marshaler) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (Utf8JsonSerializer serializer = new Utf8JsonSerializer(out)) {
+      serializer.writeMessageValue(marshaler);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String toJacksonJson(Marshaler marshaler) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonSerializer serializer = new JsonSerializer(out)) {
+      serializer.writeMessageValue(marshaler);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static class TestMarshaler extends Marshaler {
+
+    private final byte[] string;
+    private final byte[] bytes;
+    private final double doubleValue;
+
+    private TestMarshaler(String string, byte[] bytes, double doubleValue) {
+      this.string = string.getBytes(StandardCharsets.UTF_8);
+      this.bytes = bytes;
+      this.doubleValue = doubleValue;
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return 0;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.serializeTraceId(TRACE_ID, "0123456789abcdef0123456789abcdef");
+      output.serializeSpanId(SPAN_ID, "0123456789abcdef");
+      output.serializeBool(BOOL, true);
+      output.serializeEnum(ENUM, ProtoEnumInfo.create(2, "TWO"));
+      output.serializeInt32(INT32, -42);
+      output.serializeInt64(INT64, Long.MIN_VALUE);
+      output.serializeFixed64(FIXED64, Long.MAX_VALUE);
+      output.serializeDouble(DOUBLE, doubleValue);
+      output.serializeString(STRING, string);
+      output.serializeBytes(BYTES, bytes);
+      output.serializeMessage(MESSAGE, new NestedMarshaler(string));
+      output.serializeRepeatedDouble(REPEATED_DOUBLE, Arrays.asList(1.0, doubleValue, -3.25));
+      output.serializeRepeatedFixed64(REPEATED_FIXED64, new long[] {0, 1, -1});
+      output.serializeRepeatedMessage(
+          REPEATED_MESSAGE,
+          new Marshaler[] {new NestedMarshaler(string), new NestedMarshaler(new byte[0])});
+      output.serializeRepeatedMessage(MESSAGE, Collections.emptyList());
+    }
+  }
+
+  private static class NestedMarshaler extends Marshaler {
+
+    private final byte[] string;
+
+    private NestedMarshaler(byte[] string) {
+      this.string = string;
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return 0;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.serializeString(STRING, string);
+      output.serializeInt32(INT32, 7);
+    }
+  }
+
+  private static class StringMarshaler extends Marshaler {
+
+    private final String value;
+    private final MarshalerContext context;
+
+    private StringMarshaler(String value, boolean useUnsafe) {
+      this.value = value;
+      this.context = new MarshalerContext(/* marshalStringNoAllocation= */ true, useUnsafe);
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return 0;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      int utf8Length = value.getBytes(StandardCharsets.UTF_8).length;
+      output.writeString(STRING, value, utf8Length, context);
+      output.writeString(STRING, value, utf8Length, context);
+    }
+  }
+}
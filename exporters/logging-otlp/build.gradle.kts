@@ -16,9 +16,23 @@ dependencies {
   implementation(project(":exporters:otlp:common"))
   implementation(project(":sdk-extensions:autoconfigure-spi"))
 
-  implementation("com.fasterxml.jackson.core:jackson-core")
-
   testImplementation(project(":sdk:testing"))
 
   testImplementation("org.skyscreamer:jsonassert")
 }
+
+testing {
+  suites {
+    register<JvmTestSuite>("testWithoutJackson") {
+      dependencies {
+        implementation(project(":sdk:testing"))
+      }
+    }
+  }
+}
+
+tasks {
+  check {
+    dependsOn(testing.suites)
+  }
+}
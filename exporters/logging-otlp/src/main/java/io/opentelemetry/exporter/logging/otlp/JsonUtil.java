@@ -5,21 +5,18 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 final class JsonUtil {
 
-  static final JsonFactory JSON_FACTORY = new JsonFactory();
-
-  static JsonGenerator create(SegmentedStringWriter stringWriter) {
-    try {
-      return JSON_FACTORY.createGenerator(stringWriter);
-    } catch (IOException e) {
-      throw new IllegalStateException("Unable to create in-memory JsonGenerator, can't happen.", e);
-    }
+  /** Returns the OTLP JSON encoding of the {@code marshaler}. */
+  static String toJson(Marshaler marshaler) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(marshaler.getBinarySerializedSize());
+    marshaler.writeJsonTo(out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
   }
 
   private JsonUtil() {}
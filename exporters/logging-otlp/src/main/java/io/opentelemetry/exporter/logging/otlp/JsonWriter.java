@@ -0,0 +1,19 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+/** Destination of the OTLP JSON written by the logging exporters. */
+interface JsonWriter {
+
+  /** Writes the JSON encoding of each of the {@code marshalers}. */
+  CompletableResultCode write(Marshaler[] marshalers);
+
+  /** Flushes any buffered output. */
+  CompletableResultCode flush();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** {@link JsonWriter} which logs each JSON message at {@link Level#INFO} to a {@link Logger}. */
+final class LoggerJsonWriter implements JsonWriter {
+
+  private final Logger logger;
+
+  LoggerJsonWriter(Logger logger) {
+    this.logger = logger;
+  }
+
+  @Override
+  public CompletableResultCode write(Marshaler[] marshalers) {
+    for (Marshaler marshaler : marshalers) {
+      String json;
+      try {
+        json = JsonUtil.toJson(marshaler);
+      } catch (IOException e) {
+        // Shouldn't happen in practice, just skip it.
+        continue;
+      }
+      logger.log(Level.INFO, json);
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+}
@@ -5,15 +5,10 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import static io.opentelemetry.exporter.logging.otlp.JsonUtil.JSON_FACTORY;
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
 import io.opentelemetry.exporter.internal.otlp.logs.ResourceLogsMarshaler;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -23,6 +18,9 @@ import java.util.logging.Logger;
  * A {@link LogRecordExporter} which writes {@linkplain LogRecordData logs} to a {@link Logger} in
  * OTLP JSON format. Each log line will include a single {@code ResourceLogs}.
  *
+ * <p>Use {@link #builder()} to write newline-delimited OTLP JSON to an {@link java.io.OutputStream}
+ * instead.
+ *
  * @since 1.19.0
  */
 public final class OtlpJsonLoggingLogRecordExporter implements LogRecordExporter {
@@ -32,12 +30,29 @@ public final class OtlpJsonLoggingLogRecordExporter implements LogRecordExporter
 
   private final AtomicBoolean isShutdown = new AtomicBoolean();
 
+  private final JsonWriter jsonWriter;
+
   /** Returns a new {@link OtlpJsonLoggingLogRecordExporter}. */
   public static LogRecordExporter create() {
-    return new OtlpJsonLoggingLogRecordExporter();
+    return builder().build();
   }
 
-  private OtlpJsonLoggingLogRecordExporter() {}
+  /**
+   * Returns a new {@link OtlpJsonLoggingLogRecordExporterBuilder}.
+   *
+   * @since 1.41.0
+   */
+  public static OtlpJsonLoggingLogRecordExporterBuilder builder() {
+    return new OtlpJsonLoggingLogRecordExporterBuilder();
+  }
+
+  OtlpJsonLoggingLogRecordExporter(JsonWriter jsonWriter) {
+    this.jsonWriter = jsonWriter;
+  }
+
+  static JsonWriter loggerJsonWriter() {
+    return new LoggerJsonWriter(logger);
+  }
 
   @Override
   public CompletableResultCode export(Collection<LogRecordData> logs) {
@@ -45,34 +60,20 @@ public final class OtlpJsonLoggingLogRecordExporter implements LogRecordExporter
       return CompletableResultCode.ofFailure();
     }
 
-    ResourceLogsMarshaler[] allResourceLogs = ResourceLogsMarshaler.create(logs);
-    for (ResourceLogsMarshaler resourceLogs : allResourceLogs) {
-      SegmentedStringWriter sw = new SegmentedStringWriter(JSON_FACTORY._getBufferRecycler());
-      try (JsonGenerator gen = JsonUtil.create(sw)) {
-        resourceLogs.writeJsonTo(gen);
-      } catch (IOException e) {
-        // Shouldn't happen in practice, just skip it.
-        continue;
-      }
-      try {
-        logger.log(Level.INFO, sw.getAndClear());
-      } catch (IOException e) {
-        logger.log(Level.WARNING, "Unable to read OTLP JSON log records", e);
-      }
-    }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.write(ResourceLogsMarshaler.create(logs));
   }
 
   @Override
   public CompletableResultCode flush() {
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 
   @Override
   public CompletableResultCode shutdown() {
     if (!isShutdown.compareAndSet(false, true)) {
       logger.log(Level.INFO, "Calling shutdown() multiple times.");
+      return CompletableResultCode.ofSuccess();
     }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Builder for {@link OtlpJsonLoggingLogRecordExporter}.
+ *
+ * @since 1.41.0
+ */
+public final class OtlpJsonLoggingLogRecordExporterBuilder {
+
+  @Nullable private OutputStream output;
+  private int flushThresholdBytes = StreamJsonWriter.DEFAULT_FLUSH_THRESHOLD_BYTES;
+
+  OtlpJsonLoggingLogRecordExporterBuilder() {}
+
+  /**
+   * Sets the {@link OutputStream} to write newline-delimited OTLP JSON to, for example {@link
+   * System#out} or a file, instead of logging each {@code ResourceLogs} to a {@link
+   * java.util.logging.Logger}. The stream is not closed when the exporter is shut down.
+   */
+  public OtlpJsonLoggingLogRecordExporterBuilder setOutput(OutputStream output) {
+    requireNonNull(output, "output");
+    this.output = output;
+    return this;
+  }
+
+  /**
+   * Sets the number of bytes to buffer before writing to the {@link #setOutput(OutputStream)
+   * output}. Buffered bytes are also written at the end of each export. If unset, defaults to 64
+   * KiB.
+   */
+  public OtlpJsonLoggingLogRecordExporterBuilder setFlushThresholdBytes(int flushThresholdBytes) {
+    checkArgument(flushThresholdBytes > 0, "flushThresholdBytes must be positive");
+    this.flushThresholdBytes = flushThresholdBytes;
+    return this;
+  }
+
+  /** Returns a new {@link LogRecordExporter} with the configuration of this builder. */
+  public LogRecordExporter build() {
+    return new OtlpJsonLoggingLogRecordExporter(
+        output == null
+            ? OtlpJsonLoggingLogRecordExporter.loggerJsonWriter()
+            : new StreamJsonWriter(output, flushThresholdBytes));
+  }
+}
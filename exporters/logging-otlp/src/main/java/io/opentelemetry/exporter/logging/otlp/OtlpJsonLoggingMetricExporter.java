@@ -5,17 +5,12 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import static io.opentelemetry.exporter.logging.otlp.JsonUtil.JSON_FACTORY;
-
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
 import io.opentelemetry.exporter.internal.otlp.metrics.ResourceMetricsMarshaler;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -24,6 +19,9 @@ import java.util.logging.Logger;
 /**
  * A {@link MetricExporter} which writes {@linkplain MetricData metrics} to a {@link Logger} in OTLP
  * JSON format. Each log line will include a single {@code ResourceMetrics}.
+ *
+ * <p>Use {@link #builder()} to write newline-delimited OTLP JSON to an {@link java.io.OutputStream}
+ * instead.
  */
 public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
 
@@ -34,12 +32,14 @@ public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
 
   private final AggregationTemporality aggregationTemporality;
 
+  private final JsonWriter jsonWriter;
+
   /**
    * Returns a new {@link OtlpJsonLoggingMetricExporter} with a aggregation temporality of {@link
    * AggregationTemporality#CUMULATIVE}.
    */
   public static MetricExporter create() {
-    return new OtlpJsonLoggingMetricExporter(AggregationTemporality.CUMULATIVE);
+    return builder().build();
   }
 
   /**
@@ -47,11 +47,26 @@ public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
    * aggregationTemporality}.
    */
   public static MetricExporter create(AggregationTemporality aggregationTemporality) {
-    return new OtlpJsonLoggingMetricExporter(aggregationTemporality);
+    return builder().setAggregationTemporality(aggregationTemporality).build();
+  }
+
+  /**
+   * Returns a new {@link OtlpJsonLoggingMetricExporterBuilder}.
+   *
+   * @since 1.41.0
+   */
+  public static OtlpJsonLoggingMetricExporterBuilder builder() {
+    return new OtlpJsonLoggingMetricExporterBuilder();
   }
 
-  private OtlpJsonLoggingMetricExporter(AggregationTemporality aggregationTemporality) {
+  OtlpJsonLoggingMetricExporter(
+      AggregationTemporality aggregationTemporality, JsonWriter jsonWriter) {
     this.aggregationTemporality = aggregationTemporality;
+    this.jsonWriter = jsonWriter;
+  }
+
+  static JsonWriter loggerJsonWriter() {
+    return new LoggerJsonWriter(logger);
   }
 
   /**
@@ -75,34 +90,20 @@ public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
       return CompletableResultCode.ofFailure();
     }
 
-    ResourceMetricsMarshaler[] allResourceMetrics = ResourceMetricsMarshaler.create(metrics);
-    for (ResourceMetricsMarshaler resourceMetrics : allResourceMetrics) {
-      SegmentedStringWriter sw = new SegmentedStringWriter(JSON_FACTORY._getBufferRecycler());
-      try (JsonGenerator gen = JsonUtil.create(sw)) {
-        resourceMetrics.writeJsonTo(gen);
-      } catch (IOException e) {
-        // Shouldn't happen in practice, just skip it.
-        continue;
-      }
-      try {
-        logger.log(Level.INFO, sw.getAndClear());
-      } catch (IOException e) {
-        logger.log(Level.WARNING, "Unable to read OTLP JSON metrics", e);
-      }
-    }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.write(ResourceMetricsMarshaler.create(metrics));
   }
 
   @Override
   public CompletableResultCode flush() {
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 
   @Override
   public CompletableResultCode shutdown() {
     if (!isShutdown.compareAndSet(false, true)) {
       logger.log(Level.INFO, "Calling shutdown() multiple times.");
+      return CompletableResultCode.ofSuccess();
     }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 }
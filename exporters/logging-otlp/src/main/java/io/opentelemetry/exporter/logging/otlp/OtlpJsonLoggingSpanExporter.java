@@ -5,13 +5,10 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.io.SegmentedStringWriter;
 import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -20,6 +17,9 @@ import java.util.logging.Logger;
 /**
  * A {@link SpanExporter} which writes {@linkplain SpanData spans} to a {@link Logger} in OTLP JSON
  * format. Each log line will include a single {@code ResourceSpans}.
+ *
+ * <p>Use {@link #builder()} to write newline-delimited OTLP JSON to an {@link java.io.OutputStream}
+ * instead.
  */
 public final class OtlpJsonLoggingSpanExporter implements SpanExporter {
 
@@ -28,12 +28,29 @@ public final class OtlpJsonLoggingSpanExporter implements SpanExporter {
 
   private final AtomicBoolean isShutdown = new AtomicBoolean();
 
+  private final JsonWriter jsonWriter;
+
   /** Returns a new {@link OtlpJsonLoggingSpanExporter}. */
   public static SpanExporter create() {
-    return new OtlpJsonLoggingSpanExporter();
+    return builder().build();
+  }
+
+  /**
+   * Returns a new {@link OtlpJsonLoggingSpanExporterBuilder}.
+   *
+   * @since 1.41.0
+   */
+  public static OtlpJsonLoggingSpanExporterBuilder builder() {
+    return new OtlpJsonLoggingSpanExporterBuilder();
   }
 
-  private OtlpJsonLoggingSpanExporter() {}
+  OtlpJsonLoggingSpanExporter(JsonWriter jsonWriter) {
+    this.jsonWriter = jsonWriter;
+  }
+
+  static JsonWriter loggerJsonWriter() {
+    return new LoggerJsonWriter(logger);
+  }
 
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
@@ -41,35 +58,20 @@ public final class OtlpJsonLoggingSpanExporter implements SpanExporter {
       return CompletableResultCode.ofFailure();
     }
 
-    ResourceSpansMarshaler[] allResourceSpans = ResourceSpansMarshaler.create(spans);
-    for (ResourceSpansMarshaler resourceSpans : allResourceSpans) {
-      SegmentedStringWriter sw =
-          new SegmentedStringWriter(JsonUtil.JSON_FACTORY._getBufferRecycler());
-      try (JsonGenerator gen = JsonUtil.create(sw)) {
-        resourceSpans.writeJsonTo(gen);
-      } catch (IOException e) {
-        // Shouldn't happen in practice, just skip it.
-        continue;
-      }
-      try {
-        logger.log(Level.INFO, sw.getAndClear());
-      } catch (IOException e) {
-        logger.log(Level.WARNING, "Unable to read OTLP JSON spans", e);
-      }
-    }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.write(ResourceSpansMarshaler.create(spans));
   }
 
   @Override
   public CompletableResultCode flush() {
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 
   @Override
   public CompletableResultCode shutdown() {
     if (!isShutdown.compareAndSet(false, true)) {
       logger.log(Level.INFO, "Calling shutdown() multiple times.");
+      return CompletableResultCode.ofSuccess();
     }
-    return CompletableResultCode.ofSuccess();
+    return jsonWriter.flush();
   }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Builder for {@link OtlpJsonLoggingSpanExporter}.
+ *
+ * @since 1.41.0
+ */
+public final class OtlpJsonLoggingSpanExporterBuilder {
+
+  @Nullable private OutputStream output;
+  private int flushThresholdBytes = StreamJsonWriter.DEFAULT_FLUSH_THRESHOLD_BYTES;
+
+  OtlpJsonLoggingSpanExporterBuilder() {}
+
+  /**
+   * Sets the {@link OutputStream} to write newline-delimited OTLP JSON to, for example {@link
+   * System#out} or a file, instead of logging each {@code ResourceSpans} to a {@link
+   * java.util.logging.Logger}. The stream is not closed when the exporter is shut down.
+   */
+  public OtlpJsonLoggingSpanExporterBuilder setOutput(OutputStream output) {
+    requireNonNull(output, "output");
+    this.output = output;
+    return this;
+  }
+
+  /**
+   * Sets the number of bytes to buffer before writing to the {@link #setOutput(OutputStream)
+   * output}. Buffered bytes are also written at the end of each export. If unset, defaults to 64
+   * KiB.
+   */
+  public OtlpJsonLoggingSpanExporterBuilder setFlushThresholdBytes(int flushThresholdBytes) {
+    checkArgument(flushThresholdBytes > 0, "flushThresholdBytes must be positive");
+    this.flushThresholdBytes = flushThresholdBytes;
+    return this;
+  }
+
+  /** Returns a new {@link SpanExporter} with the configuration of this builder. */
+  public SpanExporter build() {
+    return new OtlpJsonLoggingSpanExporter(
+        output == null
+            ? OtlpJsonLoggingSpanExporter.loggerJsonWriter()
+            : new StreamJsonWriter(output, flushThresholdBytes));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link JsonWriter} which writes newline-delimited JSON to an {@link OutputStream}.
+ *
+ * <p>Messages are encoded into a buffer shared by all exports, which is written to the stream once
+ * it holds at least {@code flushThresholdBytes} and at the end of each export. This way, the
+ * stream sees a few large writes per export instead of one write per message.
+ */
+final class StreamJsonWriter implements JsonWriter {
+
+  static final int DEFAULT_FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
+  private static final Logger logger = Logger.getLogger(StreamJsonWriter.class.getName());
+
+  private final Object lock = new Object();
+  private final OutputStream output;
+  private final int flushThresholdBytes;
+  private final ByteArrayOutputStream buffer;
+
+  StreamJsonWriter(OutputStream output, int flushThresholdBytes) {
+    this.output = output;
+    this.flushThresholdBytes = flushThresholdBytes;
+    this.buffer =
+        new ByteArrayOutputStream(Math.min(flushThresholdBytes, DEFAULT_FLUSH_THRESHOLD_BYTES));
+  }
+
+  @Override
+  public CompletableResultCode write(Marshaler[] marshalers) {
+    synchronized (lock) {
+      try {
+        for (Marshaler marshaler : marshalers) {
+          marshaler.writeJsonTo(buffer);
+          buffer.write('\n');
+          if (buffer.size() >= flushThresholdBytes) {
+            drainBuffer();
+          }
+        }
+        drainBuffer();
+        output.flush();
+        return CompletableResultCode.ofSuccess();
+      } catch (IOException e) {
+        buffer.reset();
+        logger.log(Level.WARNING, "Unable to write OTLP JSON", e);
+        return CompletableResultCode.ofFailure();
+      }
+    }
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    synchronized (lock) {
+      try {
+        drainBuffer();
+        output.flush();
+        return CompletableResultCode.ofSuccess();
+      } catch (IOException e) {
+        buffer.reset();
+        logger.log(Level.WARNING, "Unable to flush OTLP JSON", e);
+        return CompletableResultCode.ofFailure();
+      }
+    }
+  }
+
+  private void drainBuffer() throws IOException {
+    if (buffer.size() > 0) {
+      buffer.writeTo(output);
+      buffer.reset();
+    }
+  }
+}
@@ -9,6 +9,7 @@ import static io.opentelemetry.api.common.AttributeKey.booleanKey;
 import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.opentelemetry.api.common.Attributes;
@@ -22,6 +23,10 @@ import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.logs.TestLogRecordData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +37,7 @@ import org.skyscreamer.jsonassert.JSONAssert;
 import org.slf4j.event.Level;
 
 @SuppressLogger(OtlpJsonLoggingLogRecordExporter.class)
+@SuppressLogger(StreamJsonWriter.class)
 class OtlpJsonLoggingLogRecordExporterTest {
 
   private static final Resource RESOURCE =
@@ -168,6 +174,58 @@ class OtlpJsonLoggingLogRecordExporterTest {
     assertThat(message).doesNotContain("\n");
   }
 
+  @Test
+  void outputStream() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    LogRecordExporter streamExporter =
+        OtlpJsonLoggingLogRecordExporter.builder()
+            .setOutput(output)
+            .setFlushThresholdBytes(1)
+            .build();
+
+    assertThat(streamExporter.export(Arrays.asList(LOG1, LOG2)).isSuccess()).isTrue();
+    assertThat(streamExporter.export(Collections.singletonList(LOG1)).isSuccess()).isTrue();
+
+    assertThat(logs.getEvents()).isEmpty();
+    String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+    assertThat(lines).hasSize(3);
+    assertThat(lines[2]).isEmpty();
+    JSONAssert.assertEquals(
+        "{\"scopeLogs\":[{\"logRecords\":[{\"body\":{\"stringValue\":\"body2\"}}]},"
+            + "{\"logRecords\":[{\"body\":{\"stringValue\":\"body1\"}}]}]}",
+        lines[0],
+        /* strict= */ false);
+    JSONAssert.assertEquals(
+        "{\"scopeLogs\":[{\"logRecords\":[{\"body\":{\"stringValue\":\"body1\"}}]}]}",
+        lines[1],
+        /* strict= */ false);
+
+    assertThat(streamExporter.shutdown().isSuccess()).isTrue();
+  }
+
+  @Test
+  void outputStream_WriteFailure() {
+    OutputStream output =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("error!");
+          }
+        };
+    LogRecordExporter streamExporter =
+        OtlpJsonLoggingLogRecordExporter.builder().setOutput(output).build();
+
+    assertThat(streamExporter.export(Arrays.asList(LOG1, LOG2)).isSuccess()).isFalse();
+    assertThat(streamExporter.flush().isSuccess()).isTrue();
+  }
+
+  @Test
+  void builder_InvalidConfig() {
+    assertThatThrownBy(() -> OtlpJsonLoggingLogRecordExporter.builder().setFlushThresholdBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("flushThresholdBytes must be positive");
+  }
+
   @Test
   void shutdown() {
     assertThat(exporter.shutdown().isSuccess()).isTrue();
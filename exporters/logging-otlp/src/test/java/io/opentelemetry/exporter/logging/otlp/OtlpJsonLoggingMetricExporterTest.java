@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.logging.otlp;
 
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.opentelemetry.api.common.Attributes;
@@ -20,6 +21,10 @@ import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
 import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +35,7 @@ import org.skyscreamer.jsonassert.JSONAssert;
 import org.slf4j.event.Level;
 
 @SuppressLogger(OtlpJsonLoggingMetricExporter.class)
+@SuppressLogger(StreamJsonWriter.class)
 class OtlpJsonLoggingMetricExporterTest {
 
   private static final Resource RESOURCE =
@@ -164,6 +170,61 @@ class OtlpJsonLoggingMetricExporterTest {
     assertThat(logs.getEvents().get(0).getMessage()).doesNotContain("\n");
   }
 
+  @Test
+  void outputStream() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    MetricExporter streamExporter =
+        OtlpJsonLoggingMetricExporter.builder()
+            .setAggregationTemporality(AggregationTemporality.DELTA)
+            .setOutput(output)
+            .setFlushThresholdBytes(1)
+            .build();
+
+    assertThat(streamExporter.getAggregationTemporality(InstrumentType.COUNTER))
+        .isEqualTo(AggregationTemporality.DELTA);
+    assertThat(streamExporter.export(Arrays.asList(METRIC1, METRIC2)).isSuccess()).isTrue();
+    assertThat(streamExporter.export(Collections.singletonList(METRIC1)).isSuccess()).isTrue();
+
+    assertThat(logs.getEvents()).isEmpty();
+    String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+    assertThat(lines).hasSize(3);
+    assertThat(lines[2]).isEmpty();
+    JSONAssert.assertEquals(
+        "{\"scopeMetrics\":[{\"metrics\":[{\"name\":\"metric2\"}]},"
+            + "{\"metrics\":[{\"name\":\"metric1\"}]}]}",
+        lines[0],
+        /* strict= */ false);
+    JSONAssert.assertEquals(
+        "{\"scopeMetrics\":[{\"metrics\":[{\"name\":\"metric1\"}]}]}",
+        lines[1],
+        /* strict= */ false);
+
+    assertThat(streamExporter.shutdown().isSuccess()).isTrue();
+  }
+
+  @Test
+  void outputStream_WriteFailure() {
+    OutputStream output =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("error!");
+          }
+        };
+    MetricExporter streamExporter =
+        OtlpJsonLoggingMetricExporter.builder().setOutput(output).build();
+
+    assertThat(streamExporter.export(Arrays.asList(METRIC1, METRIC2)).isSuccess()).isFalse();
+    assertThat(streamExporter.flush().isSuccess()).isTrue();
+  }
+
+  @Test
+  void builder_InvalidConfig() {
+    assertThatThrownBy(() -> OtlpJsonLoggingMetricExporter.builder().setFlushThresholdBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("flushThresholdBytes must be positive");
+  }
+
   @Test
   void flush() {
     assertThat(exporter.flush().isSuccess()).isTrue();
@@ -9,6 +9,7 @@ import static io.opentelemetry.api.common.AttributeKey.booleanKey;
 import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.opentelemetry.api.common.Attributes;
@@ -24,6 +25,10 @@ import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +39,7 @@ import org.skyscreamer.jsonassert.JSONAssert;
 import org.slf4j.event.Level;
 
 @SuppressLogger(OtlpJsonLoggingSpanExporter.class)
+@SuppressLogger(StreamJsonWriter.class)
 class OtlpJsonLoggingSpanExporterTest {
 
   private static final Resource RESOURCE =
@@ -184,6 +190,54 @@ class OtlpJsonLoggingSpanExporterTest {
     assertThat(message).doesNotContain("\n");
   }
 
+  @Test
+  void outputStream() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    SpanExporter streamExporter =
+        OtlpJsonLoggingSpanExporter.builder().setOutput(output).setFlushThresholdBytes(1).build();
+
+    assertThat(streamExporter.export(Arrays.asList(SPAN1, SPAN2)).isSuccess()).isTrue();
+    assertThat(streamExporter.export(Collections.singletonList(SPAN1)).isSuccess()).isTrue();
+
+    assertThat(logs.getEvents()).isEmpty();
+    String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+    assertThat(lines).hasSize(3);
+    assertThat(lines[2]).isEmpty();
+    JSONAssert.assertEquals(
+        "{\"scopeSpans\":[{\"spans\":[{\"name\":\"testSpan2\"}]},"
+            + "{\"spans\":[{\"name\":\"testSpan1\"}]}]}",
+        lines[0],
+        /* strict= */ false);
+    JSONAssert.assertEquals(
+        "{\"scopeSpans\":[{\"spans\":[{\"name\":\"testSpan1\"}]}]}",
+        lines[1],
+        /* strict= */ false);
+
+    assertThat(streamExporter.shutdown().isSuccess()).isTrue();
+  }
+
+  @Test
+  void outputStream_WriteFailure() {
+    OutputStream output =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("error!");
+          }
+        };
+    SpanExporter streamExporter = OtlpJsonLoggingSpanExporter.builder().setOutput(output).build();
+
+    assertThat(streamExporter.export(Arrays.asList(SPAN1, SPAN2)).isSuccess()).isFalse();
+    assertThat(streamExporter.flush().isSuccess()).isTrue();
+  }
+
+  @Test
+  void builder_InvalidConfig() {
+    assertThatThrownBy(() -> OtlpJsonLoggingSpanExporter.builder().setFlushThresholdBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("flushThresholdBytes must be positive");
+  }
+
   @Test
   void flush() {
     assertThat(exporter.flush().isSuccess()).isTrue();
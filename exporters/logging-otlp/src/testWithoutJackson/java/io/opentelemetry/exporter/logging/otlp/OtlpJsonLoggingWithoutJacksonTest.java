@@ -0,0 +1,76 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class OtlpJsonLoggingWithoutJacksonTest {
+
+  private static final SpanData SPAN =
+      TestSpanData.builder()
+          .setHasEnded(true)
+          .setSpanContext(
+              SpanContext.create(
+                  "12345678876543211234567887654321",
+                  "8765432112345678",
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()))
+          .setStartEpochNanos(100)
+          .setEndEpochNanos(100 + 1000)
+          .setStatus(StatusData.ok())
+          .setName("testSpan")
+          .setKind(SpanKind.INTERNAL)
+          .setInstrumentationScopeInfo(
+              InstrumentationScopeInfo.builder("instrumentation")
+                  .setVersion("1")
+                  .setAttributes(Attributes.builder().put("key", "value").build())
+                  .build())
+          .setResource(Resource.create(Attributes.builder().put("key", "value").build()))
+          .build();
+
+  @Test
+  void jacksonNotAvailable() {
+    assertThatThrownBy(() -> Class.forName("com.fasterxml.jackson.core.JsonFactory"))
+        .isInstanceOf(ClassNotFoundException.class);
+  }
+
+  @Test
+  void export() {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    SpanExporter exporter = OtlpJsonLoggingSpanExporter.builder().setOutput(output).build();
+
+    assertThat(exporter.export(Collections.singletonList(SPAN)).isSuccess()).isTrue();
+
+    // Resource and scope are preserialized, which must not depend on Jackson
+    assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+        .startsWith(
+            "{\"resource\":{"
+                + "\"attributes\":[{\"key\":\"key\",\"value\":{\"stringValue\":\"value\"}}]},")
+        .contains(
+            "\"scope\":{\"name\":\"instrumentation\",\"version\":\"1\","
+                + "\"attributes\":[{\"key\":\"key\",\"value\":{\"stringValue\":\"value\"}}]}")
+        .contains("\"name\":\"testSpan\"")
+        .endsWith("}\n");
+    assertThat(exporter.shutdown().isSuccess()).isTrue();
+  }
+}
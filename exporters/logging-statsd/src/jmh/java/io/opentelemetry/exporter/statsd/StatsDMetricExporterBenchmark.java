@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsDMetricExporterBenchmark {
+
+  private static final int POINTS_PER_METRIC = 10;
+
+  @Param({"1432", "8192"})
+  int maxPacketSize;
+
+  private DatagramChannel receiver;
+  private StatsDMetricExporter exporter;
+  private Collection<MetricData> metrics;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    // A bound receiver which is never read keeps sends from failing with ICMP port unreachable.
+    // Packets which overflow its receive buffer are dropped by the kernel.
+    receiver = DatagramChannel.open();
+    receiver.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    exporter =
+        StatsDMetricExporter.builder()
+            .setHost(InetAddress.getLoopbackAddress().getHostAddress())
+            .setPort(((InetSocketAddress) receiver.getLocalAddress()).getPort())
+            .setMaxPacketSize(maxPacketSize)
+            .build();
+
+    metrics = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      List<LongPointData> longPoints = new ArrayList<>();
+      List<DoublePointData> doublePoints = new ArrayList<>();
+      for (int j = 0; j < POINTS_PER_METRIC; j++) {
+        Attributes attributes =
+            Attributes.builder()
+                .put("http.route", "/api/v1/resource/" + j)
+                .put("http.status_code", 200 + j)
+                .put("success", j % 2 == 0)
+                .build();
+        longPoints.add(ImmutableLongPointData.create(0, 1, attributes, i * 1000L + j));
+        doublePoints.add(ImmutableDoublePointData.create(0, 1, attributes, i + j / 7.0));
+      }
+      metrics.add(
+          ImmutableMetricData.createLongSum(
+              Resource.empty(),
+              InstrumentationScopeInfo.create("benchmark"),
+              "requests." + i,
+              "",
+              "1",
+              ImmutableSumData.create(
+                  /* isMonotonic= */ true, AggregationTemporality.CUMULATIVE, longPoints)));
+      metrics.add(
+          ImmutableMetricData.createDoubleGauge(
+              Resource.empty(),
+              InstrumentationScopeInfo.create("benchmark"),
+              "utilization." + i,
+              "",
+              "1",
+              ImmutableGaugeData.create(doublePoints)));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    exporter.shutdown();
+    receiver.close();
+  }
+
+  @Benchmark
+  public CompletableResultCode export() {
+    return exporter.export(metrics);
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd;
+
+/**
+ * The StatsD metric type which histograms are sent as.
+ *
+ * @since 1.41.0
+ */
+public enum StatsDHistogramType {
+  /** A DogStatsD distribution, {@code |d}, aggregated globally by the agent. */
+  DISTRIBUTION("d"),
+  /** A StatsD timer, {@code |ms}, supported by most StatsD servers. */
+  TIMER("ms");
+
+  private final String type;
+
+  StatsDHistogramType(String type) {
+    this.type = type;
+  }
+
+  /** Returns the StatsD type of lines for this histogram type. */
+  String getType() {
+    return type;
+  }
+}
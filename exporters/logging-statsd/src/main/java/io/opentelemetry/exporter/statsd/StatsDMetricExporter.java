@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd;
+
+import io.opentelemetry.exporter.statsd.internal.StatsDPacketWriter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link MetricExporter} which sends every point of every gauge, sum and histogram as DogStatsD
+ * lines to a StatsD agent over UDP. Lines are packed into datagrams of at most the configured
+ * maximum packet size.
+ *
+ * <p>StatsD counters and histograms expect the increase since the previous flush, so cumulative
+ * sums and histograms are converted to deltas against the values of the previous export.
+ * Cumulative up down counters are sent as gauges of their current value.
+ *
+ * @since 1.41.0
+ */
+public final class StatsDMetricExporter implements MetricExporter {
+
+  private static final Logger internalLogger =
+      Logger.getLogger(StatsDMetricExporter.class.getName());
+
+  private final ThrottlingLogger logger = new ThrottlingLogger(internalLogger);
+  private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+  private final InetSocketAddress endpoint;
+  private final int maxPacketSize;
+  private final AggregationTemporality aggregationTemporality;
+  private final StatsDHistogramType histogramType;
+  private final DatagramChannel channel;
+  private final StatsDPacketWriter packetWriter;
+
+  /** Returns a new {@link StatsDMetricExporter} sending to {@code localhost:8125}. */
+  public static StatsDMetricExporter create() {
+    return builder().build();
+  }
+
+  /** Returns a new {@link StatsDMetricExporterBuilder}. */
+  public static StatsDMetricExporterBuilder builder() {
+    return new StatsDMetricExporterBuilder();
+  }
+
+  StatsDMetricExporter(
+      InetSocketAddress endpoint,
+      int maxPacketSize,
+      AggregationTemporality aggregationTemporality,
+      StatsDHistogramType histogramType,
+      DatagramChannel channel) {
+    this.endpoint = endpoint;
+    this.maxPacketSize = maxPacketSize;
+    this.aggregationTemporality = aggregationTemporality;
+    this.histogramType = histogramType;
+    this.channel = channel;
+    this.packetWriter = new StatsDPacketWriter(channel, maxPacketSize, histogramType.getType());
+  }
+
+  @Override
+  public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+    return aggregationTemporality;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    if (isShutdown.get()) {
+      return CompletableResultCode.ofFailure();
+    }
+    // The packet writer reuses its buffers.
+    synchronized (packetWriter) {
+      try {
+        packetWriter.write(metrics);
+        return CompletableResultCode.ofSuccess();
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Failed to send StatsD metrics to " + endpoint, e);
+        return CompletableResultCode.ofFailure();
+      }
+    }
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (!isShutdown.compareAndSet(false, true)) {
+      internalLogger.log(Level.INFO, "Calling shutdown() multiple times.");
+      return CompletableResultCode.ofSuccess();
+    }
+    try {
+      channel.close();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      internalLogger.log(Level.WARNING, "Failed to close StatsD channel", e);
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StatsDMetricExporter{"
+        + "endpoint="
+        + endpoint
+        + ", maxPacketSize="
+        + maxPacketSize
+        + ", aggregationTemporality="
+        + aggregationTemporality
+        + ", histogramType="
+        + histogramType
+        + "}";
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+import javax.annotation.Nullable;
+
+/**
+ * Builder for {@link StatsDMetricExporter}.
+ *
+ * @since 1.41.0
+ */
+public final class StatsDMetricExporterBuilder {
+
+  private static final String DEFAULT_HOST = "localhost";
+  private static final int DEFAULT_PORT = 8125;
+  // Fits in a single Ethernet frame along with the IP and UDP headers.
+  private static final int DEFAULT_MAX_PACKET_SIZE = 1432;
+
+  private String host = DEFAULT_HOST;
+  private int port = DEFAULT_PORT;
+  private int maxPacketSize = DEFAULT_MAX_PACKET_SIZE;
+  private AggregationTemporality aggregationTemporality = AggregationTemporality.CUMULATIVE;
+  private StatsDHistogramType histogramType = StatsDHistogramType.DISTRIBUTION;
+
+  StatsDMetricExporterBuilder() {}
+
+  /** Sets the host of the StatsD agent. If unset, defaults to {@value DEFAULT_HOST}. */
+  public StatsDMetricExporterBuilder setHost(String host) {
+    requireNonNull(host, "host");
+    this.host = host;
+    return this;
+  }
+
+  /** Sets the UDP port of the StatsD agent. If unset, defaults to {@value DEFAULT_PORT}. */
+  public StatsDMetricExporterBuilder setPort(int port) {
+    checkArgument(port > 0 && port <= 65535, "port must be between 1 and 65535");
+    this.port = port;
+    return this;
+  }
+
+  /**
+   * Sets the maximum size in bytes of each datagram. Lines are packed into datagrams up to this
+   * size, and lines longer than this size are dropped. If unset, defaults to {@value
+   * DEFAULT_MAX_PACKET_SIZE}, which avoids IP fragmentation on Ethernet. Values up to 8192 are
+   * typically safe on loopback.
+   */
+  public StatsDMetricExporterBuilder setMaxPacketSize(int maxPacketSize) {
+    checkArgument(
+        maxPacketSize > 0 && maxPacketSize <= 65507, "maxPacketSize must be between 1 and 65507");
+    this.maxPacketSize = maxPacketSize;
+    return this;
+  }
+
+  /**
+   * Sets the {@link AggregationTemporality} of the exporter. If unset, defaults to {@link
+   * AggregationTemporality#CUMULATIVE}.
+   */
+  public StatsDMetricExporterBuilder setAggregationTemporality(
+      AggregationTemporality aggregationTemporality) {
+    requireNonNull(aggregationTemporality, "aggregationTemporality");
+    this.aggregationTemporality = aggregationTemporality;
+    return this;
+  }
+
+  /**
+   * Sets the StatsD type which histograms are sent as. If unset, defaults to {@link
+   * StatsDHistogramType#DISTRIBUTION}.
+   */
+  public StatsDMetricExporterBuilder setHistogramType(StatsDHistogramType histogramType) {
+    requireNonNull(histogramType, "histogramType");
+    this.histogramType = histogramType;
+    return this;
+  }
+
+  /** Returns a new {@link StatsDMetricExporter} with the configuration of this builder. */
+  public StatsDMetricExporter build() {
+    InetSocketAddress endpoint = new InetSocketAddress(host, port);
+    DatagramChannel channel = null;
+    try {
+      channel = DatagramChannel.open();
+      // Connecting avoids resolving and checking the address on every send.
+      channel.connect(endpoint);
+    } catch (IOException e) {
+      closeQuietly(channel);
+      throw new UncheckedIOException("Unable to open StatsD channel to " + endpoint, e);
+    }
+    return new StatsDMetricExporter(
+        endpoint, maxPacketSize, aggregationTemporality, histogramType, channel);
+  }
+
+  private static void closeQuietly(@Nullable DatagramChannel channel) {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Ignore, already failing.
+    }
+  }
+}
@@ -1,14 +1,27 @@
 package io.opentelemetry.exporter.statsd;
 
 import io.opentelemetry.exporter.statsd.internal.StatsDBuilder;
+import io.opentelemetry.exporter.statsd.internal.StatsDDeltaConverter;
+import io.opentelemetry.exporter.statsd.internal.StatsDDistributionLogBuilder;
 import io.opentelemetry.exporter.statsd.internal.StatsDLogBuilder;
+import io.opentelemetry.exporter.statsd.internal.StatsDPacketWriter;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.SumData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -22,6 +35,8 @@ public final class StatsDMetricLogExporter implements MetricExporter {
 
 	private final AggregationTemporality aggregationTemporality;
 
+	private final StatsDDeltaConverter deltaConverter = new StatsDDeltaConverter();
+
 	private StatsDMetricLogExporter(AggregationTemporality aggregationTemporality) {
 		this.aggregationTemporality = aggregationTemporality;
 	}
@@ -39,17 +54,105 @@ public final class StatsDMetricLogExporter implements MetricExporter {
 		if (isShutdown.get()) {
 			return CompletableResultCode.ofFailure();
 		}
-		for (MetricData metricData : metrics) {
-			StatsDBuilder<String> builder = StatsDLogBuilder.statsDBuilderFactory(metricData.getType());
-			if (builder != null) {
-				builder.setMetricName(metricData.getName())
-					.setValue(metricData.getData().getPoints().stream().findFirst().get());
-				logger.log(Level.INFO, "{0}", builder.build());
+		synchronized (deltaConverter) {
+			deltaConverter.startExport();
+			try {
+				for (MetricData metricData : metrics) {
+					exportMetric(metricData);
+				}
+			}
+			finally {
+				deltaConverter.endExport();
 			}
 		}
 		return CompletableResultCode.ofSuccess();
 	}
 
+	private void exportMetric(MetricData metricData) {
+		switch (metricData.getType()) {
+			case LONG_SUM: {
+				exportLongSum(metricData, metricData.getLongSumData());
+				break;
+			}
+			case DOUBLE_SUM: {
+				exportDoubleSum(metricData, metricData.getDoubleSumData());
+				break;
+			}
+			case HISTOGRAM: {
+				exportHistogram(metricData, metricData.getHistogramData());
+				break;
+			}
+			default: {
+				for (PointData point : metricData.getData().getPoints()) {
+					log(metricData.getType(), metricData.getName(), point);
+				}
+			}
+		}
+	}
+
+	// StatsD counters expect the increase since the previous flush, while the current value of a
+	// cumulative up down counter is a gauge.
+	private void exportLongSum(MetricData metricData, SumData<LongPointData> sum) {
+		boolean cumulative = sum.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+		for (LongPointData point : sum.getPoints()) {
+			if (cumulative && !sum.isMonotonic()) {
+				log(MetricDataType.LONG_GAUGE, metricData.getName(), point);
+			}
+			else if (cumulative) {
+				long delta = deltaConverter.longDelta(metricData, point);
+				log(MetricDataType.LONG_SUM, metricData.getName(), ImmutableLongPointData.create(
+						point.getStartEpochNanos(), point.getEpochNanos(), point.getAttributes(), delta));
+			}
+			else {
+				log(MetricDataType.LONG_SUM, metricData.getName(), point);
+			}
+		}
+	}
+
+	private void exportDoubleSum(MetricData metricData, SumData<DoublePointData> sum) {
+		boolean cumulative = sum.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+		for (DoublePointData point : sum.getPoints()) {
+			if (cumulative && !sum.isMonotonic()) {
+				log(MetricDataType.DOUBLE_GAUGE, metricData.getName(), point);
+			}
+			else if (cumulative) {
+				double delta = deltaConverter.doubleDelta(metricData, point);
+				log(MetricDataType.DOUBLE_SUM, metricData.getName(), ImmutableDoublePointData.create(
+						point.getStartEpochNanos(), point.getEpochNanos(), point.getAttributes(), delta));
+			}
+			else {
+				log(MetricDataType.DOUBLE_SUM, metricData.getName(), point);
+			}
+		}
+	}
+
+	// Each non-empty bucket is logged as a distribution value standing for all of its samples.
+	private void exportHistogram(MetricData metricData, HistogramData histogram) {
+		boolean cumulative = histogram.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+		for (HistogramPointData point : histogram.getPoints()) {
+			List<Long> counts = point.getCounts();
+			long[] deltaCounts = cumulative ? deltaConverter.histogramDelta(metricData, point) : null;
+			for (int i = 0; i < counts.size(); i++) {
+				long count = deltaCounts != null ? deltaCounts[i] : counts.get(i);
+				if (count <= 0) {
+					continue;
+				}
+				StatsDBuilder<String> builder = new StatsDDistributionLogBuilder(1.0 / count)
+						.setMetricName(metricData.getName())
+						.setValue(ImmutableDoublePointData.create(point.getStartEpochNanos(),
+								point.getEpochNanos(), point.getAttributes(), StatsDPacketWriter.bucketValue(point, i)));
+				logger.log(Level.INFO, "{0}", builder.build());
+			}
+		}
+	}
+
+	private static void log(MetricDataType type, String metricName, PointData point) {
+		StatsDBuilder<String> builder = StatsDLogBuilder.statsDBuilderFactory(type);
+		if (builder != null) {
+			logger.log(Level.INFO, "{0}", builder.setMetricName(metricName).setValue(point).build());
+		}
+	}
+
 	@Override
 	public CompletableResultCode flush() {
 		CompletableResultCode resultCode = new CompletableResultCode();
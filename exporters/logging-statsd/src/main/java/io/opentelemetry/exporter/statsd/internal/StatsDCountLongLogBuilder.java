@@ -2,7 +2,7 @@ package io.opentelemetry.exporter.statsd.internal;
 
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 
-public class StatsDCountLongLogBuilder extends StatsDGuageLogBuilder {
+public class StatsDCountLongLogBuilder extends StatsDCountLogBuilder {
 
 	@Override
 	protected void appendMetricValue() {
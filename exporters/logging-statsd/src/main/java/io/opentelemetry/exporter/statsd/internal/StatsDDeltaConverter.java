@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd.internal;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Converts cumulative points into the increase since the previous export, which is what StatsD
+ * counters and distributions expect.
+ *
+ * <p>The last exported value of every series, keyed by metric and attributes, is kept until an
+ * export no longer contains the series. A series is considered reset, and its whole value
+ * reported, when its start time changes or its value decreases.
+ *
+ * <p>Usage is {@link #startExport()}, any number of conversions, then {@link #endExport()} once the
+ * export succeeded. An export which failed partway through must not call {@link #endExport()},
+ * since the series it didn't reach yet would be dropped. Instances are not thread-safe.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class StatsDDeltaConverter {
+
+  private final Map<MetricKey, Map<Attributes, Series>> metrics = new HashMap<>();
+
+  private long generation;
+
+  /** Marks the start of an export. */
+  public void startExport() {
+    generation++;
+  }
+
+  /** Drops the series which were not converted since {@link #startExport()}. */
+  public void endExport() {
+    Iterator<Map<Attributes, Series>> metricIterator = metrics.values().iterator();
+    while (metricIterator.hasNext()) {
+      Map<Attributes, Series> series = metricIterator.next();
+      series.values().removeIf(s -> s.generation != generation);
+      if (series.isEmpty()) {
+        metricIterator.remove();
+      }
+    }
+  }
+
+  /** Returns the increase of the cumulative {@code point} since the previous export. */
+  public long longDelta(MetricData metric, LongPointData point) {
+    Series series = series(metric, point);
+    long value = point.getValue();
+    long delta =
+        series.isReset(point) || value < series.longValue ? value : value - series.longValue;
+    series.longValue = value;
+    return delta;
+  }
+
+  /** Returns the increase of the cumulative {@code point} since the previous export. */
+  public double doubleDelta(MetricData metric, DoublePointData point) {
+    Series series = series(metric, point);
+    double value = point.getValue();
+    double delta =
+        series.isReset(point) || value < series.doubleValue ? value : value - series.doubleValue;
+    series.doubleValue = value;
+    return delta;
+  }
+
+  /**
+   * Returns the increase of each bucket count of the cumulative {@code point} since the previous
+   * export. The returned array is owned by the converter and is only valid until the next call.
+   */
+  public long[] histogramDelta(MetricData metric, HistogramPointData point) {
+    Series series = series(metric, point);
+    List<Long> counts = point.getCounts();
+    int size = counts.size();
+    boolean reset = series.isReset(point) || series.counts.length != size;
+    if (!reset) {
+      for (int i = 0; i < size; i++) {
+        if (counts.get(i) < series.counts[i]) {
+          reset = true;
+          break;
+        }
+      }
+    }
+    if (series.counts.length != size) {
+      series.counts = new long[size];
+      series.deltaCounts = new long[size];
+    }
+    for (int i = 0; i < size; i++) {
+      long count = counts.get(i);
+      series.deltaCounts[i] = reset ? count : count - series.counts[i];
+      series.counts[i] = count;
+    }
+    return series.deltaCounts;
+  }
+
+  private Series series(MetricData metric, PointData point) {
+    Map<Attributes, Series> metricSeries =
+        metrics.computeIfAbsent(
+            new MetricKey(metric.getInstrumentationScopeInfo(), metric.getName()),
+            unused -> new HashMap<>());
+    Series series = metricSeries.get(point.getAttributes());
+    if (series == null) {
+      series = new Series(point.getStartEpochNanos());
+      metricSeries.put(point.getAttributes(), series);
+    }
+    series.generation = generation;
+    return series;
+  }
+
+  private static final class Series {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long startEpochNanos;
+    private long generation;
+    private long longValue;
+    private double doubleValue;
+    private long[] counts = EMPTY;
+    private long[] deltaCounts = EMPTY;
+
+    private Series(long startEpochNanos) {
+      this.startEpochNanos = startEpochNanos;
+    }
+
+    private boolean isReset(PointData point) {
+      if (point.getStartEpochNanos() == startEpochNanos) {
+        return false;
+      }
+      startEpochNanos = point.getStartEpochNanos();
+      return true;
+    }
+  }
+
+  private static final class MetricKey {
+
+    private final InstrumentationScopeInfo scope;
+    private final String name;
+
+    private MetricKey(InstrumentationScopeInfo scope, String name) {
+      this.scope = scope;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MetricKey)) {
+        return false;
+      }
+      MetricKey that = (MetricKey) o;
+      return scope.equals(that.scope) && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * scope.hashCode() + name.hashCode();
+    }
+  }
+}
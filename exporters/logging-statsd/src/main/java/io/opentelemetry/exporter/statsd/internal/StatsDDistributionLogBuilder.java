@@ -0,0 +1,32 @@
+package io.opentelemetry.exporter.statsd.internal;
+
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+
+public class StatsDDistributionLogBuilder extends StatsDLogBuilder {
+
+	private final double sampleRate;
+
+	public StatsDDistributionLogBuilder(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	protected void appendMetricType() {
+		getBuilder().append('d');
+	}
+
+	@Override
+	protected void appendMetricValue() {
+		DoublePointData pointData = (DoublePointData) getValue();
+		if (pointData != null) {
+			getBuilder().append(String.format("%.2f", pointData.getValue()));
+		}
+	}
+
+	@Override
+	protected void appendSampling() {
+		if (sampleRate < 1) {
+			getBuilder().append("|@").append(sampleRate);
+		}
+	}
+}
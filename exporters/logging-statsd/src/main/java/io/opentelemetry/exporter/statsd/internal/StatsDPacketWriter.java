@@ -0,0 +1,374 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.SumData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Encodes {@link MetricData} into DogStatsD lines and packs them into datagrams of at most {@code
+ * maxPacketSize} bytes, which are written to a {@link WritableByteChannel}.
+ *
+ * <p>Every point of every supported metric is encoded into a line of the form {@code
+ * name:value|type|@rate|#key:value,key:value}, where the tags are the attributes of the point.
+ * Gauges and cumulative up down counters are sent as gauges, and monotonic or delta sums as
+ * counters of their increase since the previous call. Histograms are sent as one line per non-empty
+ * bucket of the configured histogram type, with a sample rate of one over the bucket count. Lines
+ * and packets are encoded into buffers which are reused across calls, so instances are not
+ * thread-safe.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class StatsDPacketWriter {
+
+  private static final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(StatsDPacketWriter.class.getName()));
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer packet;
+  private final String histogramType;
+  private final StatsDDeltaConverter deltaConverter = new StatsDDeltaConverter();
+  private final TagWriter tagWriter = new TagWriter();
+
+  private long[] histogramCounts = new long[0];
+
+  private byte[] line = new byte[256];
+  private int lineLength;
+
+  public StatsDPacketWriter(WritableByteChannel channel, int maxPacketSize, String histogramType) {
+    this.channel = channel;
+    this.packet = ByteBuffer.allocate(maxPacketSize);
+    this.histogramType = histogramType;
+  }
+
+  /**
+   * Encodes every point of the {@code metrics} and writes them as packed datagrams. When writing
+   * fails, the series which weren't encoded yet are kept so the next call reports their increase
+   * rather than their whole value.
+   */
+  public void write(Collection<MetricData> metrics) throws IOException {
+    deltaConverter.startExport();
+    try {
+      for (MetricData metric : metrics) {
+        writeMetric(metric);
+      }
+      flushPacket();
+    } finally {
+      packet.clear();
+    }
+    deltaConverter.endExport();
+  }
+
+  private void writeMetric(MetricData metric) throws IOException {
+    switch (metric.getType()) {
+      case LONG_GAUGE:
+        for (LongPointData point : metric.getLongGaugeData().getPoints()) {
+          writeLongLine(metric.getName(), point.getValue(), "g", point.getAttributes());
+        }
+        return;
+      case DOUBLE_GAUGE:
+        for (DoublePointData point : metric.getDoubleGaugeData().getPoints()) {
+          writeDoubleLine(metric.getName(), point.getValue(), "g", 1, point.getAttributes());
+        }
+        return;
+      case LONG_SUM:
+        writeLongSum(metric, metric.getLongSumData());
+        return;
+      case DOUBLE_SUM:
+        writeDoubleSum(metric, metric.getDoubleSumData());
+        return;
+      case HISTOGRAM:
+        writeHistogram(metric, metric.getHistogramData());
+        return;
+      default:
+        // Not representable with StatsD types.
+    }
+  }
+
+  private void writeLongSum(MetricData metric, SumData<LongPointData> sum) throws IOException {
+    boolean cumulative = sum.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+    for (LongPointData point : sum.getPoints()) {
+      if (cumulative && !sum.isMonotonic()) {
+        // The current value of an up down counter is a gauge.
+        writeLongLine(metric.getName(), point.getValue(), "g", point.getAttributes());
+      } else {
+        long value = cumulative ? deltaConverter.longDelta(metric, point) : point.getValue();
+        writeLongLine(metric.getName(), value, "c", point.getAttributes());
+      }
+    }
+  }
+
+  private void writeDoubleSum(MetricData metric, SumData<DoublePointData> sum) throws IOException {
+    boolean cumulative = sum.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+    for (DoublePointData point : sum.getPoints()) {
+      if (cumulative && !sum.isMonotonic()) {
+        writeDoubleLine(metric.getName(), point.getValue(), "g", 1, point.getAttributes());
+      } else {
+        double value = cumulative ? deltaConverter.doubleDelta(metric, point) : point.getValue();
+        writeDoubleLine(metric.getName(), value, "c", 1, point.getAttributes());
+      }
+    }
+  }
+
+  /**
+   * Writes each non-empty bucket of each point as a single value which stands for all of the
+   * samples in the bucket, using a sample rate of {@code 1 / count}.
+   */
+  private void writeHistogram(MetricData metric, HistogramData histogram) throws IOException {
+    boolean cumulative = histogram.getAggregationTemporality() == AggregationTemporality.CUMULATIVE;
+    for (HistogramPointData point : histogram.getPoints()) {
+      long[] counts =
+          cumulative ? deltaConverter.histogramDelta(metric, point) : counts(point.getCounts());
+      for (int i = 0; i < point.getCounts().size(); i++) {
+        if (counts[i] > 0) {
+          writeDoubleLine(
+              metric.getName(),
+              bucketValue(point, i),
+              histogramType,
+              counts[i],
+              point.getAttributes());
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the value which stands for all samples in the bucket at {@code index} of the {@code
+   * point}: the midpoint of bounded buckets, and the min or max, if recorded, of unbounded ones.
+   */
+  public static double bucketValue(HistogramPointData point, int index) {
+    List<Double> boundaries = point.getBoundaries();
+    if (boundaries.isEmpty()) {
+      return point.getSum() / point.getCount();
+    }
+    if (index == 0) {
+      return point.hasMin() ? point.getMin() : boundaries.get(0);
+    }
+    if (index == boundaries.size()) {
+      return point.hasMax() ? point.getMax() : boundaries.get(index - 1);
+    }
+    return (boundaries.get(index - 1) + boundaries.get(index)) / 2;
+  }
+
+  private long[] counts(List<Long> counts) {
+    if (histogramCounts.length < counts.size()) {
+      histogramCounts = new long[counts.size()];
+    }
+    for (int i = 0; i < counts.size(); i++) {
+      histogramCounts[i] = counts.get(i);
+    }
+    return histogramCounts;
+  }
+
+  private void writeLongLine(String name, long value, String type, Attributes attributes)
+      throws IOException {
+    startLine(name);
+    appendLong(value);
+    endLine(type, 1, attributes);
+  }
+
+  private void writeDoubleLine(
+      String name, double value, String type, long samples, Attributes attributes)
+      throws IOException {
+    // StatsD has no representation of NaN or infinity.
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return;
+    }
+    startLine(name);
+    appendDouble(value);
+    endLine(type, samples, attributes);
+  }
+
+  private void startLine(String name) {
+    lineLength = 0;
+    appendSanitized(name, /* allowColon= */ false);
+    append(':');
+  }
+
+  private void endLine(String type, long samples, Attributes attributes) throws IOException {
+    append('|');
+    appendAscii(type);
+    if (samples > 1) {
+      append('|');
+      append('@');
+      appendAscii(Double.toString(1.0 / samples));
+    }
+    if (!attributes.isEmpty()) {
+      append('|');
+      append('#');
+      tagWriter.first = true;
+      attributes.forEach(tagWriter);
+    }
+    addLineToPacket();
+  }
+
+  private void addLineToPacket() throws IOException {
+    if (lineLength > packet.capacity()) {
+      logger.log(
+          Level.WARNING,
+          "Dropping StatsD line of "
+              + lineLength
+              + " bytes which exceeds the maximum packet size of "
+              + packet.capacity()
+              + " bytes.");
+      return;
+    }
+    if (packet.position() > 0 && packet.position() + 1 + lineLength > packet.capacity()) {
+      flushPacket();
+    }
+    if (packet.position() > 0) {
+      packet.put((byte) '\n');
+    }
+    packet.put(line, 0, lineLength);
+  }
+
+  private void flushPacket() throws IOException {
+    if (packet.position() == 0) {
+      return;
+    }
+    packet.flip();
+    channel.write(packet);
+    packet.clear();
+  }
+
+  private void appendLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      appendAscii("-9223372036854775808");
+      return;
+    }
+    ensureCapacity(20);
+    if (value < 0) {
+      line[lineLength++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+      digits++;
+    }
+    int end = lineLength + digits;
+    for (int i = end - 1; i >= lineLength; i--) {
+      line[i] = (byte) ('0' + (value % 10));
+      value /= 10;
+    }
+    lineLength = end;
+  }
+
+  private void appendDouble(double value) {
+    // Integral values are common for counters and are written without a fraction to avoid
+    // formatting a String.
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      appendLong((long) value);
+    } else {
+      appendAscii(Double.toString(value));
+    }
+  }
+
+  private void appendAscii(String value) {
+    ensureCapacity(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      line[lineLength++] = (byte) value.charAt(i);
+    }
+  }
+
+  /**
+   * Appends the UTF-8 encoding of {@code value}, replacing characters which are part of the StatsD
+   * syntax with {@code '_'}.
+   */
+  private void appendSanitized(String value, boolean allowColon) {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        if (c == '|' || c == '@' || c == '#' || c == ',' || c == '\n' || c == '\r') {
+          c = '_';
+        } else if (c == ':' && !allowColon) {
+          c = '_';
+        }
+        append(c);
+      } else if (c < 0x800) {
+        ensureCapacity(2);
+        line[lineLength++] = (byte) (0xC0 | (c >>> 6));
+        line[lineLength++] = (byte) (0x80 | (0x3F & c));
+      } else if (!Character.isSurrogate(c)) {
+        ensureCapacity(3);
+        line[lineLength++] = (byte) (0xE0 | (c >>> 12));
+        line[lineLength++] = (byte) (0x80 | (0x3F & (c >>> 6)));
+        line[lineLength++] = (byte) (0x80 | (0x3F & c));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        ensureCapacity(4);
+        line[lineLength++] = (byte) (0xF0 | (codePoint >>> 18));
+        line[lineLength++] = (byte) (0x80 | (0x3F & (codePoint >>> 12)));
+        line[lineLength++] = (byte) (0x80 | (0x3F & (codePoint >>> 6)));
+        line[lineLength++] = (byte) (0x80 | (0x3F & codePoint));
+      } else {
+        append('?');
+      }
+    }
+  }
+
+  private void append(char c) {
+    ensureCapacity(1);
+    line[lineLength++] = (byte) c;
+  }
+
+  private void ensureCapacity(int size) {
+    if (line.length - lineLength < size) {
+      line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + size));
+    }
+  }
+
+  private class TagWriter implements BiConsumer<AttributeKey<?>, Object> {
+
+    private boolean first;
+
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+      if (!first) {
+        append(',');
+      }
+      first = false;
+      appendSanitized(key.getKey(), /* allowColon= */ false);
+      append(':');
+      switch (key.getType()) {
+        case STRING:
+          appendSanitized((String) value, /* allowColon= */ true);
+          return;
+        case LONG:
+          appendLong((Long) value);
+          return;
+        case DOUBLE:
+          appendDouble((Double) value);
+          return;
+        case BOOLEAN:
+          appendAscii(((Boolean) value) ? "true" : "false");
+          return;
+        default:
+          appendSanitized(String.valueOf(value), /* allowColon= */ true);
+      }
+    }
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.statsd;
+
+import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.CUMULATIVE;
+import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.DELTA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.statsd.internal.StatsDPacketWriter;
+import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@SuppressLogger(StatsDPacketWriter.class)
+@SuppressLogger(StatsDMetricExporter.class)
+class StatsDMetricExporterTest {
+
+  private static final MetricData LONG_SUM =
+      ImmutableMetricData.createLongSum(
+          Resource.empty(),
+          InstrumentationScopeInfo.create("test"),
+          "requests",
+          "",
+          "1",
+          ImmutableSumData.create(
+              /* isMonotonic= */ true,
+              AggregationTemporality.CUMULATIVE,
+              Arrays.asList(
+                  ImmutableLongPointData.create(
+                      0, 1, Attributes.of(AttributeKey.stringKey("route"), "/a"), 10),
+                  ImmutableLongPointData.create(
+                      0, 1, Attributes.of(AttributeKey.stringKey("route"), "/b"), 20))));
+
+  private static final MetricData DOUBLE_GAUGE =
+      ImmutableMetricData.createDoubleGauge(
+          Resource.empty(),
+          InstrumentationScopeInfo.create("test"),
+          "cpu:usage",
+          "",
+          "1",
+          ImmutableGaugeData.create(
+              Collections.singletonList(
+                  ImmutableDoublePointData.create(
+                      0,
+                      1,
+                      Attributes.builder()
+                          .put("host", "a|b,c")
+                          .put("core", 3)
+                          .put("idle", false)
+                          .build(),
+                      0.25))));
+
+  private DatagramSocket server;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+    server.setSoTimeout(5000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  void export() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    assertThat(exporter.export(Arrays.asList(LONG_SUM, DOUBLE_GAUGE)).isSuccess()).isTrue();
+
+    assertThat(receive())
+        .containsExactly(
+            "requests:10|c|#route:/a",
+            "requests:20|c|#route:/b",
+            "cpu_usage:0.25|g|#core:3,host:a_b_c,idle:false");
+    assertThat(exporter.shutdown().isSuccess()).isTrue();
+  }
+
+  @Test
+  void export_PacksLinesIntoPackets() throws Exception {
+    // Fits two of the requests lines, separated by a newline, but not three.
+    StatsDMetricExporter exporter = newExporter().setMaxPacketSize(50).build();
+
+    MetricData sum = longSum(true, DELTA, 0, 10, 20);
+    assertThat(exporter.export(Arrays.asList(sum, sum)).isSuccess()).isTrue();
+
+    List<String> packets = new ArrayList<>();
+    packets.add(receivePacket());
+    packets.add(receivePacket());
+    assertThat(packets)
+        .containsExactly(
+            "requests:10|c|#route:/a\nrequests:20|c|#route:/b",
+            "requests:10|c|#route:/a\nrequests:20|c|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_DropsLinesLargerThanPacket() throws Exception {
+    StatsDMetricExporter exporter = newExporter().setMaxPacketSize(30).build();
+
+    assertThat(exporter.export(Arrays.asList(DOUBLE_GAUGE, LONG_SUM)).isSuccess()).isTrue();
+
+    assertThat(receivePacket()).isEqualTo("requests:10|c|#route:/a");
+    assertThat(receivePacket()).isEqualTo("requests:20|c|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_CumulativeSumAsDelta() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 0, 10, 20)));
+    assertThat(receive()).containsExactly("requests:10|c|#route:/a", "requests:20|c|#route:/b");
+
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 0, 15, 20)));
+    assertThat(receive()).containsExactly("requests:5|c|#route:/a", "requests:0|c|#route:/b");
+
+    // A new start time or a decrease means the series was reset.
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 5, 3, 20)));
+    assertThat(receive()).containsExactly("requests:3|c|#route:/a", "requests:20|c|#route:/b");
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 5, 1, 25)));
+    assertThat(receive()).containsExactly("requests:1|c|#route:/a", "requests:5|c|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_CumulativeSumAsDelta_ForgetsMissingSeries() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 0, 10, 20)));
+    receive();
+    exporter.export(Collections.singletonList(DOUBLE_GAUGE));
+    receive();
+
+    exporter.export(Collections.singletonList(longSum(true, CUMULATIVE, 0, 15, 25)));
+    assertThat(receive()).containsExactly("requests:15|c|#route:/a", "requests:25|c|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void write_FailureKeepsRemainingSeries() throws Exception {
+    FailingChannel channel = new FailingChannel();
+    // The gauge line fills a packet, which is written when the first requests line is encoded.
+    StatsDPacketWriter writer =
+        new StatsDPacketWriter(channel, 50, StatsDHistogramType.DISTRIBUTION.getType());
+
+    writer.write(Collections.singletonList(longSum(true, CUMULATIVE, 0, 10, 20)));
+    channel.fail = true;
+    assertThatThrownBy(
+            () -> writer.write(Arrays.asList(DOUBLE_GAUGE, longSum(true, CUMULATIVE, 0, 15, 25))))
+        .isInstanceOf(IOException.class);
+    channel.fail = false;
+    channel.packets.clear();
+
+    // The line of the series encoded before the failure is lost like any dropped datagram, but the
+    // series which weren't reached still report their increase.
+    writer.write(Collections.singletonList(longSum(true, CUMULATIVE, 0, 17, 30)));
+    assertThat(channel.packets).containsExactly("requests:2|c|#route:/a\nrequests:10|c|#route:/b");
+  }
+
+  @Test
+  void export_DeltaSum() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    exporter.export(Collections.singletonList(longSum(true, DELTA, 0, 10, 20)));
+    exporter.export(Collections.singletonList(longSum(true, DELTA, 0, 10, 20)));
+
+    assertThat(receive()).containsExactly("requests:10|c|#route:/a", "requests:20|c|#route:/b");
+    assertThat(receive()).containsExactly("requests:10|c|#route:/a", "requests:20|c|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_CumulativeUpDownCounterAsGauge() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    exporter.export(Collections.singletonList(longSum(false, CUMULATIVE, 0, -10, 20)));
+    exporter.export(Collections.singletonList(longSum(false, CUMULATIVE, 0, -5, 20)));
+
+    assertThat(receive()).containsExactly("requests:-10|g|#route:/a", "requests:20|g|#route:/b");
+    assertThat(receive()).containsExactly("requests:-5|g|#route:/a", "requests:20|g|#route:/b");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Histogram() throws Exception {
+    StatsDMetricExporter exporter = newExporter().build();
+
+    exporter.export(Collections.singletonList(histogram(CUMULATIVE, 1, 0, 3, 1)));
+    assertThat(receive())
+        .containsExactly(
+            "latency:0.5|d|#route:/a",
+            "latency:15|d|@0.3333333333333333|#route:/a",
+            "latency:40|d|#route:/a");
+
+    exporter.export(Collections.singletonList(histogram(CUMULATIVE, 1, 0, 5, 1)));
+    assertThat(receive()).containsExactly("latency:15|d|@0.5|#route:/a");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_Histogram_Timer() throws Exception {
+    StatsDMetricExporter exporter =
+        newExporter().setHistogramType(StatsDHistogramType.TIMER).build();
+
+    exporter.export(Collections.singletonList(histogram(DELTA, 0, 4, 0, 0)));
+    exporter.export(Collections.singletonList(histogram(DELTA, 0, 4, 0, 0)));
+
+    assertThat(receive()).containsExactly("latency:7.5|ms|@0.25|#route:/a");
+    assertThat(receive()).containsExactly("latency:7.5|ms|@0.25|#route:/a");
+    exporter.shutdown();
+  }
+
+  @Test
+  void export_AfterShutdown() {
+    StatsDMetricExporter exporter = newExporter().build();
+    exporter.shutdown();
+
+    assertThat(exporter.export(Collections.singletonList(LONG_SUM)).isSuccess()).isFalse();
+  }
+
+  @Test
+  void aggregationTemporality() {
+    StatsDMetricExporter exporter =
+        newExporter().setAggregationTemporality(AggregationTemporality.DELTA).build();
+
+    assertThat(exporter.getAggregationTemporality(InstrumentType.COUNTER))
+        .isEqualTo(AggregationTemporality.DELTA);
+    exporter.shutdown();
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> StatsDMetricExporter.builder().setPort(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("port must be between 1 and 65535");
+    assertThatThrownBy(() -> StatsDMetricExporter.builder().setMaxPacketSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxPacketSize must be between 1 and 65507");
+  }
+
+  private static MetricData longSum(
+      boolean monotonic, AggregationTemporality temporality, long start, long a, long b) {
+    return ImmutableMetricData.createLongSum(
+        Resource.empty(),
+        InstrumentationScopeInfo.create("test"),
+        "requests",
+        "",
+        "1",
+        ImmutableSumData.create(
+            monotonic,
+            temporality,
+            Arrays.asList(
+                ImmutableLongPointData.create(
+                    start, 10, Attributes.of(AttributeKey.stringKey("route"), "/a"), a),
+                ImmutableLongPointData.create(
+                    start, 10, Attributes.of(AttributeKey.stringKey("route"), "/b"), b))));
+  }
+
+  /** Returns a histogram with boundaries 5, 10 and 20, a min of 0.5 and a max of 40. */
+  private static MetricData histogram(AggregationTemporality temporality, long... counts) {
+    long total = Arrays.stream(counts).sum();
+    return ImmutableMetricData.createDoubleHistogram(
+        Resource.empty(),
+        InstrumentationScopeInfo.create("test"),
+        "latency",
+        "",
+        "ms",
+        ImmutableHistogramData.create(
+            temporality,
+            Collections.singletonList(
+                ImmutableHistogramPointData.create(
+                    0,
+                    10,
+                    Attributes.of(AttributeKey.stringKey("route"), "/a"),
+                    total,
+                    total > 0,
+                    0.5,
+                    total > 0,
+                    40,
+                    Arrays.asList(5.0, 10.0, 20.0),
+                    Arrays.stream(counts).boxed().collect(Collectors.toList())))));
+  }
+
+  private StatsDMetricExporterBuilder newExporter() {
+    return StatsDMetricExporter.builder().setHost("127.0.0.1").setPort(server.getLocalPort());
+  }
+
+  private List<String> receive() throws Exception {
+    return Arrays.asList(receivePacket().split("\n"));
+  }
+
+  private String receivePacket() throws Exception {
+    DatagramPacket packet = new DatagramPacket(new byte[65536], 65536);
+    server.receive(packet);
+    return new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+  }
+
+  private static final class FailingChannel implements WritableByteChannel {
+
+    private final List<String> packets = new ArrayList<>();
+    private boolean fail;
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      if (fail) {
+        throw new IOException("write failed");
+      }
+      int length = src.remaining();
+      byte[] bytes = new byte[length];
+      src.get(bytes);
+      packets.add(new String(bytes, StandardCharsets.UTF_8));
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -37,6 +37,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 @BenchmarkMode({Mode.AverageTime})
@@ -105,6 +106,7 @@ public class OltpExporterBenchmark {
                 Collections::emptyMap,
                 null,
                 null,
+                null,
                 null),
             MeterProvider::noop);
 
@@ -156,4 +158,23 @@ public class OltpExporterBenchmark {
     }
     return result;
   }
+
+  // Concurrent exports share a single HTTP/2 connection, so throughput under parallel callers
+  // reflects how well each sender multiplexes streams rather than serializing on the connection.
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Threads(8)
+  public CompletableResultCode defaultGrpcExporterConcurrent(RequestMarshalState state) {
+    return defaultGrpcExporter(state);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Threads(8)
+  public CompletableResultCode okhttpGrpcExporterConcurrent(RequestMarshalState state) {
+    return okhttpGrpcExporter(state);
+  }
 }
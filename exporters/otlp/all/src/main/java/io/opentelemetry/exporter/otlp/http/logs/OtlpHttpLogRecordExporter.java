@@ -74,6 +74,11 @@ public final class OtlpHttpLogRecordExporter implements LogRecordExporter {
     return new OtlpHttpLogRecordExporterBuilder(builder.copy(), memoryMode);
   }
 
+  @Override
+  public MemoryMode getMemoryMode() {
+    return memoryMode;
+  }
+
   /**
    * Submits all the given logs in a single batch to the OpenTelemetry collector.
    *
@@ -88,9 +93,10 @@ public final class OtlpHttpLogRecordExporter implements LogRecordExporter {
         marshaler = new LowAllocationLogsRequestMarshaler();
       }
       LowAllocationLogsRequestMarshaler exportMarshaler = marshaler;
+      long startNanos = System.nanoTime();
       exportMarshaler.initialize(logs);
       return delegate
-          .export(exportMarshaler, logs.size())
+          .export(exportMarshaler, logs.size(), System.nanoTime() - startNanos)
           .whenComplete(
               () -> {
                 exportMarshaler.reset();
@@ -98,8 +104,9 @@ public final class OtlpHttpLogRecordExporter implements LogRecordExporter {
               });
     }
     // MemoryMode == MemoryMode.IMMUTABLE_DATA
+    long startNanos = System.nanoTime();
     LogsRequestMarshaler request = LogsRequestMarshaler.create(logs);
-    return delegate.export(request, logs.size());
+    return delegate.export(request, logs.size(), System.nanoTime() - startNanos);
   }
 
   @Override
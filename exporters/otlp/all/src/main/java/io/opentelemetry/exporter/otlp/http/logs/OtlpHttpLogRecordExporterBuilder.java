@@ -21,6 +21,7 @@ import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.net.ssl.SSLContext;
@@ -187,6 +188,20 @@ public final class OtlpHttpLogRecordExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the executor used to send requests. If unset, the HTTP sender manages its own threads,
+   * which are shut down along with the exporter. A provided executor is not shut down by the
+   * exporter, allowing it to be shared, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()}
+   * on Java 21+.
+   *
+   * @since 1.41.0
+   */
+  public OtlpHttpLogRecordExporterBuilder setExecutorService(ExecutorService executorService) {
+    requireNonNull(executorService, "executorService");
+    delegate.setExecutorService(executorService);
+    return this;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to export. If not set, uses
    * {@link GlobalOpenTelemetry#getMeterProvider()}.
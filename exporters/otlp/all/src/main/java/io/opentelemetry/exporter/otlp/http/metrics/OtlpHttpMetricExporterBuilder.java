@@ -26,6 +26,7 @@ import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.net.ssl.SSLContext;
@@ -233,6 +234,20 @@ public final class OtlpHttpMetricExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the executor used to send requests. If unset, the HTTP sender manages its own threads,
+   * which are shut down along with the exporter. A provided executor is not shut down by the
+   * exporter, allowing it to be shared, e.g. {@code Executors.newVirtualThreadPerTaskExecutor()}
+   * on Java 21+.
+   *
+   * @since 1.41.0
+   */
+  public OtlpHttpMetricExporterBuilder setExecutorService(ExecutorService executorService) {
+    requireNonNull(executorService, "executorService");
+    delegate.setExecutorService(executorService);
+    return this;
+  }
+
   /**
    * Set the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
    *
@@ -114,9 +114,10 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
         marshaler = new LowAllocationMetricsRequestMarshaler();
       }
       LowAllocationMetricsRequestMarshaler exportMarshaler = marshaler;
+      long startNanos = System.nanoTime();
       exportMarshaler.initialize(metrics);
       return delegate
-          .export(exportMarshaler, metrics.size())
+          .export(exportMarshaler, metrics.size(), System.nanoTime() - startNanos)
           .whenComplete(
               () -> {
                 exportMarshaler.reset();
@@ -124,8 +125,9 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
               });
     }
     // MemoryMode == MemoryMode.IMMUTABLE_DATA
+    long startNanos = System.nanoTime();
     MetricsRequestMarshaler request = MetricsRequestMarshaler.create(metrics);
-    return delegate.export(request, metrics.size());
+    return delegate.export(request, metrics.size(), System.nanoTime() - startNanos);
   }
 
   /**
@@ -84,9 +84,10 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
         marshaler = new LowAllocationTraceRequestMarshaler();
       }
       LowAllocationTraceRequestMarshaler exportMarshaler = marshaler;
+      long startNanos = System.nanoTime();
       exportMarshaler.initialize(spans);
       return delegate
-          .export(exportMarshaler, spans.size())
+          .export(exportMarshaler, spans.size(), System.nanoTime() - startNanos)
           .whenComplete(
               () -> {
                 exportMarshaler.reset();
@@ -94,8 +95,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
               });
     }
     // MemoryMode == MemoryMode.IMMUTABLE_DATA
+    long startNanos = System.nanoTime();
     TraceRequestMarshaler request = TraceRequestMarshaler.create(spans);
-    return delegate.export(request, spans.size());
+    return delegate.export(request, spans.size(), System.nanoTime() - startNanos);
   }
 
   /**
@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.internal.otlp;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.opentelemetry.exporter.internal.otlp.traces.LowAllocationTraceRequestMarshaler;
 import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
 import java.io.IOException;
@@ -28,6 +30,7 @@ public class RequestMarshalBenchmarks {
   private static final LowAllocationTraceRequestMarshaler MARSHALER =
       new LowAllocationTraceRequestMarshaler();
   private static final TestOutputStream OUTPUT = new TestOutputStream();
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
   @Benchmark
   @Threads(1)
@@ -54,6 +57,16 @@ public class RequestMarshalBenchmarks {
     return OUTPUT.getCount();
   }
 
+  @Benchmark
+  @Threads(1)
+  public int marshalStatefulJsonJackson(RequestMarshalState state) throws IOException {
+    TraceRequestMarshaler requestMarshaler = TraceRequestMarshaler.create(state.spanDataList);
+    OUTPUT.reset();
+    JsonGenerator generator = JSON_FACTORY.createGenerator(OUTPUT);
+    requestMarshaler.writeJsonTo(generator);
+    return OUTPUT.getCount();
+  }
+
   @Benchmark
   @Threads(1)
   public int createStatelessMarshaler(RequestMarshalState state) {
@@ -93,4 +106,19 @@ public class RequestMarshalBenchmarks {
       requestMarshaler.reset();
     }
   }
+
+  @Benchmark
+  @Threads(1)
+  public int marshalStatelessJsonJackson(RequestMarshalState state) throws IOException {
+    LowAllocationTraceRequestMarshaler requestMarshaler = MARSHALER;
+    requestMarshaler.initialize(state.spanDataList);
+    try {
+      OUTPUT.reset();
+      JsonGenerator generator = JSON_FACTORY.createGenerator(OUTPUT);
+      requestMarshaler.writeJsonTo(generator);
+      return OUTPUT.getCount();
+    } finally {
+      requestMarshaler.reset();
+    }
+  }
 }
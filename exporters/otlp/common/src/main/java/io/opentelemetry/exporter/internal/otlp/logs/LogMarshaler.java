@@ -22,6 +22,7 @@ import io.opentelemetry.proto.logs.v1.internal.SeverityNumber;
 import io.opentelemetry.sdk.logs.data.Body;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.internal.AnyValueBody;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
 import java.io.IOException;
 import javax.annotation.Nullable;
 
@@ -66,6 +67,9 @@ final class LogMarshaler extends MarshalerWithSize {
     if (body instanceof AnyValueBody) {
       return AnyValueMarshaler.create(((AnyValueBody) body).asAnyValue());
     }
+    if (body instanceof SerializedAnyValueBody) {
+      return SerializedBodyMarshaler.create((SerializedAnyValueBody) body);
+    }
     switch (body.getType()) {
       case STRING:
         return AnyValueMarshaler.create(AnyValue.of(body.asString()));
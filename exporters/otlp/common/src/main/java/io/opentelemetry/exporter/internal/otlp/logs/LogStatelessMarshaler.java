@@ -22,6 +22,7 @@ import io.opentelemetry.proto.logs.v1.internal.LogRecord;
 import io.opentelemetry.sdk.logs.data.Body;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.internal.AnyValueBody;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
 import java.io.IOException;
 
 /** See {@link LogMarshaler}. */
@@ -105,6 +106,10 @@ final class LogStatelessMarshaler implements StatelessMarshaler<LogRecordData> {
     @Override
     public void writeTo(Serializer output, Body value, MarshalerContext context)
         throws IOException {
+      if (value instanceof SerializedAnyValueBody) {
+        SerializedBodyMarshaler.writeTo(output, (SerializedAnyValueBody) value);
+        return;
+      }
       AnyValue<?> anyValue;
       if (value instanceof AnyValueBody) {
         anyValue = ((AnyValueBody) value).asAnyValue();
@@ -125,6 +130,10 @@ final class LogStatelessMarshaler implements StatelessMarshaler<LogRecordData> {
 
     @Override
     public int getBinarySerializedSize(Body value, MarshalerContext context) {
+      if (value instanceof SerializedAnyValueBody) {
+        // Doesn't use the context, as it is written as is
+        return ((SerializedAnyValueBody) value).getSerialized().length;
+      }
       AnyValue<?> anyValue;
       if (value instanceof AnyValueBody) {
         anyValue = ((AnyValueBody) value).asAnyValue();
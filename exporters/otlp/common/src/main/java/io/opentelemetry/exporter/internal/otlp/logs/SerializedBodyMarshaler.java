@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.otlp.logs;
+
+import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.internal.otlp.AnyValueMarshaler;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
+import java.io.IOException;
+
+/**
+ * A marshaler of a {@link SerializedAnyValueBody}, which is already in the protobuf binary format
+ * of the OTLP {@code AnyValue} message and is copied as is. For JSON, the body is decoded and
+ * marshaled with an {@link AnyValueMarshaler}.
+ */
+final class SerializedBodyMarshaler extends MarshalerWithSize {
+
+  private final SerializedAnyValueBody body;
+
+  static SerializedBodyMarshaler create(SerializedAnyValueBody body) {
+    return new SerializedBodyMarshaler(body);
+  }
+
+  private SerializedBodyMarshaler(SerializedAnyValueBody body) {
+    super(body.getSerialized().length);
+    this.body = body;
+  }
+
+  @Override
+  protected void writeTo(Serializer output) throws IOException {
+    writeTo(output, body);
+  }
+
+  /** Writes the contents of the OTLP {@code AnyValue} message of the {@code body}. */
+  static void writeTo(Serializer output, SerializedAnyValueBody body) throws IOException {
+    output.writeSerializedMessage(
+        body.getSerialized(),
+        body,
+        serializedBody -> AnyValueMarshaler.create(serializedBody.asAnyValue()));
+  }
+}
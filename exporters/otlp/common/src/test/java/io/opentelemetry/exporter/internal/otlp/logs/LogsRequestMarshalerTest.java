@@ -13,6 +13,7 @@ import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
 import io.opentelemetry.api.internal.OtelEncodingUtils;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.api.trace.SpanContext;
@@ -25,14 +26,20 @@ import io.opentelemetry.exporter.internal.marshal.MarshalerContext;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.exporter.internal.marshal.StatelessMarshaler;
 import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
 import io.opentelemetry.proto.common.v1.InstrumentationScope;
 import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.common.v1.KeyValueList;
 import io.opentelemetry.proto.logs.v1.LogRecord;
 import io.opentelemetry.proto.logs.v1.ResourceLogs;
 import io.opentelemetry.proto.logs.v1.ScopeLogs;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
 import io.opentelemetry.sdk.testing.logs.TestLogRecordData;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -168,6 +175,77 @@ class LogsRequestMarshalerTest {
     assertThat(logRecord.getObservedTimeUnixNano()).isEqualTo(6789);
   }
 
+  @ParameterizedTest
+  @EnumSource(MarshalerSource.class)
+  void toProtoLogRecord_StructuredBody(MarshalerSource marshalerSource) {
+    InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+    try (SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+            .build()) {
+      ((ExtendedLogRecordBuilder) loggerProvider.get("instrumentation").logRecordBuilder())
+          .setStructuredBody()
+          .put("event", "order.placed")
+          .put("amount", 42.5)
+          .put("count", -3)
+          .put("valid", true)
+          .put("bytes", new byte[] {1, 2})
+          .startArray("items")
+          .add("sku-1")
+          .startKeyValueList()
+          .put("nested", "\u00e9t\u00e9")
+          .end()
+          .end()
+          .endBody()
+          .emit();
+    }
+    LogRecordData logRecordData = exporter.getFinishedLogRecordItems().get(0);
+    assertThat(logRecordData.getBody()).isInstanceOf(SerializedAnyValueBody.class);
+
+    LogRecord logRecord =
+        parse(LogRecord.getDefaultInstance(), marshalerSource.create(logRecordData));
+
+    AnyValue nested =
+        AnyValue.newBuilder()
+            .setKvlistValue(
+                KeyValueList.newBuilder()
+                    .addValues(keyValue("nested", stringValue("\u00e9t\u00e9"))))
+            .build();
+    AnyValue items =
+        AnyValue.newBuilder()
+            .setArrayValue(
+                ArrayValue.newBuilder().addValues(stringValue("sku-1")).addValues(nested))
+            .build();
+    assertThat(logRecord.getBody())
+        .isEqualTo(
+            AnyValue.newBuilder()
+                .setKvlistValue(
+                    KeyValueList.newBuilder()
+                        .addValues(keyValue("event", stringValue("order.placed")))
+                        .addValues(keyValue("amount", AnyValue.newBuilder().setDoubleValue(42.5)))
+                        .addValues(keyValue("count", AnyValue.newBuilder().setIntValue(-3)))
+                        .addValues(keyValue("valid", AnyValue.newBuilder().setBoolValue(true)))
+                        .addValues(
+                            keyValue(
+                                "bytes",
+                                AnyValue.newBuilder()
+                                    .setBytesValue(ByteString.copyFrom(new byte[] {1, 2}))))
+                        .addValues(keyValue("items", items)))
+                .build());
+  }
+
+  private static KeyValue keyValue(String key, AnyValue.Builder value) {
+    return keyValue(key, value.build());
+  }
+
+  private static KeyValue keyValue(String key, AnyValue value) {
+    return KeyValue.newBuilder().setKey(key).setValue(value).build();
+  }
+
+  private static AnyValue stringValue(String value) {
+    return AnyValue.newBuilder().setStringValue(value).build();
+  }
+
   @SuppressWarnings("unchecked")
   private static <T extends Message> T parse(T prototype, Marshaler marshaler) {
     byte[] serialized = toByteArray(marshaler);
@@ -0,0 +1,156 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.expositionformats.OpenMetricsTextFormatWriter;
+import io.prometheus.metrics.expositionformats.PrometheusTextFormatWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares writing a scrape directly with converting to MetricSnapshots and writing those. */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrometheusTextWriterBenchmark {
+
+  private static final int POINTS_PER_METRIC = 10;
+
+  @Param({"false", "true"})
+  boolean openMetrics;
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024 * 1024);
+  private Otel2PrometheusConverter converter;
+  private PrometheusTextFormatWriter prometheusTextFormatWriter;
+  private OpenMetricsTextFormatWriter openMetricsTextFormatWriter;
+  private PrometheusTextWriter writer;
+  private Collection<MetricData> metrics;
+
+  @Setup
+  public void setup() {
+    converter = new Otel2PrometheusConverter(true, null);
+    prometheusTextFormatWriter = new PrometheusTextFormatWriter(false);
+    openMetricsTextFormatWriter = new OpenMetricsTextFormatWriter(false, false);
+    writer = new PrometheusTextWriter(true, null);
+
+    Resource resource = Resource.getDefault();
+    InstrumentationScopeInfo scope =
+        InstrumentationScopeInfo.builder("benchmark").setVersion("1.0").build();
+    metrics = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      List<LongPointData> longPoints = new ArrayList<>();
+      List<DoublePointData> doublePoints = new ArrayList<>();
+      List<HistogramPointData> histogramPoints = new ArrayList<>();
+      for (int j = 0; j < POINTS_PER_METRIC; j++) {
+        Attributes attributes =
+            Attributes.builder()
+                .put("http.route", "/api/v1/resource/" + j)
+                .put("http.status_code", 200 + j)
+                .put("success", j % 2 == 0)
+                .build();
+        longPoints.add(ImmutableLongPointData.create(1, 2, attributes, i * 1000L + j));
+        doublePoints.add(ImmutableDoublePointData.create(1, 2, attributes, i + j / 7.0));
+        histogramPoints.add(
+            ImmutableHistogramPointData.create(
+                1,
+                2,
+                attributes,
+                i * 10.0 + j,
+                false,
+                0,
+                false,
+                0,
+                Arrays.asList(5.0, 10.0, 25.0, 50.0, 100.0),
+                Arrays.asList(1L, 2L, 3L, 4L, 5L, (long) j),
+                Collections.emptyList()));
+      }
+      metrics.add(
+          ImmutableMetricData.createLongSum(
+              resource,
+              scope,
+              "requests." + i,
+              "The number of requests",
+              "{request}",
+              ImmutableSumData.create(
+                  /* isMonotonic= */ true, AggregationTemporality.CUMULATIVE, longPoints)));
+      metrics.add(
+          ImmutableMetricData.createDoubleGauge(
+              resource,
+              scope,
+              "utilization." + i,
+              "The utilization",
+              "1",
+              ImmutableGaugeData.create(doublePoints)));
+      if (i % 10 == 0) {
+        metrics.add(
+            ImmutableMetricData.createDoubleHistogram(
+                resource,
+                scope,
+                "duration." + i,
+                "The duration",
+                "ms",
+                ImmutableHistogramData.create(
+                    AggregationTemporality.CUMULATIVE, histogramPoints)));
+      }
+    }
+  }
+
+  @Benchmark
+  public int converter() throws IOException {
+    out.reset();
+    if (openMetrics) {
+      openMetricsTextFormatWriter.write(out, converter.convert(metrics));
+    } else {
+      prometheusTextFormatWriter.write(out, converter.convert(metrics));
+    }
+    return out.size();
+  }
+
+  @Benchmark
+  public int writer() throws IOException {
+    out.reset();
+    if (openMetrics) {
+      writer.writeOpenMetrics(out, metrics, null, false, false);
+    } else {
+      writer.writePrometheusText(out, metrics, null, false);
+    }
+    return out.size();
+  }
+}
@@ -5,11 +5,8 @@
 
 package io.opentelemetry.exporter.prometheus;
 
-import static io.prometheus.metrics.model.snapshots.PrometheusNaming.sanitizeLabelName;
-import static io.prometheus.metrics.model.snapshots.PrometheusNaming.sanitizeMetricName;
 import static java.util.Objects.requireNonNull;
 
-import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
@@ -52,6 +49,7 @@ import io.prometheus.metrics.model.snapshots.SummarySnapshot;
 import io.prometheus.metrics.model.snapshots.SummarySnapshot.SummaryDataPointSnapshot;
 import io.prometheus.metrics.model.snapshots.Unit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,7 +63,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /** Convert OpenTelemetry {@link MetricData} to Prometheus {@link MetricSnapshots}. */
@@ -80,12 +77,14 @@ final class Otel2PrometheusConverter {
 
   private final boolean otelScopeEnabled;
   @Nullable private final Predicate<String> allowedResourceAttributesFilter;
+  private final PrometheusNameCache nameCache = new PrometheusNameCache();
 
   /**
-   * Used only if addResourceAttributesAsLabels is true. Once the cache reaches {@link
-   * #MAX_CACHE_SIZE}, it is cleared to protect against unbounded conversion over time.
+   * The allowed resource labels and the labels prefixes of each scope, by resource attributes. Once
+   * the cache reaches {@link #MAX_CACHE_SIZE}, it is cleared to protect against unbounded
+   * conversion over time.
    */
-  private final Map<Attributes, List<AttributeKey<?>>> resourceAttributesToAllowedKeysCache;
+  private final Map<Attributes, ResourceLabels> resourceLabelsCache = new ConcurrentHashMap<>();
 
   /**
    * Constructor with feature flag parameter.
@@ -99,10 +98,6 @@ final class Otel2PrometheusConverter {
       boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter) {
     this.otelScopeEnabled = otelScopeEnabled;
     this.allowedResourceAttributesFilter = allowedResourceAttributesFilter;
-    this.resourceAttributesToAllowedKeysCache =
-        allowedResourceAttributesFilter != null
-            ? new ConcurrentHashMap<>()
-            : Collections.emptyMap();
   }
 
   MetricSnapshots convert(@Nullable Collection<MetricData> metricDataCollection) {
@@ -140,44 +135,39 @@ final class Otel2PrometheusConverter {
     // Note that AggregationTemporality.DELTA should never happen
     // because PrometheusMetricReader#getAggregationTemporality returns CUMULATIVE.
 
-    MetricMetadata metadata = convertMetadata(metricData);
-    InstrumentationScopeInfo scope = metricData.getInstrumentationScopeInfo();
+    MetricMetadata metadata = nameCache.metadata(metricData);
+    LabelsPrefix labelsPrefix =
+        labelsPrefix(metricData.getResource(), metricData.getInstrumentationScopeInfo());
     switch (metricData.getType()) {
       case LONG_GAUGE:
-        return convertLongGauge(
-            metadata, scope, metricData.getLongGaugeData().getPoints(), metricData.getResource());
+        return convertLongGauge(metadata, labelsPrefix, metricData.getLongGaugeData().getPoints());
       case DOUBLE_GAUGE:
         return convertDoubleGauge(
-            metadata, scope, metricData.getDoubleGaugeData().getPoints(), metricData.getResource());
+            metadata, labelsPrefix, metricData.getDoubleGaugeData().getPoints());
       case LONG_SUM:
         SumData<LongPointData> longSumData = metricData.getLongSumData();
         if (longSumData.getAggregationTemporality() == AggregationTemporality.DELTA) {
           return null;
         } else if (longSumData.isMonotonic()) {
-          return convertLongCounter(
-              metadata, scope, longSumData.getPoints(), metricData.getResource());
+          return convertLongCounter(metadata, labelsPrefix, longSumData.getPoints());
         } else {
-          return convertLongGauge(
-              metadata, scope, longSumData.getPoints(), metricData.getResource());
+          return convertLongGauge(metadata, labelsPrefix, longSumData.getPoints());
         }
       case DOUBLE_SUM:
         SumData<DoublePointData> doubleSumData = metricData.getDoubleSumData();
         if (doubleSumData.getAggregationTemporality() == AggregationTemporality.DELTA) {
           return null;
         } else if (doubleSumData.isMonotonic()) {
-          return convertDoubleCounter(
-              metadata, scope, doubleSumData.getPoints(), metricData.getResource());
+          return convertDoubleCounter(metadata, labelsPrefix, doubleSumData.getPoints());
         } else {
-          return convertDoubleGauge(
-              metadata, scope, doubleSumData.getPoints(), metricData.getResource());
+          return convertDoubleGauge(metadata, labelsPrefix, doubleSumData.getPoints());
         }
       case HISTOGRAM:
         HistogramData histogramData = metricData.getHistogramData();
         if (histogramData.getAggregationTemporality() == AggregationTemporality.DELTA) {
           return null;
         } else {
-          return convertHistogram(
-              metadata, scope, histogramData.getPoints(), metricData.getResource());
+          return convertHistogram(metadata, labelsPrefix, histogramData.getPoints());
         }
       case EXPONENTIAL_HISTOGRAM:
         ExponentialHistogramData exponentialHistogramData =
@@ -186,42 +176,35 @@ final class Otel2PrometheusConverter {
           return null;
         } else {
           return convertExponentialHistogram(
-              metadata, scope, exponentialHistogramData.getPoints(), metricData.getResource());
+              metadata, labelsPrefix, exponentialHistogramData.getPoints());
         }
       case SUMMARY:
-        return convertSummary(
-            metadata, scope, metricData.getSummaryData().getPoints(), metricData.getResource());
+        return convertSummary(metadata, labelsPrefix, metricData.getSummaryData().getPoints());
     }
     return null;
   }
 
   private GaugeSnapshot convertLongGauge(
-      MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<LongPointData> dataPoints,
-      Resource resource) {
+      MetricMetadata metadata, LabelsPrefix labelsPrefix, Collection<LongPointData> dataPoints) {
     List<GaugeDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (LongPointData longData : dataPoints) {
       data.add(
           new GaugeDataPointSnapshot(
               (double) longData.getValue(),
-              convertAttributes(resource, scope, longData.getAttributes()),
+              convertAttributes(labelsPrefix, longData.getAttributes()),
               convertLongExemplar(longData.getExemplars())));
     }
     return new GaugeSnapshot(metadata, data);
   }
 
   private CounterSnapshot convertLongCounter(
-      MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<LongPointData> dataPoints,
-      Resource resource) {
+      MetricMetadata metadata, LabelsPrefix labelsPrefix, Collection<LongPointData> dataPoints) {
     List<CounterDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (LongPointData longData : dataPoints) {
       data.add(
           new CounterDataPointSnapshot(
               (double) longData.getValue(),
-              convertAttributes(resource, scope, longData.getAttributes()),
+              convertAttributes(labelsPrefix, longData.getAttributes()),
               convertLongExemplar(longData.getExemplars()),
               longData.getStartEpochNanos() / NANOS_PER_MILLISECOND));
     }
@@ -229,32 +212,26 @@ final class Otel2PrometheusConverter {
   }
 
   private GaugeSnapshot convertDoubleGauge(
-      MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<DoublePointData> dataPoints,
-      Resource resource) {
+      MetricMetadata metadata, LabelsPrefix labelsPrefix, Collection<DoublePointData> dataPoints) {
     List<GaugeDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (DoublePointData doubleData : dataPoints) {
       data.add(
           new GaugeDataPointSnapshot(
               doubleData.getValue(),
-              convertAttributes(resource, scope, doubleData.getAttributes()),
+              convertAttributes(labelsPrefix, doubleData.getAttributes()),
               convertDoubleExemplar(doubleData.getExemplars())));
     }
     return new GaugeSnapshot(metadata, data);
   }
 
   private CounterSnapshot convertDoubleCounter(
-      MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<DoublePointData> dataPoints,
-      Resource resource) {
+      MetricMetadata metadata, LabelsPrefix labelsPrefix, Collection<DoublePointData> dataPoints) {
     List<CounterDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (DoublePointData doubleData : dataPoints) {
       data.add(
           new CounterDataPointSnapshot(
               doubleData.getValue(),
-              convertAttributes(resource, scope, doubleData.getAttributes()),
+              convertAttributes(labelsPrefix, doubleData.getAttributes()),
               convertDoubleExemplar(doubleData.getExemplars()),
               doubleData.getStartEpochNanos() / NANOS_PER_MILLISECOND));
     }
@@ -263,9 +240,8 @@ final class Otel2PrometheusConverter {
 
   private HistogramSnapshot convertHistogram(
       MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<HistogramPointData> dataPoints,
-      Resource resource) {
+      LabelsPrefix labelsPrefix,
+      Collection<HistogramPointData> dataPoints) {
     List<HistogramDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (HistogramPointData histogramData : dataPoints) {
       List<Double> boundaries = new ArrayList<>(histogramData.getBoundaries().size() + 1);
@@ -275,7 +251,7 @@ final class Otel2PrometheusConverter {
           new HistogramDataPointSnapshot(
               ClassicHistogramBuckets.of(boundaries, histogramData.getCounts()),
               histogramData.getSum(),
-              convertAttributes(resource, scope, histogramData.getAttributes()),
+              convertAttributes(labelsPrefix, histogramData.getAttributes()),
               convertDoubleExemplars(histogramData.getExemplars()),
               histogramData.getStartEpochNanos() / NANOS_PER_MILLISECOND));
     }
@@ -285,9 +261,8 @@ final class Otel2PrometheusConverter {
   @Nullable
   private HistogramSnapshot convertExponentialHistogram(
       MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<ExponentialHistogramPointData> dataPoints,
-      Resource resource) {
+      LabelsPrefix labelsPrefix,
+      Collection<ExponentialHistogramPointData> dataPoints) {
     List<HistogramDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (ExponentialHistogramPointData histogramData : dataPoints) {
       int scale = histogramData.getScale();
@@ -311,7 +286,7 @@ final class Otel2PrometheusConverter {
               convertExponentialHistogramBuckets(histogramData.getPositiveBuckets(), scaleDown),
               convertExponentialHistogramBuckets(histogramData.getNegativeBuckets(), scaleDown),
               histogramData.getSum(),
-              convertAttributes(resource, scope, histogramData.getAttributes()),
+              convertAttributes(labelsPrefix, histogramData.getAttributes()),
               convertDoubleExemplars(histogramData.getExemplars()),
               histogramData.getStartEpochNanos() / NANOS_PER_MILLISECOND));
     }
@@ -344,10 +319,7 @@ final class Otel2PrometheusConverter {
   }
 
   private SummarySnapshot convertSummary(
-      MetricMetadata metadata,
-      InstrumentationScopeInfo scope,
-      Collection<SummaryPointData> dataPoints,
-      Resource resource) {
+      MetricMetadata metadata, LabelsPrefix labelsPrefix, Collection<SummaryPointData> dataPoints) {
     List<SummaryDataPointSnapshot> data = new ArrayList<>(dataPoints.size());
     for (SummaryPointData summaryData : dataPoints) {
       data.add(
@@ -355,7 +327,7 @@ final class Otel2PrometheusConverter {
               summaryData.getCount(),
               summaryData.getSum(),
               convertQuantiles(summaryData.getValues()),
-              convertAttributes(resource, scope, summaryData.getAttributes()),
+              convertAttributes(labelsPrefix, summaryData.getAttributes()),
               Exemplars.EMPTY, // Exemplars for Summaries not implemented yet.
               summaryData.getStartEpochNanos() / NANOS_PER_MILLISECOND));
     }
@@ -406,8 +378,7 @@ final class Otel2PrometheusConverter {
       return new Exemplar(
           value,
           convertAttributes(
-              null, // resource attributes are only copied for point's attributes
-              null, // scope attributes are only needed for point's attributes
+              LabelsPrefix.EMPTY, // resource and scope are only copied for point's attributes
               exemplar.getFilteredAttributes(),
               "trace_id",
               spanContext.getTraceId(),
@@ -418,8 +389,7 @@ final class Otel2PrometheusConverter {
       return new Exemplar(
           value,
           convertAttributes(
-              null, // resource attributes are only copied for point's attributes
-              null, // scope attributes are only needed for point's attributes
+              LabelsPrefix.EMPTY, // resource and scope are only copied for point's attributes
               exemplar.getFilteredAttributes()),
           exemplar.getEpochNanos() / NANOS_PER_MILLISECOND);
     }
@@ -431,8 +401,7 @@ final class Otel2PrometheusConverter {
         Collections.singletonList(
             new InfoDataPointSnapshot(
                 convertAttributes(
-                    null, // resource attributes are only copied for point's attributes
-                    null, // scope attributes are only needed for point's attributes
+                    LabelsPrefix.EMPTY, // resource and scope are only copied for point's attributes
                     resource.getAttributes()))));
   }
 
@@ -442,109 +411,92 @@ final class Otel2PrometheusConverter {
       prometheusScopeInfos.add(
           new InfoDataPointSnapshot(
               convertAttributes(
-                  null, // resource attributes are only copied for point's attributes
-                  scope,
-                  scope.getAttributes())));
+                  // resource attributes are only copied for point's attributes
+                  scopeLabelsPrefix(scope, ResourceLabels.EMPTY), scope.getAttributes())));
     }
     return new InfoSnapshot(new MetricMetadata("otel_scope"), prometheusScopeInfos);
   }
 
   /**
-   * Convert OpenTelemetry attributes to Prometheus labels.
-   *
-   * @param resource optional resource (attributes) to be converted.
-   * @param scope will be converted to {@code otel_scope_*} labels if {@code otelScopeEnabled} is
-   *     {@code true}.
-   * @param attributes the attributes to be converted.
-   * @param additionalAttributes optional list of key/value pairs, may be empty.
+   * Returns the labels which are added to the points of metrics with the {@code resource} and
+   * {@code scope}.
    */
-  @SuppressWarnings({"rawtypes", "unchecked"})
-  private Labels convertAttributes(
-      @Nullable Resource resource,
-      @Nullable InstrumentationScopeInfo scope,
-      Attributes attributes,
-      String... additionalAttributes) {
-
-    List<AttributeKey<?>> allowedAttributeKeys =
-        allowedResourceAttributesFilter != null
-            ? filterAllowedResourceAttributeKeys(resource)
-            : Collections.emptyList();
-
-    Map<String, String> labelNameToValue = new HashMap<>();
-    attributes.forEach(
-        (key, value) -> labelNameToValue.put(sanitizeLabelName(key.getKey()), value.toString()));
-
-    for (int i = 0; i < additionalAttributes.length; i += 2) {
-      labelNameToValue.putIfAbsent(
-          requireNonNull(additionalAttributes[i]), additionalAttributes[i + 1]);
-    }
-
-    if (otelScopeEnabled && scope != null) {
-      labelNameToValue.putIfAbsent(OTEL_SCOPE_NAME, scope.getName());
-      if (scope.getVersion() != null) {
-        labelNameToValue.putIfAbsent(OTEL_SCOPE_VERSION, scope.getVersion());
-      }
-    }
-
-    if (resource != null) {
-      Attributes resourceAttributes = resource.getAttributes();
-      for (AttributeKey attributeKey : allowedAttributeKeys) {
-        Object attributeValue = resourceAttributes.get(attributeKey);
-        if (attributeValue != null) {
-          labelNameToValue.putIfAbsent(
-              sanitizeLabelName(attributeKey.getKey()), attributeValue.toString());
-        }
+  private LabelsPrefix labelsPrefix(Resource resource, InstrumentationScopeInfo scope) {
+    if (!otelScopeEnabled && allowedResourceAttributesFilter == null) {
+      return LabelsPrefix.EMPTY;
+    }
+    ResourceLabels resourceLabels =
+        resourceLabelsCache.computeIfAbsent(resource.getAttributes(), this::convertResourceLabels);
+    if (resourceLabelsCache.size() > MAX_CACHE_SIZE) {
+      resourceLabelsCache.clear();
+    }
+    LabelsPrefix labelsPrefix = resourceLabels.scopePrefixes.get(scope);
+    if (labelsPrefix == null) {
+      labelsPrefix = scopeLabelsPrefix(scope, resourceLabels);
+      if (resourceLabels.scopePrefixes.size() >= PrometheusNameCache.MAX_CACHE_SIZE) {
+        resourceLabels.scopePrefixes.clear();
       }
+      resourceLabels.scopePrefixes.put(scope, labelsPrefix);
     }
+    return labelsPrefix;
+  }
 
-    String[] names = new String[labelNameToValue.size()];
-    String[] values = new String[labelNameToValue.size()];
-    int[] pos = new int[] {0};
-    labelNameToValue.forEach(
-        (name, value) -> {
-          names[pos[0]] = name;
-          values[pos[0]] = value;
-          pos[0] += 1;
+  private ResourceLabels convertResourceLabels(Attributes resourceAttributes) {
+    Predicate<String> filter = allowedResourceAttributesFilter;
+    if (filter == null) {
+      return new ResourceLabels(LabelsPrefix.EMPTY);
+    }
+    LabelsBuilder builder = new LabelsBuilder(resourceAttributes.size());
+    resourceAttributes.forEach(
+        (key, value) -> {
+          if (filter.test(key.getKey())) {
+            builder.putIfAbsent(nameCache.labelName(key).name, value.toString());
+          }
         });
-
-    return Labels.of(names, values);
+    return new ResourceLabels(new LabelsPrefix(builder.names(), builder.values()));
   }
 
-  private List<AttributeKey<?>> filterAllowedResourceAttributeKeys(@Nullable Resource resource) {
-    requireNonNull(
-        allowedResourceAttributesFilter,
-        "This method should only be called when allowedResourceAttributesFilter is not null.");
-    if (resource == null) {
-      return Collections.emptyList();
+  private LabelsPrefix scopeLabelsPrefix(
+      InstrumentationScopeInfo scope, ResourceLabels resourceLabels) {
+    if (!otelScopeEnabled) {
+      return resourceLabels.labels;
     }
-
-    List<AttributeKey<?>> allowedAttributeKeys =
-        resourceAttributesToAllowedKeysCache.computeIfAbsent(
-            resource.getAttributes(),
-            resourceAttributes ->
-                resourceAttributes.asMap().keySet().stream()
-                    .filter(o -> allowedResourceAttributesFilter.test(o.getKey()))
-                    .collect(Collectors.toList()));
-
-    if (resourceAttributesToAllowedKeysCache.size() > MAX_CACHE_SIZE) {
-      resourceAttributesToAllowedKeysCache.clear();
+    LabelsBuilder builder = new LabelsBuilder(2 + resourceLabels.labels.names.length);
+    builder.putIfAbsent(OTEL_SCOPE_NAME, scope.getName());
+    if (scope.getVersion() != null) {
+      builder.putIfAbsent(OTEL_SCOPE_VERSION, scope.getVersion());
     }
-    return allowedAttributeKeys;
+    builder.putAllIfAbsent(resourceLabels.labels);
+    return new LabelsPrefix(builder.names(), builder.values());
   }
 
-  private static MetricMetadata convertMetadata(MetricData metricData) {
-    String name = sanitizeMetricName(metricData.getName());
-    String help = metricData.getDescription();
-    Unit unit = PrometheusUnitsHelper.convertUnit(metricData.getUnit());
-    if (unit != null && !name.endsWith(unit.toString())) {
-      name = name + "_" + unit;
-    }
-    // Repeated __ are not allowed according to spec, although this is allowed in prometheus
-    while (name.contains("__")) {
-      name = name.replace("__", "_");
+  /**
+   * Convert OpenTelemetry attributes to Prometheus labels.
+   *
+   * @param labelsPrefix the scope and resource labels, which are added unless an attribute or
+   *     additional attribute has the same name.
+   * @param attributes the attributes to be converted.
+   * @param additionalAttributes optional list of key/value pairs, may be empty.
+   */
+  private Labels convertAttributes(
+      LabelsPrefix labelsPrefix, Attributes attributes, String... additionalAttributes) {
+    LabelsBuilder builder =
+        new LabelsBuilder(
+            attributes.size() + additionalAttributes.length / 2 + labelsPrefix.names.length);
+    attributes.forEach(
+        (key, value) -> {
+          PrometheusNameCache.LabelName name = nameCache.labelName(key);
+          builder.put(name.name, value.toString(), name.sanitized);
+        });
+    builder.removeDuplicates();
+
+    for (int i = 0; i < additionalAttributes.length; i += 2) {
+      builder.putIfAbsent(requireNonNull(additionalAttributes[i]), additionalAttributes[i + 1]);
     }
 
-    return new MetricMetadata(name, help, unit);
+    builder.putAllIfAbsent(labelsPrefix);
+
+    return Labels.of(builder.names(), builder.values());
   }
 
   private static void putOrMerge(
@@ -642,4 +594,117 @@ final class Otel2PrometheusConverter {
     // Simple helper for a log message.
     return snapshot.getClass().getSimpleName().replace("Snapshot", "").toLowerCase(Locale.ENGLISH);
   }
+
+  /** Labels which are added to the points of metrics, in the order of their precedence. */
+  private static final class LabelsPrefix {
+
+    private static final LabelsPrefix EMPTY = new LabelsPrefix(new String[0], new String[0]);
+
+    private final String[] names;
+    private final String[] values;
+
+    private LabelsPrefix(String[] names, String[] values) {
+      this.names = names;
+      this.values = values;
+    }
+  }
+
+  /** The allowed labels of a resource, and the labels prefixes of the scopes with the resource. */
+  private static final class ResourceLabels {
+
+    private static final ResourceLabels EMPTY = new ResourceLabels(LabelsPrefix.EMPTY);
+
+    private final LabelsPrefix labels;
+    private final Map<InstrumentationScopeInfo, LabelsPrefix> scopePrefixes =
+        new ConcurrentHashMap<>();
+
+    private ResourceLabels(LabelsPrefix labels) {
+      this.labels = labels;
+    }
+  }
+
+  /**
+   * Collects label names and values into arrays of a known maximum size, with the semantics of a
+   * map keyed by name. Names are compared linearly, which is cheaper than hashing for the small
+   * number of labels a point has.
+   */
+  private static final class LabelsBuilder {
+
+    private final String[] names;
+    private final String[] values;
+    private int size;
+    private boolean mayHaveDuplicates;
+
+    private LabelsBuilder(int capacity) {
+      this.names = new String[capacity];
+      this.values = new String[capacity];
+    }
+
+    /**
+     * Adds a label without checking for an existing label with the same name, which must only be
+     * possible if {@code mayCollide} is {@code true}. Call {@link #removeDuplicates()} after the
+     * last call to resolve duplicates like {@link Map#put(Object, Object)} would.
+     */
+    private void put(String name, String value, boolean mayCollide) {
+      names[size] = name;
+      values[size] = value;
+      size++;
+      mayHaveDuplicates |= mayCollide;
+    }
+
+    /** Removes all but the last label of labels with the same name. */
+    private void removeDuplicates() {
+      if (!mayHaveDuplicates) {
+        return;
+      }
+      int newSize = 0;
+      for (int i = 0; i < size; i++) {
+        if (indexOf(names[i], i + 1) < 0) {
+          names[newSize] = names[i];
+          values[newSize] = values[i];
+          newSize++;
+        }
+      }
+      size = newSize;
+      mayHaveDuplicates = false;
+    }
+
+    private void putIfAbsent(String name, String value) {
+      if (indexOf(name, 0) < 0) {
+        names[size] = name;
+        values[size] = value;
+        size++;
+      }
+    }
+
+    private void putAllIfAbsent(LabelsPrefix labelsPrefix) {
+      if (size == 0) {
+        // The prefix has no duplicates, so it's a simple copy.
+        System.arraycopy(labelsPrefix.names, 0, names, 0, labelsPrefix.names.length);
+        System.arraycopy(labelsPrefix.values, 0, values, 0, labelsPrefix.values.length);
+        size = labelsPrefix.names.length;
+        return;
+      }
+      for (int i = 0; i < labelsPrefix.names.length; i++) {
+        putIfAbsent(labelsPrefix.names[i], labelsPrefix.values[i]);
+      }
+    }
+
+    private int indexOf(String name, int fromIndex) {
+      for (int i = fromIndex; i < size; i++) {
+        if (names[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private String[] names() {
+      return size == names.length ? names : Arrays.copyOf(names, size);
+    }
+
+    private String[] values() {
+      return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+  }
 }
@@ -11,6 +11,8 @@
 package io.opentelemetry.exporter.prometheus;
 
 import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
@@ -18,13 +20,15 @@ import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
 import io.opentelemetry.sdk.metrics.export.MetricReader;
-import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.exporter.httpserver.DefaultHandler;
+import io.prometheus.metrics.exporter.httpserver.HealthyHandler;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
@@ -32,11 +36,17 @@ import javax.annotation.Nullable;
 /**
  * A {@link MetricReader} that starts an HTTP server that will collect metrics and serialize to
  * Prometheus text format on request.
+ *
+ * <p>Scrapes of {@code /metrics} in the Prometheus text or OpenMetrics format are written to the
+ * response in chunks as metrics are serialized, instead of being buffered in memory first. Only
+ * the start of the response is buffered, so that a scrape which fails early gets an error
+ * response.
  */
 public final class PrometheusHttpServer implements MetricReader {
 
   private final PrometheusHttpServerBuilder builder;
-  private final HTTPServer httpServer;
+  private final HttpServer httpServer;
+  private final ExecutorService executorService;
   private final PrometheusMetricReader prometheusMetricReader;
   private final PrometheusRegistry prometheusRegistry;
   private final String host;
@@ -65,33 +75,61 @@ public final class PrometheusHttpServer implements MetricReader {
       boolean otelScopeEnabled,
       @Nullable Predicate<String> allowedResourceAttributesFilter,
       MemoryMode memoryMode,
-      @Nullable HttpHandler defaultHandler) {
+      @Nullable HttpHandler defaultHandler,
+      long scrapeCacheNanos,
+      boolean registryIsExclusive) {
     this.builder = builder;
+    // The reader serializes collection, so concurrent scrapes are safe with REUSABLE_DATA.
     this.prometheusMetricReader =
-        new PrometheusMetricReader(otelScopeEnabled, allowedResourceAttributesFilter);
+        new PrometheusMetricReader(
+            otelScopeEnabled,
+            allowedResourceAttributesFilter,
+            scrapeCacheNanos,
+            Clock.getDefault());
     this.host = host;
     this.memoryMode = memoryMode;
     this.prometheusRegistry = prometheusRegistry;
     prometheusRegistry.register(prometheusMetricReader);
-    // When memory mode is REUSABLE_DATA, concurrent reads lead to data corruption. To prevent this,
-    // we configure prometheus with a single thread executor such that requests are handled
-    // sequentially.
-    if (memoryMode == MemoryMode.REUSABLE_DATA) {
-      executor =
-          Executors.newSingleThreadExecutor(new DaemonThreadFactory("prometheus-http-server"));
-    }
     try {
-      this.httpServer =
-          HTTPServer.builder()
-              .hostname(host)
-              .port(port)
-              .executorService(executor)
-              .registry(prometheusRegistry)
-              .defaultHandler(defaultHandler)
-              .buildAndStart();
+      this.httpServer = HttpServer.create(new InetSocketAddress(host, port), 3);
     } catch (IOException e) {
       throw new UncheckedIOException("Could not create Prometheus HTTP server", e);
     }
+    // Same handlers as the HTTPServer of the Prometheus library, except for /metrics.
+    httpServer.createContext("/", defaultHandler != null ? defaultHandler : new DefaultHandler());
+    httpServer.createContext(
+        "/metrics",
+        new StreamingMetricsHandler(
+            prometheusMetricReader,
+            new PrometheusTextWriter(otelScopeEnabled, allowedResourceAttributesFilter),
+            prometheusRegistry,
+            memoryMode == MemoryMode.REUSABLE_DATA,
+            registryIsExclusive));
+    httpServer.createContext("/-/healthy", new HealthyHandler());
+    this.executorService = executor != null ? executor : defaultExecutor();
+    httpServer.setExecutor(executorService);
+    httpServer.start();
+  }
+
+  /** Same as the default executor of the HTTPServer of the Prometheus library. */
+  private static ExecutorService defaultExecutor() {
+    return new ThreadPoolExecutor(
+        1,
+        10,
+        120,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(true),
+        new DaemonThreadFactory("prometheus-http-server"),
+        (runnable, executor) -> {
+          // Block until a thread is available instead of rejecting the request
+          if (!executor.isShutdown()) {
+            try {
+              executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
   }
 
   @Override
@@ -121,7 +159,8 @@ public final class PrometheusHttpServer implements MetricReader {
         () -> {
           try {
             prometheusRegistry.unregister(prometheusMetricReader);
-            httpServer.stop();
+            httpServer.stop(0);
+            executorService.shutdown();
             prometheusMetricReader.shutdown().whenComplete(result::succeed);
           } catch (Throwable t) {
             result.fail();
@@ -152,6 +191,6 @@ public final class PrometheusHttpServer implements MetricReader {
 
   // Visible for testing.
   InetSocketAddress getAddress() {
-    return new InetSocketAddress(host, httpServer.getPort());
+    return new InetSocketAddress(host, httpServer.getAddress().getPort());
   }
 }
@@ -11,8 +11,9 @@ import static java.util.Objects.requireNonNull;
 import com.sun.net.httpserver.HttpHandler;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
@@ -26,11 +27,14 @@ public final class PrometheusHttpServerBuilder {
   private String host = DEFAULT_HOST;
   private int port = DEFAULT_PORT;
   private PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+  // Other collectors may be registered with a registry set by the user.
+  private boolean prometheusRegistrySet;
   private boolean otelScopeEnabled = true;
   @Nullable private Predicate<String> allowedResourceAttributesFilter;
   @Nullable private ExecutorService executor;
   private MemoryMode memoryMode = DEFAULT_MEMORY_MODE;
   @Nullable private HttpHandler defaultHandler;
+  private long scrapeCacheNanos;
 
   PrometheusHttpServerBuilder() {}
 
@@ -38,9 +42,11 @@ public final class PrometheusHttpServerBuilder {
     this.host = builder.host;
     this.port = builder.port;
     this.prometheusRegistry = builder.prometheusRegistry;
+    this.prometheusRegistrySet = builder.prometheusRegistrySet;
     this.otelScopeEnabled = builder.otelScopeEnabled;
     this.allowedResourceAttributesFilter = builder.allowedResourceAttributesFilter;
     this.executor = builder.executor;
+    this.scrapeCacheNanos = builder.scrapeCacheNanos;
   }
 
   /** Sets the host to bind to. If unset, defaults to {@value #DEFAULT_HOST}. */
@@ -70,6 +76,7 @@ public final class PrometheusHttpServerBuilder {
   public PrometheusHttpServerBuilder setPrometheusRegistry(PrometheusRegistry prometheusRegistry) {
     requireNonNull(prometheusRegistry, "prometheusRegistry");
     this.prometheusRegistry = prometheusRegistry;
+    this.prometheusRegistrySet = true;
     return this;
   }
 
@@ -99,9 +106,10 @@ public final class PrometheusHttpServerBuilder {
   /**
    * Set the {@link MemoryMode}.
    *
-   * <p>If set to {@link MemoryMode#REUSABLE_DATA}, requests are served sequentially which is
-   * accomplished by overriding {@link #setExecutor(ExecutorService)} to {@link
-   * Executors#newSingleThreadExecutor()}.
+   * <p>Collection is serialized across concurrent requests, so {@link MemoryMode#REUSABLE_DATA} is
+   * safe with any {@link #setExecutor(ExecutorService) executor}. With {@link
+   * MemoryMode#REUSABLE_DATA}, responses are also written to clients before the next collection can
+   * start, so a slow client delays other scrapes.
    */
   public PrometheusHttpServerBuilder setMemoryMode(MemoryMode memoryMode) {
     requireNonNull(memoryMode, "memoryMode");
@@ -109,6 +117,32 @@ public final class PrometheusHttpServerBuilder {
     return this;
   }
 
+  /**
+   * Sets how long the result of a collection is served to subsequent scrapes. Concurrent scrapes
+   * within this window share the result of a single collection, so metrics are collected at most
+   * once per window regardless of the number of scrapers. If unset, defaults to zero, which
+   * collects on every scrape.
+   *
+   * @since 1.41.0
+   */
+  public PrometheusHttpServerBuilder setScrapeCacheDuration(long duration, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(duration >= 0, "scrapeCacheDuration must be non-negative");
+    this.scrapeCacheNanos = unit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * Sets how long the result of a collection is served to subsequent scrapes. See {@link
+   * #setScrapeCacheDuration(long, TimeUnit)}.
+   *
+   * @since 1.41.0
+   */
+  public PrometheusHttpServerBuilder setScrapeCacheDuration(Duration duration) {
+    requireNonNull(duration, "duration");
+    return setScrapeCacheDuration(duration.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
   /**
    * Override the default handler for serving the "/", "/**" endpoint.
    *
@@ -140,6 +174,8 @@ public final class PrometheusHttpServerBuilder {
         otelScopeEnabled,
         allowedResourceAttributesFilter,
         memoryMode,
-        defaultHandler);
+        defaultHandler,
+        scrapeCacheNanos,
+        /* registryIsExclusive= */ !prometheusRegistrySet);
   }
 }
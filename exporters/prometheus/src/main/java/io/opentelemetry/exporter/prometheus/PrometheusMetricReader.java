@@ -5,13 +5,18 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
 import io.opentelemetry.sdk.metrics.export.MetricReader;
 import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
@@ -27,13 +32,44 @@ public class PrometheusMetricReader implements MetricReader, MultiCollector {
 
   private volatile CollectionRegistration collectionRegistration = CollectionRegistration.noop();
   private final Otel2PrometheusConverter converter;
+  private final long scrapeCacheNanos;
+  private final Clock clock;
+
+  // Collection is serialized, which keeps REUSABLE_DATA safe with concurrent scrapes, and scrapes
+  // waiting on an in progress collection share its result while it is fresh.
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  @Nullable
+  private Collection<MetricData> cachedMetrics;
+
+  @GuardedBy("lock")
+  @Nullable
+  private MetricSnapshots cachedSnapshots;
+
+  @GuardedBy("lock")
+  private long cachedAtNanos;
 
   // TODO: refactor to public static create or builder pattern to align with project style
   /** See {@link Otel2PrometheusConverter#Otel2PrometheusConverter(boolean, Predicate)}. */
   public PrometheusMetricReader(
       boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter) {
+    this(otelScopeEnabled, allowedResourceAttributesFilter, 0, Clock.getDefault());
+  }
+
+  /**
+   * Creates a reader which serves the same metrics to every scrape within {@code scrapeCacheNanos}
+   * of the collection which produced them.
+   */
+  PrometheusMetricReader(
+      boolean otelScopeEnabled,
+      @Nullable Predicate<String> allowedResourceAttributesFilter,
+      long scrapeCacheNanos,
+      Clock clock) {
     this.converter =
         new Otel2PrometheusConverter(otelScopeEnabled, allowedResourceAttributesFilter);
+    this.scrapeCacheNanos = scrapeCacheNanos;
+    this.clock = clock;
   }
 
   @Override
@@ -58,6 +94,59 @@ public class PrometheusMetricReader implements MetricReader, MultiCollector {
 
   @Override
   public MetricSnapshots collect() {
-    return converter.convert(collectionRegistration.collectAllMetrics());
+    synchronized (lock) {
+      Collection<MetricData> metrics = collectAllMetrics();
+      if (cachedSnapshots != null) {
+        return cachedSnapshots;
+      }
+      MetricSnapshots snapshots = converter.convert(metrics);
+      if (scrapeCacheNanos > 0) {
+        cachedSnapshots = snapshots;
+      }
+      return snapshots;
+    }
+  }
+
+  /**
+   * Collects the metrics without converting them to {@link MetricSnapshots}. The metrics may only
+   * be used once the collection lock is released if they are collected with {@link
+   * io.opentelemetry.sdk.common.export.MemoryMode#IMMUTABLE_DATA}.
+   */
+  Collection<MetricData> collectMetrics() {
+    synchronized (lock) {
+      return collectAllMetrics();
+    }
+  }
+
+  /**
+   * Collects the metrics and passes them to the {@code consumer}, without converting them to {@link
+   * MetricSnapshots}. The collection lock is held until the consumer returns, so that metrics
+   * collected with {@link io.opentelemetry.sdk.common.export.MemoryMode#REUSABLE_DATA} aren't
+   * overwritten while they're being consumed. Other collections wait until the consumer returns.
+   */
+  void collectMetrics(MetricsConsumer consumer) throws IOException {
+    synchronized (lock) {
+      consumer.accept(collectAllMetrics());
+    }
+  }
+
+  @GuardedBy("lock")
+  private Collection<MetricData> collectAllMetrics() {
+    long now = clock.nanoTime();
+    if (cachedMetrics != null && now - cachedAtNanos < scrapeCacheNanos) {
+      return cachedMetrics;
+    }
+    Collection<MetricData> metrics = collectionRegistration.collectAllMetrics();
+    cachedSnapshots = null;
+    if (scrapeCacheNanos > 0) {
+      cachedMetrics = metrics;
+      cachedAtNanos = now;
+    }
+    return metrics;
+  }
+
+  /** Consumes collected metrics. */
+  interface MetricsConsumer {
+    void accept(Collection<MetricData> metrics) throws IOException;
   }
 }
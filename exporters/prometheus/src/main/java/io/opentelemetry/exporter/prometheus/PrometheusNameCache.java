@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.prometheus.metrics.model.snapshots.PrometheusNaming.sanitizeLabelName;
+import static io.prometheus.metrics.model.snapshots.PrometheusNaming.sanitizeMetricName;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.Unit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the sanitized Prometheus names of OpenTelemetry attribute keys and metrics, so that they
+ * are computed once instead of on every scrape. Safe for concurrent use.
+ *
+ * <p>Once a cache reaches {@link #MAX_CACHE_SIZE} entries, it is cleared to protect against
+ * unbounded growth over time.
+ */
+final class PrometheusNameCache {
+
+  static final int MAX_CACHE_SIZE = 4096;
+
+  private final Map<AttributeKey<?>, LabelName> labelNames = new ConcurrentHashMap<>();
+  private final Map<String, CachedMetadata> metadata = new ConcurrentHashMap<>();
+
+  /** Returns the label name of the attribute key. */
+  LabelName labelName(AttributeKey<?> key) {
+    LabelName name = labelNames.get(key);
+    if (name == null) {
+      name = new LabelName(key.getKey());
+      if (labelNames.size() >= MAX_CACHE_SIZE) {
+        labelNames.clear();
+      }
+      labelNames.put(key, name);
+    }
+    return name;
+  }
+
+  /**
+   * Returns the metadata of the metric. Entries are keyed by the name of the metric, and recomputed
+   * if a metric with the same name but a different unit or description is seen.
+   */
+  MetricMetadata metadata(MetricData metricData) {
+    CachedMetadata cached = metadata.get(metricData.getName());
+    if (cached == null
+        || !cached.unit.equals(metricData.getUnit())
+        || !cached.description.equals(metricData.getDescription())) {
+      cached = new CachedMetadata(metricData);
+      if (metadata.size() >= MAX_CACHE_SIZE) {
+        metadata.clear();
+      }
+      metadata.put(metricData.getName(), cached);
+    }
+    return cached.metadata;
+  }
+
+  private static MetricMetadata convertMetadata(MetricData metricData) {
+    String name = sanitizeMetricName(metricData.getName());
+    String help = metricData.getDescription();
+    Unit unit = PrometheusUnitsHelper.convertUnit(metricData.getUnit());
+    if (unit != null && !name.endsWith(unit.toString())) {
+      name = name + "_" + unit;
+    }
+    // Repeated __ are not allowed according to spec, although this is allowed in prometheus
+    while (name.contains("__")) {
+      name = name.replace("__", "_");
+    }
+
+    return new MetricMetadata(name, help, unit);
+  }
+
+  /** The label name of an attribute key. */
+  static final class LabelName {
+
+    /** The sanitized name, as passed to {@link Labels#of(String[], String[])}. */
+    final String name;
+
+    /** The name which is written in the exposition formats. */
+    final String prometheusName;
+
+    /**
+     * Whether sanitizing changed the attribute key, in which case the name may collide with the
+     * name of another attribute key.
+     */
+    final boolean sanitized;
+
+    private LabelName(String attributeKey) {
+      this.name = sanitizeLabelName(attributeKey);
+      this.prometheusName = Labels.of(name, "").getPrometheusName(0);
+      this.sanitized = !name.equals(attributeKey);
+    }
+  }
+
+  private static final class CachedMetadata {
+
+    private final String unit;
+    private final String description;
+    private final MetricMetadata metadata;
+
+    private CachedMetadata(MetricData metricData) {
+      this.unit = metricData.getUnit();
+      this.description = metricData.getDescription();
+      this.metadata = convertMetadata(metricData);
+    }
+  }
+}
@@ -0,0 +1,1012 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleExemplarData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExemplarData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongExemplarData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.SummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ValueAtQuantile;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.Unit;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Writes OpenTelemetry {@link MetricData} in the Prometheus text format or the OpenMetrics text
+ * format, without building the {@link io.prometheus.metrics.model.snapshots.MetricSnapshots} object
+ * model in between.
+ *
+ * <p>The output is equivalent to converting with {@link Otel2PrometheusConverter} and writing with
+ * the {@code PrometheusTextFormatWriter} or {@code OpenMetricsTextFormatWriter} of the Prometheus
+ * library, except that the samples of a metric are written in the order of its points instead of
+ * being sorted by their labels. Metrics are still written in the order of their names, and metrics
+ * with the same name are grouped together.
+ *
+ * <p>Sanitized metric and label names are cached across writes. Text is encoded directly into a
+ * reusable buffer, so that the only allocations per point are for formatting double values and
+ * for attribute values which aren't strings.
+ */
+final class PrometheusTextWriter {
+
+  private static final Logger LOGGER = Logger.getLogger(PrometheusTextWriter.class.getName());
+  private static final ThrottlingLogger THROTTLING_LOGGER = new ThrottlingLogger(LOGGER);
+  private static final String OTEL_SCOPE_NAME = "otel_scope_name";
+  private static final String OTEL_SCOPE_VERSION = "otel_scope_version";
+  private static final long NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int BUFFER_SIZE = 8192;
+
+  // In practice, scrapes are rarely concurrent so reusing the buffer for the thread is almost free.
+  private static final ThreadLocal<byte[]> THREAD_LOCAL_BUFFER = new ThreadLocal<>();
+
+  private final boolean otelScopeEnabled;
+  @Nullable private final Predicate<String> allowedResourceAttributesFilter;
+  private final PrometheusNameCache nameCache = new PrometheusNameCache();
+
+  /** See {@link Otel2PrometheusConverter#Otel2PrometheusConverter(boolean, Predicate)}. */
+  PrometheusTextWriter(
+      boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter) {
+    this.otelScopeEnabled = otelScopeEnabled;
+    this.allowedResourceAttributesFilter = allowedResourceAttributesFilter;
+  }
+
+  /**
+   * Writes the {@code metrics} in the Prometheus text format, version 0.0.4.
+   *
+   * @param includedNames if not {@code null}, only metrics with a Prometheus name matching this
+   *     predicate are written
+   * @param createdTimestamps whether to write a {@code _created} gauge for counters, histograms and
+   *     summaries
+   */
+  void writePrometheusText(
+      OutputStream out,
+      @Nullable Collection<MetricData> metrics,
+      @Nullable Predicate<String> includedNames,
+      boolean createdTimestamps)
+      throws IOException {
+    Collection<Family> families = group(metrics, includedNames);
+    try (Scrape scrape = new Scrape(out, /* openMetrics= */ false, createdTimestamps, false)) {
+      for (Family family : families) {
+        scrape.writeFamily(family);
+      }
+      if (createdTimestamps) {
+        for (Family family : families) {
+          scrape.writeCreatedFamily(family);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the {@code metrics} in the OpenMetrics text format, version 1.0.0.
+   *
+   * @param includedNames if not {@code null}, only metrics with a Prometheus name matching this
+   *     predicate are written
+   * @param createdTimestamps whether to write {@code _created} samples for counters, histograms and
+   *     summaries
+   * @param exemplarsOnAllMetricTypes whether to write exemplars on gauges and histogram counts too,
+   *     not only on counters and histogram buckets
+   */
+  void writeOpenMetrics(
+      OutputStream out,
+      @Nullable Collection<MetricData> metrics,
+      @Nullable Predicate<String> includedNames,
+      boolean createdTimestamps,
+      boolean exemplarsOnAllMetricTypes)
+      throws IOException {
+    Collection<Family> families = group(metrics, includedNames);
+    try (Scrape scrape =
+        new Scrape(out, /* openMetrics= */ true, createdTimestamps, exemplarsOnAllMetricTypes)) {
+      for (Family family : families) {
+        scrape.writeFamily(family);
+      }
+      scrape.out.writeAscii("# EOF\n");
+    }
+  }
+
+  /**
+   * Groups the metrics by their Prometheus name, in the order of the names, like {@link
+   * Otel2PrometheusConverter#convert(Collection)} does, and drops the groups with names which are
+   * not included.
+   */
+  private Collection<Family> group(
+      @Nullable Collection<MetricData> metrics, @Nullable Predicate<String> includedNames) {
+    if (metrics == null || metrics.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<String, Family> families = new TreeMap<>();
+    Resource resource = null;
+    Set<InstrumentationScopeInfo> scopes = new LinkedHashSet<>();
+    for (MetricData metric : metrics) {
+      MetricMetadata metadata = nameCache.metadata(metric);
+      Type type = type(metric, metadata);
+      if (type == null) {
+        continue;
+      }
+      Unit unit = metadata.getUnit();
+      Family family =
+          new Family(
+              metadata.getPrometheusName(),
+              type,
+              unit == null ? null : unit.toString(),
+              metric.getDescription());
+      family.metrics.add(metric);
+      putOrMerge(families, family);
+      if (resource == null) {
+        resource = metric.getResource();
+      }
+      if (otelScopeEnabled && !metric.getInstrumentationScopeInfo().getAttributes().isEmpty()) {
+        scopes.add(metric.getInstrumentationScopeInfo());
+      }
+    }
+    if (resource != null) {
+      Family targetInfo = new Family("target", Type.INFO, null, null);
+      targetInfo.infoPoints.add(new InfoPoint(null, resource.getAttributes()));
+      putOrMerge(families, targetInfo);
+    }
+    if (otelScopeEnabled && !scopes.isEmpty()) {
+      Family scopeInfo = new Family("otel_scope", Type.INFO, null, null);
+      for (InstrumentationScopeInfo scope : scopes) {
+        scopeInfo.infoPoints.add(new InfoPoint(scope, scope.getAttributes()));
+      }
+      putOrMerge(families, scopeInfo);
+    }
+    if (includedNames != null) {
+      families.values().removeIf(family -> !includedNames.test(family.name));
+    }
+    return families.values();
+  }
+
+  private static void putOrMerge(Map<String, Family> families, Family family) {
+    Family existing = families.get(family.name);
+    if (existing == null) {
+      families.put(family.name, family);
+    } else {
+      existing.merge(family);
+    }
+  }
+
+  /** Returns the Prometheus type of the metric, or {@code null} if the metric is not exported. */
+  @Nullable
+  private static Type type(MetricData metric, MetricMetadata metadata) {
+    // Note that AggregationTemporality.DELTA should never happen
+    // because PrometheusMetricReader#getAggregationTemporality returns CUMULATIVE.
+    switch (metric.getType()) {
+      case LONG_GAUGE:
+      case DOUBLE_GAUGE:
+        return Type.GAUGE;
+      case LONG_SUM:
+        if (metric.getLongSumData().getAggregationTemporality() == AggregationTemporality.DELTA) {
+          return null;
+        }
+        return metric.getLongSumData().isMonotonic() ? Type.COUNTER : Type.GAUGE;
+      case DOUBLE_SUM:
+        if (metric.getDoubleSumData().getAggregationTemporality()
+            == AggregationTemporality.DELTA) {
+          return null;
+        }
+        return metric.getDoubleSumData().isMonotonic() ? Type.COUNTER : Type.GAUGE;
+      case HISTOGRAM:
+        if (metric.getHistogramData().getAggregationTemporality()
+            == AggregationTemporality.DELTA) {
+          return null;
+        }
+        return Type.HISTOGRAM;
+      case EXPONENTIAL_HISTOGRAM:
+        if (metric.getExponentialHistogramData().getAggregationTemporality()
+            == AggregationTemporality.DELTA) {
+          return null;
+        }
+        for (ExponentialHistogramPointData point :
+            metric.getExponentialHistogramData().getPoints()) {
+          if (point.getScale() < -4) {
+            THROTTLING_LOGGER.log(
+                Level.WARNING,
+                "Dropping histogram "
+                    + metadata.getPrometheusName()
+                    + " with attributes "
+                    + point.getAttributes()
+                    + " because it has scale < -4 which is unsupported in Prometheus");
+            return null;
+          }
+        }
+        return Type.HISTOGRAM;
+      case SUMMARY:
+        return Type.SUMMARY;
+    }
+    return null;
+  }
+
+  private enum Type {
+    COUNTER("counter"),
+    GAUGE("gauge"),
+    HISTOGRAM("histogram"),
+    SUMMARY("summary"),
+    INFO("info");
+
+    private final String openMetricsName;
+
+    Type(String openMetricsName) {
+      this.openMetricsName = openMetricsName;
+    }
+  }
+
+  /** The points of an info metric, made of the attributes of a resource or scope. */
+  private static final class InfoPoint {
+
+    @Nullable private final InstrumentationScopeInfo scope;
+    private final Attributes attributes;
+
+    private InfoPoint(@Nullable InstrumentationScopeInfo scope, Attributes attributes) {
+      this.scope = scope;
+      this.attributes = attributes;
+    }
+  }
+
+  /** All metrics which are written with the same Prometheus name. */
+  private static final class Family {
+
+    private final String name;
+    private final Type type;
+    @Nullable private final String unit;
+    @Nullable private String help;
+    private final List<MetricData> metrics = new ArrayList<>(1);
+    private final List<InfoPoint> infoPoints = new ArrayList<>(1);
+
+    private Family(String name, Type type, @Nullable String unit, @Nullable String help) {
+      this.name = name;
+      this.type = type;
+      this.unit = unit;
+      this.help = help;
+    }
+
+    /** Merges the other family into this one, like {@link Otel2PrometheusConverter} does. */
+    private void merge(Family other) {
+      if (unit != null && !unit.equals(other.unit)) {
+        THROTTLING_LOGGER.log(
+            Level.WARNING,
+            "Conflicting metrics: Multiple metrics with name "
+                + name
+                + " but different units found. Dropping the one with unit "
+                + other.unit
+                + ".");
+        return;
+      }
+      if (type != other.type) {
+        THROTTLING_LOGGER.log(
+            Level.WARNING,
+            "Conflicting metric name "
+                + name
+                + ": Found one metric with type "
+                + type.openMetricsName
+                + " and one of type "
+                + other.type.openMetricsName
+                + ". Dropping the one with type "
+                + other.type.openMetricsName
+                + ".");
+        return;
+      }
+      if (help != null && !help.equals(other.help)) {
+        help = null;
+      }
+      metrics.addAll(other.metrics);
+      infoPoints.addAll(other.infoPoints);
+    }
+
+    private boolean isEmpty() {
+      for (MetricData metric : metrics) {
+        if (!metric.getData().getPoints().isEmpty()) {
+          return false;
+        }
+      }
+      return infoPoints.isEmpty();
+    }
+
+    /** Returns the help, or {@code null} if there is none to write. */
+    @Nullable
+    private String help() {
+      return help == null || help.isEmpty() ? null : help;
+    }
+  }
+
+  /**
+   * A label name to value mapping with put semantics like a map, which keeps its arrays across
+   * points.
+   */
+  private static final class LabelSet {
+
+    private String[] names = new String[16];
+    private String[] values = new String[16];
+    private int size;
+
+    private void clear() {
+      size = 0;
+    }
+
+    private void put(String name, String value) {
+      int index = indexOf(name);
+      if (index >= 0) {
+        values[index] = value;
+      } else {
+        add(name, value);
+      }
+    }
+
+    private void putIfAbsent(String name, String value) {
+      if (indexOf(name) < 0) {
+        add(name, value);
+      }
+    }
+
+    private void putAllIfAbsent(LabelSet other) {
+      for (int i = 0; i < other.size; i++) {
+        putIfAbsent(other.names[i], other.values[i]);
+      }
+    }
+
+    private int indexOf(String name) {
+      for (int i = 0; i < size; i++) {
+        if (names[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void add(String name, String value) {
+      if (size == names.length) {
+        names = Arrays.copyOf(names, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      names[size] = name;
+      values[size] = value;
+      size++;
+    }
+
+    /** Sorts the labels by name, like {@link Labels} does. Attributes are mostly sorted already. */
+    private void sort() {
+      for (int i = 1; i < size; i++) {
+        String name = names[i];
+        String value = values[i];
+        int j = i - 1;
+        while (j >= 0 && names[j].compareTo(name) > 0) {
+          names[j + 1] = names[j];
+          values[j + 1] = values[j];
+          j--;
+        }
+        names[j + 1] = name;
+        values[j + 1] = value;
+      }
+    }
+  }
+
+  /** The state of a single write, which must only be used by one thread. */
+  private final class Scrape implements BiConsumer<AttributeKey<?>, Object>, AutoCloseable {
+
+    private final Utf8Output out;
+    private final boolean openMetrics;
+    private final boolean createdTimestamps;
+    private final boolean exemplarsOnAllMetricTypes;
+
+    private final LabelSet labels = new LabelSet();
+    private final LabelSet metricLabels = new LabelSet();
+    private final LabelSet exemplarLabels = new LabelSet();
+    private final LabelSet resourceLabels = new LabelSet();
+    @Nullable private Attributes resourceLabelsAttributes;
+    // The label set which attributes are put into by accept.
+    private LabelSet target = labels;
+
+    private Scrape(
+        OutputStream out,
+        boolean openMetrics,
+        boolean createdTimestamps,
+        boolean exemplarsOnAllMetricTypes) {
+      this.out = new Utf8Output(out);
+      this.openMetrics = openMetrics;
+      this.createdTimestamps = createdTimestamps;
+      this.exemplarsOnAllMetricTypes = exemplarsOnAllMetricTypes;
+    }
+
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+      target.put(nameCache.labelName(key).prometheusName, value.toString());
+    }
+
+    private void writeFamily(Family family) throws IOException {
+      if (family.isEmpty()) {
+        return;
+      }
+      writeMetadata(family);
+      for (MetricData metric : family.metrics) {
+        setMetricLabels(metric);
+        for (PointData point : metric.getData().getPoints()) {
+          setLabels(point.getAttributes(), metricLabels);
+          switch (family.type) {
+            case COUNTER:
+              writeCounter(family, point);
+              break;
+            case GAUGE:
+              writeGauge(family, point);
+              break;
+            case HISTOGRAM:
+              if (point instanceof HistogramPointData) {
+                writeHistogram(family, (HistogramPointData) point);
+              } else {
+                writeExponentialHistogram(family, (ExponentialHistogramPointData) point);
+              }
+              break;
+            case SUMMARY:
+              writeSummary(family, (SummaryPointData) point);
+              break;
+            case INFO:
+              break;
+          }
+        }
+      }
+      for (InfoPoint point : family.infoPoints) {
+        metricLabels.clear();
+        if (point.scope != null) {
+          addScopeLabels(point.scope);
+        }
+        setLabels(point.attributes, metricLabels);
+        writeNameAndLabels(family.name, "_info", labels);
+        out.writeByte('1');
+        out.writeByte('\n');
+      }
+    }
+
+    private void writeMetadata(Family family) throws IOException {
+      if (openMetrics) {
+        out.writeAscii("# TYPE ");
+        out.writeAscii(family.name);
+        out.writeByte(' ');
+        out.writeAscii(family.type.openMetricsName);
+        out.writeByte('\n');
+        if (family.unit != null) {
+          out.writeAscii("# UNIT ");
+          out.writeAscii(family.name);
+          out.writeByte(' ');
+          out.writeEscaped(family.unit, /* escapeQuotes= */ true);
+          out.writeByte('\n');
+        }
+        String help = family.help();
+        if (help != null) {
+          out.writeAscii("# HELP ");
+          out.writeAscii(family.name);
+          out.writeByte(' ');
+          out.writeEscaped(help, /* escapeQuotes= */ true);
+          out.writeByte('\n');
+        }
+        return;
+      }
+      switch (family.type) {
+        case COUNTER:
+          writeTextMetadata(family, "_total", "counter");
+          break;
+        case GAUGE:
+          writeTextMetadata(family, "", "gauge");
+          break;
+        case HISTOGRAM:
+          writeTextMetadata(family, "", "histogram");
+          break;
+        case SUMMARY:
+          writeTextMetadata(family, "", "summary");
+          break;
+        case INFO:
+          writeTextMetadata(family, "_info", "gauge");
+          break;
+      }
+    }
+
+    private void writeTextMetadata(Family family, String suffix, String type) throws IOException {
+      String help = family.help();
+      if (help != null) {
+        out.writeAscii("# HELP ");
+        out.writeAscii(family.name);
+        out.writeAscii(suffix);
+        out.writeByte(' ');
+        out.writeEscaped(help, /* escapeQuotes= */ false);
+        out.writeByte('\n');
+      }
+      out.writeAscii("# TYPE ");
+      out.writeAscii(family.name);
+      out.writeAscii(suffix);
+      out.writeByte(' ');
+      out.writeAscii(type);
+      out.writeByte('\n');
+    }
+
+    /** Writes the {@code _created} gauge of the Prometheus text format. */
+    private void writeCreatedFamily(Family family) throws IOException {
+      if (family.type != Type.COUNTER
+          && family.type != Type.HISTOGRAM
+          && family.type != Type.SUMMARY) {
+        return;
+      }
+      boolean metadataWritten = false;
+      for (MetricData metric : family.metrics) {
+        setMetricLabels(metric);
+        for (PointData point : metric.getData().getPoints()) {
+          long createdMillis = point.getStartEpochNanos() / NANOS_PER_MILLISECOND;
+          if (createdMillis == 0) {
+            continue;
+          }
+          if (!metadataWritten) {
+            writeTextMetadata(family, "_created", "gauge");
+            metadataWritten = true;
+          }
+          setLabels(point.getAttributes(), metricLabels);
+          writeNameAndLabels(family.name, "_created", labels);
+          writeTimestamp(createdMillis);
+          out.writeByte('\n');
+        }
+      }
+    }
+
+    private void writeCounter(Family family, PointData point) throws IOException {
+      writeNameAndLabels(family.name, "_total", labels);
+      writeDouble(value(point));
+      if (openMetrics) {
+        writeExemplar(first(point.getExemplars()));
+      }
+      out.writeByte('\n');
+      writeCreated(family, point);
+    }
+
+    private void writeGauge(Family family, PointData point) throws IOException {
+      writeNameAndLabels(family.name, null, labels);
+      writeDouble(value(point));
+      if (openMetrics && exemplarsOnAllMetricTypes) {
+        writeExemplar(first(point.getExemplars()));
+      }
+      out.writeByte('\n');
+    }
+
+    private void writeHistogram(Family family, HistogramPointData point) throws IOException {
+      List<Double> boundaries = point.getBoundaries();
+      List<Long> counts = point.getCounts();
+      long cumulativeCount = 0;
+      double lowerBound = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < counts.size(); i++) {
+        double upperBound = i < boundaries.size() ? boundaries.get(i) : Double.POSITIVE_INFINITY;
+        cumulativeCount += counts.get(i);
+        writeBucket(family, cumulativeCount, upperBound);
+        if (openMetrics) {
+          writeExemplar(bucketExemplar(point.getExemplars(), lowerBound, upperBound));
+        }
+        out.writeByte('\n');
+        lowerBound = upperBound;
+      }
+      writeCountAndSum(family, point, point.getCount(), point.getSum(), point.getExemplars());
+    }
+
+    private void writeExponentialHistogram(Family family, ExponentialHistogramPointData point)
+        throws IOException {
+      // The text formats can't represent native buckets, so only the +Inf bucket is written.
+      writeBucket(family, point.getCount(), Double.POSITIVE_INFINITY);
+      if (openMetrics) {
+        writeExemplar(
+            bucketExemplar(
+                point.getExemplars(), Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+      }
+      out.writeByte('\n');
+      writeCountAndSum(family, point, point.getCount(), point.getSum(), point.getExemplars());
+    }
+
+    private void writeBucket(Family family, long cumulativeCount, double upperBound)
+        throws IOException {
+      writeNameAndLabels(family.name, "_bucket", labels, "le", upperBound);
+      out.writeLong(cumulativeCount);
+    }
+
+    private void writeCountAndSum(
+        Family family,
+        PointData point,
+        long count,
+        double sum,
+        List<? extends ExemplarData> exemplars)
+        throws IOException {
+      boolean hasSum = !Double.isNaN(sum);
+      // In OpenMetrics format, _count and _sum are either both present or both absent.
+      if (!openMetrics || hasSum) {
+        writeNameAndLabels(family.name, "_count", labels);
+        out.writeLong(count);
+        if (openMetrics && exemplarsOnAllMetricTypes) {
+          writeExemplar(latestExemplar(exemplars));
+        }
+        out.writeByte('\n');
+      }
+      if (hasSum) {
+        writeNameAndLabels(family.name, "_sum", labels);
+        writeDouble(sum);
+        out.writeByte('\n');
+      }
+      writeCreated(family, point);
+    }
+
+    private void writeSummary(Family family, SummaryPointData point) throws IOException {
+      for (ValueAtQuantile quantile : point.getValues()) {
+        writeNameAndLabels(family.name, null, labels, "quantile", quantile.getQuantile());
+        writeDouble(quantile.getValue());
+        out.writeByte('\n');
+      }
+      // Exemplars for Summaries not implemented yet.
+      writeCountAndSum(family, point, point.getCount(), point.getSum(), Collections.emptyList());
+    }
+
+    /** Writes the {@code _created} sample of the OpenMetrics format. */
+    private void writeCreated(Family family, PointData point) throws IOException {
+      if (!openMetrics || !createdTimestamps) {
+        return;
+      }
+      long createdMillis = point.getStartEpochNanos() / NANOS_PER_MILLISECOND;
+      if (createdMillis != 0) {
+        writeNameAndLabels(family.name, "_created", labels);
+        writeTimestamp(createdMillis);
+        out.writeByte('\n');
+      }
+    }
+
+    private void writeExemplar(@Nullable ExemplarData exemplar) throws IOException {
+      if (exemplar == null) {
+        return;
+      }
+      exemplarLabels.clear();
+      target = exemplarLabels;
+      exemplar.getFilteredAttributes().forEach(this);
+      target = labels;
+      SpanContext spanContext = exemplar.getSpanContext();
+      if (spanContext.isValid()) {
+        exemplarLabels.putIfAbsent("trace_id", spanContext.getTraceId());
+        exemplarLabels.putIfAbsent("span_id", spanContext.getSpanId());
+      }
+      exemplarLabels.sort();
+      out.writeAscii(" # ");
+      writeLabels(exemplarLabels, null, 0);
+      out.writeByte(' ');
+      writeDouble(exemplarValue(exemplar));
+      long timestampMillis = exemplar.getEpochNanos() / NANOS_PER_MILLISECOND;
+      if (timestampMillis != 0) {
+        out.writeByte(' ');
+        writeTimestamp(timestampMillis);
+      }
+    }
+
+    /** Sets the labels which are the same for all points of the metric. */
+    private void setMetricLabels(MetricData metric) {
+      metricLabels.clear();
+      if (otelScopeEnabled) {
+        addScopeLabels(metric.getInstrumentationScopeInfo());
+      }
+      Predicate<String> filter = allowedResourceAttributesFilter;
+      if (filter != null) {
+        Attributes resourceAttributes = metric.getResource().getAttributes();
+        if (resourceAttributes != resourceLabelsAttributes) {
+          resourceLabels.clear();
+          resourceAttributes.forEach(
+              (key, value) -> {
+                if (filter.test(key.getKey())) {
+                  resourceLabels.putIfAbsent(
+                      nameCache.labelName(key).prometheusName, value.toString());
+                }
+              });
+          resourceLabelsAttributes = resourceAttributes;
+        }
+        metricLabels.putAllIfAbsent(resourceLabels);
+      }
+    }
+
+    private void addScopeLabels(InstrumentationScopeInfo scope) {
+      metricLabels.putIfAbsent(OTEL_SCOPE_NAME, scope.getName());
+      if (scope.getVersion() != null) {
+        metricLabels.putIfAbsent(OTEL_SCOPE_VERSION, scope.getVersion());
+      }
+    }
+
+    /** Sets {@link #labels} to the attributes, and the additional labels unless already set. */
+    private void setLabels(Attributes attributes, LabelSet additionalLabels) {
+      labels.clear();
+      attributes.forEach(this);
+      labels.putAllIfAbsent(additionalLabels);
+      labels.sort();
+    }
+
+    private void writeNameAndLabels(String name, @Nullable String suffix, LabelSet labels)
+        throws IOException {
+      writeNameAndLabels(name, suffix, labels, null, 0);
+    }
+
+    private void writeNameAndLabels(
+        String name,
+        @Nullable String suffix,
+        LabelSet labels,
+        @Nullable String additionalLabelName,
+        double additionalLabelValue)
+        throws IOException {
+      out.writeAscii(name);
+      if (suffix != null) {
+        out.writeAscii(suffix);
+      }
+      if (labels.size > 0 || additionalLabelName != null) {
+        writeLabels(labels, additionalLabelName, additionalLabelValue);
+      }
+      out.writeByte(' ');
+    }
+
+    private void writeLabels(
+        LabelSet labels, @Nullable String additionalLabelName, double additionalLabelValue)
+        throws IOException {
+      out.writeByte('{');
+      for (int i = 0; i < labels.size; i++) {
+        if (i > 0) {
+          out.writeByte(',');
+        }
+        out.writeAscii(labels.names[i]);
+        out.writeAscii("=\"");
+        out.writeEscaped(labels.values[i], /* escapeQuotes= */ true);
+        out.writeByte('"');
+      }
+      if (additionalLabelName != null) {
+        if (labels.size > 0) {
+          out.writeByte(',');
+        }
+        out.writeAscii(additionalLabelName);
+        out.writeAscii("=\"");
+        writeDouble(additionalLabelValue);
+        out.writeByte('"');
+      }
+      out.writeByte('}');
+    }
+
+    private void writeDouble(double value) throws IOException {
+      if (value == Double.POSITIVE_INFINITY) {
+        out.writeAscii("+Inf");
+      } else if (value == Double.NEGATIVE_INFINITY) {
+        out.writeAscii("-Inf");
+      } else {
+        out.writeAscii(Double.toString(value));
+      }
+    }
+
+    private void writeTimestamp(long timestampMillis) throws IOException {
+      out.writeLong(timestampMillis / 1000);
+      out.writeByte('.');
+      long millis = timestampMillis % 1000;
+      if (millis < 100) {
+        out.writeByte('0');
+      }
+      if (millis < 10) {
+        out.writeByte('0');
+      }
+      out.writeLong(millis);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+
+  private static double value(PointData point) {
+    if (point instanceof LongPointData) {
+      return (double) ((LongPointData) point).getValue();
+    }
+    return ((DoublePointData) point).getValue();
+  }
+
+  private static double exemplarValue(ExemplarData exemplar) {
+    if (exemplar instanceof LongExemplarData) {
+      return (double) ((LongExemplarData) exemplar).getValue();
+    }
+    return ((DoubleExemplarData) exemplar).getValue();
+  }
+
+  @Nullable
+  private static ExemplarData first(List<? extends ExemplarData> exemplars) {
+    return exemplars.isEmpty() ? null : exemplars.get(0);
+  }
+
+  /**
+   * Returns the latest exemplar with a value in the bucket, like {@code Exemplars#get(double,
+   * double)} of the Prometheus library.
+   */
+  @Nullable
+  private static ExemplarData bucketExemplar(
+      List<? extends ExemplarData> exemplars, double lowerBound, double upperBound) {
+    ExemplarData result = null;
+    for (int i = 0; i < exemplars.size(); i++) {
+      ExemplarData exemplar = exemplars.get(i);
+      double value = exemplarValue(exemplar);
+      if (value > lowerBound && value <= upperBound) {
+        if (result == null || isLater(exemplar, result)) {
+          result = exemplar;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Returns the latest exemplar, like {@code Exemplars#getLatest()} of the Prometheus library. */
+  @Nullable
+  private static ExemplarData latestExemplar(List<? extends ExemplarData> exemplars) {
+    ExemplarData result = null;
+    for (int i = 0; i < exemplars.size(); i++) {
+      ExemplarData exemplar = exemplars.get(i);
+      if (result == null
+          || result.getEpochNanos() / NANOS_PER_MILLISECOND == 0
+          || isLater(exemplar, result)) {
+        result = exemplar;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isLater(ExemplarData exemplar, ExemplarData than) {
+    long millis = exemplar.getEpochNanos() / NANOS_PER_MILLISECOND;
+    long thanMillis = than.getEpochNanos() / NANOS_PER_MILLISECOND;
+    return millis != 0 && thanMillis != 0 && millis > thanMillis;
+  }
+
+  /** Encodes UTF-8 into a reusable buffer which is flushed to the output when full. */
+  private static final class Utf8Output {
+
+    private final OutputStream output;
+    private final byte[] buffer;
+    private int position;
+
+    private Utf8Output(OutputStream output) {
+      this.output = output;
+      byte[] buffer = THREAD_LOCAL_BUFFER.get();
+      if (buffer == null) {
+        buffer = new byte[BUFFER_SIZE];
+      } else {
+        // Claim the buffer so that a nested write on the same thread allocates its own.
+        THREAD_LOCAL_BUFFER.set(null);
+      }
+      this.buffer = buffer;
+    }
+
+    private void writeAscii(String value) throws IOException {
+      int length = value.length();
+      if (length > buffer.length - position) {
+        flushBuffer();
+        if (length > buffer.length) {
+          for (int i = 0; i < length; i++) {
+            writeByte(value.charAt(i));
+          }
+          return;
+        }
+      }
+      for (int i = 0; i < length; i++) {
+        buffer[position++] = (byte) value.charAt(i);
+      }
+    }
+
+    /**
+     * Writes the string as UTF-8, escaping backslashes, newlines and optionally double quotes.
+     * Unpaired surrogates are replaced with '?' like {@link java.io.OutputStreamWriter} does.
+     */
+    private void writeEscaped(String value, boolean escapeQuotes) throws IOException {
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c < 0x80) {
+          if (c == '\\') {
+            writeByte('\\');
+            writeByte('\\');
+          } else if (c == '\n') {
+            writeByte('\\');
+            writeByte('n');
+          } else if (c == '"' && escapeQuotes) {
+            writeByte('\\');
+            writeByte('"');
+          } else {
+            writeByte(c);
+          }
+        } else if (c < 0x800) {
+          ensureCapacity(2);
+          buffer[position++] = (byte) (0xC0 | (c >>> 6));
+          buffer[position++] = (byte) (0x80 | (0x3F & c));
+        } else if (!Character.isSurrogate(c)) {
+          ensureCapacity(3);
+          buffer[position++] = (byte) (0xE0 | (c >>> 12));
+          buffer[position++] = (byte) (0x80 | (0x3F & (c >>> 6)));
+          buffer[position++] = (byte) (0x80 | (0x3F & c));
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < length
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          ensureCapacity(4);
+          buffer[position++] = (byte) (0xF0 | (codePoint >>> 18));
+          buffer[position++] = (byte) (0x80 | (0x3F & (codePoint >>> 12)));
+          buffer[position++] = (byte) (0x80 | (0x3F & (codePoint >>> 6)));
+          buffer[position++] = (byte) (0x80 | (0x3F & codePoint));
+        } else {
+          writeByte('?');
+        }
+      }
+    }
+
+    private void writeLong(long value) throws IOException {
+      if (value == Long.MIN_VALUE) {
+        writeAscii("-9223372036854775808");
+        return;
+      }
+      ensureCapacity(20);
+      if (value < 0) {
+        buffer[position++] = '-';
+        value = -value;
+      }
+      int digits = 1;
+      for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+        digits++;
+      }
+      int end = position + digits;
+      for (int i = end - 1; i >= position; i--) {
+        buffer[i] = (byte) ('0' + (value % 10));
+        value /= 10;
+      }
+      position = end;
+    }
+
+    private void writeByte(int b) throws IOException {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    private void ensureCapacity(int size) throws IOException {
+      if (buffer.length - position < size) {
+        flushBuffer();
+      }
+    }
+
+    private void flushBuffer() throws IOException {
+      if (position > 0) {
+        output.write(buffer, 0, position);
+        position = 0;
+      }
+    }
+
+    private void close() throws IOException {
+      try {
+        flushBuffer();
+      } finally {
+        THREAD_LOCAL_BUFFER.set(buffer);
+      }
+    }
+  }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.config.ExporterFilterProperties;
+import io.prometheus.metrics.config.ExporterProperties;
+import io.prometheus.metrics.config.PrometheusProperties;
+import io.prometheus.metrics.exporter.httpserver.MetricsHandler;
+import io.prometheus.metrics.model.registry.MetricNameFilter;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+
+/**
+ * Serves scrapes by writing the metrics of a {@link PrometheusMetricReader} with {@link
+ * PrometheusTextWriter}, instead of converting them to Prometheus snapshots like the {@link
+ * MetricsHandler} of the Prometheus library does. Responses are written to the client in chunks as
+ * they are serialized and, when the client accepts gzip, compressed with pooled {@link Deflater}s,
+ * so the memory used by a scrape doesn't grow with the number of series. Only the first {@value
+ * #PREFIX_SIZE} bytes are buffered, so that a scrape which fails early still gets an error
+ * response, and a response which fits in them is sent with its length instead of chunked.
+ *
+ * <p>Metrics collected with {@link io.opentelemetry.sdk.common.export.MemoryMode#IMMUTABLE_DATA}
+ * are written after the collection lock of the reader is released, so that a slow client doesn't
+ * block other scrapes or collections. Metrics collected with {@link
+ * io.opentelemetry.sdk.common.export.MemoryMode#REUSABLE_DATA} are only valid while the lock is
+ * held, so they are written to the client with the lock held.
+ *
+ * <p>Scrapes which can't be served this way are delegated to {@link MetricsHandler}. These are
+ * requests for the protobuf format or with the {@code debug} parameter, scrapes of registries which
+ * may contain other collectors, and scrapes filtered with Prometheus exporter properties.
+ */
+final class StreamingMetricsHandler implements HttpHandler {
+
+  private static final Logger LOGGER = Logger.getLogger(StreamingMetricsHandler.class.getName());
+  private static final ThrottlingLogger THROTTLING_LOGGER = new ThrottlingLogger(LOGGER);
+
+  private static final String PROMETHEUS_TEXT_CONTENT_TYPE =
+      "text/plain; version=0.0.4; charset=utf-8";
+  private static final String OPEN_METRICS_CONTENT_TYPE =
+      "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  // Size of the start of the response which is buffered before it is sent.
+  private static final int PREFIX_SIZE = 8192;
+  // Response streams are kept for reuse up to the number of concurrent scrapes, which is small.
+  private static final int MAX_POOLED_STREAMS = 4;
+
+  private final PrometheusMetricReader reader;
+  private final PrometheusTextWriter writer;
+  private final HttpHandler fallback;
+  private final boolean reusableData;
+  private final boolean streamingEnabled;
+  private final boolean includeCreatedTimestamps;
+  private final boolean exemplarsOnAllMetricTypes;
+  private final BlockingQueue<ResponseStream> streams =
+      new ArrayBlockingQueue<>(MAX_POOLED_STREAMS);
+
+  /**
+   * Creates a handler for scrapes of the {@code reader}.
+   *
+   * @param reusableData whether the metrics of the {@code reader} are collected with {@link
+   *     io.opentelemetry.sdk.common.export.MemoryMode#REUSABLE_DATA}
+   * @param registryIsExclusive whether the {@code reader} is the only collector registered with the
+   *     {@code registry}. Otherwise, all scrapes are delegated to {@link MetricsHandler}.
+   */
+  StreamingMetricsHandler(
+      PrometheusMetricReader reader,
+      PrometheusTextWriter writer,
+      PrometheusRegistry registry,
+      boolean reusableData,
+      boolean registryIsExclusive) {
+    PrometheusProperties config = PrometheusProperties.get();
+    ExporterProperties exporterProperties = config.getExporterProperties();
+    this.reader = reader;
+    this.writer = writer;
+    this.fallback = new MetricsHandler(config, registry);
+    this.reusableData = reusableData;
+    this.streamingEnabled =
+        registryIsExclusive && !hasNameFilter(config.getExporterFilterProperties());
+    this.includeCreatedTimestamps = exporterProperties.getIncludeCreatedTimestamps();
+    this.exemplarsOnAllMetricTypes = exporterProperties.getExemplarsOnAllMetricTypes();
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    String query = exchange.getRequestURI().getRawQuery();
+    String accept = exchange.getRequestHeaders().getFirst("Accept");
+    if (!streamingEnabled
+        || (accept != null && accept.contains("application/vnd.google.protobuf"))
+        || hasParameter(query, "debug")) {
+      fallback.handle(exchange);
+      return;
+    }
+    boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+    Predicate<String> includedNames = includedNames(query);
+    boolean gzip = acceptsGzip(exchange);
+    ResponseStream pooled = streams.poll();
+    ResponseStream response = pooled == null ? new ResponseStream() : pooled;
+    try {
+      exchange
+          .getResponseHeaders()
+          .set(
+              "Content-Type",
+              openMetrics ? OPEN_METRICS_CONTENT_TYPE : PROMETHEUS_TEXT_CONTENT_TYPE);
+      if (exchange.getRequestMethod().equals("HEAD")) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+      OutputStream out = response.start(exchange, gzip);
+      if (reusableData) {
+        reader.collectMetrics(metrics -> write(out, metrics, openMetrics, includedNames));
+      } else {
+        // Immutable metrics stay valid once the collection lock is released, so writing them to a
+        // slow client doesn't block other scrapes.
+        write(out, reader.collectMetrics(), openMetrics, includedNames);
+      }
+      response.finish();
+    } catch (RuntimeException e) {
+      THROTTLING_LOGGER.log(Level.WARNING, "Failed to scrape metrics.", e);
+      // Once the buffered prefix was sent, the client only sees a truncated response
+      if (exchange.getResponseCode() == -1) {
+        exchange.sendResponseHeaders(500, -1);
+      }
+    } finally {
+      response.reset();
+      if (!streams.offer(response)) {
+        response.end();
+      }
+      exchange.close();
+    }
+  }
+
+  private void write(
+      OutputStream out,
+      Collection<MetricData> metrics,
+      boolean openMetrics,
+      @Nullable Predicate<String> includedNames)
+      throws IOException {
+    if (openMetrics) {
+      writer.writeOpenMetrics(
+          out, metrics, includedNames, includeCreatedTimestamps, exemplarsOnAllMetricTypes);
+    } else {
+      writer.writePrometheusText(out, metrics, includedNames, includeCreatedTimestamps);
+    }
+  }
+
+  private static boolean hasNameFilter(ExporterFilterProperties properties) {
+    return properties.getAllowedMetricNames() != null
+        || properties.getExcludedMetricNames() != null
+        || properties.getAllowedMetricNamePrefixes() != null
+        || properties.getExcludedMetricNamePrefixes() != null;
+  }
+
+  private static boolean acceptsGzip(HttpExchange exchange) {
+    List<String> headers = exchange.getRequestHeaders().get("Accept-Encoding");
+    if (headers == null) {
+      return false;
+    }
+    for (String header : headers) {
+      for (String encoding : header.split(",")) {
+        if (encoding.trim().equalsIgnoreCase("gzip")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasParameter(@Nullable String query, String name) {
+    if (query == null) {
+      return false;
+    }
+    for (String parameter : query.split("&")) {
+      int separator = parameter.indexOf('=');
+      String key = separator < 0 ? parameter : parameter.substring(0, separator);
+      if (decode(key).equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the filter of the {@code name[]} query parameters, or {@code null} if there are none.
+   */
+  @Nullable
+  private static Predicate<String> includedNames(@Nullable String query) {
+    if (query == null) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    for (String parameter : query.split("&")) {
+      int separator = parameter.indexOf('=');
+      if (separator > 0 && decode(parameter.substring(0, separator)).equals("name[]")) {
+        names.add(decode(parameter.substring(separator + 1)));
+      }
+    }
+    if (names.isEmpty()) {
+      return null;
+    }
+    return MetricNameFilter.builder().nameMustBeEqualTo(names.toArray(new String[0])).build();
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException("UTF-8 is always supported", e);
+    }
+  }
+
+  /**
+   * Writes a response to an {@link HttpExchange}, buffering its first {@value #PREFIX_SIZE} bytes
+   * before sending the response headers. The buffer and the compressor which writes to the stream
+   * are reused for multiple responses.
+   */
+  private static final class ResponseStream extends OutputStream {
+
+    private final byte[] prefix = new byte[PREFIX_SIZE];
+    private final GzipOutputStream gzip = new GzipOutputStream();
+    private int prefixLength;
+    private boolean gzipEnabled;
+    @Nullable private HttpExchange exchange;
+    // Set once the response headers are sent
+    @Nullable private OutputStream body;
+
+    /** Starts a response to the {@code exchange}, returning the stream to write it to. */
+    private OutputStream start(HttpExchange exchange, boolean gzip) throws IOException {
+      this.exchange = exchange;
+      if (!gzip) {
+        return this;
+      }
+      gzipEnabled = true;
+      this.gzip.start(this);
+      return this.gzip;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      OutputStream body = this.body;
+      if (body == null) {
+        if (prefixLength + len <= prefix.length) {
+          System.arraycopy(b, off, prefix, prefixLength, len);
+          prefixLength += len;
+          return;
+        }
+        // A length of 0 sends the response chunked
+        body = sendHeaders(0);
+      }
+      body.write(b, off, len);
+    }
+
+    /** Completes the response, sending it with its length if it fits in the buffered prefix. */
+    private void finish() throws IOException {
+      if (gzipEnabled) {
+        gzip.finish();
+      }
+      if (body == null) {
+        sendHeaders(prefixLength == 0 ? -1 : prefixLength);
+      }
+    }
+
+    private OutputStream sendHeaders(long length) throws IOException {
+      HttpExchange exchange = this.exchange;
+      if (exchange == null) {
+        throw new IllegalStateException("start must be called before writing");
+      }
+      if (gzipEnabled) {
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+      }
+      exchange.sendResponseHeaders(200, length);
+      OutputStream body = exchange.getResponseBody();
+      body.write(prefix, 0, prefixLength);
+      prefixLength = 0;
+      this.body = body;
+      return body;
+    }
+
+    /** Prepares the stream for reuse with another response. */
+    private void reset() {
+      gzip.reset();
+      prefixLength = 0;
+      gzipEnabled = false;
+      exchange = null;
+      body = null;
+    }
+
+    /** Releases the native resources of the compressor, which can't be used anymore. */
+    private void end() {
+      gzip.end();
+    }
+  }
+
+  /**
+   * Writes the gzip format with a {@link Deflater}, buffer and checksum which are reused for
+   * multiple streams, unlike {@link java.util.zip.GZIPOutputStream}.
+   */
+  private static final class GzipOutputStream extends OutputStream {
+
+    private static final byte[] HEADER = {
+      (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private final Deflater deflater =
+        new Deflater(Deflater.DEFAULT_COMPRESSION, /* nowrap= */ true);
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[8192];
+    @Nullable private OutputStream out;
+
+    private void start(OutputStream out) throws IOException {
+      this.out = out;
+      out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      crc.update(b, off, len);
+      deflater.setInput(b, off, len);
+      while (!deflater.needsInput()) {
+        deflate();
+      }
+    }
+
+    private void finish() throws IOException {
+      deflater.finish();
+      while (!deflater.finished()) {
+        deflate();
+      }
+      writeIntLittleEndian((int) crc.getValue(), 0);
+      writeIntLittleEndian((int) deflater.getBytesRead(), 4);
+      output().write(buffer, 0, 8);
+    }
+
+    private void deflate() throws IOException {
+      int length = deflater.deflate(buffer, 0, buffer.length);
+      if (length > 0) {
+        output().write(buffer, 0, length);
+      }
+    }
+
+    private void writeIntLittleEndian(int value, int offset) {
+      buffer[offset] = (byte) value;
+      buffer[offset + 1] = (byte) (value >> 8);
+      buffer[offset + 2] = (byte) (value >> 16);
+      buffer[offset + 3] = (byte) (value >> 24);
+    }
+
+    private OutputStream output() {
+      if (out == null) {
+        throw new IllegalStateException("start must be called before writing");
+      }
+      return out;
+    }
+
+    /** Prepares the stream for reuse with another output. */
+    private void reset() {
+      deflater.reset();
+      crc.reset();
+      out = null;
+    }
+
+    /** Releases the native resources of the stream, which can't be used anymore. */
+    private void end() {
+      deflater.end();
+    }
+  }
+}
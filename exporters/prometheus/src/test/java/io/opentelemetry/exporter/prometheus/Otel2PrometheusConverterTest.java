@@ -28,6 +28,9 @@ import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
 import io.opentelemetry.sdk.resources.Resource;
 import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -137,6 +140,73 @@ class Otel2PrometheusConverterTest {
     assertThatCode(() -> converter.convert(metricData)).doesNotThrowAnyException();
   }
 
+  @Test
+  void labelPrecedence() {
+    Otel2PrometheusConverter converter =
+        new Otel2PrometheusConverter(true, /* allowedResourceAttributesFilter= */ s -> true);
+    MetricData metricData =
+        createSampleMetricData(
+            "my.metric",
+            "units",
+            MetricDataType.LONG_SUM,
+            Attributes.builder()
+                .put("foo-bar", "a")
+                .put("foo_bar", "b")
+                .put("otel_scope_name", "attribute")
+                .build(),
+            Resource.create(
+                Attributes.builder().put("foo_bar", "resource").put("host", "localhost").build()));
+
+    // Converted twice to go through the cached labels prefix too
+    for (int i = 0; i < 2; i++) {
+      MetricSnapshots snapshots = converter.convert(Collections.singletonList(metricData));
+      Labels labels =
+          snapshots.stream()
+              .filter(snapshot -> snapshot.getMetadata().getName().equals("my_metric_units"))
+              .findFirst()
+              .orElseThrow(AssertionError::new)
+              .getDataPoints()
+              .get(0)
+              .getLabels();
+
+      // Attributes with the same sanitized name overwrite each other in order, and take precedence
+      // over scope and resource labels.
+      assertThat(labels)
+          .isEqualTo(
+              Labels.of("foo_bar", "b", "host", "localhost", "otel_scope_name", "attribute"));
+    }
+  }
+
+  @Test
+  void metadataIsCached() {
+    MetricData metricData =
+        createSampleMetricData("my.metric", "units", MetricDataType.LONG_SUM, null, null);
+    MetricData otherDescription =
+        ImmutableMetricData.createLongSum(
+            metricData.getResource(),
+            metricData.getInstrumentationScopeInfo(),
+            metricData.getName(),
+            "other description",
+            metricData.getUnit(),
+            metricData.getLongSumData());
+
+    MetricMetadata metadata = metadata(converter, metricData);
+    assertThat(metadata(converter, metricData)).isSameAs(metadata);
+
+    MetricMetadata otherMetadata = metadata(converter, otherDescription);
+    assertThat(otherMetadata.getHelp()).isEqualTo("other description");
+    assertThat(otherMetadata.getPrometheusName()).isEqualTo(metadata.getPrometheusName());
+  }
+
+  private static MetricMetadata metadata(
+      Otel2PrometheusConverter converter, MetricData metricData) {
+    return converter.convert(Collections.singletonList(metricData)).stream()
+        .map(MetricSnapshot::getMetadata)
+        .filter(metadata -> !metadata.getName().equals("target"))
+        .findFirst()
+        .orElseThrow(AssertionError::new);
+  }
+
   private static Stream<Arguments> resourceAttributesAdditionArgs() {
     List<Arguments> arguments = new ArrayList<>();
 
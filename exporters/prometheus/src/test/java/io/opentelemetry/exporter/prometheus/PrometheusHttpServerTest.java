@@ -34,9 +34,12 @@ import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
 import io.opentelemetry.sdk.resources.Resource;
-import io.prometheus.metrics.exporter.httpserver.HTTPServer;
 import io.prometheus.metrics.exporter.httpserver.MetricsHandler;
+import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot.CounterDataPointSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.ServerSocket;
@@ -50,6 +53,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -71,7 +75,10 @@ class PrometheusHttpServerTest {
   static WebClient client;
 
   @RegisterExtension
-  LogCapturer logs = LogCapturer.create().captureForType(Otel2PrometheusConverter.class);
+  LogCapturer logs =
+      LogCapturer.create()
+          .captureForType(Otel2PrometheusConverter.class)
+          .captureForType(PrometheusTextWriter.class);
 
   @BeforeAll
   static void beforeAll() {
@@ -113,6 +120,10 @@ class PrometheusHttpServerTest {
     assertThatThrownBy(() -> PrometheusHttpServer.builder().setHost(""))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("host must not be empty");
+    assertThatThrownBy(
+            () -> PrometheusHttpServer.builder().setScrapeCacheDuration(-1, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("scrapeCacheDuration must be non-negative");
   }
 
   @Test
@@ -314,6 +325,84 @@ class PrometheusHttpServerTest {
                 + "target_info{kr=\"vr\"} 1\n");
   }
 
+  @Test
+  void fetchOpenMetricsCompressed() throws IOException {
+    // Fetch twice to reuse the pooled compressor
+    for (int i = 0; i < 2; i++) {
+      AggregatedHttpResponse response =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET,
+                      "/metrics",
+                      HttpHeaderNames.ACCEPT,
+                      "application/openmetrics-text",
+                      HttpHeaderNames.ACCEPT_ENCODING,
+                      "gzip"))
+              .aggregate()
+              .join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("application/openmetrics-text; version=1.0.0; charset=utf-8");
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      GZIPInputStream gis =
+          new GZIPInputStream(new ByteArrayInputStream(response.content().array()));
+      String content = new String(ByteStreams.toByteArray(gis), StandardCharsets.UTF_8);
+      assertThat(content)
+          .isEqualTo(
+              "# TYPE grpc_name_unit counter\n"
+                  + "# UNIT grpc_name_unit unit\n"
+                  + "# HELP grpc_name_unit long_description\n"
+                  + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+                  + "# TYPE http_name_unit counter\n"
+                  + "# UNIT http_name_unit unit\n"
+                  + "# HELP http_name_unit double_description\n"
+                  + "http_name_unit_total{kp=\"vp\",otel_scope_name=\"http\",otel_scope_version=\"version\"} 3.5\n"
+                  + "# TYPE target info\n"
+                  + "target_info{kr=\"vr\"} 1\n"
+                  + "# EOF\n");
+    }
+  }
+
+  @Test
+  void fetchCustomRegistry() {
+    PrometheusRegistry registry = new PrometheusRegistry();
+    registry.register(
+        (MultiCollector)
+            () ->
+                MetricSnapshots.of(
+                    CounterSnapshot.builder()
+                        .name("custom")
+                        .dataPoint(CounterDataPointSnapshot.builder().value(1).build())
+                        .build()));
+    try (PrometheusHttpServer prometheusServer =
+        PrometheusHttpServer.builder()
+            .setHost("localhost")
+            .setPort(0)
+            .setPrometheusRegistry(registry)
+            .build()) {
+      prometheusServer.register(
+          new CollectionRegistration() {
+            @Override
+            public Collection<MetricData> collectAllMetrics() {
+              return metricData.get();
+            }
+          });
+      WebClient client =
+          WebClient.builder("http://localhost:" + prometheusServer.getAddress().getPort())
+              .decorator(RetryingClient.newDecorator(RetryRule.failsafe()))
+              .build();
+
+      // Metrics of other collectors in the registry are served along with the OpenTelemetry ones
+      AggregatedHttpResponse response = client.get("/metrics").aggregate().join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.contentUtf8())
+          .contains("custom_total 1.0\n")
+          .contains(
+              "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n");
+    }
+  }
+
   @SuppressWarnings("resource")
   @Test
   void fetchHead() {
@@ -400,7 +489,6 @@ class PrometheusHttpServerTest {
   @Test
   void defaultExecutor() {
     assertThat(prometheusServer)
-        .extracting("httpServer", as(InstanceOfAssertFactories.type(HTTPServer.class)))
         .extracting("executorService", as(InstanceOfAssertFactories.type(ThreadPoolExecutor.class)))
         .satisfies(executor -> assertThat(executor.getCorePoolSize()).isEqualTo(1));
   }
@@ -419,7 +507,6 @@ class PrometheusHttpServerTest {
             .setExecutor(scheduledExecutor)
             .build()) {
       assertThat(server)
-          .extracting("httpServer", as(InstanceOfAssertFactories.type(HTTPServer.class)))
           .extracting(
               "executorService",
               as(InstanceOfAssertFactories.type(ScheduledThreadPoolExecutor.class)))
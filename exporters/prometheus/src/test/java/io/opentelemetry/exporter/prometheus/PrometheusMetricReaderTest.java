@@ -22,6 +22,8 @@ import io.opentelemetry.sdk.metrics.Aggregation;
 import io.opentelemetry.sdk.metrics.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
 import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.time.TestClock;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
@@ -36,10 +38,13 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -1091,6 +1096,52 @@ class PrometheusMetricReaderTest {
     assertThat(toOpenMetrics(reader.collect())).isEqualTo(expected);
   }
 
+  @Test
+  void scrapeCache() {
+    PrometheusMetricReader cachingReader =
+        new PrometheusMetricReader(
+            true,
+            /* allowedResourceAttributesFilter= */ null,
+            TimeUnit.SECONDS.toNanos(1),
+            testClock);
+    AtomicInteger collections = new AtomicInteger();
+    cachingReader.register(
+        new CollectionRegistration() {
+          @Override
+          public Collection<MetricData> collectAllMetrics() {
+            collections.incrementAndGet();
+            return Collections.emptyList();
+          }
+        });
+
+    MetricSnapshots first = cachingReader.collect();
+    testClock.advance(Duration.ofMillis(999));
+    assertThat(cachingReader.collect()).isSameAs(first);
+    assertThat(collections).hasValue(1);
+
+    testClock.advance(Duration.ofMillis(1));
+    assertThat(cachingReader.collect()).isNotSameAs(first);
+    assertThat(collections).hasValue(2);
+  }
+
+  @Test
+  void scrapeCache_Disabled() {
+    AtomicInteger collections = new AtomicInteger();
+    reader.register(
+        new CollectionRegistration() {
+          @Override
+          public Collection<MetricData> collectAllMetrics() {
+            collections.incrementAndGet();
+            return Collections.emptyList();
+          }
+        });
+
+    reader.collect();
+    reader.collect();
+
+    assertThat(collections).hasValue(2);
+  }
+
   /**
    * Unfortunately there is no easy way to use {@link TestClock} for Exemplar timestamps. Test if
    * {@code expected} equals {@code actual} but {@code <timestamp>} matches arbitrary timestamps.
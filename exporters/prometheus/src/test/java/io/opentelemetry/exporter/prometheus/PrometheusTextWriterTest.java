@@ -0,0 +1,484 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoubleExemplarData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongExemplarData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableValueAtQuantile;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.expositionformats.OpenMetricsTextFormatWriter;
+import io.prometheus.metrics.expositionformats.PrometheusTextFormatWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@SuppressLogger(PrometheusTextWriter.class)
+class PrometheusTextWriterTest {
+
+  private static final Resource RESOURCE = Resource.create(Attributes.of(stringKey("kr"), "vr"));
+
+  private static final SpanContext SPAN_CONTEXT =
+      SpanContext.create(
+          "12345678876543211234567887654321",
+          "8765432112345678",
+          TraceFlags.getSampled(),
+          TraceState.getDefault());
+
+  private final PrometheusTextWriter writer =
+      new PrometheusTextWriter(/* otelScopeEnabled= */ true, null);
+
+  @Test
+  void prometheusText() throws IOException {
+    assertThat(toPrometheusText(writer, counters(), /* createdTimestamps= */ false))
+        .isEqualTo(
+            "# HELP grpc_name_unit_total long_description\n"
+                + "# TYPE grpc_name_unit_total counter\n"
+                + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+                + "# HELP http_name_unit_total double_description\n"
+                + "# TYPE http_name_unit_total counter\n"
+                + "http_name_unit_total{kp=\"vp\",otel_scope_name=\"http\",otel_scope_version=\"version\"} 3.5\n"
+                + "# TYPE target_info gauge\n"
+                + "target_info{kr=\"vr\"} 1\n");
+  }
+
+  @Test
+  void prometheusText_CreatedTimestamps() throws IOException {
+    assertThat(toPrometheusText(writer, counters(), /* createdTimestamps= */ true))
+        .endsWith(
+            "# HELP grpc_name_unit_created long_description\n"
+                + "# TYPE grpc_name_unit_created gauge\n"
+                + "grpc_name_unit_created{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 1.234\n"
+                + "# HELP http_name_unit_created double_description\n"
+                + "# TYPE http_name_unit_created gauge\n"
+                + "http_name_unit_created{kp=\"vp\",otel_scope_name=\"http\",otel_scope_version=\"version\"} 1.234\n");
+  }
+
+  @Test
+  void prometheusText_IncludedNames() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writePrometheusText(
+        out, counters(), name -> name.equals("grpc_name_unit") || name.equals("target"), false);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+        .isEqualTo(
+            "# HELP grpc_name_unit_total long_description\n"
+                + "# TYPE grpc_name_unit_total counter\n"
+                + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+                + "# TYPE target_info gauge\n"
+                + "target_info{kr=\"vr\"} 1\n");
+  }
+
+  @Test
+  void openMetrics() throws IOException {
+    assertThat(toOpenMetrics(writer, counters(), false, false))
+        .isEqualTo(
+            "# TYPE grpc_name_unit counter\n"
+                + "# UNIT grpc_name_unit unit\n"
+                + "# HELP grpc_name_unit long_description\n"
+                + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+                + "# TYPE http_name_unit counter\n"
+                + "# UNIT http_name_unit unit\n"
+                + "# HELP http_name_unit double_description\n"
+                + "http_name_unit_total{kp=\"vp\",otel_scope_name=\"http\",otel_scope_version=\"version\"} 3.5\n"
+                + "# TYPE target info\n"
+                + "target_info{kr=\"vr\"} 1\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void openMetrics_HistogramWithExemplars() throws IOException {
+    MetricData histogram =
+        ImmutableMetricData.createDoubleHistogram(
+            RESOURCE,
+            InstrumentationScopeInfo.create("scope"),
+            "request.duration",
+            "",
+            "s",
+            ImmutableHistogramData.create(
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableHistogramPointData.create(
+                        1_234_000_000L,
+                        2_000_000_000L,
+                        Attributes.empty(),
+                        7.0,
+                        false,
+                        0,
+                        false,
+                        0,
+                        Arrays.asList(1.0, 5.0),
+                        Arrays.asList(1L, 2L, 0L),
+                        Arrays.asList(
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.empty(), 1_500_000_000L, SPAN_CONTEXT, 0.5),
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.of(stringKey("key"), "value"),
+                                1_600_000_000L,
+                                SpanContext.getInvalid(),
+                                3.0))))));
+
+    assertThat(toOpenMetrics(writer, Collections.singletonList(histogram), true, true))
+        .isEqualTo(
+            "# TYPE request_duration_seconds histogram\n"
+                + "# UNIT request_duration_seconds seconds\n"
+                + "request_duration_seconds_bucket{otel_scope_name=\"scope\",le=\"1.0\"} 1 # {span_id=\"8765432112345678\",trace_id=\"12345678876543211234567887654321\"} 0.5 1.500\n"
+                + "request_duration_seconds_bucket{otel_scope_name=\"scope\",le=\"5.0\"} 3 # {key=\"value\"} 3.0 1.600\n"
+                + "request_duration_seconds_bucket{otel_scope_name=\"scope\",le=\"+Inf\"} 3\n"
+                + "request_duration_seconds_count{otel_scope_name=\"scope\"} 3 # {key=\"value\"} 3.0 1.600\n"
+                + "request_duration_seconds_sum{otel_scope_name=\"scope\"} 7.0\n"
+                + "request_duration_seconds_created{otel_scope_name=\"scope\"} 1.234\n"
+                + "# TYPE target info\n"
+                + "target_info{kr=\"vr\"} 1\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void escaping() throws IOException {
+    MetricData gauge =
+        ImmutableMetricData.createLongGauge(
+            Resource.empty(),
+            InstrumentationScopeInfo.create("scope"),
+            "temperature",
+            "back\\slash\nnew \"line\"",
+            "",
+            ImmutableGaugeData.create(
+                Collections.singletonList(
+                    ImmutableLongPointData.create(
+                        0,
+                        1,
+                        Attributes.of(stringKey("city"), "\"Z\u00fcrich\" \uD83C\uDFD4\n"),
+                        7))));
+
+    assertThat(toPrometheusText(writer, Collections.singletonList(gauge), false))
+        .isEqualTo(
+            "# TYPE target_info gauge\n"
+                + "target_info 1\n"
+                + "# HELP temperature back\\\\slash\\nnew \"line\"\n"
+                + "# TYPE temperature gauge\n"
+                + "temperature{city=\"\\\"Z\u00fcrich\\\" \uD83C\uDFD4\\n\",otel_scope_name=\"scope\"} 7.0\n");
+    assertThat(toOpenMetrics(writer, Collections.singletonList(gauge), false, false))
+        .endsWith(
+            "# TYPE temperature gauge\n"
+                + "# HELP temperature back\\\\slash\\nnew \\\"line\\\"\n"
+                + "temperature{city=\"\\\"Z\u00fcrich\\\" \uD83C\uDFD4\\n\",otel_scope_name=\"scope\"} 7.0\n"
+                + "# EOF\n");
+  }
+
+  @Test
+  void mergesMetricsWithSameName() throws IOException {
+    MetricData grpc = counters().get(0);
+    MetricData conflicting =
+        ImmutableMetricData.createDoubleGauge(
+            RESOURCE,
+            InstrumentationScopeInfo.create("other"),
+            "grpc_name",
+            "long_description",
+            "unit",
+            ImmutableGaugeData.create(
+                Collections.singletonList(
+                    ImmutableDoublePointData.create(0, 1, Attributes.empty(), 1.0))));
+    MetricData sameType =
+        ImmutableMetricData.createLongSum(
+            RESOURCE,
+            InstrumentationScopeInfo.create("another"),
+            "grpc.name",
+            "other_description",
+            "unit",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableLongPointData.create(0, 1, Attributes.empty(), 3))));
+
+    assertThat(toPrometheusText(writer, Arrays.asList(grpc, conflicting, sameType), false))
+        .isEqualTo(
+            "# TYPE grpc_name_unit_total counter\n"
+                + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+                + "grpc_name_unit_total{otel_scope_name=\"another\"} 3.0\n"
+                + "# TYPE target_info gauge\n"
+                + "target_info{kr=\"vr\"} 1\n");
+  }
+
+  @Test
+  void empty() throws IOException {
+    assertThat(toPrometheusText(writer, Collections.emptyList(), false)).isEmpty();
+    assertThat(toOpenMetrics(writer, Collections.emptyList(), false, false)).isEqualTo("# EOF\n");
+  }
+
+  @ParameterizedTest
+  @MethodSource("formats")
+  void matchesConverter(boolean openMetrics, boolean createdTimestamps, boolean allExemplars)
+      throws IOException {
+    Predicate<String> resourceAttributesFilter = Predicates.is("service.name");
+    PrometheusTextWriter writer = new PrometheusTextWriter(true, resourceAttributesFilter);
+    Otel2PrometheusConverter converter =
+        new Otel2PrometheusConverter(true, resourceAttributesFilter);
+    List<MetricData> metrics = allTypes();
+
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    String actual;
+    if (openMetrics) {
+      new OpenMetricsTextFormatWriter(createdTimestamps, allExemplars)
+          .write(expected, converter.convert(metrics));
+      actual = toOpenMetrics(writer, metrics, createdTimestamps, allExemplars);
+    } else {
+      new PrometheusTextFormatWriter(createdTimestamps).write(expected, converter.convert(metrics));
+      actual = toPrometheusText(writer, metrics, createdTimestamps);
+    }
+
+    assertThat(actual).isEqualTo(new String(expected.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  private static Stream<Arguments> formats() {
+    return Stream.of(
+        Arguments.of(false, false, false),
+        Arguments.of(false, true, false),
+        Arguments.of(true, false, false),
+        Arguments.of(true, true, true));
+  }
+
+  private static String toPrometheusText(
+      PrometheusTextWriter writer, Collection<MetricData> metrics, boolean createdTimestamps)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writePrometheusText(out, metrics, /* includedNames= */ null, createdTimestamps);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String toOpenMetrics(
+      PrometheusTextWriter writer,
+      Collection<MetricData> metrics,
+      boolean createdTimestamps,
+      boolean allExemplars)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeOpenMetrics(
+        out, metrics, /* includedNames= */ null, createdTimestamps, allExemplars);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static List<MetricData> counters() {
+    return Arrays.asList(
+        ImmutableMetricData.createLongSum(
+            RESOURCE,
+            InstrumentationScopeInfo.builder("grpc").setVersion("version").build(),
+            "grpc.name",
+            "long_description",
+            "unit",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableLongPointData.create(
+                        1_234_000_000L, 2_000_000_000L, Attributes.of(stringKey("kp"), "vp"), 5)))),
+        ImmutableMetricData.createDoubleSum(
+            RESOURCE,
+            InstrumentationScopeInfo.builder("http").setVersion("version").build(),
+            "http.name",
+            "double_description",
+            "unit",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableDoublePointData.create(
+                        1_234_000_000L,
+                        2_000_000_000L,
+                        Attributes.of(stringKey("kp"), "vp"),
+                        3.5)))));
+  }
+
+  /**
+   * Metrics of every type. The points of each metric are in the order of their labels, which is
+   * the order the Prometheus library writes them in.
+   */
+  private static List<MetricData> allTypes() {
+    Resource resource =
+        Resource.create(
+            Attributes.of(stringKey("service.name"), "svc", stringKey("host.name"), "host"));
+    InstrumentationScopeInfo scope =
+        InstrumentationScopeInfo.builder("test")
+            .setVersion("1.0")
+            .setAttributes(Attributes.of(stringKey("scope.key"), "scope value"))
+            .build();
+    long start = 1_234_000_000L;
+    long end = 2_000_000_000L;
+    return Arrays.asList(
+        ImmutableMetricData.createLongSum(
+            resource,
+            scope,
+            "requests",
+            "the number of requests",
+            "{request}",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Arrays.asList(
+                    ImmutableLongPointData.create(
+                        start,
+                        end,
+                        Attributes.of(stringKey("animal"), "bear"),
+                        3,
+                        Collections.singletonList(
+                            ImmutableLongExemplarData.create(
+                                Attributes.empty(), 1_500_000_000L, SPAN_CONTEXT, 2))),
+                    ImmutableLongPointData.create(
+                        start, end, Attributes.of(stringKey("animal"), "mouse"), 4)))),
+        ImmutableMetricData.createLongSum(
+            resource,
+            InstrumentationScopeInfo.create("other"),
+            "requests",
+            "the number of requests",
+            "{request}",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableLongPointData.create(
+                        start, end, Attributes.of(stringKey("animal"), "zebra"), 5)))),
+        ImmutableMetricData.createDoubleGauge(
+            resource,
+            scope,
+            "temperature",
+            "back\\slash\nnew \"line\"",
+            "Cel",
+            ImmutableGaugeData.create(
+                Collections.singletonList(
+                    ImmutableDoublePointData.create(
+                        start,
+                        end,
+                        Attributes.of(stringKey("city"), "\"Z\u00fcrich\" \uD83C\uDFD4\n"),
+                        21.5,
+                        Collections.singletonList(
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.empty(), 1_500_000_000L, SPAN_CONTEXT, 21.5)))))),
+        ImmutableMetricData.createLongSum(
+            resource,
+            scope,
+            "queue.size",
+            "",
+            "{item}",
+            ImmutableSumData.create(
+                /* isMonotonic= */ false,
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableLongPointData.create(start, end, Attributes.empty(), -2)))),
+        ImmutableMetricData.createLongSum(
+            resource,
+            scope,
+            "deltas",
+            "",
+            "",
+            ImmutableSumData.create(
+                /* isMonotonic= */ true,
+                AggregationTemporality.DELTA,
+                Collections.singletonList(
+                    ImmutableLongPointData.create(start, end, Attributes.empty(), 1)))),
+        ImmutableMetricData.createDoubleHistogram(
+            resource,
+            scope,
+            "request.duration",
+            "",
+            "s",
+            ImmutableHistogramData.create(
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableHistogramPointData.create(
+                        start,
+                        end,
+                        Attributes.of(stringKey("http.route"), "/"),
+                        7.0,
+                        false,
+                        0,
+                        false,
+                        0,
+                        Arrays.asList(1.0, 5.0),
+                        Arrays.asList(1L, 2L, 0L),
+                        Arrays.asList(
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.empty(), 1_500_000_000L, SPAN_CONTEXT, 0.5),
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.of(stringKey("key"), "value"),
+                                1_600_000_000L,
+                                SpanContext.getInvalid(),
+                                3.0)))))),
+        ImmutableMetricData.createExponentialHistogram(
+            resource,
+            scope,
+            "latency",
+            "",
+            "ms",
+            ImmutableExponentialHistogramData.create(
+                AggregationTemporality.CUMULATIVE,
+                Collections.singletonList(
+                    ImmutableExponentialHistogramPointData.create(
+                        0,
+                        10.0,
+                        1,
+                        false,
+                        0,
+                        false,
+                        0,
+                        ImmutableExponentialHistogramBuckets.create(0, 0, Arrays.asList(1L, 2L)),
+                        ImmutableExponentialHistogramBuckets.create(
+                            0, 0, Collections.emptyList()),
+                        start,
+                        end,
+                        Attributes.empty(),
+                        Collections.singletonList(
+                            ImmutableDoubleExemplarData.create(
+                                Attributes.empty(), 1_500_000_000L, SPAN_CONTEXT, 2.5)))))),
+        ImmutableMetricData.createDoubleSummary(
+            resource,
+            scope,
+            "response.size",
+            "",
+            "By",
+            ImmutableSummaryData.create(
+                Collections.singletonList(
+                    ImmutableSummaryPointData.create(
+                        start,
+                        end,
+                        Attributes.empty(),
+                        5,
+                        70.0,
+                        Arrays.asList(
+                            ImmutableValueAtQuantile.create(0.5, 10.0),
+                            ImmutableValueAtQuantile.create(1.0, 20.0)))))));
+  }
+}
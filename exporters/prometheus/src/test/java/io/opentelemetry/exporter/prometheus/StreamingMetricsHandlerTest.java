@@ -0,0 +1,239 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class StreamingMetricsHandlerTest {
+
+  private static final MetricData METRIC = counter("counter");
+
+  @Test
+  void smallResponseSentWithLength() throws Exception {
+    StreamingMetricsHandler handler = handler(reader(Collections.singletonList(METRIC)));
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    HttpExchange exchange = exchange(received);
+
+    handler.handle(exchange);
+
+    String response = new String(received.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(response).contains("counter_unit_total 5.0\n");
+    verify(exchange).sendResponseHeaders(200, received.size());
+  }
+
+  @Test
+  void largeResponseChunked() throws Exception {
+    List<MetricData> metrics = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      metrics.add(counter("counter" + i));
+    }
+    StreamingMetricsHandler handler = handler(reader(metrics));
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    HttpExchange exchange = exchange(received);
+
+    handler.handle(exchange);
+
+    String response = new String(received.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(response)
+        .contains("counter0_unit_total 5.0\n")
+        .contains("counter999_unit_total 5.0\n");
+    verify(exchange).sendResponseHeaders(200, 0);
+  }
+
+  @Test
+  void largeResponseGzip() throws Exception {
+    List<MetricData> metrics = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      metrics.add(counter("counter" + i));
+    }
+    StreamingMetricsHandler handler = handler(reader(metrics));
+    for (int scrape = 0; scrape < 2; scrape++) {
+      ByteArrayOutputStream received = new ByteArrayOutputStream();
+      HttpExchange exchange = exchange(received);
+      exchange.getRequestHeaders().add("Accept-Encoding", "gzip");
+
+      // The second scrape reuses the compressor of the first one
+      handler.handle(exchange);
+
+      assertThat(exchange.getResponseHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+      assertThat(gunzip(received.toByteArray()))
+          .contains("counter0_unit_total 5.0\n")
+          .contains("counter999_unit_total 5.0\n");
+    }
+  }
+
+  @Test
+  void scrapeFailure() throws Exception {
+    PrometheusMetricReader reader = newReader();
+    reader.register(
+        new CollectionRegistration() {
+          @Override
+          public Collection<MetricData> collectAllMetrics() {
+            throw new IllegalStateException("error!");
+          }
+        });
+    StreamingMetricsHandler handler = handler(reader);
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    HttpExchange exchange = exchange(received);
+
+    handler.handle(exchange);
+
+    verify(exchange).sendResponseHeaders(500, -1);
+    assertThat(received.size()).isZero();
+  }
+
+  @Test
+  void slowClientDoesNotBlockCollection() throws Exception {
+    PrometheusMetricReader reader = reader(Collections.singletonList(METRIC));
+    StreamingMetricsHandler handler = handler(reader);
+
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    OutputStream slowClient =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+          }
+
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            writing.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new IOException(e);
+            }
+            received.write(b, off, len);
+          }
+        };
+    HttpExchange exchange = exchange(slowClient);
+
+    CompletableFuture<Void> scrape =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                handler.handle(exchange);
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    try {
+      assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // The response is being written to the client, which doesn't hold the collection lock
+      MetricSnapshots snapshots =
+          CompletableFuture.supplyAsync(reader::collect).get(10, TimeUnit.SECONDS);
+      assertThat(snapshots).isNotEmpty();
+    } finally {
+      release.countDown();
+    }
+    scrape.get(10, TimeUnit.SECONDS);
+
+    assertThat(new String(received.toByteArray(), StandardCharsets.UTF_8))
+        .contains("counter_unit_total 5.0\n");
+  }
+
+  private static MetricData counter(String name) {
+    return ImmutableMetricData.createLongSum(
+        Resource.empty(),
+        InstrumentationScopeInfo.create("scope"),
+        name,
+        "description",
+        "unit",
+        ImmutableSumData.create(
+            /* isMonotonic= */ true,
+            AggregationTemporality.CUMULATIVE,
+            Collections.singletonList(ImmutableLongPointData.create(1, 2, Attributes.empty(), 5))));
+  }
+
+  private static PrometheusMetricReader newReader() {
+    return new PrometheusMetricReader(
+        /* otelScopeEnabled= */ false,
+        /* allowedResourceAttributesFilter= */ null,
+        /* scrapeCacheNanos= */ 0,
+        Clock.getDefault());
+  }
+
+  private static PrometheusMetricReader reader(Collection<MetricData> metrics) {
+    PrometheusMetricReader reader = newReader();
+    reader.register(
+        new CollectionRegistration() {
+          @Override
+          public Collection<MetricData> collectAllMetrics() {
+            return metrics;
+          }
+        });
+    return reader;
+  }
+
+  private static StreamingMetricsHandler handler(PrometheusMetricReader reader) {
+    return new StreamingMetricsHandler(
+        reader,
+        new PrometheusTextWriter(/* otelScopeEnabled= */ false, null),
+        new PrometheusRegistry(),
+        /* reusableData= */ false,
+        /* registryIsExclusive= */ true);
+  }
+
+  private static String gunzip(byte[] compressed) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static HttpExchange exchange(OutputStream responseBody) {
+    HttpExchange exchange = mock(HttpExchange.class);
+    when(exchange.getRequestURI()).thenReturn(URI.create("/metrics"));
+    when(exchange.getRequestMethod()).thenReturn("GET");
+    when(exchange.getRequestHeaders()).thenReturn(new Headers());
+    when(exchange.getResponseHeaders()).thenReturn(new Headers());
+    when(exchange.getResponseBody()).thenReturn(responseBody);
+    when(exchange.getResponseCode()).thenReturn(-1);
+    return exchange;
+  }
+}
@@ -10,6 +10,7 @@ import io.grpc.Codec;
 import io.grpc.CompressorRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.grpc.GrpcSender;
 import io.opentelemetry.exporter.internal.grpc.GrpcSenderProvider;
@@ -46,6 +47,7 @@ public class UpstreamGrpcSenderProvider implements GrpcSenderProvider {
       @Nullable Object managedChannel,
       Supplier<BiFunction<Channel, String, MarshalerServiceStub<T, ?, ?>>> stubFactory,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
       @Nullable X509TrustManager trustManager) {
     boolean shutdownChannel = false;
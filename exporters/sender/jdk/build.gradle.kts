@@ -1,6 +1,8 @@
 plugins {
   id("otel.java-conventions")
   id("otel.publish-conventions")
+
+  id("otel.jmh-conventions")
 }
 
 description = "OpenTelemetry JDK HttpSender"
@@ -11,6 +13,9 @@ dependencies {
   implementation(project(":sdk:common"))
 
   compileOnly("com.fasterxml.jackson.core:jackson-core")
+
+  jmhImplementation(project(":exporters:sender:okhttp"))
+  jmhImplementation("com.linecorp.armeria:armeria")
 }
 
 tasks {
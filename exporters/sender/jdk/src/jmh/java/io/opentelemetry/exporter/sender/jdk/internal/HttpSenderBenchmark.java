@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.sender.jdk.internal;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.Server;
+import io.opentelemetry.exporter.internal.http.HttpSender;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.exporter.sender.okhttp.internal.OkHttpHttpSender;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares request throughput of the JDK and OkHttp {@link HttpSender}s under concurrency. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class HttpSenderBenchmark {
+
+  private static final int PAYLOAD_SIZE = 16 * 1024;
+
+  private final Server server =
+      Server.builder().service("/v1/traces", (ctx, req) -> HttpResponse.of(200)).http(0).build();
+
+  private ExecutorService sharedExecutor;
+  private HttpSender jdkSender;
+  private HttpSender jdkSenderSharedExecutor;
+  private HttpSender okHttpSender;
+  private final Marshaler marshaler = new PayloadMarshaler(PAYLOAD_SIZE);
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    server.start().join();
+    String endpoint = "http://localhost:" + server.activeLocalPort() + "/v1/traces";
+
+    jdkSender = newJdkSender(endpoint, null);
+    sharedExecutor = Executors.newCachedThreadPool();
+    jdkSenderSharedExecutor = newJdkSender(endpoint, sharedExecutor);
+    okHttpSender =
+        new OkHttpHttpSender(
+            endpoint,
+            null,
+            false,
+            "application/x-protobuf",
+            TimeUnit.SECONDS.toNanos(10),
+            TimeUnit.SECONDS.toNanos(10),
+            Collections::emptyMap,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+  }
+
+  private static HttpSender newJdkSender(String endpoint, ExecutorService executorService) {
+    return new JdkHttpSender(
+        endpoint,
+        null,
+        false,
+        "application/x-protobuf",
+        TimeUnit.SECONDS.toNanos(10),
+        TimeUnit.SECONDS.toNanos(10),
+        Collections::emptyMap,
+        null,
+        null,
+        null,
+        null,
+        executorService);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jdkSender.shutdown().join(10, TimeUnit.SECONDS);
+    jdkSenderSharedExecutor.shutdown().join(10, TimeUnit.SECONDS);
+    okHttpSender.shutdown().join(10, TimeUnit.SECONDS);
+    sharedExecutor.shutdownNow();
+    server.stop().join();
+  }
+
+  @Benchmark
+  public int jdkHttpSender() {
+    return send(jdkSender);
+  }
+
+  @Benchmark
+  public int jdkHttpSenderSharedExecutor() {
+    return send(jdkSenderSharedExecutor);
+  }
+
+  @Benchmark
+  public int okHttpHttpSender() {
+    return send(okHttpSender);
+  }
+
+  private int send(HttpSender sender) {
+    CompletableFuture<Integer> result = new CompletableFuture<>();
+    sender.send(
+        marshaler,
+        PAYLOAD_SIZE,
+        response -> result.complete(response.statusCode()),
+        result::completeExceptionally);
+    return result.join();
+  }
+
+  private static class PayloadMarshaler extends Marshaler {
+
+    private final byte[] payload;
+
+    private PayloadMarshaler(int size) {
+      payload = new byte[size];
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return payload.length;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.writeSerializedMessage(payload, "");
+    }
+  }
+}
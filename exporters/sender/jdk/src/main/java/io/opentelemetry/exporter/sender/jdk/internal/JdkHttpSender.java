@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.sender.jdk.internal;
 
+import io.opentelemetry.exporter.internal.RetryBudget;
+import io.opentelemetry.exporter.internal.RetryUtil;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.http.HttpSender;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
@@ -25,6 +27,8 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
@@ -47,12 +51,16 @@ public final class JdkHttpSender implements HttpSender {
 
   private static final Set<Integer> retryableStatusCodes = Set.of(429, 502, 503, 504);
 
-  private static final ThreadLocal<NoCopyByteArrayOutputStream> threadLocalBaos =
-      ThreadLocal.withInitial(NoCopyByteArrayOutputStream::new);
-  private static final ThreadLocal<ByteBufferPool> threadLocalByteBufPool =
-      ThreadLocal.withInitial(ByteBufferPool::new);
+  // Number of threads of the default executor, which bounds the number of concurrent requests
+  private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 5;
 
-  private final ExecutorService executorService = Executors.newFixedThreadPool(5);
+  // Buffers of requests which completed, for reuse by later requests. Pooled per sender rather
+  // than per thread, since a provided executor may run every request on a new thread. Bounded so
+  // that a burst of concurrent requests on a provided executor isn't retained afterwards.
+  private final BlockingQueue<RequestBuffers> requestBuffers =
+      new ArrayBlockingQueue<>(DEFAULT_MAX_CONCURRENT_REQUESTS);
+  private final ExecutorService executorService;
+  private final boolean managedExecutor;
   private final HttpClient client;
   private final URI uri;
   @Nullable private final Compressor compressor;
@@ -61,6 +69,7 @@ public final class JdkHttpSender implements HttpSender {
   private final long timeoutNanos;
   private final Supplier<Map<String, List<String>>> headerSupplier;
   @Nullable private final RetryPolicy retryPolicy;
+  @Nullable private final RetryBudget retryBudget;
 
   // Visible for testing
   JdkHttpSender(
@@ -71,7 +80,9 @@ public final class JdkHttpSender implements HttpSender {
       String contentType,
       long timeoutNanos,
       Supplier<Map<String, List<String>>> headerSupplier,
-      @Nullable RetryPolicy retryPolicy) {
+      @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
+      @Nullable ExecutorService executorService) {
     this.client = client;
     try {
       this.uri = new URI(endpoint);
@@ -84,6 +95,14 @@ public final class JdkHttpSender implements HttpSender {
     this.timeoutNanos = timeoutNanos;
     this.headerSupplier = headerSupplier;
     this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
+    if (executorService == null) {
+      this.executorService = Executors.newFixedThreadPool(DEFAULT_MAX_CONCURRENT_REQUESTS);
+      this.managedExecutor = true;
+    } else {
+      this.executorService = executorService;
+      this.managedExecutor = false;
+    }
   }
 
   JdkHttpSender(
@@ -95,8 +114,10 @@ public final class JdkHttpSender implements HttpSender {
       long connectTimeoutNanos,
       Supplier<Map<String, List<String>>> headerSupplier,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable ProxyOptions proxyOptions,
-      @Nullable SSLContext sslContext) {
+      @Nullable SSLContext sslContext,
+      @Nullable ExecutorService executorService) {
     this(
         configureClient(sslContext, connectTimeoutNanos, proxyOptions),
         endpoint,
@@ -105,7 +126,9 @@ public final class JdkHttpSender implements HttpSender {
         contentType,
         timeoutNanos,
         headerSupplier,
-        retryPolicy);
+        retryPolicy,
+        retryBudget,
+        executorService);
   }
 
   private static HttpClient configureClient(
@@ -151,6 +174,21 @@ public final class JdkHttpSender implements HttpSender {
 
   // Visible for testing
   HttpResponse<byte[]> sendInternal(Marshaler marshaler) throws IOException {
+    RequestBuffers buffers = requestBuffers.poll();
+    if (buffers == null) {
+      buffers = new RequestBuffers();
+    }
+    try {
+      return sendInternal(marshaler, buffers.os, buffers.byteBufferPool);
+    } finally {
+      buffers.os.reset();
+      requestBuffers.offer(buffers);
+    }
+  }
+
+  private HttpResponse<byte[]> sendInternal(
+      Marshaler marshaler, NoCopyByteArrayOutputStream os, ByteBufferPool byteBufferPool)
+      throws IOException {
     long startTimeNanos = System.nanoTime();
     HttpRequest.Builder requestBuilder =
         HttpRequest.newBuilder().uri(uri).timeout(Duration.ofNanos(timeoutNanos));
@@ -160,8 +198,6 @@ public final class JdkHttpSender implements HttpSender {
     }
     requestBuilder.header("Content-Type", contentType);
 
-    NoCopyByteArrayOutputStream os = threadLocalBaos.get();
-    os.reset();
     if (compressor != null) {
       requestBuilder.header("Content-Encoding", compressor.getEncoding());
       try (OutputStream compressed = compressor.compress(os)) {
@@ -173,7 +209,6 @@ public final class JdkHttpSender implements HttpSender {
       write(marshaler, os);
     }
 
-    ByteBufferPool byteBufferPool = threadLocalByteBufPool.get();
     requestBuilder.POST(new BodyPublisher(os.buf(), os.size(), byteBufferPool::getBuffer));
 
     // If no retry policy, short circuit
@@ -187,10 +222,26 @@ public final class JdkHttpSender implements HttpSender {
     IOException exception = null;
     do {
       if (attempt > 0) {
-        // Compute and sleep for backoff
+        // Compute and sleep for backoff, with full jitter
         long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
         long backoffNanos = ThreadLocalRandom.current().nextLong(upperBoundNanos);
         nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
+        // A delay requested by the server takes precedence over our own backoff
+        long serverDelayNanos =
+            httpResponse == null
+                ? -1
+                : RetryUtil.parseRetryAfterNanos(
+                    httpResponse.headers().firstValue("Retry-After").orElse(null));
+        if (serverDelayNanos >= 0) {
+          backoffNanos = serverDelayNanos;
+        }
+        // Don't retry if the request would time out before the next attempt starts
+        if ((System.nanoTime() - startTimeNanos) + backoffNanos >= timeoutNanos) {
+          break;
+        }
+        if (retryBudget != null && !retryBudget.tryAcquire()) {
+          break; // Break out and return response or throw
+        }
         try {
           TimeUnit.NANOSECONDS.sleep(backoffNanos);
         } catch (InterruptedException e) {
@@ -255,6 +306,11 @@ public final class JdkHttpSender implements HttpSender {
     return !(throwable instanceof SSLException);
   }
 
+  private static class RequestBuffers {
+    private final NoCopyByteArrayOutputStream os = new NoCopyByteArrayOutputStream();
+    private final ByteBufferPool byteBufferPool = new ByteBufferPool();
+  }
+
   private static class NoCopyByteArrayOutputStream extends ByteArrayOutputStream {
     NoCopyByteArrayOutputStream() {
       super(retryableStatusCodes.size());
@@ -312,7 +368,9 @@ public final class JdkHttpSender implements HttpSender {
 
   @Override
   public CompletableResultCode shutdown() {
-    executorService.shutdown();
+    if (managedExecutor) {
+      executorService.shutdown();
+    }
     return CompletableResultCode.ofSuccess();
   }
 }
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.exporter.sender.jdk.internal;
 
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.http.HttpSender;
@@ -13,6 +14,7 @@ import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -38,8 +40,10 @@ public final class JdkHttpSenderProvider implements HttpSenderProvider {
       @Nullable ProxyOptions proxyOptions,
       @Nullable Authenticator authenticator,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
-      @Nullable X509TrustManager trustManager) {
+      @Nullable X509TrustManager trustManager,
+      @Nullable ExecutorService executorService) {
     return new JdkHttpSender(
         endpoint,
         compressor,
@@ -49,7 +53,9 @@ public final class JdkHttpSenderProvider implements HttpSenderProvider {
         connectTimeout,
         headerSupplier,
         retryPolicy,
+        retryBudget,
         proxyOptions,
-        sslContext);
+        sslContext,
+        executorService);
   }
 }
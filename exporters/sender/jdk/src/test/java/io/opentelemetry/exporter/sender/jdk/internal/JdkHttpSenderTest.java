@@ -22,6 +22,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpConnectTimeoutException;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLException;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -63,7 +65,9 @@ class JdkHttpSenderTest {
             RetryPolicy.builder()
                 .setMaxAttempts(2)
                 .setInitialBackoff(Duration.ofMillis(1))
-                .build());
+                .build(),
+            null,
+            null);
   }
 
   @Test
@@ -109,6 +113,8 @@ class JdkHttpSenderTest {
             Collections::emptyMap,
             null,
             null,
+            null,
+            null,
             null);
 
     assertThat(sender)
@@ -118,6 +124,33 @@ class JdkHttpSenderTest {
                 assertThat(httpClient.connectTimeout().get()).isEqualTo(Duration.ofSeconds(10)));
   }
 
+  @Test
+  void customExecutorService_NotShutdown() {
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      sender =
+          new JdkHttpSender(
+              "http://localhost",
+              null,
+              false,
+              "text/plain",
+              1,
+              TimeUnit.SECONDS.toNanos(10),
+              Collections::emptyMap,
+              null,
+              null,
+              null,
+              null,
+              executorService);
+
+      assertThat(sender).extracting("executorService").isSameAs(executorService);
+      assertThat(sender.shutdown().isSuccess()).isTrue();
+      assertThat(executorService.isShutdown()).isFalse();
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
   private static class NoOpMarshaler extends Marshaler {
 
     @Override
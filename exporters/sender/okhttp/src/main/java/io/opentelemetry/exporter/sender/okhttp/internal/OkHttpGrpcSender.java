@@ -24,6 +24,7 @@
 package io.opentelemetry.exporter.sender.okhttp.internal;
 
 import io.opentelemetry.exporter.internal.InstrumentationUtil;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.RetryUtil;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.grpc.GrpcExporterUtil;
@@ -48,6 +49,7 @@ import javax.net.ssl.X509TrustManager;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -79,16 +81,22 @@ public final class OkHttpGrpcSender<T extends Marshaler> implements GrpcSender<T
       long connectTimeoutNanos,
       Supplier<Map<String, List<String>>> headersSupplier,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
       @Nullable X509TrustManager trustManager) {
+    // Concurrent exports to the same endpoint are multiplexed as parallel streams over a single
+    // long-lived HTTP/2 connection, so OkHttp's default limit of 5 in-flight calls per host would
+    // needlessly queue requests behind slow responses on high-latency links.
+    Dispatcher dispatcher = OkHttpUtil.newDispatcher();
+    dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequests());
     OkHttpClient.Builder clientBuilder =
         new OkHttpClient.Builder()
-            .dispatcher(OkHttpUtil.newDispatcher())
+            .dispatcher(dispatcher)
             .callTimeout(Duration.ofNanos(timeoutNanos))
             .connectTimeout(Duration.ofNanos(connectTimeoutNanos));
     if (retryPolicy != null) {
       clientBuilder.addInterceptor(
-          new RetryInterceptor(retryPolicy, OkHttpGrpcSender::isRetryable));
+          new RetryInterceptor(retryPolicy, retryBudget, OkHttpGrpcSender::isRetryable));
     }
 
     boolean isPlainHttp = endpoint.startsWith("http://");
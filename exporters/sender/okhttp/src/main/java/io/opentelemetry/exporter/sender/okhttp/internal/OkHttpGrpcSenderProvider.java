@@ -6,6 +6,7 @@
 package io.opentelemetry.exporter.sender.okhttp.internal;
 
 import io.grpc.Channel;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.grpc.GrpcSender;
 import io.opentelemetry.exporter.internal.grpc.GrpcSenderProvider;
@@ -40,6 +41,7 @@ public class OkHttpGrpcSenderProvider implements GrpcSenderProvider {
       @Nullable Object managedChannel,
       Supplier<BiFunction<Channel, String, MarshalerServiceStub<T, ?, ?>>> stubFactory,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
       @Nullable X509TrustManager trustManager) {
     return new OkHttpGrpcSender<>(
@@ -49,6 +51,7 @@ public class OkHttpGrpcSenderProvider implements GrpcSenderProvider {
         connectTimeoutNanos,
         headersSupplier,
         retryPolicy,
+        retryBudget,
         sslContext,
         trustManager);
   }
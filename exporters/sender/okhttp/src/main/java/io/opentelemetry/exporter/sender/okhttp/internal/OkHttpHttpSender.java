@@ -6,6 +6,7 @@
 package io.opentelemetry.exporter.sender.okhttp.internal;
 
 import io.opentelemetry.exporter.internal.InstrumentationUtil;
+import io.opentelemetry.exporter.internal.RetryBudget;
 import io.opentelemetry.exporter.internal.RetryUtil;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
 import io.opentelemetry.exporter.internal.compression.Compressor;
@@ -19,6 +20,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -27,6 +29,7 @@ import javax.net.ssl.X509TrustManager;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -44,6 +47,7 @@ import okio.Okio;
  */
 public final class OkHttpHttpSender implements HttpSender {
 
+  private final boolean managedExecutor;
   private final OkHttpClient client;
   private final HttpUrl url;
   @Nullable private final Compressor compressor;
@@ -64,11 +68,21 @@ public final class OkHttpHttpSender implements HttpSender {
       @Nullable ProxyOptions proxyOptions,
       @Nullable Authenticator authenticator,
       @Nullable RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       @Nullable SSLContext sslContext,
-      @Nullable X509TrustManager trustManager) {
+      @Nullable X509TrustManager trustManager,
+      @Nullable ExecutorService executorService) {
+    Dispatcher dispatcher;
+    if (executorService == null) {
+      dispatcher = OkHttpUtil.newDispatcher();
+      this.managedExecutor = true;
+    } else {
+      dispatcher = OkHttpUtil.newDispatcher(executorService);
+      this.managedExecutor = false;
+    }
     OkHttpClient.Builder builder =
         new OkHttpClient.Builder()
-            .dispatcher(OkHttpUtil.newDispatcher())
+            .dispatcher(dispatcher)
             .connectTimeout(Duration.ofNanos(connectionTimeoutNanos))
             .callTimeout(Duration.ofNanos(timeoutNanos));
 
@@ -88,7 +102,8 @@ public final class OkHttpHttpSender implements HttpSender {
     }
 
     if (retryPolicy != null) {
-      builder.addInterceptor(new RetryInterceptor(retryPolicy, OkHttpHttpSender::isRetryable));
+      builder.addInterceptor(
+          new RetryInterceptor(retryPolicy, retryBudget, OkHttpHttpSender::isRetryable));
     }
 
     boolean isPlainHttp = endpoint.startsWith("http://");
@@ -166,7 +181,9 @@ public final class OkHttpHttpSender implements HttpSender {
   @Override
   public CompletableResultCode shutdown() {
     client.dispatcher().cancelAll();
-    client.dispatcher().executorService().shutdownNow();
+    if (managedExecutor) {
+      client.dispatcher().executorService().shutdownNow();
+    }
     client.connectionPool().evictAll();
     return CompletableResultCode.ofSuccess();
   }
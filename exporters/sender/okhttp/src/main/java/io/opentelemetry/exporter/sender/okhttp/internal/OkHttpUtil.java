@@ -6,6 +6,7 @@
 package io.opentelemetry.exporter.sender.okhttp.internal;
 
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -18,6 +19,11 @@ import okhttp3.Dispatcher;
  * at any time.
  */
 public final class OkHttpUtil {
+
+  // The OkHttp defaults
+  private static final int MAX_REQUESTS = 64;
+  private static final int MAX_REQUESTS_PER_HOST = 5;
+
   @SuppressWarnings("NonFinalStaticField")
   private static boolean propagateContextForTestingInDispatcher = false;
 
@@ -28,7 +34,7 @@ public final class OkHttpUtil {
 
   /** Returns a {@link Dispatcher} using daemon threads, otherwise matching the OkHttp default. */
   public static Dispatcher newDispatcher() {
-    return new Dispatcher(
+    return newDispatcher(
         new ThreadPoolExecutor(
             0,
             Integer.MAX_VALUE,
@@ -38,5 +44,18 @@ public final class OkHttpUtil {
             new DaemonThreadFactory("okhttp-dispatch", propagateContextForTestingInDispatcher)));
   }
 
+  /**
+   * Returns a {@link Dispatcher} running calls on the {@code executorService}. Like the {@link
+   * #newDispatcher() default dispatcher}, it limits calls to {@value #MAX_REQUESTS} at a time and
+   * {@value #MAX_REQUESTS_PER_HOST} per host, queueing further calls, so a provided executor
+   * doesn't change how many requests an exporter sends concurrently.
+   */
+  public static Dispatcher newDispatcher(ExecutorService executorService) {
+    Dispatcher dispatcher = new Dispatcher(executorService);
+    dispatcher.setMaxRequests(MAX_REQUESTS);
+    dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+    return dispatcher;
+  }
+
   private OkHttpUtil() {}
 }
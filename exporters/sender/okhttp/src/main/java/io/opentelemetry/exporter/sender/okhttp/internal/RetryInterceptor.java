@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.sender.okhttp.internal;
 
+import io.opentelemetry.exporter.internal.RetryBudget;
+import io.opentelemetry.exporter.internal.RetryUtil;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
@@ -12,6 +14,7 @@ import java.util.Locale;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import okhttp3.Interceptor;
 import okhttp3.Response;
 
@@ -24,6 +27,7 @@ import okhttp3.Response;
 public final class RetryInterceptor implements Interceptor {
 
   private final RetryPolicy retryPolicy;
+  @Nullable private final RetryBudget retryBudget;
   private final Function<Response, Boolean> isRetryable;
   private final Function<IOException, Boolean> isRetryableException;
   private final Sleeper sleeper;
@@ -31,8 +35,17 @@ public final class RetryInterceptor implements Interceptor {
 
   /** Constructs a new retrier. */
   public RetryInterceptor(RetryPolicy retryPolicy, Function<Response, Boolean> isRetryable) {
+    this(retryPolicy, null, isRetryable);
+  }
+
+  /** Constructs a new retrier which only retries while the {@code retryBudget} allows it. */
+  public RetryInterceptor(
+      RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
+      Function<Response, Boolean> isRetryable) {
     this(
         retryPolicy,
+        retryBudget,
         isRetryable,
         RetryInterceptor::isRetryableException,
         TimeUnit.NANOSECONDS::sleep,
@@ -42,11 +55,13 @@ public final class RetryInterceptor implements Interceptor {
   // Visible for testing
   RetryInterceptor(
       RetryPolicy retryPolicy,
+      @Nullable RetryBudget retryBudget,
       Function<Response, Boolean> isRetryable,
       Function<IOException, Boolean> isRetryableException,
       Sleeper sleeper,
       BoundedLongGenerator randomLong) {
     this.retryPolicy = retryPolicy;
+    this.retryBudget = retryBudget;
     this.isRetryable = isRetryable;
     this.isRetryableException = isRetryableException;
     this.sleeper = sleeper;
@@ -55,17 +70,32 @@ public final class RetryInterceptor implements Interceptor {
 
   @Override
   public Response intercept(Chain chain) throws IOException {
+    long startTimeNanos = System.nanoTime();
+    long callTimeoutNanos = chain.call().timeout().timeoutNanos();
     Response response = null;
     IOException exception = null;
     int attempt = 0;
     long nextBackoffNanos = retryPolicy.getInitialBackoff().toNanos();
     do {
       if (attempt > 0) {
-        // Compute and sleep for backoff
+        // Compute and sleep for backoff, with full jitter
         // https://github.com/grpc/proposal/blob/master/A6-client-retries.md#exponential-backoff
         long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
         long backoffNanos = randomLong.get(upperBoundNanos);
         nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
+        // A delay requested by the server takes precedence over our own backoff
+        long serverDelayNanos = response == null ? -1 : serverRetryDelayNanos(response);
+        if (serverDelayNanos >= 0) {
+          backoffNanos = serverDelayNanos;
+        }
+        // Don't retry if the call would time out before the next attempt starts
+        if (callTimeoutNanos > 0
+            && (System.nanoTime() - startTimeNanos) + backoffNanos >= callTimeoutNanos) {
+          break; // Break out and return response or throw
+        }
+        if (retryBudget != null && !retryBudget.tryAcquire()) {
+          break; // Break out and return response or throw
+        }
         try {
           sleeper.sleep(backoffNanos);
         } catch (InterruptedException e) {
@@ -98,6 +128,14 @@ public final class RetryInterceptor implements Interceptor {
     throw exception;
   }
 
+  private static long serverRetryDelayNanos(Response response) {
+    long retryAfterNanos = RetryUtil.parseRetryAfterNanos(response.header("Retry-After"));
+    if (retryAfterNanos >= 0) {
+      return retryAfterNanos;
+    }
+    return RetryUtil.parseGrpcRetryDelayNanos(response.header("grpc-status-details-bin"));
+  }
+
   // Visible for testing
   static boolean isRetryableException(IOException e) {
     if (!(e instanceof SocketTimeoutException)) {
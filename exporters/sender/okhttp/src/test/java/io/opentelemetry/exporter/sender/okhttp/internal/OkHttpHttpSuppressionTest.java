@@ -47,6 +47,8 @@ class OkHttpHttpSuppressionTest extends AbstractOkHttpSuppressionTest<OkHttpHttp
         null,
         null,
         null,
+        null,
+        null,
         null);
   }
 }
@@ -20,13 +20,20 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.testing.junit5.server.mock.MockWebServerExtension;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.RetryBudget;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.RateLimiter;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -46,6 +53,7 @@ class RetryInterceptorTest {
 
   @Mock private RetryInterceptor.Sleeper sleeper;
   @Mock private RetryInterceptor.BoundedLongGenerator random;
+  @Mock private Clock clock;
   private Function<IOException, Boolean> isRetryableException;
 
   private RetryInterceptor retrier;
@@ -62,21 +70,25 @@ class RetryInterceptorTest {
                 return RetryInterceptor.isRetryableException(exception);
               }
             });
-    retrier =
-        new RetryInterceptor(
-            RetryPolicy.builder()
-                .setBackoffMultiplier(1.6)
-                .setInitialBackoff(Duration.ofSeconds(1))
-                .setMaxBackoff(Duration.ofSeconds(2))
-                .setMaxAttempts(5)
-                .build(),
-            r -> !r.isSuccessful(),
-            isRetryableException,
-            sleeper,
-            random);
+    retrier = newRetrier(null);
     client = new OkHttpClient.Builder().addInterceptor(retrier).build();
   }
 
+  private RetryInterceptor newRetrier(@Nullable RetryBudget retryBudget) {
+    return new RetryInterceptor(
+        RetryPolicy.builder()
+            .setBackoffMultiplier(1.6)
+            .setInitialBackoff(Duration.ofSeconds(1))
+            .setMaxBackoff(Duration.ofSeconds(2))
+            .setMaxAttempts(5)
+            .build(),
+        retryBudget,
+        r -> !r.isSuccessful(),
+        isRetryableException,
+        sleeper,
+        random);
+  }
+
   @Test
   void noRetry() throws Exception {
     server.enqueue(HttpResponse.of(HttpStatus.OK));
@@ -140,6 +152,54 @@ class RetryInterceptorTest {
     }
   }
 
+  @Test
+  void retryAfter() throws Exception {
+    server.enqueue(
+        HttpResponse.of(
+            ResponseHeaders.builder(HttpStatus.SERVICE_UNAVAILABLE)
+                .add("retry-after", "3")
+                .build()));
+    server.enqueue(HttpResponse.of(HttpStatus.OK));
+
+    when(random.get(anyLong())).thenReturn(100L);
+    doNothing().when(sleeper).sleep(anyLong());
+
+    try (Response response = sendRequest()) {
+      assertThat(response.isSuccessful()).isTrue();
+    }
+
+    // Server requested delay overrides the computed backoff
+    verify(sleeper).sleep(TimeUnit.SECONDS.toNanos(3));
+    for (int i = 0; i < 2; i++) {
+      server.takeRequest(0, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Test
+  void retryBudgetExhausted() throws Exception {
+    when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(1));
+    // Bucket holds a single retry and doesn't refill while the clock is stopped
+    RetryBudget retryBudget =
+        RetryBudget.create(
+            new RateLimiter(1, 1, clock),
+            ExporterMetrics.createHttpProtobuf("test", "span", MeterProvider::noop));
+    client = new OkHttpClient.Builder().addInterceptor(newRetrier(retryBudget)).build();
+    succeedOnAttempt(5);
+
+    when(random.get(anyLong())).thenReturn(100L);
+    doNothing().when(sleeper).sleep(anyLong());
+
+    try (Response response = sendRequest()) {
+      assertThat(response.isSuccessful()).isFalse();
+    }
+
+    // Original attempt and a single retry
+    verify(sleeper, times(1)).sleep(anyLong());
+    for (int i = 0; i < 2; i++) {
+      server.takeRequest(0, TimeUnit.NANOSECONDS);
+    }
+  }
+
   @Test
   void connectTimeout() throws Exception {
     client = connectTimeoutClient();
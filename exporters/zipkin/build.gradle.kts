@@ -3,6 +3,7 @@ plugins {
   id("otel.publish-conventions")
 
   id("otel.animalsniffer-conventions")
+  id("otel.jmh-conventions")
 }
 
 description = "OpenTelemetry - Zipkin Exporter"
@@ -18,6 +19,7 @@ dependencies {
 
   implementation("io.zipkin.reporter2:zipkin-sender-okhttp3")
 
+  testImplementation(project(":exporters:sender:okhttp"))
   testImplementation(project(":sdk:testing"))
 
   testImplementation("com.linecorp.armeria:armeria")
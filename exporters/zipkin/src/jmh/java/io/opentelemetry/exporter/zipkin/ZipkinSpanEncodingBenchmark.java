@@ -0,0 +1,104 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import zipkin2.reporter.SpanBytesEncoder;
+
+/**
+ * Compares encoding spans directly from {@link SpanData} with transforming them to {@link
+ * zipkin2.Span} and encoding those.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipkinSpanEncodingBenchmark {
+
+  @Param({"JSON_V2", "PROTO3"})
+  SpanBytesEncoder encoding;
+
+  private OtelToZipkinSpanTransformer transformer;
+  private ZipkinSpanDataEncoder spanDataEncoder;
+  private List<SpanData> spans;
+
+  @Setup
+  public void setup() {
+    transformer = OtelToZipkinSpanTransformer.create(LocalInetAddressSupplier.getInstance());
+    spanDataEncoder =
+        ZipkinSpanDataEncoder.create(encoding, LocalInetAddressSupplier.getInstance());
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder()
+            .setResource(Resource.getDefault().toBuilder().put("service.name", "benchmark").build())
+            .build();
+    Tracer tracer = tracerProvider.get("benchmark", "1.0");
+    spans = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      Span span =
+          tracer
+              .spanBuilder("GET /api/v1/resource/" + i)
+              .setSpanKind(i % 2 == 0 ? SpanKind.SERVER : SpanKind.CLIENT)
+              .setAttribute("http.request.method", "GET")
+              .setAttribute("http.route", "/api/v1/resource/{id}")
+              .setAttribute("http.response.status_code", 200L)
+              .setAttribute("peer.service", "downstream")
+              .setAttribute("server.socket.address", "10.0.0." + (i % 255))
+              .setAttribute("server.socket.port", 8080L)
+              .startSpan();
+      span.addEvent(
+          "message", Attributes.builder().put("message.type", "SENT").put("message.id", i).build());
+      if (i % 10 == 0) {
+        span.setStatus(StatusCode.ERROR, "internal error");
+      }
+      span.end();
+      spans.add(((ReadableSpan) span).toSpanData());
+    }
+    tracerProvider.close();
+  }
+
+  @Benchmark
+  public int transformer() {
+    int size = 0;
+    for (SpanData span : spans) {
+      size += encoding.encode(transformer.generateSpan(span)).length;
+    }
+    return size;
+  }
+
+  @Benchmark
+  public int spanDataEncoder() {
+    int size = 0;
+    for (byte[] encoded : spanDataEncoder.encode(spans)) {
+      size += encoded.length;
+    }
+    return size;
+  }
+}
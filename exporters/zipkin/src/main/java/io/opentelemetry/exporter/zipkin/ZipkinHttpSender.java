@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import io.opentelemetry.exporter.internal.http.HttpSender;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.logging.Level;
+import zipkin2.reporter.BytesMessageEncoder;
+import zipkin2.reporter.Encoding;
+
+/**
+ * Sends lists of encoded spans to Zipkin with a {@link HttpSender}. Unlike a {@link
+ * zipkin2.reporter.BytesMessageSender}, sending doesn't block the caller: the request is executed
+ * by the threads of the {@link HttpSender}, so multiple requests can be in flight at once, and the
+ * outcome is reported through callbacks. Compression and retries are handled by the {@link
+ * HttpSender}.
+ */
+final class ZipkinHttpSender {
+
+  private static final byte[] JSON_LIST_START = {'['};
+  private static final byte[] JSON_LIST_SEPARATOR = {','};
+  private static final byte[] JSON_LIST_END = {']'};
+
+  private final ThrottlingLogger logger = new ThrottlingLogger(ZipkinSpanExporter.baseLogger);
+  private final HttpSender httpSender;
+  private final Encoding encoding;
+
+  ZipkinHttpSender(HttpSender httpSender, Encoding encoding) {
+    this.httpSender = httpSender;
+    this.encoding = encoding;
+  }
+
+  /** Returns the content type of a list of spans in the {@code encoding}. */
+  static String contentType(Encoding encoding) {
+    switch (encoding) {
+      case JSON:
+        return "application/json";
+      case PROTO3:
+        return "application/x-protobuf";
+      default:
+        return "application/x-thrift";
+    }
+  }
+
+  /**
+   * Sends the {@code encodedSpans} as a single message. {@code onSuccess} or {@code onFailure} is
+   * called once the request completes.
+   */
+  void send(List<byte[]> encodedSpans, Runnable onSuccess, Runnable onFailure) {
+    EncodedSpansMarshaler marshaler = new EncodedSpansMarshaler(encoding, encodedSpans);
+    httpSender.send(
+        marshaler,
+        marshaler.getBinarySerializedSize(),
+        httpResponse -> {
+          int statusCode = httpResponse.statusCode();
+          if (statusCode >= 200 && statusCode < 300) {
+            onSuccess.run();
+            return;
+          }
+          onFailure.run();
+          logger.log(
+              Level.WARNING,
+              "Failed to export spans. Server responded with HTTP status code "
+                  + statusCode
+                  + ". Error message: "
+                  + errorMessage(httpResponse));
+        },
+        e -> {
+          onFailure.run();
+          logger.log(
+              Level.WARNING,
+              "Failed to export spans. The request could not be executed. Full error message: "
+                  + e.getMessage(),
+              e);
+        });
+  }
+
+  CompletableResultCode shutdown() {
+    return httpSender.shutdown();
+  }
+
+  private String errorMessage(HttpSender.Response httpResponse) {
+    try {
+      byte[] body = httpResponse.responseBody();
+      if (body.length > 0) {
+        return new String(body, StandardCharsets.UTF_8);
+      }
+    } catch (IOException e) {
+      logger.log(Level.FINE, "Unable to obtain response body", e);
+    }
+    return httpResponse.statusMessage();
+  }
+
+  /**
+   * Writes a list of encoded spans in the format of a Zipkin message: a JSON array, or the
+   * concatenated spans for proto3. The spans are written as they are, so the message is only
+   * supported in binary format.
+   */
+  private static final class EncodedSpansMarshaler extends Marshaler {
+
+    private final Encoding encoding;
+    private final List<byte[]> encodedSpans;
+    private final int size;
+
+    private EncodedSpansMarshaler(Encoding encoding, List<byte[]> encodedSpans) {
+      this.encoding = encoding;
+      this.encodedSpans = encodedSpans;
+      this.size = encoding.listSizeInBytes(encodedSpans);
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return size;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      switch (encoding) {
+        case JSON:
+          output.writeSerializedMessage(JSON_LIST_START, "");
+          for (int i = 0; i < encodedSpans.size(); i++) {
+            if (i > 0) {
+              output.writeSerializedMessage(JSON_LIST_SEPARATOR, "");
+            }
+            output.writeSerializedMessage(encodedSpans.get(i), "");
+          }
+          output.writeSerializedMessage(JSON_LIST_END, "");
+          return;
+        case PROTO3:
+          // A proto3 span is encoded as a list with one element, so spans are simply concatenated
+          for (byte[] encodedSpan : encodedSpans) {
+            output.writeSerializedMessage(encodedSpan, "");
+          }
+          return;
+        default:
+          output.writeSerializedMessage(
+              BytesMessageEncoder.forEncoding(encoding).encode(encodedSpans), "");
+      }
+    }
+  }
+}
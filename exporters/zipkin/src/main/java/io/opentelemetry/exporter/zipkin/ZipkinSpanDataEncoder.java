@@ -0,0 +1,840 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.KEY_INSTRUMENTATION_LIBRARY_NAME;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.KEY_INSTRUMENTATION_LIBRARY_VERSION;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.KEY_INSTRUMENTATION_SCOPE_NAME;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.KEY_INSTRUMENTATION_SCOPE_VERSION;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.OTEL_DROPPED_ATTRIBUTES_COUNT;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.OTEL_DROPPED_EVENTS_COUNT;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.OTEL_STATUS_CODE;
+import static io.opentelemetry.exporter.zipkin.OtelToZipkinSpanTransformer.STATUS_ERROR;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.reporter.BytesEncoder;
+import zipkin2.reporter.Encoding;
+import zipkin2.reporter.SpanBytesEncoder;
+
+/**
+ * Encodes {@link SpanData} directly in the Zipkin v2 JSON or proto3 format. The result is the same
+ * as encoding the span generated by {@link OtelToZipkinSpanTransformer} with {@link
+ * SpanBytesEncoder#JSON_V2} or {@link SpanBytesEncoder#PROTO3}, but the intermediate {@link Span},
+ * its tag map and its annotation strings are never created.
+ *
+ * <p>Spans are written into a buffer which is reused for all spans, and the encoding of the local
+ * endpoint is cached until the service name or the address of {@link LocalInetAddressSupplier}
+ * changes. Instances are safe for concurrent use, but encode one span at a time.
+ */
+final class ZipkinSpanDataEncoder {
+
+  private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+  private static final AttributeKey<String> PEER_SERVICE = AttributeKey.stringKey("peer.service");
+  private static final AttributeKey<String> SERVER_SOCKET_ADDRESS =
+      AttributeKey.stringKey("server.socket.address");
+  private static final AttributeKey<Long> SERVER_SOCKET_PORT =
+      AttributeKey.longKey("server.socket.port");
+
+  // Keys of the proto3 fields, see
+  // https://github.com/openzipkin/zipkin-api/blob/master/zipkin.proto
+  private static final int LIST_OF_SPANS_SPANS = (1 << 3) | 2;
+  private static final int SPAN_TRACE_ID = (1 << 3) | 2;
+  private static final int SPAN_PARENT_ID = (2 << 3) | 2;
+  private static final int SPAN_ID = (3 << 3) | 2;
+  private static final int SPAN_KIND = 4 << 3;
+  private static final int SPAN_NAME = (5 << 3) | 2;
+  private static final int SPAN_TIMESTAMP = (6 << 3) | 1;
+  private static final int SPAN_DURATION = 7 << 3;
+  private static final int SPAN_LOCAL_ENDPOINT = (8 << 3) | 2;
+  private static final int SPAN_REMOTE_ENDPOINT = (9 << 3) | 2;
+  private static final int SPAN_ANNOTATIONS = (10 << 3) | 2;
+  private static final int SPAN_TAGS = (11 << 3) | 2;
+  private static final int ENDPOINT_SERVICE_NAME = (1 << 3) | 2;
+  private static final int ENDPOINT_IPV4 = (2 << 3) | 2;
+  private static final int ENDPOINT_IPV6 = (3 << 3) | 2;
+  private static final int ENDPOINT_PORT = 4 << 3;
+  private static final int ANNOTATION_TIMESTAMP = (1 << 3) | 1;
+  private static final int ANNOTATION_VALUE = (2 << 3) | 2;
+  private static final int TAG_KEY = (1 << 3) | 2;
+  private static final int TAG_VALUE = (2 << 3) | 2;
+
+  private static final String[] JSON_ESCAPES = new String[128];
+
+  static {
+    for (int i = 0; i < 0x20; i++) {
+      JSON_ESCAPES[i] = String.format(Locale.ROOT, "\\u%04x", i);
+    }
+    JSON_ESCAPES['"'] = "\\\"";
+    JSON_ESCAPES['\\'] = "\\\\";
+    JSON_ESCAPES['\t'] = "\\t";
+    JSON_ESCAPES['\b'] = "\\b";
+    JSON_ESCAPES['\n'] = "\\n";
+    JSON_ESCAPES['\r'] = "\\r";
+    JSON_ESCAPES['\f'] = "\\f";
+  }
+
+  private final boolean json;
+  private final Supplier<InetAddress> ipAddressSupplier;
+  private final BiConsumer<AttributeKey<?>, Object> tagCollector = this::addTag;
+  private final BiConsumer<AttributeKey<?>, Object> annotationAttributeWriter =
+      this::writeAnnotationAttribute;
+
+  private byte[] buffer = new byte[1024];
+  private int position;
+
+  // Tags are collected first, as they are written sorted by key like the TreeMap of Span.
+  private String[] tagKeys = new String[16];
+  private Object[] tagValues = new Object[16];
+  private int tagCount;
+
+  // Events are collected first, as annotations are written sorted by timestamp and value.
+  private EventData[] events = new EventData[16];
+  private int eventCount;
+
+  // Start of the current annotation value, to separate the attributes of the event.
+  private int annotationAttributesStart;
+
+  @Nullable private String localServiceName;
+  @Nullable private InetAddress localIpAddress;
+  @Nullable private byte[] localEndpoint;
+  private boolean localEndpointCached;
+
+  /**
+   * Returns an encoder which produces the same output as {@code encoder}, or {@code null} if the
+   * encoding of {@code encoder} isn't supported.
+   */
+  @Nullable
+  static ZipkinSpanDataEncoder create(
+      BytesEncoder<Span> encoder, Supplier<InetAddress> ipAddressSupplier) {
+    if (encoder == SpanBytesEncoder.JSON_V2) {
+      return new ZipkinSpanDataEncoder(Encoding.JSON, ipAddressSupplier);
+    }
+    if (encoder == SpanBytesEncoder.PROTO3) {
+      return new ZipkinSpanDataEncoder(Encoding.PROTO3, ipAddressSupplier);
+    }
+    return null;
+  }
+
+  private ZipkinSpanDataEncoder(Encoding encoding, Supplier<InetAddress> ipAddressSupplier) {
+    this.json = encoding == Encoding.JSON;
+    this.ipAddressSupplier = ipAddressSupplier;
+  }
+
+  /** Returns the encoding of each span in {@code spans}. */
+  synchronized List<byte[]> encode(Collection<SpanData> spans) {
+    List<byte[]> encodedSpans = new ArrayList<>(spans.size());
+    for (SpanData span : spans) {
+      encodedSpans.add(encode(span));
+    }
+    return encodedSpans;
+  }
+
+  /** Returns the encoding of {@code span}. */
+  synchronized byte[] encode(SpanData span) {
+    position = 0;
+    try {
+      collectTags(span);
+      collectEvents(span);
+      if (json) {
+        writeJsonSpan(span);
+      } else {
+        writeProtoSpan(span);
+      }
+      return Arrays.copyOf(buffer, position);
+    } finally {
+      Arrays.fill(tagKeys, 0, tagCount, null);
+      Arrays.fill(tagValues, 0, tagCount, null);
+      Arrays.fill(events, 0, eventCount, null);
+      tagCount = 0;
+      eventCount = 0;
+    }
+  }
+
+  private void writeJsonSpan(SpanData span) {
+    String traceId = span.getTraceId();
+    writeAscii("{\"traceId\":\"");
+    writeAscii(traceId, traceIdOffset(traceId));
+    if (span.getParentSpanContext().isValid()) {
+      writeAscii("\",\"parentId\":\"");
+      writeAscii(span.getParentSpanId(), 0);
+    }
+    writeAscii("\",\"id\":\"");
+    writeAscii(span.getSpanId(), 0);
+    writeByte('"');
+    String kind = kind(span.getKind());
+    if (kind != null) {
+      writeAscii(",\"kind\":\"");
+      writeAscii(kind);
+      writeByte('"');
+    }
+    String name = span.getName();
+    if (!name.isEmpty()) {
+      writeAscii(",\"name\":\"");
+      writeString(name.toLowerCase(Locale.ROOT));
+      writeByte('"');
+    }
+    long timestamp = toEpochMicros(span.getStartEpochNanos());
+    if (timestamp != 0) {
+      writeAscii(",\"timestamp\":");
+      writeLong(timestamp);
+    }
+    writeAscii(",\"duration\":");
+    writeLong(duration(span, timestamp));
+
+    byte[] localEndpoint = localEndpoint(span);
+    if (localEndpoint != null) {
+      writeAscii(",\"localEndpoint\":");
+      writeBytes(localEndpoint);
+    }
+    Endpoint remoteEndpoint = remoteEndpoint(span);
+    if (remoteEndpoint != null) {
+      writeAscii(",\"remoteEndpoint\":");
+      writeEndpoint(remoteEndpoint);
+    }
+
+    if (eventCount > 0) {
+      writeAscii(",\"annotations\":[");
+      for (int i = 0; i < eventCount; i++) {
+        if (isDuplicateEvent(i)) {
+          continue;
+        }
+        if (i > 0) {
+          writeByte(',');
+        }
+        writeAscii("{\"timestamp\":");
+        writeLong(toEpochMicros(events[i].getEpochNanos()));
+        writeAscii(",\"value\":\"");
+        writeAnnotationValue(events[i]);
+        writeAscii("\"}");
+      }
+      writeByte(']');
+    }
+
+    if (tagCount > 0) {
+      writeAscii(",\"tags\":{");
+      boolean first = true;
+      for (int i = 0; i < tagCount; i++) {
+        if (isOverriddenTag(i)) {
+          continue;
+        }
+        if (!first) {
+          writeByte(',');
+        }
+        first = false;
+        writeByte('"');
+        writeString(tagKeys[i]);
+        writeAscii("\":\"");
+        writeTagValue(tagValues[i]);
+        writeByte('"');
+      }
+      writeByte('}');
+    }
+    writeByte('}');
+  }
+
+  private void writeProtoSpan(SpanData span) {
+    int spanStart = startLengthDelimited(LIST_OF_SPANS_SPANS);
+    String traceId = span.getTraceId();
+    int traceIdOffset = traceIdOffset(traceId);
+    writeByte(SPAN_TRACE_ID);
+    writeVarint((traceId.length() - traceIdOffset) / 2);
+    writeHexBytes(traceId, traceIdOffset);
+    if (span.getParentSpanContext().isValid()) {
+      writeByte(SPAN_PARENT_ID);
+      writeVarint(8);
+      writeHexBytes(span.getParentSpanId(), 0);
+    }
+    writeByte(SPAN_ID);
+    writeVarint(8);
+    writeHexBytes(span.getSpanId(), 0);
+    int kind = protoKind(span.getKind());
+    if (kind != 0) {
+      writeByte(SPAN_KIND);
+      writeVarint(kind);
+    }
+    String name = span.getName();
+    if (!name.isEmpty()) {
+      int nameStart = startLengthDelimited(SPAN_NAME);
+      writeString(name.toLowerCase(Locale.ROOT));
+      endLengthDelimited(nameStart);
+    }
+    long timestamp = toEpochMicros(span.getStartEpochNanos());
+    if (timestamp != 0) {
+      writeByte(SPAN_TIMESTAMP);
+      writeFixed64(timestamp);
+    }
+    writeByte(SPAN_DURATION);
+    writeVarint(duration(span, timestamp));
+
+    byte[] localEndpoint = localEndpoint(span);
+    if (localEndpoint != null) {
+      writeByte(SPAN_LOCAL_ENDPOINT);
+      writeVarint(localEndpoint.length);
+      writeBytes(localEndpoint);
+    }
+    Endpoint remoteEndpoint = remoteEndpoint(span);
+    if (remoteEndpoint != null) {
+      int endpointStart = startLengthDelimited(SPAN_REMOTE_ENDPOINT);
+      writeEndpoint(remoteEndpoint);
+      endLengthDelimited(endpointStart);
+    }
+
+    for (int i = 0; i < eventCount; i++) {
+      if (isDuplicateEvent(i)) {
+        continue;
+      }
+      int annotationStart = startLengthDelimited(SPAN_ANNOTATIONS);
+      long eventTimestamp = toEpochMicros(events[i].getEpochNanos());
+      if (eventTimestamp != 0) {
+        writeByte(ANNOTATION_TIMESTAMP);
+        writeFixed64(eventTimestamp);
+      }
+      int valueStart = startLengthDelimited(ANNOTATION_VALUE);
+      writeAnnotationValue(events[i]);
+      endLengthDelimited(valueStart);
+      endLengthDelimited(annotationStart);
+    }
+
+    for (int i = 0; i < tagCount; i++) {
+      if (isOverriddenTag(i)) {
+        continue;
+      }
+      int tagStart = startLengthDelimited(SPAN_TAGS);
+      int keyStart = startLengthDelimited(TAG_KEY);
+      writeString(tagKeys[i]);
+      endLengthDelimited(keyStart);
+      int valueStart = startLengthDelimited(TAG_VALUE);
+      writeTagValue(tagValues[i]);
+      endLengthDelimited(valueStart);
+      endLengthDelimited(tagStart);
+    }
+    endLengthDelimited(spanStart);
+  }
+
+  /**
+   * Writes the fields of {@code endpoint}, as a JSON object or the content of a proto3 message.
+   */
+  private void writeEndpoint(Endpoint endpoint) {
+    String serviceName = endpoint.serviceName();
+    String ipv4 = endpoint.ipv4();
+    String ipv6 = endpoint.ipv6();
+    int port = endpoint.portAsInt();
+    if (!json) {
+      if (serviceName != null) {
+        int serviceNameStart = startLengthDelimited(ENDPOINT_SERVICE_NAME);
+        writeString(serviceName);
+        endLengthDelimited(serviceNameStart);
+      }
+      byte[] ipv4Bytes = endpoint.ipv4Bytes();
+      if (ipv4Bytes != null) {
+        writeByte(ENDPOINT_IPV4);
+        writeVarint(ipv4Bytes.length);
+        writeBytes(ipv4Bytes);
+      }
+      byte[] ipv6Bytes = endpoint.ipv6Bytes();
+      if (ipv6Bytes != null) {
+        writeByte(ENDPOINT_IPV6);
+        writeVarint(ipv6Bytes.length);
+        writeBytes(ipv6Bytes);
+      }
+      if (port != 0) {
+        writeByte(ENDPOINT_PORT);
+        writeVarint(port);
+      }
+      return;
+    }
+    writeByte('{');
+    boolean wroteField = false;
+    if (serviceName != null) {
+      writeAscii("\"serviceName\":\"");
+      writeString(serviceName);
+      writeByte('"');
+      wroteField = true;
+    }
+    if (ipv4 != null) {
+      if (wroteField) {
+        writeByte(',');
+      }
+      writeAscii("\"ipv4\":\"");
+      writeAscii(ipv4);
+      writeByte('"');
+      wroteField = true;
+    }
+    if (ipv6 != null) {
+      if (wroteField) {
+        writeByte(',');
+      }
+      writeAscii("\"ipv6\":\"");
+      writeAscii(ipv6);
+      writeByte('"');
+      wroteField = true;
+    }
+    if (port != 0) {
+      if (wroteField) {
+        writeByte(',');
+      }
+      writeAscii("\"port\":");
+      writeLong(port);
+    }
+    writeByte('}');
+  }
+
+  /**
+   * Returns the encoding of the local endpoint of {@code span}, or {@code null} if it is empty. The
+   * encoding is reused as long as the service name and the local address don't change.
+   */
+  @Nullable
+  private byte[] localEndpoint(SpanData span) {
+    // use the service.name from the Resource, if it's been set.
+    String serviceName = span.getResource().getAttributes().get(SERVICE_NAME);
+    if (serviceName == null) {
+      serviceName = Resource.getDefault().getAttribute(SERVICE_NAME);
+    }
+    InetAddress ipAddress = ipAddressSupplier.get();
+    if (localEndpointCached
+        && Objects.equals(serviceName, localServiceName)
+        && Objects.equals(ipAddress, localIpAddress)) {
+      return localEndpoint;
+    }
+
+    Endpoint.Builder builder = Endpoint.newBuilder();
+    builder.ip(ipAddress);
+    if (serviceName != null) {
+      builder.serviceName(serviceName);
+    }
+    Endpoint endpoint = builder.build();
+    byte[] encoded = null;
+    if (!isEmpty(endpoint)) {
+      // The endpoint is encoded at the end of the buffer, and then copied out of it.
+      int start = position;
+      writeEndpoint(endpoint);
+      encoded = Arrays.copyOfRange(buffer, start, position);
+      position = start;
+    }
+    localServiceName = serviceName;
+    localIpAddress = ipAddress;
+    localEndpoint = encoded;
+    localEndpointCached = true;
+    return encoded;
+  }
+
+  @Nullable
+  private static Endpoint remoteEndpoint(SpanData span) {
+    if (span.getKind() != SpanKind.CLIENT && span.getKind() != SpanKind.PRODUCER) {
+      return null;
+    }
+    Attributes attributes = span.getAttributes();
+    String serviceName = attributes.get(PEER_SERVICE);
+    if (serviceName == null) {
+      return null;
+    }
+    // Parsing and normalizing the address is left to Endpoint, the remote endpoint is rare.
+    Endpoint.Builder builder = Endpoint.newBuilder();
+    builder.serviceName(serviceName);
+    builder.ip(attributes.get(SERVER_SOCKET_ADDRESS));
+    Long port = attributes.get(SERVER_SOCKET_PORT);
+    if (port != null) {
+      builder.port(port.intValue());
+    }
+    Endpoint endpoint = builder.build();
+    return isEmpty(endpoint) ? null : endpoint;
+  }
+
+  /** Like {@link Span.Builder}, endpoints without any field are dropped. */
+  private static boolean isEmpty(Endpoint endpoint) {
+    return endpoint.serviceName() == null
+        && endpoint.ipv4() == null
+        && endpoint.ipv6() == null
+        && endpoint.portAsInt() == 0;
+  }
+
+  private void collectTags(SpanData span) {
+    Attributes spanAttributes = span.getAttributes();
+    spanAttributes.forEach(tagCollector);
+    int droppedAttributes = span.getTotalAttributeCount() - spanAttributes.size();
+    if (droppedAttributes > 0) {
+      addTag(OTEL_DROPPED_ATTRIBUTES_COUNT, (long) droppedAttributes);
+    }
+
+    StatusData status = span.getStatus();
+    // include status code & error.
+    if (status.getStatusCode() != StatusCode.UNSET) {
+      addTag(OTEL_STATUS_CODE, status.getStatusCode().toString());
+      // add the error tag, if it isn't already in the source span.
+      if (status.getStatusCode() == StatusCode.ERROR && spanAttributes.get(STATUS_ERROR) == null) {
+        String description = status.getDescription();
+        addTag(STATUS_ERROR.getKey(), description != null ? description : "");
+      }
+    }
+
+    InstrumentationScopeInfo scope = span.getInstrumentationScopeInfo();
+    if (!scope.getName().isEmpty()) {
+      addTag(KEY_INSTRUMENTATION_SCOPE_NAME, scope.getName());
+      addTag(KEY_INSTRUMENTATION_LIBRARY_NAME, scope.getName());
+    }
+    if (scope.getVersion() != null) {
+      addTag(KEY_INSTRUMENTATION_SCOPE_VERSION, scope.getVersion());
+      addTag(KEY_INSTRUMENTATION_LIBRARY_VERSION, scope.getVersion());
+    }
+
+    int droppedEvents = span.getTotalRecordedEvents() - span.getEvents().size();
+    if (droppedEvents > 0) {
+      addTag(OTEL_DROPPED_EVENTS_COUNT, (long) droppedEvents);
+    }
+
+    // Insertion sort, which is stable and fast for the mostly sorted attributes.
+    for (int i = 1; i < tagCount; i++) {
+      String key = tagKeys[i];
+      Object value = tagValues[i];
+      int j = i - 1;
+      while (j >= 0 && tagKeys[j].compareTo(key) > 0) {
+        tagKeys[j + 1] = tagKeys[j];
+        tagValues[j + 1] = tagValues[j];
+        j--;
+      }
+      tagKeys[j + 1] = key;
+      tagValues[j + 1] = value;
+    }
+  }
+
+  private void addTag(AttributeKey<?> key, Object value) {
+    addTag(key.getKey(), value);
+  }
+
+  private void addTag(String key, Object value) {
+    if (tagCount == tagKeys.length) {
+      tagKeys = Arrays.copyOf(tagKeys, tagCount * 2);
+      tagValues = Arrays.copyOf(tagValues, tagCount * 2);
+    }
+    tagKeys[tagCount] = key;
+    tagValues[tagCount] = value;
+    tagCount++;
+  }
+
+  /** Returns whether the tag at {@code index} is replaced by a later tag with the same key. */
+  private boolean isOverriddenTag(int index) {
+    return index + 1 < tagCount && tagKeys[index].equals(tagKeys[index + 1]);
+  }
+
+  private void writeTagValue(Object value) {
+    if (!(value instanceof List)) {
+      writeScalar(value);
+      return;
+    }
+    int start = position;
+    for (Object element : (List<?>) value) {
+      if (position != start) {
+        writeByte(',');
+      }
+      writeScalar(element);
+    }
+  }
+
+  private void writeScalar(Object value) {
+    if (value instanceof String) {
+      writeString((String) value);
+    } else if (value instanceof Long) {
+      writeLong((Long) value);
+    } else {
+      writeString(String.valueOf(value));
+    }
+  }
+
+  private void collectEvents(SpanData span) {
+    List<EventData> spanEvents = span.getEvents();
+    if (spanEvents.size() > events.length) {
+      events = new EventData[spanEvents.size()];
+    }
+    for (EventData event : spanEvents) {
+      int j = eventCount - 1;
+      while (j >= 0 && compareEvents(events[j], event) > 0) {
+        events[j + 1] = events[j];
+        j--;
+      }
+      events[j + 1] = event;
+      eventCount++;
+    }
+  }
+
+  /** Orders events like {@link zipkin2.Annotation}, by timestamp and then by value. */
+  private static int compareEvents(EventData a, EventData b) {
+    int byTimestamp =
+        Long.compare(toEpochMicros(a.getEpochNanos()), toEpochMicros(b.getEpochNanos()));
+    if (byTimestamp != 0) {
+      return byTimestamp;
+    }
+    // Only events with the same timestamp need their annotation values, which is rare.
+    return EventDataToAnnotation.apply(a).compareTo(EventDataToAnnotation.apply(b));
+  }
+
+  /** Returns whether the event at {@code index} has the same annotation as the previous one. */
+  private boolean isDuplicateEvent(int index) {
+    return index > 0 && compareEvents(events[index - 1], events[index]) == 0;
+  }
+
+  /** Writes the annotation value of {@code event}, like {@link EventDataToAnnotation}. */
+  private void writeAnnotationValue(EventData event) {
+    writeString("\"");
+    writeString(event.getName());
+    writeString("\":{");
+    annotationAttributesStart = position;
+    event.getAttributes().forEach(annotationAttributeWriter);
+    writeString("}");
+  }
+
+  private void writeAnnotationAttribute(AttributeKey<?> key, Object value) {
+    if (position != annotationAttributesStart) {
+      writeString(",");
+    }
+    writeString("\"");
+    writeString(key.getKey());
+    writeString("\":");
+    writeAnnotationAttributeValue(value);
+  }
+
+  private void writeAnnotationAttributeValue(Object value) {
+    if (value instanceof String) {
+      writeString("\"");
+      writeString((String) value);
+      writeString("\"");
+    } else if (value instanceof List) {
+      writeString("[");
+      boolean first = true;
+      for (Object element : (List<?>) value) {
+        if (!first) {
+          writeString(",");
+        }
+        first = false;
+        writeAnnotationAttributeValue(element);
+      }
+      writeString("]");
+    } else {
+      writeScalar(value);
+    }
+  }
+
+  @Nullable
+  private static String kind(SpanKind kind) {
+    switch (kind) {
+      case SERVER:
+        return "SERVER";
+      case CLIENT:
+        return "CLIENT";
+      case PRODUCER:
+        return "PRODUCER";
+      case CONSUMER:
+        return "CONSUMER";
+      case INTERNAL:
+        return null;
+    }
+    return null;
+  }
+
+  private static int protoKind(SpanKind kind) {
+    switch (kind) {
+      case CLIENT:
+        return 1;
+      case SERVER:
+        return 2;
+      case PRODUCER:
+        return 3;
+      case CONSUMER:
+        return 4;
+      case INTERNAL:
+        return 0;
+    }
+    return 0;
+  }
+
+  /** Like {@link Span#normalizeTraceId(String)}, drops the high bits of the trace ID if unset. */
+  private static int traceIdOffset(String traceId) {
+    if (traceId.length() != 32) {
+      return 0;
+    }
+    for (int i = 0; i < 16; i++) {
+      if (traceId.charAt(i) != '0') {
+        return 0;
+      }
+    }
+    return 16;
+  }
+
+  private static long duration(SpanData span, long startTimestamp) {
+    return Math.max(1, toEpochMicros(span.getEndEpochNanos()) - startTimestamp);
+  }
+
+  private static long toEpochMicros(long epochNanos) {
+    return NANOSECONDS.toMicros(epochNanos);
+  }
+
+  private void ensureCapacity(int length) {
+    if (position + length > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+  }
+
+  private void writeByte(int b) {
+    ensureCapacity(1);
+    buffer[position++] = (byte) b;
+  }
+
+  private void writeBytes(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  private void writeAscii(String value) {
+    writeAscii(value, 0);
+  }
+
+  private void writeAscii(String value, int offset) {
+    int length = value.length();
+    ensureCapacity(length - offset);
+    for (int i = offset; i < length; i++) {
+      buffer[position++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(Long.toString(value));
+      return;
+    }
+    if (value < 0) {
+      writeByte('-');
+      value = -value;
+    }
+    int digits = 1;
+    for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+      digits++;
+    }
+    ensureCapacity(digits);
+    for (int i = position + digits - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position += digits;
+  }
+
+  /** Writes {@code value} as UTF-8, escaped for a JSON string when encoding JSON. */
+  private void writeString(String value) {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        String escape = json ? JSON_ESCAPES[c] : null;
+        if (escape != null) {
+          writeAscii(escape);
+        } else {
+          writeByte(c);
+        }
+      } else if (json && (c == '\u2028' || c == '\u2029')) {
+        writeAscii(c == '\u2028' ? "\\u2028" : "\\u2029");
+      } else if (c < 0x800) {
+        ensureCapacity(2);
+        buffer[position++] = (byte) (0xc0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (!Character.isSurrogate(c)) {
+        ensureCapacity(3);
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        ensureCapacity(4);
+        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else {
+        // Malformed surrogate pair, replaced like zipkin2 does.
+        writeByte('?');
+      }
+    }
+  }
+
+  private void writeHexBytes(String hex, int offset) {
+    int length = hex.length();
+    ensureCapacity((length - offset) / 2);
+    for (int i = offset; i < length; i += 2) {
+      int high = Character.digit(hex.charAt(i), 16);
+      int low = Character.digit(hex.charAt(i + 1), 16);
+      buffer[position++] = (byte) ((high << 4) | low);
+    }
+  }
+
+  private void writeVarint(long value) {
+    ensureCapacity(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeFixed64(long value) {
+    ensureCapacity(8);
+    for (int i = 0; i < 8; i++) {
+      buffer[position++] = (byte) (value >> (8 * i));
+    }
+  }
+
+  /**
+   * Writes the key of a length delimited proto3 field and returns the start of its content, which
+   * must be completed with {@link #endLengthDelimited(int)}.
+   */
+  private int startLengthDelimited(int key) {
+    writeByte(key);
+    return position;
+  }
+
+  /**
+   * Inserts the length prefix of the content written since {@code start}. The content is shifted by
+   * the size of the prefix, which avoids computing the size of every field in advance.
+   */
+  private void endLengthDelimited(int start) {
+    int length = position - start;
+    int prefixSize = varintSize(length);
+    ensureCapacity(prefixSize);
+    System.arraycopy(buffer, start, buffer, start + prefixSize, length);
+    position = start;
+    writeVarint(length);
+    position = start + prefixSize + length;
+  }
+
+  private static int varintSize(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+}
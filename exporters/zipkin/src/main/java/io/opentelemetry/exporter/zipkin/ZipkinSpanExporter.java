@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.zipkin;
 
+import static java.util.Objects.requireNonNull;
+
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.exporter.internal.ExporterMetrics;
 import io.opentelemetry.sdk.common.CompletableResultCode;
@@ -19,6 +21,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import zipkin2.Span;
 import zipkin2.reporter.BytesEncoder;
 import zipkin2.reporter.BytesMessageSender;
@@ -39,25 +42,63 @@ public final class ZipkinSpanExporter implements SpanExporter {
   private final AtomicBoolean isShutdown = new AtomicBoolean();
   private final ZipkinSpanExporterBuilder builder;
   private final BytesEncoder<Span> encoder;
-  private final BytesMessageSender sender;
+  // Exactly one of sender and httpSender is set
+  @Nullable private final BytesMessageSender sender;
+  @Nullable private final ZipkinHttpSender httpSender;
   private final ExporterMetrics exporterMetrics;
 
   private final OtelToZipkinSpanTransformer transformer;
+  @Nullable private final ZipkinSpanDataEncoder spanDataEncoder;
 
   ZipkinSpanExporter(
       ZipkinSpanExporterBuilder builder,
       BytesEncoder<Span> encoder,
       BytesMessageSender sender,
       Supplier<MeterProvider> meterProviderSupplier,
-      OtelToZipkinSpanTransformer transformer) {
+      OtelToZipkinSpanTransformer transformer,
+      @Nullable ZipkinSpanDataEncoder spanDataEncoder) {
+    this(
+        builder,
+        encoder,
+        sender,
+        null,
+        createExporterMetrics(sender.encoding(), meterProviderSupplier),
+        transformer,
+        spanDataEncoder);
+  }
+
+  ZipkinSpanExporter(
+      ZipkinSpanExporterBuilder builder,
+      BytesEncoder<Span> encoder,
+      ZipkinHttpSender httpSender,
+      ExporterMetrics exporterMetrics,
+      OtelToZipkinSpanTransformer transformer,
+      @Nullable ZipkinSpanDataEncoder spanDataEncoder) {
+    this(builder, encoder, null, httpSender, exporterMetrics, transformer, spanDataEncoder);
+  }
+
+  private ZipkinSpanExporter(
+      ZipkinSpanExporterBuilder builder,
+      BytesEncoder<Span> encoder,
+      @Nullable BytesMessageSender sender,
+      @Nullable ZipkinHttpSender httpSender,
+      ExporterMetrics exporterMetrics,
+      OtelToZipkinSpanTransformer transformer,
+      @Nullable ZipkinSpanDataEncoder spanDataEncoder) {
     this.builder = builder;
     this.encoder = encoder;
     this.sender = sender;
-    this.exporterMetrics =
-        sender.encoding() == Encoding.JSON
-            ? ExporterMetrics.createHttpJson("zipkin", "span", meterProviderSupplier)
-            : ExporterMetrics.createHttpProtobuf("zipkin", "span", meterProviderSupplier);
+    this.httpSender = httpSender;
+    this.exporterMetrics = exporterMetrics;
     this.transformer = transformer;
+    this.spanDataEncoder = spanDataEncoder;
+  }
+
+  static ExporterMetrics createExporterMetrics(
+      Encoding encoding, Supplier<MeterProvider> meterProviderSupplier) {
+    return encoding == Encoding.JSON
+        ? ExporterMetrics.createHttpJson("zipkin", "span", meterProviderSupplier)
+        : ExporterMetrics.createHttpProtobuf("zipkin", "span", meterProviderSupplier);
   }
 
   @Override
@@ -69,17 +110,50 @@ public final class ZipkinSpanExporter implements SpanExporter {
     int numItems = spanDataList.size();
     exporterMetrics.addSeen(numItems);
 
-    List<byte[]> encodedSpans = new ArrayList<>(numItems);
-    for (SpanData spanData : spanDataList) {
-      Span zipkinSpan = transformer.generateSpan(spanData);
-      encodedSpans.add(encoder.encode(zipkinSpan));
+    long startNanos = System.nanoTime();
+    List<byte[]> encodedSpans;
+    if (spanDataEncoder != null) {
+      encodedSpans = spanDataEncoder.encode(spanDataList);
+    } else {
+      encodedSpans = new ArrayList<>(numItems);
+      for (SpanData spanData : spanDataList) {
+        Span zipkinSpan = transformer.generateSpan(spanData);
+        encodedSpans.add(encoder.encode(zipkinSpan));
+      }
+    }
+    long sendStartNanos = System.nanoTime();
+    exporterMetrics.recordMarshalDuration(sendStartNanos - startNanos);
+    long encodedSize = 0;
+    for (byte[] encodedSpan : encodedSpans) {
+      encodedSize += encodedSpan.length;
+    }
+    exporterMetrics.recordRequestSize(encodedSize);
+
+    ZipkinHttpSender httpSender = this.httpSender;
+    if (httpSender != null) {
+      CompletableResultCode result = new CompletableResultCode();
+      httpSender.send(
+          encodedSpans,
+          () -> {
+            exporterMetrics.recordSendDuration(System.nanoTime() - sendStartNanos, true);
+            exporterMetrics.addSuccess(numItems);
+            result.succeed();
+          },
+          () -> {
+            exporterMetrics.recordSendDuration(System.nanoTime() - sendStartNanos, false);
+            exporterMetrics.addFailed(numItems);
+            result.fail();
+          });
+      return result;
     }
 
     try {
-      sender.send(encodedSpans);
+      requireNonNull(sender).send(encodedSpans);
+      exporterMetrics.recordSendDuration(System.nanoTime() - sendStartNanos, true);
       exporterMetrics.addSuccess(numItems);
       return CompletableResultCode.ofSuccess();
     } catch (IOException | RuntimeException t) {
+      exporterMetrics.recordSendDuration(System.nanoTime() - sendStartNanos, false);
       exporterMetrics.addFailed(numItems);
       logger.log(Level.WARNING, "Failed to export spans", t);
       return CompletableResultCode.ofFailure();
@@ -98,8 +172,11 @@ public final class ZipkinSpanExporter implements SpanExporter {
       logger.log(Level.INFO, "Calling shutdown() multiple times.");
       return CompletableResultCode.ofSuccess();
     }
+    if (httpSender != null) {
+      return httpSender.shutdown();
+    }
     try {
-      sender.close();
+      requireNonNull(sender).close();
     } catch (IOException e) {
       logger.log(Level.WARNING, "Exception while closing the Zipkin Sender instance", e);
     }
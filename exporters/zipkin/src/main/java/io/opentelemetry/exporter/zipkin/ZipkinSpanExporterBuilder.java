@@ -10,8 +10,15 @@ import static java.util.Objects.requireNonNull;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.exporter.internal.ExporterMetrics;
+import io.opentelemetry.exporter.internal.RetryBudget;
+import io.opentelemetry.exporter.internal.compression.GzipCompressor;
+import io.opentelemetry.exporter.internal.http.HttpExporterBuilder;
+import io.opentelemetry.exporter.internal.http.HttpSender;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.net.InetAddress;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -33,6 +40,8 @@ public final class ZipkinSpanExporterBuilder {
   private boolean compressionEnabled = true;
   private long readTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
   private Supplier<MeterProvider> meterProviderSupplier = GlobalOpenTelemetry::getMeterProvider;
+  private boolean asyncSenderEnabled;
+  @Nullable private RetryPolicy retryPolicy;
 
   /**
    * Sets the Zipkin sender. Implements the client side of the span transport. An {@link
@@ -185,6 +194,43 @@ public final class ZipkinSpanExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets whether spans are sent asynchronously, with the HTTP sender used by the OTLP exporters
+   * instead of a Zipkin sender. Exports then return without waiting for the request to complete,
+   * so several requests can be in flight at once and a slow Zipkin server doesn't block the caller.
+   * Disabled by default.
+   *
+   * <p>This exporter doesn't include an HTTP sender. When enabled, a dependency on {@code
+   * opentelemetry-exporter-sender-okhttp} or {@code opentelemetry-exporter-sender-jdk} is required,
+   * otherwise {@link #build()} throws {@link IllegalStateException}.
+   *
+   * <p>Like the default Zipkin sender, the asynchronous sender trusts the JVM's default certificate
+   * authorities, doesn't use a proxy and sends no additional headers. A custom Zipkin sender set
+   * via {@link #setSender(BytesMessageSender)} is required for other configurations, and it can't
+   * be combined with the asynchronous sender: {@link #build()} throws {@link IllegalStateException}
+   * if both are set.
+   *
+   * @return this.
+   * @since 1.41.0
+   */
+  public ZipkinSpanExporterBuilder setAsyncSenderEnabled(boolean asyncSenderEnabled) {
+    this.asyncSenderEnabled = asyncSenderEnabled;
+    return this;
+  }
+
+  /**
+   * Sets the retry policy of the asynchronous sender, see {@link
+   * #setAsyncSenderEnabled(boolean)}. Retry is disabled by default.
+   *
+   * @return this.
+   * @since 1.41.0
+   */
+  public ZipkinSpanExporterBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    requireNonNull(retryPolicy, "retryPolicy");
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
   String toString(boolean includePrefixAndSuffix) {
     StringJoiner joiner =
         includePrefixAndSuffix
@@ -193,6 +239,10 @@ public final class ZipkinSpanExporterBuilder {
     joiner.add("endpoint=" + endpoint);
     joiner.add("compressionEnabled=" + compressionEnabled);
     joiner.add("readTimeoutMillis=" + readTimeoutMillis);
+    joiner.add("asyncSenderEnabled=" + asyncSenderEnabled);
+    if (retryPolicy != null) {
+      joiner.add("retryPolicy=" + retryPolicy);
+    }
     // Note: omit sender because we can't log the configuration in any readable way
     // Note: omit encoder because we can't log the configuration in any readable way
     // Note: omit localIpAddressSupplier because we can't log the configuration in any readable way
@@ -206,7 +256,46 @@ public final class ZipkinSpanExporterBuilder {
    * @return a {@code ZipkinSpanExporter}.
    */
   public ZipkinSpanExporter build() {
+    OtelToZipkinSpanTransformer transformer =
+        OtelToZipkinSpanTransformer.create(localIpAddressSupplier);
+    // The built-in encodings are written directly from SpanData, without the transformer
+    ZipkinSpanDataEncoder spanDataEncoder =
+        ZipkinSpanDataEncoder.create(encoder, localIpAddressSupplier);
+
     BytesMessageSender sender = this.sender;
+    if (sender != null && asyncSenderEnabled) {
+      throw new IllegalStateException(
+          "A custom Zipkin sender can't be used with the asynchronous sender enabled");
+    }
+    if (asyncSenderEnabled) {
+      ExporterMetrics exporterMetrics =
+          ZipkinSpanExporter.createExporterMetrics(encoder.encoding(), meterProviderSupplier);
+      HttpSender httpSender =
+          HttpExporterBuilder.resolveHttpSenderProvider()
+              .createSender(
+                  endpoint,
+                  exporterMetrics.measureCompressedSize(
+                      compressionEnabled ? GzipCompressor.getInstance() : null),
+                  /* exportAsJson= */ false,
+                  ZipkinHttpSender.contentType(encoder.encoding()),
+                  TimeUnit.MILLISECONDS.toNanos(readTimeoutMillis),
+                  TimeUnit.SECONDS.toNanos(HttpExporterBuilder.DEFAULT_CONNECT_TIMEOUT_SECS),
+                  Collections::emptyMap,
+                  /* proxyOptions= */ null,
+                  /* authenticator= */ null,
+                  retryPolicy,
+                  retryPolicy == null ? null : RetryBudget.create(retryPolicy, exporterMetrics),
+                  /* sslContext= */ null,
+                  /* trustManager= */ null,
+                  /* executorService= */ null);
+      return new ZipkinSpanExporter(
+          this,
+          encoder,
+          new ZipkinHttpSender(httpSender, encoder.encoding()),
+          exporterMetrics,
+          transformer,
+          spanDataEncoder);
+    }
     if (sender == null) {
       sender =
           OkHttpSender.newBuilder()
@@ -215,8 +304,7 @@ public final class ZipkinSpanExporterBuilder {
               .readTimeout((int) readTimeoutMillis)
               .build();
     }
-    OtelToZipkinSpanTransformer transformer =
-        OtelToZipkinSpanTransformer.create(localIpAddressSupplier);
-    return new ZipkinSpanExporter(this, encoder, sender, meterProviderSupplier, transformer);
+    return new ZipkinSpanExporter(
+        this, encoder, sender, meterProviderSupplier, transformer, spanDataEncoder);
   }
 }
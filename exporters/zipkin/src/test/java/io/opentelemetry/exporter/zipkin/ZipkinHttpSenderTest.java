@@ -0,0 +1,154 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+import io.github.netmikey.logunit.api.LogCapturer;
+import io.opentelemetry.exporter.internal.http.HttpSender;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import zipkin2.reporter.Encoding;
+
+@ExtendWith(MockitoExtension.class)
+class ZipkinHttpSenderTest {
+
+  private static final List<byte[]> JSON_SPANS =
+      Arrays.asList(
+          "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8),
+          "{\"id\":\"2\"}".getBytes(StandardCharsets.UTF_8));
+  private static final List<byte[]> PROTO_SPANS =
+      Arrays.asList(new byte[] {0x0a, 0x01, 0x01}, new byte[] {0x0a, 0x01, 0x02});
+
+  @RegisterExtension
+  LogCapturer logs = LogCapturer.create().captureForType(ZipkinSpanExporter.class);
+
+  @Mock private HttpSender httpSender;
+
+  private final AtomicReference<byte[]> sentBody = new AtomicReference<>();
+  private final AtomicInteger successes = new AtomicInteger();
+  private final AtomicInteger failures = new AtomicInteger();
+
+  @Test
+  void contentType() {
+    assertThat(ZipkinHttpSender.contentType(Encoding.JSON)).isEqualTo("application/json");
+    assertThat(ZipkinHttpSender.contentType(Encoding.PROTO3)).isEqualTo("application/x-protobuf");
+  }
+
+  @Test
+  void send_json() {
+    respondWith(202);
+
+    new ZipkinHttpSender(httpSender, Encoding.JSON)
+        .send(JSON_SPANS, successes::incrementAndGet, failures::incrementAndGet);
+
+    assertThat(new String(sentBody.get(), StandardCharsets.UTF_8))
+        .isEqualTo("[{\"id\":\"1\"},{\"id\":\"2\"}]");
+    assertThat(successes).hasValue(1);
+    assertThat(failures).hasValue(0);
+  }
+
+  @Test
+  void send_proto() {
+    respondWith(202);
+
+    new ZipkinHttpSender(httpSender, Encoding.PROTO3)
+        .send(PROTO_SPANS, successes::incrementAndGet, failures::incrementAndGet);
+
+    assertThat(sentBody.get()).containsExactly(0x0a, 0x01, 0x01, 0x0a, 0x01, 0x02);
+    assertThat(successes).hasValue(1);
+    assertThat(failures).hasValue(0);
+  }
+
+  @Test
+  @SuppressLogger(ZipkinSpanExporter.class)
+  void send_errorResponse() {
+    respondWith(400);
+
+    new ZipkinHttpSender(httpSender, Encoding.JSON)
+        .send(JSON_SPANS, successes::incrementAndGet, failures::incrementAndGet);
+
+    assertThat(successes).hasValue(0);
+    assertThat(failures).hasValue(1);
+    logs.assertContains(
+        "Failed to export spans. Server responded with HTTP status code 400. Error message: "
+            + "Malformed reading List<Span> from json");
+  }
+
+  @Test
+  @SuppressLogger(ZipkinSpanExporter.class)
+  void send_error() {
+    doAnswer(
+            invocation -> {
+              Consumer<Throwable> onError = invocation.getArgument(3);
+              onError.accept(new ConnectException("Connection refused"));
+              return null;
+            })
+        .when(httpSender)
+        .send(any(), anyInt(), any(), any());
+
+    new ZipkinHttpSender(httpSender, Encoding.JSON)
+        .send(JSON_SPANS, successes::incrementAndGet, failures::incrementAndGet);
+
+    assertThat(successes).hasValue(0);
+    assertThat(failures).hasValue(1);
+    logs.assertContains(
+        "Failed to export spans. The request could not be executed. Full error message: "
+            + "Connection refused");
+  }
+
+  private void respondWith(int statusCode) {
+    doAnswer(
+            invocation -> {
+              Marshaler marshaler = invocation.getArgument(0);
+              int contentLength = invocation.getArgument(1);
+              ByteArrayOutputStream out = new ByteArrayOutputStream();
+              marshaler.writeBinaryTo(out);
+              assertThat(out.size()).isEqualTo(contentLength);
+              sentBody.set(out.toByteArray());
+
+              Consumer<HttpSender.Response> onResponse = invocation.getArgument(2);
+              onResponse.accept(
+                  new HttpSender.Response() {
+                    @Override
+                    public int statusCode() {
+                      return statusCode;
+                    }
+
+                    @Override
+                    public String statusMessage() {
+                      return "Bad Request";
+                    }
+
+                    @Override
+                    public byte[] responseBody() throws IOException {
+                      return "Malformed reading List<Span> from json"
+                          .getBytes(StandardCharsets.UTF_8);
+                    }
+                  });
+              return null;
+            })
+        .when(httpSender)
+        .send(any(), anyInt(), any(), any());
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.zipkin;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.exporter.zipkin.ZipkinTestUtil.spanBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import zipkin2.reporter.SpanBytesEncoder;
+
+class ZipkinSpanDataEncoderTest {
+
+  private final AtomicReference<InetAddress> localIp = new AtomicReference<>();
+  private final OtelToZipkinSpanTransformer transformer =
+      OtelToZipkinSpanTransformer.create(localIp::get);
+
+  @Test
+  void create_unsupportedEncoder() {
+    assertThat(ZipkinSpanDataEncoder.create(SpanBytesEncoder.JSON_V1, localIp::get)).isNull();
+    assertThat(ZipkinSpanDataEncoder.create(SpanBytesEncoder.JSON_V2, localIp::get)).isNotNull();
+    assertThat(ZipkinSpanDataEncoder.create(SpanBytesEncoder.PROTO3, localIp::get)).isNotNull();
+  }
+
+  @Test
+  void encode_default() throws UnknownHostException {
+    localIp.set(InetAddress.getByName("192.168.1.10"));
+    assertEncodesLikeTransformer(spanBuilder().build());
+  }
+
+  @Test
+  void encode_noParentAndInternalKind() {
+    assertEncodesLikeTransformer(
+        spanBuilder()
+            .setParentSpanContext(SpanContext.getInvalid())
+            .setKind(SpanKind.INTERNAL)
+            .setStatus(StatusData.unset())
+            .setEvents(Collections.emptyList())
+            .setTotalRecordedEvents(0)
+            .build());
+  }
+
+  @Test
+  void encode_shortTraceId() {
+    assertEncodesLikeTransformer(
+        spanBuilder()
+            .setSpanContext(
+                SpanContext.create(
+                    "00000000000000006b562147388b35bf",
+                    ZipkinTestUtil.SPAN_ID,
+                    TraceFlags.getSampled(),
+                    TraceState.getDefault()))
+            .build());
+  }
+
+  @Test
+  void encode_attributes() {
+    Attributes attributes =
+        Attributes.builder()
+            .put(stringKey("string"), "string value")
+            .put(booleanKey("boolean"), false)
+            .put(longKey("long"), -9876543210L)
+            .put(doubleKey("double"), 1.5)
+            .put(stringArrayKey("stringArray"), Arrays.asList("", "Hello", "\"quoted\""))
+            .put(booleanArrayKey("booleanArray"), Arrays.asList(true, false))
+            .put(longArrayKey("longArray"), Arrays.asList(12345L, 67890L))
+            .put(doubleArrayKey("doubleArray"), Arrays.asList(1.0, 2.5))
+            .put(stringKey("otel.status_code"), "overridden")
+            .put(
+                stringKey("unicode"),
+                "caf\u00e9 \u2603 \ud83d\ude00 \u2028\u2029 \ud83d \n\t\u0001")
+            .build();
+    assertEncodesLikeTransformer(
+        spanBuilder()
+            .setName("Caf\u00e9 \"Name\"")
+            .setAttributes(attributes)
+            .setTotalAttributeCount(attributes.size() + 3)
+            .build());
+  }
+
+  @Test
+  void encode_errorAndScope() {
+    assertEncodesLikeTransformer(
+        spanBuilder()
+            .setStatus(StatusData.create(StatusCode.ERROR, "timeout"))
+            .setInstrumentationScopeInfo(
+                InstrumentationScopeInfo.builder("io.opentelemetry.auto")
+                    .setVersion("1.0.0")
+                    .build())
+            .build());
+    assertEncodesLikeTransformer(
+        spanBuilder()
+            .setStatus(StatusData.error())
+            .setAttributes(Attributes.of(booleanKey("error"), true))
+            .setTotalAttributeCount(1)
+            .build());
+  }
+
+  @Test
+  void encode_events() {
+    List<EventData> events =
+        Arrays.asList(
+            EventData.create(
+                1505855799_459486280L,
+                "SENT",
+                Attributes.builder()
+                    .put("bytes", 1024L)
+                    .put("compressed", true)
+                    .put("codes", new String[] {"a", "b"})
+                    .build()),
+            EventData.create(1505855799_433901068L, "RECEIVED", Attributes.empty()),
+            EventData.create(1505855799_433901999L, "ACKED", Attributes.of(stringKey("k"), "v")),
+            EventData.create(1505855799_433901068L, "RECEIVED", Attributes.empty()));
+    assertEncodesLikeTransformer(
+        spanBuilder().setEvents(events).setTotalRecordedEvents(events.size() + 2).build());
+  }
+
+  @Test
+  void encode_remoteEndpoint() {
+    for (SpanKind kind : SpanKind.values()) {
+      assertEncodesLikeTransformer(
+          spanBuilder()
+              .setKind(kind)
+              .setAttributes(
+                  Attributes.builder()
+                      .put("peer.service", "Remote-Service")
+                      .put("server.socket.address", "2001:db8::c001")
+                      .put("server.socket.port", 42L)
+                      .build())
+              .setTotalAttributeCount(3)
+              .build());
+      assertEncodesLikeTransformer(
+          spanBuilder()
+              .setKind(kind)
+              .setAttributes(
+                  Attributes.builder()
+                      .put("peer.service", "remote-service")
+                      .put("server.socket.address", "not an ip")
+                      .build())
+              .setTotalAttributeCount(2)
+              .build());
+    }
+  }
+
+  @Test
+  void encode_localEndpointChanges() throws UnknownHostException {
+    assertLocalEndpointChanges(SpanBytesEncoder.JSON_V2);
+    assertLocalEndpointChanges(SpanBytesEncoder.PROTO3);
+  }
+
+  private void assertLocalEndpointChanges(SpanBytesEncoder spanBytesEncoder)
+      throws UnknownHostException {
+    ZipkinSpanDataEncoder encoder = ZipkinSpanDataEncoder.create(spanBytesEncoder, localIp::get);
+    assertThat(encoder).isNotNull();
+
+    localIp.set(null);
+    SpanData span = spanBuilder().build();
+    assertThat(encoder.encode(span))
+        .isEqualTo(spanBytesEncoder.encode(transformer.generateSpan(span)));
+
+    localIp.set(InetAddress.getByName("10.0.0.1"));
+    assertThat(encoder.encode(span))
+        .isEqualTo(spanBytesEncoder.encode(transformer.generateSpan(span)));
+
+    localIp.set(InetAddress.getByName("::1"));
+    SpanData defaultResourceSpan = spanBuilder().setResource(Resource.empty()).build();
+    byte[] expected = spanBytesEncoder.encode(transformer.generateSpan(defaultResourceSpan));
+    assertThat(encoder.encode(Arrays.asList(defaultResourceSpan, defaultResourceSpan)))
+        .containsExactly(expected, expected);
+  }
+
+  private void assertEncodesLikeTransformer(SpanData span) {
+    ZipkinSpanDataEncoder jsonEncoder =
+        ZipkinSpanDataEncoder.create(SpanBytesEncoder.JSON_V2, localIp::get);
+    ZipkinSpanDataEncoder protoEncoder =
+        ZipkinSpanDataEncoder.create(SpanBytesEncoder.PROTO3, localIp::get);
+    assertThat(jsonEncoder).isNotNull();
+    assertThat(protoEncoder).isNotNull();
+
+    zipkin2.Span zipkinSpan = transformer.generateSpan(span);
+    assertThat(new String(jsonEncoder.encode(span), StandardCharsets.UTF_8))
+        .isEqualTo(
+            new String(
+                SpanBytesEncoder.JSON_V2.encode(zipkinSpan),
+                StandardCharsets.UTF_8));
+    assertThat(protoEncoder.encode(span)).isEqualTo(SpanBytesEncoder.PROTO3.encode(zipkinSpan));
+    // Encoding again reuses the buffer and the cached local endpoint
+    assertThat(protoEncoder.encode(span)).isEqualTo(SpanBytesEncoder.PROTO3.encode(zipkinSpan));
+  }
+}
@@ -24,6 +24,8 @@ import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.opentelemetry.sdk.testing.trace.TestSpanData;
@@ -33,6 +35,7 @@ import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import java.net.InetAddress;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -126,6 +129,45 @@ class ZipkinSpanExporterEndToEndHttpTest {
     verifyMetrics(sdkMeterReader, "http", EXPORTED_SUCCESS_ATTRIBUTES);
   }
 
+  @Test
+  void testExportAsync() {
+    ZipkinSpanExporter exporter =
+        ZipkinSpanExporter.builder()
+            .setEndpoint(zipkinUrl(ENDPOINT_V2_SPANS))
+            .setAsyncSenderEnabled(true)
+            .setMeterProvider(sdkMeterProvider)
+            .setLocalIpAddressSupplier(() -> localIp)
+            .build();
+    exportAndVerify(exporter);
+
+    exporter.close();
+    verifyMetrics(sdkMeterReader, "http-json", EXPORTED_SUCCESS_ATTRIBUTES);
+    assertThat(sdkMeterReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("zipkin.exporter.request.compressed_size")
+                    .hasHistogramSatisfying(
+                        histogram -> histogram.hasPointsSatisfying(point -> point.hasCount(1))));
+  }
+
+  @Test
+  void testExportAsyncAsProtobuf() {
+    ZipkinSpanExporter exporter =
+        ZipkinSpanExporter.builder()
+            .setEndpoint(zipkinUrl(ENDPOINT_V2_SPANS))
+            .setEncoder(SpanBytesEncoder.PROTO3)
+            .setAsyncSenderEnabled(true)
+            .setCompression("none")
+            .setMeterProvider(sdkMeterProvider)
+            .setLocalIpAddressSupplier(() -> localIp)
+            .build();
+    exportAndVerify(exporter);
+
+    exporter.close();
+    verifyMetrics(sdkMeterReader, "http", EXPORTED_SUCCESS_ATTRIBUTES);
+  }
+
   @Test
   void testExportAsThrift() {
     @SuppressWarnings("deprecation") // we have to use the deprecated thrift encoding to test it
@@ -258,13 +300,21 @@ class ZipkinSpanExporterEndToEndHttpTest {
 
   private static void verifyMetrics(
       InMemoryMetricReader sdkMeterReader, String transportName, Attributes exportedAttributes) {
-    assertThat(sdkMeterReader.collectAllMetrics())
+    Collection<MetricData> metrics = sdkMeterReader.collectAllMetrics();
+    assertThat(metrics)
         .allSatisfy(
             metric ->
                 assertThat(metric)
                     .hasInstrumentationScope(
                         InstrumentationScopeInfo.create(
                             "io.opentelemetry.exporters.zipkin-" + transportName)))
+        .extracting(MetricData::getName)
+        .contains(
+            "zipkin.exporter.marshal.duration",
+            "zipkin.exporter.request.size",
+            "zipkin.exporter.send.duration");
+    assertThat(metrics)
+        .filteredOn(metric -> metric.getType() == MetricDataType.LONG_SUM)
         .satisfiesExactlyInAnyOrder(
             metric ->
                 assertThat(metric)
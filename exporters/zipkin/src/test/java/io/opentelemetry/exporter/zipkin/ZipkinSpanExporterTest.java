@@ -55,7 +55,8 @@ class ZipkinSpanExporterTest {
             mockEncoder,
             mockSender,
             MeterProvider::noop,
-            mockTransformer);
+            mockTransformer,
+            null);
 
     byte[] someBytes = new byte[0];
     Span zipkinSpan =
@@ -84,7 +85,8 @@ class ZipkinSpanExporterTest {
             mockEncoder,
             mockSender,
             MeterProvider::noop,
-            mockTransformer);
+            mockTransformer,
+            null);
 
     byte[] someBytes = new byte[0];
     Span zipkinSpan =
@@ -164,6 +166,15 @@ class ZipkinSpanExporterTest {
     assertThatThrownBy(() -> ZipkinSpanExporter.builder().setEncoder((BytesEncoder<Span>) null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("encoder");
+
+    assertThatThrownBy(
+            () ->
+                ZipkinSpanExporter.builder()
+                    .setSender(mockSender)
+                    .setAsyncSenderEnabled(true)
+                    .build())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("A custom Zipkin sender can't be used with the asynchronous sender enabled");
   }
 
   @Test
@@ -22,6 +22,7 @@ import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
 import io.opentelemetry.sdk.autoconfigure.spi.internal.AutoConfigureListener;
 import io.opentelemetry.sdk.autoconfigure.spi.internal.DefaultConfigProperties;
 import io.opentelemetry.sdk.autoconfigure.spi.internal.StructuredConfigProperties;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.SdkLoggerProviderBuilder;
@@ -459,6 +460,8 @@ public final class AutoConfiguredOpenTelemetrySdkBuilder implements AutoConfigur
         meterProviderBuilder = meterProviderCustomizer.apply(meterProviderBuilder, config);
         SdkMeterProvider meterProvider = meterProviderBuilder.build();
         closeables.add(meterProvider);
+        // Does nothing unless otel.experimental.sdk.profiler.sampling.ratio is set
+        HotPathProfiler.setMeterProvider(meterProvider);
 
         SdkTracerProviderBuilder tracerProviderBuilder = SdkTracerProvider.builder();
         tracerProviderBuilder.setResource(resource);
@@ -10,6 +10,7 @@ import static io.opentelemetry.sdk.autoconfigure.LogRecordExporterConfiguration.
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.autoconfigure.internal.SpiHelper;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.LogLimits;
 import io.opentelemetry.sdk.logs.LogLimitsBuilder;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
@@ -44,6 +45,7 @@ final class LoggerProviderConfiguration {
       List<Closeable> closeables) {
 
     loggerProviderBuilder.setLogLimits(() -> configureLogLimits(config));
+    loggerProviderBuilder.setMemoryMode(configureMemoryMode(config));
 
     Map<String, LogRecordExporter> exportersByName =
         configureLogRecordExporters(config, spiHelper, logRecordExporterCustomizer, closeables);
@@ -135,5 +137,12 @@ final class LoggerProviderConfiguration {
     return builder.build();
   }
 
+  // Visible for testing
+  static MemoryMode configureMemoryMode(ConfigProperties config) {
+    boolean poolingEnabled =
+        config.getBoolean("otel.java.experimental.logs.pooling.enabled", false);
+    return poolingEnabled ? MemoryMode.REUSABLE_DATA : MemoryMode.IMMUTABLE_DATA;
+  }
+
   private LoggerProviderConfiguration() {}
 }
@@ -13,6 +13,7 @@ import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.internal.testing.CleanupExtension;
 import io.opentelemetry.sdk.autoconfigure.internal.SpiHelper;
 import io.opentelemetry.sdk.autoconfigure.spi.internal.DefaultConfigProperties;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.LogLimits;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
@@ -70,6 +71,27 @@ class LoggerProviderConfigurationTest {
     }
   }
 
+  @Test
+  void configureMemoryMode() {
+    assertThat(
+            LoggerProviderConfiguration.configureMemoryMode(
+                DefaultConfigProperties.createFromMap(Collections.emptyMap())))
+        .isEqualTo(MemoryMode.IMMUTABLE_DATA);
+    assertThat(
+            LoggerProviderConfiguration.configureMemoryMode(
+                DefaultConfigProperties.createFromMap(
+                    Collections.singletonMap(
+                        "otel.java.experimental.logs.pooling.enabled", "true"))))
+        .isEqualTo(MemoryMode.REUSABLE_DATA);
+    // The exporter memory mode doesn't enable log record pooling
+    assertThat(
+            LoggerProviderConfiguration.configureMemoryMode(
+                DefaultConfigProperties.createFromMap(
+                    Collections.singletonMap(
+                        "otel.java.experimental.exporter.memory_mode", "reusable_data"))))
+        .isEqualTo(MemoryMode.IMMUTABLE_DATA);
+  }
+
   @Test
   void configureLogLimits() {
     assertThat(
@@ -305,7 +305,16 @@ class FullConfigTest {
                                                   .isEqualTo("otlp.exporter.seen"),
                                           metric ->
                                               assertThat(metric.getName())
-                                                  .isEqualTo("otlp.exporter.exported"));
+                                                  .isEqualTo("otlp.exporter.exported"),
+                                          metric ->
+                                              assertThat(metric.getName())
+                                                  .isEqualTo("otlp.exporter.marshal.duration"),
+                                          metric ->
+                                              assertThat(metric.getName())
+                                                  .isEqualTo("otlp.exporter.request.size"),
+                                          metric ->
+                                              assertThat(metric.getName())
+                                                  .isEqualTo("otlp.exporter.send.duration"));
                                 });
                       });
             });
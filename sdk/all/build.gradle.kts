@@ -23,3 +23,26 @@ dependencies {
 
   testImplementation(project(":sdk:testing"))
 }
+
+testing {
+  suites {
+    register<JvmTestSuite>("profilerEnabledTest") {
+      dependencies {
+        implementation(project(":sdk:testing"))
+      }
+      targets {
+        all {
+          testTask.configure {
+            jvmArgs("-Dotel.experimental.sdk.profiler.sampling.ratio=1")
+          }
+        }
+      }
+    }
+  }
+}
+
+tasks {
+  check {
+    dependsOn(testing.suites)
+  }
+}
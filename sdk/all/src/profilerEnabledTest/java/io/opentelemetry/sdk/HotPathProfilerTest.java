@@ -0,0 +1,98 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.util.Collection;
+import org.junit.jupiter.api.Test;
+
+class HotPathProfilerTest {
+
+  private static final AttributeKey<String> OPERATION = AttributeKey.stringKey("operation");
+
+  @Test
+  void recordsSampledOperations() {
+    InMemoryMetricReader reader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(reader).build();
+    HotPathProfiler.setMeterProvider(meterProvider);
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(InMemorySpanExporter.create()))
+            .addSpanProcessor(SimpleSpanProcessor.create(InMemorySpanExporter.create()))
+            .build();
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                SimpleLogRecordProcessor.create(InMemoryLogRecordExporter.create()))
+            .build();
+
+    Tracer tracer = tracerProvider.get("test");
+    Span span = tracer.spanBuilder("span").startSpan();
+    span.end();
+
+    Meter meter = meterProvider.get("test");
+    meter.counterBuilder("longs").build().add(1);
+    meter.counterBuilder("doubles").ofDoubles().build().add(1.5);
+
+    Logger logger = loggerProvider.get("test");
+    logger.logRecordBuilder().setBody("log").emit();
+
+    assertThat(HotPathProfiler.isEnabled()).isTrue();
+    Collection<MetricData> metrics = reader.collectAllMetrics();
+    assertThat(metrics)
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("operation.duration")
+                    .hasUnit("ns")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point -> point.hasAttributes(operation("span.start")).hasCount(1),
+                                point -> point.hasAttributes(operation("span.end")).hasCount(1),
+                                point ->
+                                    point
+                                        .hasAttributes(operation("span_processor.on_end"))
+                                        .hasCount(1),
+                                point ->
+                                    point
+                                        .hasAttributes(operation("metric.record_long"))
+                                        .hasCount(1),
+                                point ->
+                                    point
+                                        .hasAttributes(operation("metric.record_double"))
+                                        .hasCount(1),
+                                point -> point.hasAttributes(operation("log.emit")).hasCount(1))));
+    assertThat(metrics).anySatisfy(metric -> assertThat(metric).hasName("operation.allocation"));
+
+    tracerProvider.close();
+    loggerProvider.close();
+    meterProvider.close();
+  }
+
+  private static Attributes operation(String name) {
+    return Attributes.of(OPERATION, name);
+  }
+}
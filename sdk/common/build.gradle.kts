@@ -1,4 +1,5 @@
 import io.opentelemetry.gradle.OtelVersionClassPlugin
+import ru.vyarus.gradle.plugin.animalsniffer.AnimalSniffer
 
 plugins {
   id("otel.java-conventions")
@@ -15,6 +16,8 @@ val mrJarVersions = listOf(9)
 dependencies {
   api(project(":api:all"))
 
+  compileOnly("org.codehaus.mojo:animal-sniffer-annotations")
+
   annotationProcessor("com.google.auto.value:auto-value")
 
   testAnnotationProcessor("com.google.auto.value:auto-value")
@@ -53,6 +56,12 @@ for (version in mrJarVersions) {
 }
 
 tasks {
+  named<AnimalSniffer>("animalsnifferMain") {
+    // IgnoreJRERequirement doesn't work correctly for fields.
+    // https://github.com/mojohaus/animal-sniffer/issues/131
+    exclude("**/internal/AllocationCounter*")
+  }
+
   withType(Jar::class) {
     val sourcePathProvider = if (name.equals("jar")) {
       { ss: SourceSet? -> ss?.output }
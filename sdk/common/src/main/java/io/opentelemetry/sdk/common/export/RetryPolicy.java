@@ -28,6 +28,8 @@ public abstract class RetryPolicy {
 
   private static final double DEFAULT_BACKOFF_MULTIPLIER = 1.5;
 
+  private static final double DEFAULT_MAX_RETRIES_PER_SECOND = 10;
+
   private static final RetryPolicy DEFAULT = RetryPolicy.builder().build();
 
   RetryPolicy() {}
@@ -43,7 +45,8 @@ public abstract class RetryPolicy {
         .setMaxAttempts(DEFAULT_MAX_ATTEMPTS)
         .setInitialBackoff(Duration.ofSeconds(DEFAULT_INITIAL_BACKOFF_SECONDS))
         .setMaxBackoff(Duration.ofSeconds(DEFAULT_MAX_BACKOFF_SECONDS))
-        .setBackoffMultiplier(DEFAULT_BACKOFF_MULTIPLIER);
+        .setBackoffMultiplier(DEFAULT_BACKOFF_MULTIPLIER)
+        .setMaxRetriesPerSecond(DEFAULT_MAX_RETRIES_PER_SECOND);
   }
 
   /**
@@ -66,6 +69,13 @@ public abstract class RetryPolicy {
   /** Returns the backoff multiplier. */
   public abstract double getBackoffMultiplier();
 
+  /**
+   * Returns the max average number of retries per second of an exporter, across all its requests.
+   *
+   * @since 1.41.0
+   */
+  public abstract double getMaxRetriesPerSecond();
+
   /** Builder for {@link RetryPolicy}. */
   @AutoValue.Builder
   public abstract static class RetryPolicyBuilder {
@@ -96,6 +106,16 @@ public abstract class RetryPolicy {
      */
     public abstract RetryPolicyBuilder setBackoffMultiplier(double backoffMultiplier);
 
+    /**
+     * Set the max average number of retries per second of an exporter, across all its requests.
+     * Each exporter built with this policy has its own budget, which allows bursts of up to ten
+     * seconds worth of retries. Once it is spent, failed requests aren't retried until it refills.
+     * Must be greater than 0.0. Defaults to {@value DEFAULT_MAX_RETRIES_PER_SECOND}.
+     *
+     * @since 1.41.0
+     */
+    public abstract RetryPolicyBuilder setMaxRetriesPerSecond(double maxRetriesPerSecond);
+
     abstract RetryPolicy autoBuild();
 
     /** Build and return a {@link RetryPolicy} with the values of this builder. */
@@ -109,6 +129,8 @@ public abstract class RetryPolicy {
       checkArgument(retryPolicy.getMaxBackoff().toNanos() > 0, "maxBackoff must be greater than 0");
       checkArgument(
           retryPolicy.getBackoffMultiplier() > 0, "backoffMultiplier must be greater than 0");
+      checkArgument(
+          retryPolicy.getMaxRetriesPerSecond() > 0, "maxRetriesPerSecond must be greater than 0");
 
       return retryPolicy;
     }
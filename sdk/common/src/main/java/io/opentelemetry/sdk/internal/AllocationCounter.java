@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import javax.annotation.Nullable;
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+/**
+ * Reads the number of bytes allocated by the current thread with the {@code
+ * com.sun.management.ThreadMXBean} of HotSpot based JVMs. Only loaded by {@link HotPathProfiler}
+ * when profiling is enabled, as {@code java.lang.management} isn't available everywhere.
+ */
+@IgnoreJRERequirement
+final class AllocationCounter {
+
+  private static final int CALIBRATION_ROUNDS = 16;
+
+  private final com.sun.management.ThreadMXBean threadMxBean;
+  private final long overhead;
+
+  private AllocationCounter(com.sun.management.ThreadMXBean threadMxBean) {
+    this.threadMxBean = threadMxBean;
+    this.overhead = measureOverhead();
+  }
+
+  /** Returns a counter, or {@code null} if the JVM doesn't measure allocations of threads. */
+  @Nullable
+  static AllocationCounter create() {
+    ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    if (!(threadMxBean instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+    com.sun.management.ThreadMXBean sunThreadMxBean =
+        (com.sun.management.ThreadMXBean) threadMxBean;
+    if (!sunThreadMxBean.isThreadAllocatedMemorySupported()
+        || !sunThreadMxBean.isThreadAllocatedMemoryEnabled()) {
+      return null;
+    }
+    return new AllocationCounter(sunThreadMxBean);
+  }
+
+  /** Returns the total number of bytes allocated by the current thread. */
+  long allocatedBytes() {
+    return threadMxBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Returns the number of bytes allocated by {@link #allocatedBytes()} itself, which some JVMs
+   * count in the difference of two readings.
+   */
+  long overhead() {
+    return overhead;
+  }
+
+  private long measureOverhead() {
+    long overhead = Long.MAX_VALUE;
+    for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+      long start = allocatedBytes();
+      overhead = Math.min(overhead, allocatedBytes() - start);
+    }
+    return Math.max(0, overhead);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * A mutable {@link Attributes} implementation which stores keys and values alternately in a flat
+ * array. Unlike {@link AttributesMap}, adding an attribute doesn't allocate an entry, and the array
+ * is kept when the instance is {@link #clear(long, int) cleared}, so an instance can be reused for
+ * many sets of attributes without allocating. Lookups are linear, which is fast for the small
+ * number of attributes usually recorded.
+ *
+ * <p>This class is not thread safe.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class AttributesArray implements Attributes {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private long capacity;
+  private int lengthLimit;
+  private Object[] data = new Object[INITIAL_CAPACITY * 2];
+  private int size;
+  private int totalAddedValues;
+
+  private AttributesArray(long capacity, int lengthLimit) {
+    this.capacity = capacity;
+    this.lengthLimit = lengthLimit;
+  }
+
+  /**
+   * Create an instance.
+   *
+   * @param capacity the max number of attribute entries
+   * @param lengthLimit the maximum length of string attributes
+   */
+  public static AttributesArray create(long capacity, int lengthLimit) {
+    return new AttributesArray(capacity, lengthLimit);
+  }
+
+  /** Add the attribute key value pair, applying capacity and length limits. */
+  public <T> void put(AttributeKey<T> key, T value) {
+    totalAddedValues++;
+    Object limitedValue = AttributeUtil.applyAttributeLengthLimit(value, lengthLimit);
+    for (int i = 0; i < size * 2; i += 2) {
+      if (data[i].equals(key)) {
+        data[i + 1] = limitedValue;
+        return;
+      }
+    }
+    if (size >= capacity) {
+      return;
+    }
+    if (size * 2 == data.length) {
+      data = Arrays.copyOf(data, data.length * 2);
+    }
+    data[size * 2] = key;
+    data[size * 2 + 1] = limitedValue;
+    size++;
+  }
+
+  /** Get the total number of attributes added, including those dropped for capacity limits. */
+  public int getTotalAddedValues() {
+    return totalAddedValues;
+  }
+
+  /**
+   * Remove all attributes, keeping the backing array, and apply the {@code capacity} and {@code
+   * lengthLimit} to attributes added afterwards.
+   */
+  public void clear(long capacity, int lengthLimit) {
+    Arrays.fill(data, 0, size * 2, null);
+    size = 0;
+    totalAddedValues = 0;
+    this.capacity = capacity;
+    this.lengthLimit = lengthLimit;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  @Nullable
+  public <T> T get(AttributeKey<T> key) {
+    for (int i = 0; i < size * 2; i += 2) {
+      if (data[i].equals(key)) {
+        return (T) data[i + 1];
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> consumer) {
+    for (int i = 0; i < size * 2; i += 2) {
+      consumer.accept((AttributeKey<?>) data[i], data[i + 1]);
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public Map<AttributeKey<?>, Object> asMap() {
+    Map<AttributeKey<?>, Object> map = new LinkedHashMap<>();
+    forEach(map::put);
+    return Collections.unmodifiableMap(map);
+  }
+
+  @Override
+  public AttributesBuilder toBuilder() {
+    return Attributes.builder().putAll(this);
+  }
+
+  /** Create an immutable copy of the attributes in this array. */
+  public Attributes immutableCopy() {
+    return Attributes.builder().putAll(this).build();
+  }
+
+  /**
+   * Returns whether {@code o} is an {@link AttributesArray} with the same attributes, in any order.
+   * Use {@link #immutableCopy()} to compare with other {@link Attributes}.
+   */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AttributesArray)) {
+      return false;
+    }
+    AttributesArray that = (AttributesArray) o;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size * 2; i += 2) {
+      if (!data[i + 1].equals(that.get((AttributeKey<?>) data[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hash code of the current attributes which doesn't depend on their order. It changes
+   * when attributes are added or cleared.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int i = 0; i < size * 2; i += 2) {
+      hashCode += data[i].hashCode() ^ data[i + 1].hashCode();
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("AttributesArray{data={");
+    for (int i = 0; i < size * 2; i += 2) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(data[i]).append('=').append(data[i + 1]);
+    }
+    return sb.append("}, capacity=")
+        .append(capacity)
+        .append(", totalAddedValues=")
+        .append(totalAddedValues)
+        .append('}')
+        .toString();
+  }
+}
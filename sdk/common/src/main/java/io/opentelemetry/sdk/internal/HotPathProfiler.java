@@ -0,0 +1,246 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.ConfigUtil;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Measures the cost of hot paths of the SDK, like starting and ending spans, recording measurements
+ * and emitting log records, so that the overhead of the SDK on an application can be quantified in
+ * production.
+ *
+ * <p>Profiling is disabled unless the {@code otel.experimental.sdk.profiler.sampling.ratio}
+ * property is set to the fraction of calls to sample, a number greater than 0 and at most 1. As
+ * {@link #isEnabled()} then returns a constant {@code false}, the JIT removes the profiling code
+ * from the hot paths entirely. Sampled calls are timed with {@link System#nanoTime()} and, when the
+ * JVM supports it, the bytes allocated by the calling thread are measured with {@code
+ * com.sun.management.ThreadMXBean}. Measurements are recorded to the histograms {@code
+ * operation.duration} and {@code operation.allocation} of the meter {@code
+ * io.opentelemetry.sdk.profiler} of the {@link MeterProvider} set with {@link
+ * #setMeterProvider(MeterProvider)}. The cost of profiling sampled calls nested in other sampled
+ * calls, like span processors in {@link Operation#SPAN_END}, is mostly excluded from the enclosing
+ * call.
+ *
+ * <p>Profiled code is called as follows, so that {@link #end(Operation)} is called if and only if
+ * {@link #start()} returned {@code true}:
+ *
+ * <pre>{@code
+ * if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+ *   try {
+ *     doWork();
+ *   } finally {
+ *     HotPathProfiler.end(HotPathProfiler.Operation.SPAN_END);
+ *   }
+ *   return;
+ * }
+ * doWork();
+ * }</pre>
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class HotPathProfiler {
+
+  private static final Logger logger = Logger.getLogger(HotPathProfiler.class.getName());
+
+  private static final String SAMPLING_RATIO_PROPERTY =
+      "otel.experimental.sdk.profiler.sampling.ratio";
+  private static final AttributeKey<String> OPERATION_KEY = AttributeKey.stringKey("operation");
+  private static final List<Long> DURATION_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              100L, 250L, 500L, 1_000L, 2_500L, 5_000L, 10_000L, 25_000L, 50_000L, 100_000L,
+              1_000_000L, 10_000_000L));
+  private static final List<Long> ALLOCATION_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              0L, 32L, 64L, 128L, 256L, 512L, 1_024L, 2_048L, 4_096L, 16_384L, 65_536L));
+  // Calls nested deeper than this, which only happens with recursive processors, aren't sampled.
+  private static final int MAX_DEPTH = 8;
+
+  private static final double samplingRatio = readSamplingRatio();
+  private static final boolean enabled = samplingRatio > 0;
+  @Nullable private static final AllocationCounter allocationCounter = createAllocationCounter();
+
+  private static final ThreadLocal<ThreadState> threadState =
+      new ThreadLocal<ThreadState>() {
+        @Override
+        protected ThreadState initialValue() {
+          return new ThreadState();
+        }
+      };
+
+  @SuppressWarnings("NonFinalStaticField")
+  private static volatile LongHistogram durationHistogram =
+      MeterProvider.noop().get("noop").histogramBuilder("noop").ofLongs().build();
+
+  @SuppressWarnings("NonFinalStaticField")
+  private static volatile LongHistogram allocationHistogram = durationHistogram;
+
+  /** The profiled operations. */
+  public enum Operation {
+    SPAN_START("span.start"),
+    SPAN_END("span.end"),
+    SPAN_PROCESSOR_ON_END("span_processor.on_end"),
+    METRIC_RECORD_LONG("metric.record_long"),
+    METRIC_RECORD_DOUBLE("metric.record_double"),
+    LOG_EMIT("log.emit");
+
+    private final Attributes attributes;
+
+    Operation(String name) {
+      this.attributes = Attributes.of(OPERATION_KEY, name);
+    }
+  }
+
+  private HotPathProfiler() {}
+
+  /** Returns whether profiling is enabled. The result is constant for the lifetime of the JVM. */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} measurements are recorded to. Does nothing if profiling is
+   * disabled.
+   */
+  public static void setMeterProvider(MeterProvider meterProvider) {
+    if (!enabled) {
+      return;
+    }
+    Meter meter = meterProvider.get("io.opentelemetry.sdk.profiler");
+    durationHistogram =
+        meter
+            .histogramBuilder("operation.duration")
+            .ofLongs()
+            .setUnit("ns")
+            .setDescription("The time spent in sampled calls of SDK operations")
+            .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+            .build();
+    allocationHistogram =
+        meter
+            .histogramBuilder("operation.allocation")
+            .ofLongs()
+            .setUnit("By")
+            .setDescription("The memory allocated by sampled calls of SDK operations")
+            .setExplicitBucketBoundariesAdvice(ALLOCATION_BUCKETS)
+            .build();
+  }
+
+  /**
+   * Decides whether to sample the current call of an operation, and starts measuring it if so.
+   * Must only be called if {@link #isEnabled()}.
+   *
+   * @return whether the call is sampled, in which case {@link #end(Operation)} must be called when
+   *     it completes.
+   */
+  public static boolean start() {
+    if (ThreadLocalRandom.current().nextDouble() >= samplingRatio) {
+      return false;
+    }
+    return threadState.get().start();
+  }
+
+  /** Records the measurements of the call started by the last sampled {@link #start()}. */
+  public static void end(Operation operation) {
+    long endNanos = System.nanoTime();
+    threadState.get().end(operation, endNanos);
+  }
+
+  private static long allocatedBytes() {
+    AllocationCounter allocationCounter = HotPathProfiler.allocationCounter;
+    return allocationCounter == null ? 0 : allocationCounter.allocatedBytes();
+  }
+
+  private static double readSamplingRatio() {
+    String value = ConfigUtil.getString(SAMPLING_RATIO_PROPERTY, "0");
+    try {
+      double ratio = Double.parseDouble(value);
+      if (ratio < 0 || ratio > 1) {
+        logger.log(
+            Level.WARNING,
+            SAMPLING_RATIO_PROPERTY + " must be between 0 and 1, profiling is disabled: " + value);
+        return 0;
+      }
+      return ratio;
+    } catch (NumberFormatException e) {
+      logger.log(
+          Level.WARNING,
+          SAMPLING_RATIO_PROPERTY + " is not a number, profiling is disabled: " + value);
+      return 0;
+    }
+  }
+
+  @Nullable
+  private static AllocationCounter createAllocationCounter() {
+    if (!enabled) {
+      return null;
+    }
+    try {
+      return AllocationCounter.create();
+    } catch (LinkageError e) {
+      // java.lang.management isn't available, e.g., on Android.
+      return null;
+    }
+  }
+
+  private static final class ThreadState {
+
+    private final long[] startNanos = new long[MAX_DEPTH];
+    private final long[] startAllocatedBytes = new long[MAX_DEPTH];
+    private int depth;
+    // Recording measurements goes through the profiled metric storage, which must not be sampled.
+    private boolean recording;
+
+    private boolean start() {
+      if (recording || depth == MAX_DEPTH) {
+        return false;
+      }
+      startAllocatedBytes[depth] = allocatedBytes();
+      startNanos[depth] = System.nanoTime();
+      depth++;
+      return true;
+    }
+
+    private void end(Operation operation, long endNanos) {
+      long endAllocatedBytes = allocatedBytes();
+      depth--;
+      recording = true;
+      try {
+        durationHistogram.record(
+            endNanos - startNanos[depth], operation.attributes, Context.root());
+        if (allocationCounter != null) {
+          allocationHistogram.record(
+              Math.max(
+                  0,
+                  endAllocatedBytes - startAllocatedBytes[depth] - allocationCounter.overhead()),
+              operation.attributes,
+              Context.root());
+        }
+      } finally {
+        recording = false;
+      }
+      if (depth > 0) {
+        // Exclude the cost of recording from the enclosing call by moving its start forward.
+        startAllocatedBytes[depth - 1] += allocatedBytes() - endAllocatedBytes;
+        startNanos[depth - 1] += System.nanoTime() - endNanos;
+      }
+    }
+  }
+}
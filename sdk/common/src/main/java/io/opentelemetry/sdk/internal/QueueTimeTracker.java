@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how long the items of a queue with a single consumer wait before being exported in a
+ * batch.
+ *
+ * <p>Instead of timestamping every item, only the time the oldest item still in the queue was added
+ * is kept. It is set by the first item added after the consumer drained the queue, so adding items
+ * usually only reads it. The queue time of a batch is then the time its oldest item waited, which
+ * is approximate when items are added while the consumer drains the queue.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class QueueTimeTracker {
+
+  private static final long NONE = Long.MIN_VALUE;
+
+  private final Clock clock;
+  private final AtomicLong oldestAddedNanos = new AtomicLong(NONE);
+
+  // Only accessed by the consumer
+  private long drainAddedNanos = NONE;
+  private long batchAddedNanos = NONE;
+
+  /** Creates a new {@link QueueTimeTracker} which measures time with the {@code clock}. */
+  public QueueTimeTracker(Clock clock) {
+    this.clock = clock;
+  }
+
+  /** Called by producers before adding an item to the queue. */
+  public void beforeAdd() {
+    if (oldestAddedNanos.get() == NONE) {
+      oldestAddedNanos.compareAndSet(NONE, clock.nanoTime());
+    }
+  }
+
+  /** Called by the consumer before taking items from the queue. */
+  public void startDrain() {
+    drainAddedNanos = oldestAddedNanos.getAndSet(NONE);
+  }
+
+  /**
+   * Called by the consumer after taking items from the queue into the current batch.
+   *
+   * @param batchEmpty whether the current batch is empty after taking items
+   * @param queueEmpty whether the queue is empty after taking items
+   */
+  public void endDrain(boolean batchEmpty, boolean queueEmpty) {
+    long addedNanos = drainAddedNanos;
+    drainAddedNanos = NONE;
+    if (addedNanos != NONE && (batchEmpty || !queueEmpty)) {
+      // Items added no earlier are still queued, or about to be
+      oldestAddedNanos.compareAndSet(NONE, addedNanos);
+    }
+    if (!batchEmpty && batchAddedNanos == NONE) {
+      batchAddedNanos = addedNanos != NONE ? addedNanos : clock.nanoTime();
+    }
+  }
+
+  /**
+   * Returns how long the oldest item of the current batch waited, in nanoseconds, and starts a new
+   * batch. Called by the consumer when exporting the current batch.
+   */
+  public long exportBatch() {
+    long addedNanos = batchAddedNanos;
+    batchAddedNanos = NONE;
+    return addedNanos == NONE ? 0 : Math.max(0, clock.nanoTime() - addedNanos);
+  }
+}
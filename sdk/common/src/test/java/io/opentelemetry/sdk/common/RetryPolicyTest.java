@@ -22,6 +22,7 @@ public class RetryPolicyTest {
     assertThat(retryPolicy.getInitialBackoff()).isEqualTo(Duration.ofSeconds(1));
     assertThat(retryPolicy.getMaxBackoff()).isEqualTo(Duration.ofSeconds(5));
     assertThat(retryPolicy.getBackoffMultiplier()).isEqualTo(1.5);
+    assertThat(retryPolicy.getMaxRetriesPerSecond()).isEqualTo(10);
 
     assertThat(RetryPolicy.getDefault()).isEqualTo(retryPolicy);
   }
@@ -34,12 +35,14 @@ public class RetryPolicyTest {
             .setInitialBackoff(Duration.ofMillis(2))
             .setMaxBackoff(Duration.ofSeconds(1))
             .setBackoffMultiplier(1.1)
+            .setMaxRetriesPerSecond(2.5)
             .build();
 
     assertThat(retryPolicy.getMaxAttempts()).isEqualTo(2);
     assertThat(retryPolicy.getInitialBackoff()).isEqualTo(Duration.ofMillis(2));
     assertThat(retryPolicy.getMaxBackoff()).isEqualTo(Duration.ofSeconds(1));
     assertThat(retryPolicy.getBackoffMultiplier()).isEqualTo(1.1);
+    assertThat(retryPolicy.getMaxRetriesPerSecond()).isEqualTo(2.5);
   }
 
   @Test
@@ -58,5 +61,7 @@ public class RetryPolicyTest {
         .isInstanceOf(IllegalArgumentException.class);
     assertThatThrownBy(() -> RetryPolicy.builder().setBackoffMultiplier(0).build())
         .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RetryPolicy.builder().setMaxRetriesPerSecond(0).build())
+        .isInstanceOf(IllegalArgumentException.class);
   }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+class AttributesArrayTest {
+
+  @Test
+  void put() {
+    AttributesArray attributes = AttributesArray.create(2, 3);
+    attributes.put(longKey("one"), 1L);
+    attributes.put(stringKey("two"), "two");
+    attributes.put(longKey("one"), 11L);
+    attributes.put(longKey("three"), 3L);
+
+    assertThat(attributes.size()).isEqualTo(2);
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(4);
+    assertThat(attributes.get(longKey("one"))).isEqualTo(11L);
+    assertThat(attributes.get(stringKey("two"))).isEqualTo("two");
+    assertThat(attributes.get(longKey("three"))).isNull();
+    assertThat(attributes.asMap())
+        .containsExactly(entry(longKey("one"), 11L), entry(stringKey("two"), "two"));
+    assertThat(attributes.immutableCopy())
+        .isEqualTo(Attributes.of(longKey("one"), 11L, stringKey("two"), "two"));
+  }
+
+  @Test
+  void put_lengthLimit() {
+    AttributesArray attributes = AttributesArray.create(2, 3);
+    attributes.put(stringKey("string"), "abcdef");
+
+    assertThat(attributes.get(stringKey("string"))).isEqualTo("abc");
+  }
+
+  @Test
+  void put_grows() {
+    AttributesArray attributes = AttributesArray.create(128, Integer.MAX_VALUE);
+    for (long i = 0; i < 100; i++) {
+      attributes.put(longKey("key" + i), i);
+    }
+
+    assertThat(attributes.size()).isEqualTo(100);
+    for (long i = 0; i < 100; i++) {
+      assertThat(attributes.get(longKey("key" + i))).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void clear() {
+    AttributesArray attributes = AttributesArray.create(1, Integer.MAX_VALUE);
+    attributes.put(longKey("one"), 1L);
+    attributes.put(longKey("two"), 2L);
+
+    attributes.clear(2, 1);
+    assertThat(attributes.isEmpty()).isTrue();
+    assertThat(attributes.getTotalAddedValues()).isEqualTo(0);
+    assertThat(attributes.get(longKey("one"))).isNull();
+
+    attributes.put(longKey("one"), 1L);
+    attributes.put(stringKey("two"), "two");
+    assertThat(attributes.asMap())
+        .containsExactly(entry(longKey("one"), 1L), entry(stringKey("two"), "t"));
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    AttributesArray attributes = AttributesArray.create(128, Integer.MAX_VALUE);
+    attributes.put(longKey("one"), 1L);
+    attributes.put(stringKey("two"), "two");
+    AttributesArray reordered = AttributesArray.create(128, Integer.MAX_VALUE);
+    reordered.put(stringKey("two"), "two");
+    reordered.put(longKey("one"), 1L);
+
+    assertThat(attributes).isEqualTo(reordered).hasSameHashCodeAs(reordered);
+    assertThat(attributes).isNotEqualTo(attributes.immutableCopy());
+
+    reordered.put(longKey("one"), 11L);
+    assertThat(attributes).isNotEqualTo(reordered);
+    reordered.clear(128, Integer.MAX_VALUE);
+    assertThat(attributes).isNotEqualTo(reordered);
+  }
+}
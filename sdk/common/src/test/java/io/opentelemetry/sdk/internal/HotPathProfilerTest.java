@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import org.junit.jupiter.api.Test;
+
+class HotPathProfilerTest {
+
+  @Test
+  void disabledByDefault() {
+    assertThat(HotPathProfiler.isEnabled()).isFalse();
+    assertThat(HotPathProfiler.start()).isFalse();
+
+    MeterProvider meterProvider = mock(MeterProvider.class);
+    HotPathProfiler.setMeterProvider(meterProvider);
+    verifyNoInteractions(meterProvider);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class QueueTimeTrackerTest {
+
+  private final TestClock clock = TestClock.create();
+  private final QueueTimeTracker tracker = new QueueTimeTracker(clock);
+
+  @Test
+  void queueTimeOfOldestItem() {
+    tracker.beforeAdd();
+    clock.advance(Duration.ofSeconds(1));
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+    clock.advance(Duration.ofSeconds(1));
+
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofSeconds(2).toNanos());
+  }
+
+  @Test
+  void idleTimeNotCounted() {
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+    assertThat(tracker.exportBatch()).isZero();
+
+    clock.advance(Duration.ofSeconds(10));
+    tracker.beforeAdd();
+    clock.advance(Duration.ofMillis(500));
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofMillis(500).toNanos());
+  }
+
+  @Test
+  void itemsLeftInQueue() {
+    tracker.beforeAdd();
+    clock.advance(Duration.ofSeconds(1));
+    // The batch is full before the queue is drained
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ false);
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofSeconds(1).toNanos());
+
+    clock.advance(Duration.ofSeconds(1));
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofSeconds(2).toNanos());
+  }
+
+  @Test
+  void batchFilledByMultipleDrains() {
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+    clock.advance(Duration.ofSeconds(1));
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofSeconds(1).toNanos());
+  }
+
+  @Test
+  void nothingDrained() {
+    // An item which isn't in the queue yet when it's drained keeps its time
+    tracker.beforeAdd();
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ true, /* queueEmpty= */ true);
+    clock.advance(Duration.ofSeconds(1));
+    tracker.startDrain();
+    tracker.endDrain(/* batchEmpty= */ false, /* queueEmpty= */ true);
+
+    assertThat(tracker.exportBatch()).isEqualTo(Duration.ofSeconds(1).toNanos());
+  }
+
+  @Test
+  void emptyBatch() {
+    assertThat(tracker.exportBatch()).isZero();
+  }
+}
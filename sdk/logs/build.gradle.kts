@@ -20,4 +20,12 @@ dependencies {
 
   testImplementation("org.awaitility:awaitility")
   testImplementation("com.google.guava:guava")
+
+  jmh(project(":sdk:metrics"))
+  jmh(project(":sdk:testing")) {
+    // JMH doesn't handle dependencies that are duplicated between the main and jmh
+    // configurations properly, but luckily here it's simple enough to just exclude transitive
+    // dependencies.
+    isTransitive = false
+  }
 }
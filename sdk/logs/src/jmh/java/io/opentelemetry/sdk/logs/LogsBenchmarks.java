@@ -7,7 +7,19 @@ package io.opentelemetry.sdk.logs;
 
 import static java.util.stream.Collectors.joining;
 
+import static io.opentelemetry.sdk.internal.ScopeConfiguratorBuilder.nameEquals;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.incubator.logs.AnyValue;
+import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
+import io.opentelemetry.api.incubator.logs.ExtendedLogger;
+import io.opentelemetry.api.incubator.logs.KeyAnyValue;
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.logs.internal.LoggerConfig;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -19,12 +31,18 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * Benchmarks of emitting logs. The gc profiler, which is enabled for all benchmarks, reports the
+ * bytes allocated for each emitted log as {@code gc.alloc.rate.norm}.
+ */
 @BenchmarkMode({Mode.AverageTime})
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 @Warmup(iterations = 5, time = 1)
@@ -33,6 +51,10 @@ import org.openjdk.jmh.annotations.Warmup;
 public class LogsBenchmarks {
 
   private static final Random RANDOM = new Random();
+  private static final AttributeKey<String> THREAD_NAME = AttributeKey.stringKey("thread.name");
+  private static final AttributeKey<Long> CODE_LINE = AttributeKey.longKey("code.lineno");
+  private static final AttributeKey<Boolean> EXCEPTION_ESCAPED =
+      AttributeKey.booleanKey("exception.escaped");
 
   @State(Scope.Benchmark)
   public static class BenchmarkState {
@@ -60,6 +82,111 @@ public class LogsBenchmarks {
     }
   }
 
+  @State(Scope.Benchmark)
+  public static class BatchState {
+
+    @Param({"IMMUTABLE_DATA", "REUSABLE_DATA"})
+    private MemoryMode memoryMode;
+
+    private SdkLoggerProvider sdk;
+    private Logger logger;
+
+    @Setup
+    public void setup() {
+      sdk =
+          SdkLoggerProvider.builder()
+              .setMemoryMode(memoryMode)
+              .addLogRecordProcessor(
+                  BatchLogRecordProcessor.builder(LogRecordExporter.composite()).build())
+              .build();
+      logger = sdk.get("benchmarkLogger");
+    }
+
+    @TearDown
+    public void tearDown() {
+      sdk.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class MinimumSeverityState {
+
+    private SdkLoggerProvider sdk;
+    private ExtendedLogger logger;
+
+    @Setup
+    public void setup() {
+      sdk =
+          SdkLoggerProvider.builder()
+              .addLoggerConfiguratorCondition(
+                  nameEquals("benchmarkLogger"), LoggerConfig.withMinimumSeverity(Severity.INFO))
+              .addLogRecordProcessor(
+                  BatchLogRecordProcessor.builder(LogRecordExporter.composite()).build())
+              .build();
+      logger = (ExtendedLogger) sdk.get("benchmarkLogger");
+    }
+
+    @TearDown
+    public void tearDown() {
+      sdk.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Emits a log below the minimum severity of its logger without checking {@link
+   * ExtendedLogger#isEnabled(Severity)} first. The log record is dropped on emit, after its builder
+   * has been populated.
+   */
+  @Benchmark
+  @Threads(1)
+  public void emitDisabledSeverity_unguarded(MinimumSeverityState state) {
+    state
+        .logger
+        .logRecordBuilder()
+        .setBody("log message body")
+        .setSeverity(Severity.DEBUG)
+        .setAttribute(THREAD_NAME, "main")
+        .setAttribute(CODE_LINE, 42L)
+        .emit();
+  }
+
+  /**
+   * Emits a log below the minimum severity of its logger, checking {@link
+   * ExtendedLogger#isEnabled(Severity)} first as a log appender would, so no builder is created.
+   */
+  @Benchmark
+  @Threads(1)
+  public void emitDisabledSeverity_guarded(MinimumSeverityState state) {
+    if (state.logger.isEnabled(Severity.DEBUG)) {
+      state
+          .logger
+          .logRecordBuilder()
+          .setBody("log message body")
+          .setSeverity(Severity.DEBUG)
+          .setAttribute(THREAD_NAME, "main")
+          .setAttribute(CODE_LINE, 42L)
+          .emit();
+    }
+  }
+
+  /**
+   * Emits logs with attributes through a {@link BatchLogRecordProcessor}, which is where records
+   * are reused with {@link MemoryMode#REUSABLE_DATA}.
+   */
+  @Benchmark
+  @Threads(1)
+  public void emitLogWithAttributes(BatchState batchState) {
+    batchState
+        .logger
+        .logRecordBuilder()
+        .setBody("log message body")
+        .setSeverity(Severity.INFO)
+        .setAttribute(THREAD_NAME, "main")
+        .setAttribute(CODE_LINE, 42L)
+        .setAttribute(EXCEPTION_ESCAPED, false)
+        .emit();
+  }
+
   /**
    * Simulates the behavior of a log appender implementation, which has to bridge logs from logging
    * frameworks (Log4j, Logback, etc). The name of the logger being bridged is used as the
@@ -78,4 +205,40 @@ public class LogsBenchmarks {
         .setSeverity(Severity.DEBUG)
         .emit();
   }
+
+  /** Emits a log with a structured body built as an {@link AnyValue} tree. */
+  @Benchmark
+  @Threads(1)
+  public void emitAnyValueBody(BenchmarkState benchmarkState) {
+    ((ExtendedLogRecordBuilder) benchmarkState.sdk.get("benchmarkLogger").logRecordBuilder())
+        .setBody(
+            AnyValue.of(
+                KeyAnyValue.of("event", AnyValue.of("order.placed")),
+                KeyAnyValue.of("amount", AnyValue.of(42.5)),
+                KeyAnyValue.of("count", AnyValue.of(3L)),
+                KeyAnyValue.of("items", AnyValue.of(AnyValue.of("sku-1"), AnyValue.of("sku-2")))))
+        .setSeverity(Severity.INFO)
+        .emit();
+  }
+
+  /**
+   * Emits a log with the same structured body as {@link #emitAnyValueBody(BenchmarkState)},
+   * written with a structured body writer into its protobuf encoding.
+   */
+  @Benchmark
+  @Threads(1)
+  public void emitStructuredBody(BenchmarkState benchmarkState) {
+    ((ExtendedLogRecordBuilder) benchmarkState.sdk.get("benchmarkLogger").logRecordBuilder())
+        .setStructuredBody()
+        .put("event", "order.placed")
+        .put("amount", 42.5)
+        .put("count", 3L)
+        .startArray("items")
+        .add("sku-1")
+        .add("sku-2")
+        .end()
+        .endBody()
+        .setSeverity(Severity.INFO)
+        .emit();
+  }
 }
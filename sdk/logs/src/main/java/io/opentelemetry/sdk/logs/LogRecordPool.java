@@ -0,0 +1,45 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of {@link SdkPooledLogRecord}s. A new record is allocated when the pool is empty,
+ * and released records are dropped when it is full, so records which are never released are
+ * simply garbage collected.
+ */
+final class LogRecordPool {
+
+  // Visible for testing
+  static final int DEFAULT_CAPACITY = 2048;
+
+  // TODO: use JcTools.newFixedSizeQueue(..)
+  private final ArrayBlockingQueue<SdkPooledLogRecord> records;
+
+  LogRecordPool(int capacity) {
+    this.records = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /** Returns a cleared record with a single reference, held by the caller. */
+  SdkPooledLogRecord acquire(LogLimits logLimits) {
+    SdkPooledLogRecord record = records.poll();
+    if (record == null) {
+      record = new SdkPooledLogRecord(this);
+    }
+    record.reset(logLimits);
+    return record;
+  }
+
+  void release(SdkPooledLogRecord record) {
+    records.offer(record);
+  }
+
+  // Visible for testing
+  int size() {
+    return records.size();
+  }
+}
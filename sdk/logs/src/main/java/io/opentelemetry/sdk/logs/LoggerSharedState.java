@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.logs;
 
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -21,17 +22,23 @@ final class LoggerSharedState {
   private final Supplier<LogLimits> logLimitsSupplier;
   private final LogRecordProcessor logRecordProcessor;
   private final Clock clock;
+  @Nullable private final LogRecordPool logRecordPool;
   @Nullable private volatile CompletableResultCode shutdownResult = null;
 
   LoggerSharedState(
       Resource resource,
       Supplier<LogLimits> logLimitsSupplier,
       LogRecordProcessor logRecordProcessor,
-      Clock clock) {
+      Clock clock,
+      MemoryMode memoryMode) {
     this.resource = resource;
     this.logLimitsSupplier = logLimitsSupplier;
     this.logRecordProcessor = logRecordProcessor;
     this.clock = clock;
+    this.logRecordPool =
+        memoryMode == MemoryMode.REUSABLE_DATA
+            ? new LogRecordPool(LogRecordPool.DEFAULT_CAPACITY)
+            : null;
   }
 
   Resource getResource() {
@@ -50,6 +57,15 @@ final class LoggerSharedState {
     return clock;
   }
 
+  /**
+   * Returns the pool log records are taken from, or {@code null} if log records aren't reused
+   * because the {@link MemoryMode} is {@link MemoryMode#IMMUTABLE_DATA}.
+   */
+  @Nullable
+  LogRecordPool getLogRecordPool() {
+    return logRecordPool;
+  }
+
   boolean hasBeenShutdown() {
     return shutdownResult != null;
   }
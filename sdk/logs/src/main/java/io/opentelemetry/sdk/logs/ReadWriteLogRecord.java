@@ -7,6 +7,10 @@ package io.opentelemetry.sdk.logs;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.data.Body;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 
 /**
@@ -47,7 +51,44 @@ public interface ReadWriteLogRecord {
   /** Return an immutable {@link LogRecordData} instance representing this log record. */
   LogRecordData toLogRecordData();
 
-  // TODO: add additional log record accessors. Currently, all fields can be accessed indirectly via
-  // #toLogRecordData() at the expense of additional allocations.
+  /**
+   * Returns the instrumentation scope that generated this log record.
+   *
+   * @since 1.41.0
+   */
+  default InstrumentationScopeInfo getInstrumentationScopeInfo() {
+    return toLogRecordData().getInstrumentationScopeInfo();
+  }
+
+  /**
+   * Returns the severity of this log record.
+   *
+   * @since 1.41.0
+   */
+  default Severity getSeverity() {
+    return toLogRecordData().getSeverity();
+  }
+
+  /**
+   * Returns the body of this log record.
+   *
+   * @since 1.41.0
+   */
+  default Body getBody() {
+    return toLogRecordData().getBody();
+  }
+
+  /**
+   * Returns the span context of this log record, which is {@link SpanContext#getInvalid()} if the
+   * log record isn't associated with a span.
+   *
+   * @since 1.41.0
+   */
+  default SpanContext getSpanContext() {
+    return toLogRecordData().getSpanContext();
+  }
+
+  // TODO: add additional log record accessors. Currently, other fields can be accessed indirectly
+  // via #toLogRecordData() at the expense of additional allocations.
 
 }
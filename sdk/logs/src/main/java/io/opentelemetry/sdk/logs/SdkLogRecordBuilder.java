@@ -8,12 +8,14 @@ package io.opentelemetry.sdk.logs;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.incubator.logs.AnyValue;
 import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
+import io.opentelemetry.api.incubator.logs.StructuredBodyWriter;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.AttributesMap;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import io.opentelemetry.sdk.logs.data.Body;
 import io.opentelemetry.sdk.logs.internal.AnyValueBody;
 import java.time.Instant;
@@ -27,19 +29,34 @@ final class SdkLogRecordBuilder implements ExtendedLogRecordBuilder {
   private final LogLimits logLimits;
 
   private final InstrumentationScopeInfo instrumentationScopeInfo;
+  private final int minimumSeverityNumber;
   private long timestampEpochNanos;
   private long observedTimestampEpochNanos;
   @Nullable private Context context;
   private Severity severity = Severity.UNDEFINED_SEVERITY_NUMBER;
   @Nullable private String severityText;
   private Body body = Body.empty();
+  @Nullable private SdkStructuredBodyWriter structuredBodyWriter;
   @Nullable private AttributesMap attributes;
+  // Only used with MemoryMode.REUSABLE_DATA, attributes are then set on the record directly
+  @Nullable private SdkPooledLogRecord pooledRecord;
 
   SdkLogRecordBuilder(
       LoggerSharedState loggerSharedState, InstrumentationScopeInfo instrumentationScopeInfo) {
+    this(
+        loggerSharedState,
+        instrumentationScopeInfo,
+        Severity.UNDEFINED_SEVERITY_NUMBER.getSeverityNumber());
+  }
+
+  SdkLogRecordBuilder(
+      LoggerSharedState loggerSharedState,
+      InstrumentationScopeInfo instrumentationScopeInfo,
+      int minimumSeverityNumber) {
     this.loggerSharedState = loggerSharedState;
     this.logLimits = loggerSharedState.getLogLimits();
     this.instrumentationScopeInfo = instrumentationScopeInfo;
+    this.minimumSeverityNumber = minimumSeverityNumber;
   }
 
   @Override
@@ -88,13 +105,25 @@ final class SdkLogRecordBuilder implements ExtendedLogRecordBuilder {
 
   @Override
   public SdkLogRecordBuilder setBody(String body) {
-    this.body = AnyValueBody.create(AnyValue.of(body));
-    return this;
+    return setBody(AnyValueBody.create(AnyValue.of(body)));
   }
 
   @Override
   public LogRecordBuilder setBody(AnyValue<?> value) {
-    this.body = AnyValueBody.create(value);
+    return setBody(AnyValueBody.create(value));
+  }
+
+  @Override
+  public StructuredBodyWriter setStructuredBody() {
+    SdkStructuredBodyWriter structuredBodyWriter = new SdkStructuredBodyWriter(this);
+    this.structuredBodyWriter = structuredBodyWriter;
+    return structuredBodyWriter;
+  }
+
+  /** Sets the body, replacing any body which is still being written by a structured body writer. */
+  SdkLogRecordBuilder setBody(Body body) {
+    this.body = body;
+    this.structuredBodyWriter = null;
     return this;
   }
 
@@ -103,6 +132,14 @@ final class SdkLogRecordBuilder implements ExtendedLogRecordBuilder {
     if (key == null || key.getKey().isEmpty() || value == null) {
       return this;
     }
+    LogRecordPool logRecordPool = loggerSharedState.getLogRecordPool();
+    if (logRecordPool != null) {
+      if (pooledRecord == null) {
+        pooledRecord = logRecordPool.acquire(logLimits);
+      }
+      pooledRecord.setAttribute(key, value);
+      return this;
+    }
     if (this.attributes == null) {
       this.attributes =
           AttributesMap.create(
@@ -114,14 +151,58 @@ final class SdkLogRecordBuilder implements ExtendedLogRecordBuilder {
 
   @Override
   public void emit() {
-    if (loggerSharedState.hasBeenShutdown()) {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        doEmit();
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.LOG_EMIT);
+      }
       return;
     }
+    doEmit();
+  }
+
+  private void doEmit() {
+    // Drop logs below the minimum severity before reading the context, clock or building a record
+    if (loggerSharedState.hasBeenShutdown()
+        || !SdkLogger.isSeverityEnabled(severity, minimumSeverityNumber)) {
+      if (pooledRecord != null) {
+        pooledRecord.release();
+        pooledRecord = null;
+      }
+      return;
+    }
+    if (structuredBodyWriter != null) {
+      // The body wasn't ended explicitly
+      structuredBodyWriter.endBody();
+    }
     Context context = this.context == null ? Context.current() : this.context;
     long observedTimestampEpochNanos =
         this.observedTimestampEpochNanos == 0
             ? this.loggerSharedState.getClock().now()
             : this.observedTimestampEpochNanos;
+    LogRecordPool logRecordPool = loggerSharedState.getLogRecordPool();
+    if (logRecordPool != null) {
+      SdkPooledLogRecord record =
+          pooledRecord == null ? logRecordPool.acquire(logLimits) : pooledRecord;
+      pooledRecord = null;
+      record.init(
+          loggerSharedState.getResource(),
+          instrumentationScopeInfo,
+          timestampEpochNanos,
+          observedTimestampEpochNanos,
+          Span.fromContext(context).getSpanContext(),
+          severity,
+          severityText,
+          body);
+      try {
+        loggerSharedState.getLogRecordProcessor().onEmit(context, record);
+      } finally {
+        // Processors which keep the record have retained it
+        record.release();
+      }
+      return;
+    }
     loggerSharedState
         .getLogRecordProcessor()
         .onEmit(
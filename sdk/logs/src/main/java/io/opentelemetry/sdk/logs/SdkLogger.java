@@ -9,6 +9,7 @@ import io.opentelemetry.api.incubator.logs.ExtendedLogger;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.logs.internal.LoggerConfig;
 
@@ -20,6 +21,7 @@ final class SdkLogger implements ExtendedLogger {
   private final LoggerSharedState loggerSharedState;
   private final InstrumentationScopeInfo instrumentationScopeInfo;
   private final boolean loggerEnabled;
+  private final int minimumSeverityNumber;
 
   SdkLogger(
       LoggerSharedState loggerSharedState,
@@ -28,12 +30,14 @@ final class SdkLogger implements ExtendedLogger {
     this.loggerSharedState = loggerSharedState;
     this.instrumentationScopeInfo = instrumentationScopeInfo;
     this.loggerEnabled = loggerConfig.isEnabled();
+    this.minimumSeverityNumber = loggerConfig.getMinimumSeverity().getSeverityNumber();
   }
 
   @Override
   public LogRecordBuilder logRecordBuilder() {
     if (loggerEnabled) {
-      return new SdkLogRecordBuilder(loggerSharedState, instrumentationScopeInfo);
+      return new SdkLogRecordBuilder(
+          loggerSharedState, instrumentationScopeInfo, minimumSeverityNumber);
     }
     return NOOP_LOGGER.logRecordBuilder();
   }
@@ -47,4 +51,19 @@ final class SdkLogger implements ExtendedLogger {
   public boolean isEnabled() {
     return loggerEnabled;
   }
+
+  @Override
+  public boolean isEnabled(Severity severity) {
+    return loggerEnabled && isSeverityEnabled(severity, minimumSeverityNumber);
+  }
+
+  /**
+   * Returns {@code true} if log records with the {@code severity} pass the {@code
+   * minimumSeverityNumber}. Log records with an undefined severity always pass.
+   */
+  static boolean isSeverityEnabled(Severity severity, int minimumSeverityNumber) {
+    int severityNumber = severity.getSeverityNumber();
+    return severityNumber >= minimumSeverityNumber
+        || severityNumber == Severity.UNDEFINED_SEVERITY_NUMBER.getSeverityNumber();
+  }
 }
@@ -12,6 +12,7 @@ import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.ScopeConfigurator;
 import io.opentelemetry.sdk.internal.ScopeConfiguratorBuilder;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
@@ -35,6 +36,7 @@ public final class SdkLoggerProviderBuilder {
   private Resource resource = Resource.getDefault();
   private Supplier<LogLimits> logLimitsSupplier = LogLimits::getDefault;
   private Clock clock = Clock.getDefault();
+  private MemoryMode memoryMode = MemoryMode.IMMUTABLE_DATA;
   private ScopeConfiguratorBuilder<LoggerConfig> loggerConfiguratorBuilder =
       LoggerConfig.configuratorBuilder();
 
@@ -108,6 +110,27 @@ public final class SdkLoggerProviderBuilder {
     return this;
   }
 
+  /**
+   * Sets the {@link MemoryMode}. If unset, defaults to {@link MemoryMode#IMMUTABLE_DATA}.
+   *
+   * <p>When memory mode is {@link MemoryMode#REUSABLE_DATA}, log records are taken from a pool and
+   * store their attributes in a reusable array instead of being allocated for each log. This
+   * requires that {@link LogRecordProcessor}s don't keep the {@link ReadWriteLogRecord} after
+   * {@link LogRecordProcessor#onEmit} returns. Records obtained with {@link
+   * ReadWriteLogRecord#toLogRecordData()} are copies which can be kept. {@link
+   * io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor} exports the records without copying
+   * them to {@link LogRecordData} if its exporter also has the {@link MemoryMode#REUSABLE_DATA}
+   * {@linkplain io.opentelemetry.sdk.logs.export.LogRecordExporter#getMemoryMode() memory mode},
+   * such as an OTLP exporter configured with it, and copies them otherwise.
+   *
+   * @since 1.41.0
+   */
+  public SdkLoggerProviderBuilder setMemoryMode(MemoryMode memoryMode) {
+    requireNonNull(memoryMode, "memoryMode");
+    this.memoryMode = memoryMode;
+    return this;
+  }
+
   /**
    * Set the logger configurator, which computes {@link LoggerConfig} for each {@link
    * InstrumentationScopeInfo}.
@@ -156,6 +179,11 @@ public final class SdkLoggerProviderBuilder {
    */
   public SdkLoggerProvider build() {
     return new SdkLoggerProvider(
-        resource, logLimitsSupplier, logRecordProcessors, clock, loggerConfiguratorBuilder.build());
+        resource,
+        logLimitsSupplier,
+        logRecordProcessors,
+        clock,
+        loggerConfiguratorBuilder.build(),
+        memoryMode);
   }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.AttributesArray;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.internal.PooledLogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link ReadWriteLogRecord} which is reused from a {@link LogRecordPool}. Its attributes are
+ * stored in an {@link AttributesArray} which is cleared, not reallocated, when the record is
+ * reused.
+ */
+@ThreadSafe
+final class SdkPooledLogRecord implements PooledLogRecord {
+
+  private final LogRecordPool pool;
+  private final AtomicInteger references = new AtomicInteger();
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final AttributesArray attributes =
+      AttributesArray.create(
+          LogLimits.getDefault().getMaxNumberOfAttributes(),
+          LogLimits.getDefault().getMaxAttributeValueLength());
+
+  private Resource resource = Resource.empty();
+  private InstrumentationScopeInfo instrumentationScopeInfo = InstrumentationScopeInfo.empty();
+  private long timestampEpochNanos;
+  private long observedTimestampEpochNanos;
+  private SpanContext spanContext = SpanContext.getInvalid();
+  private Severity severity = Severity.UNDEFINED_SEVERITY_NUMBER;
+  @Nullable private String severityText;
+  private Body body = Body.empty();
+
+  SdkPooledLogRecord(LogRecordPool pool) {
+    this.pool = pool;
+  }
+
+  /** Clears the record for reuse, applying the {@code logLimits} to its attributes. */
+  void reset(LogLimits logLimits) {
+    references.set(1);
+    synchronized (lock) {
+      attributes.clear(
+          logLimits.getMaxNumberOfAttributes(), logLimits.getMaxAttributeValueLength());
+    }
+    // Drop references to the previous log so they can be garbage collected
+    resource = Resource.empty();
+    instrumentationScopeInfo = InstrumentationScopeInfo.empty();
+    spanContext = SpanContext.getInvalid();
+    severityText = null;
+    body = Body.empty();
+  }
+
+  /** Sets the fields of the record, except for its attributes. */
+  void init(
+      Resource resource,
+      InstrumentationScopeInfo instrumentationScopeInfo,
+      long timestampEpochNanos,
+      long observedTimestampEpochNanos,
+      SpanContext spanContext,
+      Severity severity,
+      @Nullable String severityText,
+      Body body) {
+    this.resource = resource;
+    this.instrumentationScopeInfo = instrumentationScopeInfo;
+    this.timestampEpochNanos = timestampEpochNanos;
+    this.observedTimestampEpochNanos = observedTimestampEpochNanos;
+    this.spanContext = spanContext;
+    this.severity = severity;
+    this.severityText = severityText;
+    this.body = body;
+  }
+
+  @Override
+  public void retain() {
+    references.incrementAndGet();
+  }
+
+  @Override
+  public void release() {
+    if (references.decrementAndGet() == 0) {
+      pool.release(this);
+    }
+  }
+
+  @Override
+  public <T> ReadWriteLogRecord setAttribute(AttributeKey<T> key, T value) {
+    if (key == null || key.getKey().isEmpty() || value == null) {
+      return this;
+    }
+    synchronized (lock) {
+      attributes.put(key, value);
+    }
+    return this;
+  }
+
+  @Override
+  public LogRecordData toLogRecordData() {
+    synchronized (lock) {
+      return SdkLogRecordData.create(
+          resource,
+          instrumentationScopeInfo,
+          timestampEpochNanos,
+          observedTimestampEpochNanos,
+          spanContext,
+          severity,
+          severityText,
+          body,
+          attributes.isEmpty() ? Attributes.empty() : attributes.immutableCopy(),
+          attributes.getTotalAddedValues());
+    }
+  }
+
+  @Override
+  public Resource getResource() {
+    return resource;
+  }
+
+  @Override
+  public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+    return instrumentationScopeInfo;
+  }
+
+  @Override
+  public long getTimestampEpochNanos() {
+    return timestampEpochNanos;
+  }
+
+  @Override
+  public long getObservedTimestampEpochNanos() {
+    return observedTimestampEpochNanos;
+  }
+
+  @Override
+  public SpanContext getSpanContext() {
+    return spanContext;
+  }
+
+  @Override
+  public Severity getSeverity() {
+    return severity;
+  }
+
+  @Nullable
+  @Override
+  public String getSeverityText() {
+    return severityText;
+  }
+
+  @Override
+  public Body getBody() {
+    return body;
+  }
+
+  /**
+   * Returns the live attributes of this record, without copying them, so that they can be exported
+   * with no allocation. They are only valid while a reference to the record is held, that is during
+   * {@link LogRecordProcessor#onEmit} or until a processor which {@linkplain #retain() retained}
+   * the record releases it, and must not be read concurrently with {@link #setAttribute}. Use
+   * {@link #toLogRecordData()} for attributes which can be kept.
+   */
+  @Override
+  @SuppressWarnings("GuardedBy") // Attributes are read as is, see above
+  public Attributes getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public int getTotalAttributeCount() {
+    synchronized (lock) {
+      return attributes.getTotalAddedValues();
+    }
+  }
+}
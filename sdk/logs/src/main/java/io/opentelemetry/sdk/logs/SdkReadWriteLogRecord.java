@@ -100,6 +100,26 @@ class SdkReadWriteLogRecord implements ReadWriteLogRecord {
     return this;
   }
 
+  @Override
+  public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+    return instrumentationScopeInfo;
+  }
+
+  @Override
+  public Severity getSeverity() {
+    return severity;
+  }
+
+  @Override
+  public Body getBody() {
+    return body;
+  }
+
+  @Override
+  public SpanContext getSpanContext() {
+    return spanContext;
+  }
+
   private Attributes getImmutableAttributes() {
     synchronized (lock) {
       if (attributes == null || attributes.isEmpty()) {
@@ -0,0 +1,447 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs;
+
+import io.opentelemetry.api.incubator.logs.StructuredBodyWriter;
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
+import java.util.Arrays;
+
+/**
+ * SDK implementation of {@link StructuredBodyWriter}, which encodes fields as they are written in
+ * the protobuf binary format of the OTLP {@code AnyValue} message, instead of building an {@link
+ * io.opentelemetry.api.incubator.logs.AnyValue} tree. Fields are encoded into a buffer which is
+ * reused by the thread, and the body is a single right-sized copy of it.
+ *
+ * <p>Nested messages are length-prefixed. As their length is only known once they end, space for
+ * the largest length prefix is reserved when they start, and the message is moved back over the
+ * unused space when they end.
+ */
+final class SdkStructuredBodyWriter implements StructuredBodyWriter {
+
+  // Tags of the OTLP AnyValue, ArrayValue, KeyValueList and KeyValue fields, with their wire type
+  private static final byte STRING_VALUE_TAG = (1 << 3) | 2;
+  private static final byte BOOL_VALUE_TAG = (2 << 3);
+  private static final byte INT_VALUE_TAG = (3 << 3);
+  private static final byte DOUBLE_VALUE_TAG = (4 << 3) | 1;
+  private static final byte ARRAY_VALUE_TAG = (5 << 3) | 2;
+  private static final byte KVLIST_VALUE_TAG = (6 << 3) | 2;
+  private static final byte BYTES_VALUE_TAG = (7 << 3) | 2;
+  private static final byte VALUES_TAG = (1 << 3) | 2;
+  private static final byte KEY_TAG = (1 << 3) | 2;
+  private static final byte VALUE_TAG = (2 << 3) | 2;
+
+  private static final int RESERVED_LENGTH_SIZE = 5;
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  // Larger buffers aren't kept for reuse so a single large body doesn't pin memory
+  private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+  private static final ThreadLocal<byte[]> THREAD_LOCAL_BUFFER = new ThreadLocal<>();
+
+  private final SdkLogRecordBuilder logRecordBuilder;
+  private byte[] buffer;
+  private int position;
+
+  // The start of each open length-prefixed message
+  private int[] messageStarts = new int[8];
+  private int messageDepth;
+  // For each open container, whether it is an array and the number of messages it opened
+  private boolean[] containerIsArray = new boolean[4];
+  private int[] containerMessages = new int[4];
+  private int containerDepth;
+  // The number of ignored containers which are open, whose content is ignored too
+  private int ignoredDepth;
+  private boolean ended;
+
+  SdkStructuredBodyWriter(SdkLogRecordBuilder logRecordBuilder) {
+    this.logRecordBuilder = logRecordBuilder;
+    byte[] buffer = THREAD_LOCAL_BUFFER.get();
+    if (buffer == null) {
+      buffer = new byte[INITIAL_BUFFER_SIZE];
+    } else {
+      // Another writer on this thread, e.g. for a log emitted while this one is written, must not
+      // share the buffer
+      THREAD_LOCAL_BUFFER.set(null);
+    }
+    this.buffer = buffer;
+    // The body is a key value list
+    writeByte(KVLIST_VALUE_TAG);
+    startMessage();
+    pushContainer(/* isArray= */ false, 1);
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, String value) {
+    if (value != null && startField(key)) {
+      int length = utf8Length(value);
+      writeFieldHeader(key, 1 + varintSize(length) + length);
+      writeString(STRING_VALUE_TAG, value, length);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, boolean value) {
+    if (startField(key)) {
+      writeFieldHeader(key, 2);
+      writeBoolean(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, long value) {
+    if (startField(key)) {
+      writeFieldHeader(key, 1 + varintSize(value));
+      writeLong(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, double value) {
+    if (startField(key)) {
+      writeFieldHeader(key, 9);
+      writeDouble(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter put(String key, byte[] value) {
+    if (value != null && startField(key)) {
+      writeFieldHeader(key, 1 + varintSize(value.length) + value.length);
+      writeBytes(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter startKeyValueList(String key) {
+    return startContainerField(key, /* isArray= */ false);
+  }
+
+  @Override
+  public StructuredBodyWriter startArray(String key) {
+    return startContainerField(key, /* isArray= */ true);
+  }
+
+  @Override
+  public StructuredBodyWriter add(String value) {
+    if (value != null && startElement()) {
+      int length = utf8Length(value);
+      writeElementHeader(1 + varintSize(length) + length);
+      writeString(STRING_VALUE_TAG, value, length);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter add(boolean value) {
+    if (startElement()) {
+      writeElementHeader(2);
+      writeBoolean(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter add(long value) {
+    if (startElement()) {
+      writeElementHeader(1 + varintSize(value));
+      writeLong(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter add(double value) {
+    if (startElement()) {
+      writeElementHeader(9);
+      writeDouble(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter add(byte[] value) {
+    if (value != null && startElement()) {
+      writeElementHeader(1 + varintSize(value.length) + value.length);
+      writeBytes(value);
+    }
+    return this;
+  }
+
+  @Override
+  public StructuredBodyWriter startKeyValueList() {
+    return startContainerElement(/* isArray= */ false);
+  }
+
+  @Override
+  public StructuredBodyWriter startArray() {
+    return startContainerElement(/* isArray= */ true);
+  }
+
+  @Override
+  public StructuredBodyWriter end() {
+    if (ignoredDepth > 0) {
+      ignoredDepth--;
+    } else if (!ended && containerDepth > 1) {
+      containerDepth--;
+      for (int i = 0; i < containerMessages[containerDepth]; i++) {
+        endMessage();
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public LogRecordBuilder endBody() {
+    if (ended) {
+      return logRecordBuilder;
+    }
+    ignoredDepth = 0;
+    while (messageDepth > 0) {
+      endMessage();
+    }
+    ended = true;
+    logRecordBuilder.setBody(SerializedAnyValueBody.create(Arrays.copyOf(buffer, position)));
+    if (buffer.length <= MAX_REUSED_BUFFER_SIZE) {
+      THREAD_LOCAL_BUFFER.set(buffer);
+    }
+    return logRecordBuilder;
+  }
+
+  private boolean isOpen() {
+    return !ended && ignoredDepth == 0;
+  }
+
+  private boolean startField(String key) {
+    return isOpen() && key != null && !containerIsArray[containerDepth - 1];
+  }
+
+  private boolean startElement() {
+    return isOpen() && containerIsArray[containerDepth - 1];
+  }
+
+  private StructuredBodyWriter startContainerField(String key, boolean isArray) {
+    if (!startField(key)) {
+      ignoreContainer();
+      return this;
+    }
+    // KeyValueList.values, then KeyValue.value, then AnyValue.kvlist_value or array_value
+    writeByte(VALUES_TAG);
+    startMessage();
+    int keyLength = utf8Length(key);
+    writeString(KEY_TAG, key, keyLength);
+    writeByte(VALUE_TAG);
+    startMessage();
+    writeByte(isArray ? ARRAY_VALUE_TAG : KVLIST_VALUE_TAG);
+    startMessage();
+    pushContainer(isArray, 3);
+    return this;
+  }
+
+  private StructuredBodyWriter startContainerElement(boolean isArray) {
+    if (!startElement()) {
+      ignoreContainer();
+      return this;
+    }
+    // ArrayValue.values, then AnyValue.kvlist_value or array_value
+    writeByte(VALUES_TAG);
+    startMessage();
+    writeByte(isArray ? ARRAY_VALUE_TAG : KVLIST_VALUE_TAG);
+    startMessage();
+    pushContainer(isArray, 2);
+    return this;
+  }
+
+  private void ignoreContainer() {
+    if (!ended) {
+      ignoredDepth++;
+    }
+  }
+
+  private void pushContainer(boolean isArray, int messages) {
+    if (containerDepth == containerIsArray.length) {
+      containerIsArray = Arrays.copyOf(containerIsArray, containerDepth * 2);
+      containerMessages = Arrays.copyOf(containerMessages, containerDepth * 2);
+    }
+    containerIsArray[containerDepth] = isArray;
+    containerMessages[containerDepth] = messages;
+    containerDepth++;
+  }
+
+  /** Writes the start of a KeyValue with the {@code key}, up to its AnyValue content. */
+  private void writeFieldHeader(String key, int anyValueSize) {
+    int keyLength = utf8Length(key);
+    int keyValueSize =
+        1 + varintSize(keyLength) + keyLength + 1 + varintSize(anyValueSize) + anyValueSize;
+    writeByte(VALUES_TAG);
+    writeVarint(keyValueSize);
+    writeString(KEY_TAG, key, keyLength);
+    writeByte(VALUE_TAG);
+    writeVarint(anyValueSize);
+  }
+
+  /** Writes the start of an ArrayValue element, up to its AnyValue content. */
+  private void writeElementHeader(int anyValueSize) {
+    writeByte(VALUES_TAG);
+    writeVarint(anyValueSize);
+  }
+
+  private void startMessage() {
+    if (messageDepth == messageStarts.length) {
+      messageStarts = Arrays.copyOf(messageStarts, messageDepth * 2);
+    }
+    ensureCapacity(RESERVED_LENGTH_SIZE);
+    messageStarts[messageDepth++] = position;
+    position += RESERVED_LENGTH_SIZE;
+  }
+
+  private void endMessage() {
+    int start = messageStarts[--messageDepth];
+    int contentStart = start + RESERVED_LENGTH_SIZE;
+    int length = position - contentStart;
+    position = start;
+    writeVarint(length);
+    if (position != contentStart) {
+      System.arraycopy(buffer, contentStart, buffer, position, length);
+    }
+    position += length;
+  }
+
+  private void writeString(byte tag, String value, int utf8Length) {
+    writeByte(tag);
+    writeVarint(utf8Length);
+    ensureCapacity(utf8Length);
+    if (utf8Length == value.length()) {
+      // ASCII
+      for (int i = 0; i < utf8Length; i++) {
+        buffer[position++] = (byte) value.charAt(i);
+      }
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | (c >>> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        int codePoint = surrogatePairAt(value, i);
+        if (codePoint < 0) {
+          // Unpaired surrogates are replaced like String.getBytes does
+          buffer[position++] = '?';
+        } else {
+          buffer[position++] = (byte) (0xF0 | (codePoint >>> 18));
+          buffer[position++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+          buffer[position++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+          buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+          i++;
+        }
+      } else {
+        buffer[position++] = (byte) (0xE0 | (c >>> 12));
+        buffer[position++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+  }
+
+  private void writeBoolean(boolean value) {
+    writeByte(BOOL_VALUE_TAG);
+    writeByte((byte) (value ? 1 : 0));
+  }
+
+  private void writeLong(long value) {
+    writeByte(INT_VALUE_TAG);
+    writeVarint(value);
+  }
+
+  private void writeDouble(double value) {
+    writeByte(DOUBLE_VALUE_TAG);
+    ensureCapacity(8);
+    long bits = Double.doubleToRawLongBits(value);
+    for (int i = 0; i < 8; i++) {
+      buffer[position++] = (byte) (bits >>> (i * 8));
+    }
+  }
+
+  private void writeBytes(byte[] value) {
+    writeByte(BYTES_VALUE_TAG);
+    writeVarint(value.length);
+    ensureCapacity(value.length);
+    System.arraycopy(value, 0, buffer, position, value.length);
+    position += value.length;
+  }
+
+  private void writeByte(byte value) {
+    ensureCapacity(1);
+    buffer[position++] = value;
+  }
+
+  private void writeVarint(long value) {
+    ensureCapacity(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void ensureCapacity(int size) {
+    if (position + size > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+    }
+  }
+
+  private static int varintSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      size++;
+      value >>>= 7;
+    }
+    return size;
+  }
+
+  private static int utf8Length(String value) {
+    int length = value.length();
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x800) {
+        if (Character.isSurrogate(c)) {
+          if (surrogatePairAt(value, i) >= 0) {
+            // A pair of surrogates is 4 bytes
+            length += 2;
+            i++;
+          }
+          // An unpaired surrogate is replaced with a single byte, '?'
+        } else {
+          length += 2;
+        }
+      } else if (c >= 0x80) {
+        length++;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Returns the code point of the surrogate pair at {@code index}, or -1 if the surrogate there is
+   * unpaired.
+   */
+  private static int surrogatePairAt(String value, int index) {
+    char high = value.charAt(index);
+    if (Character.isHighSurrogate(high) && index + 1 < value.length()) {
+      char low = value.charAt(index + 1);
+      if (Character.isLowSurrogate(low)) {
+        return Character.toCodePoint(high, low);
+      }
+    }
+    return -1;
+  }
+}
@@ -7,21 +7,29 @@ package io.opentelemetry.sdk.logs.export;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.QueueTimeTracker;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.internal.PooledLogRecord;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -38,6 +46,16 @@ import java.util.logging.Logger;
  * when there are {@code maxExportBatchSize} pending logs or {@code scheduleDelayNanos} has passed
  * since the last export finished.
  *
+ * <p>If configured with more than one shard, the queue is split into that many shards, each with
+ * its own worker thread, so that threads emitting logs concurrently contend on different queues.
+ * Logs are dispatched to a random shard, or to a shard chosen by the emitting thread if thread
+ * affine shard selection is enabled. The exporter is still never called concurrently.
+ *
+ * <p>Log records emitted by a logger provider with {@link MemoryMode#REUSABLE_DATA} are exported
+ * as they are, without being copied, and returned to their pool once their export completes, if
+ * the {@linkplain LogRecordExporter#getMemoryMode() memory mode} of the exporter is also {@link
+ * MemoryMode#REUSABLE_DATA}. For other exporters, they are copied when they are batched.
+ *
  * @since 1.27.0
  */
 public final class BatchLogRecordProcessor implements LogRecordProcessor {
@@ -50,8 +68,14 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       AttributeKey.booleanKey("dropped");
   private static final String LOG_RECORD_PROCESSOR_TYPE_VALUE =
       BatchLogRecordProcessor.class.getSimpleName();
-
-  private final Worker worker;
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final List<Double> QUEUE_TIME_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(0.001, 0.005, 0.01, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0, 30.0, 60.0));
+
+  private final LogRecordExporter logRecordExporter;
+  private final Worker[] workers;
+  private final boolean threadAffineShardSelection;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
   /**
@@ -71,17 +95,33 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
-    this.worker =
-        new Worker(
-            logRecordExporter,
-            meterProvider,
-            scheduleDelayNanos,
-            maxExportBatchSize,
-            exporterTimeoutNanos,
-            new ArrayBlockingQueue<>(maxQueueSize)); // TODO: use JcTools.newFixedSizeQueue(..)
-    Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
-    workerThread.start();
+      long exporterTimeoutNanos,
+      int shardCount,
+      boolean threadAffineShardSelection) {
+    this.logRecordExporter = logRecordExporter;
+    this.threadAffineShardSelection = threadAffineShardSelection;
+    this.workers = new Worker[shardCount];
+    Metrics metrics = new Metrics(meterProvider);
+    // Calls to the exporter from all shards are serialized, as exporters are never called
+    // concurrently
+    Object exportLock = new Object();
+    int shardQueueSize = (maxQueueSize + shardCount - 1) / shardCount;
+    ThreadFactory threadFactory = new DaemonThreadFactory(WORKER_THREAD_NAME);
+    for (int i = 0; i < shardCount; i++) {
+      workers[i] =
+          new Worker(
+              logRecordExporter,
+              metrics,
+              exportLock,
+              scheduleDelayNanos,
+              maxExportBatchSize,
+              exporterTimeoutNanos,
+              new ArrayBlockingQueue<>(shardQueueSize)); // TODO: use JcTools.newFixedSizeQueue(..)
+    }
+    metrics.registerQueueSize(workers);
+    for (Worker worker : workers) {
+      threadFactory.newThread(worker).start();
+    }
   }
 
   @Override
@@ -89,7 +129,19 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     if (logRecord == null) {
       return;
     }
-    worker.addLog(logRecord);
+    selectWorker().addLog(logRecord);
+  }
+
+  private Worker selectWorker() {
+    if (workers.length == 1) {
+      return workers[0];
+    }
+    if (threadAffineShardSelection) {
+      // A thread always adds to the same queue, so its cache lines don't move between the cores of
+      // threads which emit concurrently
+      return workers[(int) (Thread.currentThread().getId() % workers.length)];
+    }
+    return workers[ThreadLocalRandom.current().nextInt(workers.length)];
   }
 
   @Override
@@ -97,12 +149,38 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     if (isShutdown.getAndSet(true)) {
       return CompletableResultCode.ofSuccess();
     }
-    return worker.shutdown();
+    CompletableResultCode result = new CompletableResultCode();
+
+    CompletableResultCode flushResult = forceFlush();
+    flushResult.whenComplete(
+        () -> {
+          for (Worker worker : workers) {
+            worker.continueWork = false;
+          }
+          CompletableResultCode shutdownResult = logRecordExporter.shutdown();
+          shutdownResult.whenComplete(
+              () -> {
+                if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
+                  result.fail();
+                } else {
+                  result.succeed();
+                }
+              });
+        });
+
+    return result;
   }
 
   @Override
   public CompletableResultCode forceFlush() {
-    return worker.forceFlush();
+    if (workers.length == 1) {
+      return workers[0].forceFlush();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(workers.length);
+    for (Worker worker : workers) {
+      results.add(worker.forceFlush());
+    }
+    return CompletableResultCode.ofAll(results);
   }
 
   /**
@@ -111,28 +189,100 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
    * @since 1.37.0
    */
   public LogRecordExporter getLogRecordExporter() {
-    return worker.logRecordExporter;
+    return logRecordExporter;
   }
 
   // Visible for testing
   List<LogRecordData> getBatch() {
-    return worker.batch;
+    return workers[0].batch;
+  }
+
+  // Visible for testing
+  int getShardCount() {
+    return workers.length;
   }
 
   @Override
   public String toString() {
     return "BatchLogRecordProcessor{"
         + "logRecordExporter="
-        + worker.logRecordExporter
+        + logRecordExporter
         + ", scheduleDelayNanos="
-        + worker.scheduleDelayNanos
+        + workers[0].scheduleDelayNanos
         + ", maxExportBatchSize="
-        + worker.maxExportBatchSize
+        + workers[0].maxExportBatchSize
         + ", exporterTimeoutNanos="
-        + worker.exporterTimeoutNanos
+        + workers[0].exporterTimeoutNanos
+        + ", shardCount="
+        + workers.length
+        + ", threadAffineShardSelection="
+        + threadAffineShardSelection
         + '}';
   }
 
+  // Metrics are shared by all shards, so they are reported the same way regardless of the number
+  // of shards.
+  private static final class Metrics {
+
+    private final Meter meter;
+    private final LongCounter processedLogsCounter;
+    private final DoubleHistogram queueTimeHistogram;
+    private final Attributes processorAttrs;
+    private final Attributes droppedAttrs;
+    private final Attributes exportedAttrs;
+
+    private Metrics(MeterProvider meterProvider) {
+      meter = meterProvider.meterBuilder("io.opentelemetry.sdk.logs").build();
+      processorAttrs =
+          Attributes.of(LOG_RECORD_PROCESSOR_TYPE_LABEL, LOG_RECORD_PROCESSOR_TYPE_VALUE);
+      queueTimeHistogram =
+          meter
+              .histogramBuilder("queueTime")
+              .setUnit("s")
+              .setDescription(
+                  "The time the oldest log of each exported batch waited between being queued "
+                      + "and being exported by the BatchLogRecordProcessor")
+              .setExplicitBucketBoundariesAdvice(QUEUE_TIME_BUCKETS)
+              .build();
+      processedLogsCounter =
+          meter
+              .counterBuilder("processedLogs")
+              .setUnit("1")
+              .setDescription(
+                  "The number of logs processed by the BatchLogRecordProcessor. "
+                      + "[dropped=true if they were dropped due to high throughput]")
+              .build();
+      droppedAttrs =
+          Attributes.of(
+              LOG_RECORD_PROCESSOR_TYPE_LABEL,
+              LOG_RECORD_PROCESSOR_TYPE_VALUE,
+              LOG_RECORD_PROCESSOR_DROPPED_LABEL,
+              true);
+      exportedAttrs =
+          Attributes.of(
+              LOG_RECORD_PROCESSOR_TYPE_LABEL,
+              LOG_RECORD_PROCESSOR_TYPE_VALUE,
+              LOG_RECORD_PROCESSOR_DROPPED_LABEL,
+              false);
+    }
+
+    private void registerQueueSize(Worker[] workers) {
+      meter
+          .gaugeBuilder("queueSize")
+          .ofLongs()
+          .setDescription("The number of items queued")
+          .setUnit("1")
+          .buildWithCallback(
+              result -> {
+                long queueSize = 0;
+                for (Worker worker : workers) {
+                  queueSize += worker.queue.size();
+                }
+                result.record(queueSize, processorAttrs);
+              });
+    }
+  }
+
   // Worker is a thread that batches multiple logs and calls the registered LogRecordExporter to
   // export
   // the data.
@@ -140,11 +290,11 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
 
     private static final Logger logger = Logger.getLogger(Worker.class.getName());
 
-    private final LongCounter processedLogsCounter;
-    private final Attributes droppedAttrs;
-    private final Attributes exportedAttrs;
+    private final Metrics metrics;
+    private final Object exportLock;
 
     private final LogRecordExporter logRecordExporter;
+    private final boolean exportPooledRecords;
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
     private final long exporterTimeoutNanos;
@@ -152,6 +302,7 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     private long nextExportTime;
 
     private final Queue<ReadWriteLogRecord> queue;
+    private final QueueTimeTracker queueTimeTracker = new QueueTimeTracker(Clock.getDefault());
     // When waiting on the logs queue, exporter thread sets this atomic to the number of more
     // logs it needs before doing an export. Writer threads would then wait for the queue to reach
     // logsNeeded size before notifying the exporter thread about new entries.
@@ -166,56 +317,33 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
 
     private Worker(
         LogRecordExporter logRecordExporter,
-        MeterProvider meterProvider,
+        Metrics metrics,
+        Object exportLock,
         long scheduleDelayNanos,
         int maxExportBatchSize,
         long exporterTimeoutNanos,
         Queue<ReadWriteLogRecord> queue) {
       this.logRecordExporter = logRecordExporter;
+      this.exportPooledRecords = logRecordExporter.getMemoryMode() == MemoryMode.REUSABLE_DATA;
+      this.metrics = metrics;
+      this.exportLock = exportLock;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
-      Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.logs").build();
-      meter
-          .gaugeBuilder("queueSize")
-          .ofLongs()
-          .setDescription("The number of items queued")
-          .setUnit("1")
-          .buildWithCallback(
-              result ->
-                  result.record(
-                      queue.size(),
-                      Attributes.of(
-                          LOG_RECORD_PROCESSOR_TYPE_LABEL, LOG_RECORD_PROCESSOR_TYPE_VALUE)));
-      processedLogsCounter =
-          meter
-              .counterBuilder("processedLogs")
-              .setUnit("1")
-              .setDescription(
-                  "The number of logs processed by the BatchLogRecordProcessor. "
-                      + "[dropped=true if they were dropped due to high throughput]")
-              .build();
-      droppedAttrs =
-          Attributes.of(
-              LOG_RECORD_PROCESSOR_TYPE_LABEL,
-              LOG_RECORD_PROCESSOR_TYPE_VALUE,
-              LOG_RECORD_PROCESSOR_DROPPED_LABEL,
-              true);
-      exportedAttrs =
-          Attributes.of(
-              LOG_RECORD_PROCESSOR_TYPE_LABEL,
-              LOG_RECORD_PROCESSOR_TYPE_VALUE,
-              LOG_RECORD_PROCESSOR_DROPPED_LABEL,
-              false);
 
       this.batch = new ArrayList<>(this.maxExportBatchSize);
     }
 
     private void addLog(ReadWriteLogRecord logData) {
+      if (logData instanceof PooledLogRecord) {
+        ((PooledLogRecord) logData).retain();
+      }
+      queueTimeTracker.beforeAdd();
       if (!queue.offer(logData)) {
-        processedLogsCounter.add(1, droppedAttrs);
+        metrics.processedLogsCounter.add(1, metrics.droppedAttrs);
+        release(logData);
       } else {
         if (queue.size() >= logsNeeded.get()) {
           signal.offer(true);
@@ -231,9 +359,11 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
+        queueTimeTracker.startDrain();
         while (!queue.isEmpty() && batch.size() < maxExportBatchSize) {
-          batch.add(queue.poll().toLogRecordData());
+          batch.add(toLogRecordData(queue.poll()));
         }
+        queueTimeTracker.endDrain(batch.isEmpty(), queue.isEmpty());
         if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
           exportCurrentBatch();
           updateNextExportTime();
@@ -256,15 +386,19 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
 
     private void flush() {
       int logsToFlush = queue.size();
+      queueTimeTracker.startDrain();
       while (logsToFlush > 0) {
         ReadWriteLogRecord logRecord = queue.poll();
         assert logRecord != null;
-        batch.add(logRecord.toLogRecordData());
+        batch.add(toLogRecordData(logRecord));
         logsToFlush--;
         if (batch.size() >= maxExportBatchSize) {
+          queueTimeTracker.endDrain(/* batchEmpty= */ false, queue.isEmpty());
           exportCurrentBatch();
+          queueTimeTracker.startDrain();
         }
       }
+      queueTimeTracker.endDrain(batch.isEmpty(), queue.isEmpty());
       exportCurrentBatch();
       CompletableResultCode flushResult = flushRequested.get();
       if (flushResult != null) {
@@ -277,27 +411,6 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       nextExportTime = System.nanoTime() + scheduleDelayNanos;
     }
 
-    private CompletableResultCode shutdown() {
-      CompletableResultCode result = new CompletableResultCode();
-
-      CompletableResultCode flushResult = forceFlush();
-      flushResult.whenComplete(
-          () -> {
-            continueWork = false;
-            CompletableResultCode shutdownResult = logRecordExporter.shutdown();
-            shutdownResult.whenComplete(
-                () -> {
-                  if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
-                    result.fail();
-                  } else {
-                    result.succeed();
-                  }
-                });
-          });
-
-      return result;
-    }
-
     private CompletableResultCode forceFlush() {
       CompletableResultCode flushResult = new CompletableResultCode();
       // we set the atomic here to trigger the worker loop to do a flush of the entire queue.
@@ -316,20 +429,61 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         return;
       }
 
+      recordQueueTime();
+      // Pooled records may only be reused once the exporter is done with them
+      boolean exportDone = true;
       try {
-        CompletableResultCode result =
-            logRecordExporter.export(Collections.unmodifiableList(batch));
+        CompletableResultCode result;
+        // Shards take turns calling the exporter, which must not be called concurrently, but wait
+        // for their results independently so a slow export doesn't stall the other shards
+        synchronized (exportLock) {
+          result = logRecordExporter.export(Collections.unmodifiableList(batch));
+        }
         result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+        exportDone = result.isDone();
         if (result.isSuccess()) {
-          processedLogsCounter.add(batch.size(), exportedAttrs);
+          metrics.processedLogsCounter.add(batch.size(), metrics.exportedAttrs);
         } else {
           logger.log(Level.FINE, "Exporter failed");
         }
       } catch (RuntimeException e) {
         logger.log(Level.WARNING, "Exporter threw an Exception", e);
       } finally {
+        if (exportDone) {
+          for (LogRecordData logRecordData : batch) {
+            release(logRecordData);
+          }
+        }
         batch.clear();
       }
     }
+
+    private LogRecordData toLogRecordData(ReadWriteLogRecord logRecord) {
+      if (logRecord instanceof PooledLogRecord) {
+        if (exportPooledRecords) {
+          // Exported without copying, the record is retained until the export completes
+          return (PooledLogRecord) logRecord;
+        }
+        // The exporter may keep the records it is passed, so it gets a copy
+        LogRecordData logRecordData = logRecord.toLogRecordData();
+        release(logRecord);
+        return logRecordData;
+      }
+      return logRecord.toLogRecordData();
+    }
+
+    private static void release(Object logRecord) {
+      if (logRecord instanceof PooledLogRecord) {
+        ((PooledLogRecord) logRecord).release();
+      }
+    }
+
+    private void recordQueueTime() {
+      // Recording with the root context skips exemplar sampling
+      metrics.queueTimeHistogram.record(
+          queueTimeTracker.exportBatch() / NANOS_PER_SECOND,
+          metrics.processorAttrs,
+          Context.root());
+    }
   }
 }
@@ -27,12 +27,16 @@ public final class BatchLogRecordProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_SHARD_COUNT = 1;
 
   private final LogRecordExporter logRecordExporter;
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int shardCount = DEFAULT_SHARD_COUNT;
+  private boolean threadAffineShardSelection = false;
   private MeterProvider meterProvider = MeterProvider.noop();
 
   BatchLogRecordProcessorBuilder(LogRecordExporter logRecordExporter) {
@@ -126,6 +130,47 @@ public final class BatchLogRecordProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of shards the queue is split into. Each shard has its own queue of {@code
+   * maxQueueSize / shardCount} logs and its own worker thread which batches and exports them, so
+   * that threads emitting logs concurrently contend less on the queue. Exports are not run
+   * concurrently, so more shards don't increase export throughput.
+   *
+   * <p>Default value is {@code 1}.
+   *
+   * @param shardCount the number of shards.
+   * @return this.
+   * @since 1.41.0
+   */
+  public BatchLogRecordProcessorBuilder setShardCount(int shardCount) {
+    checkArgument(shardCount > 0, "shardCount must be positive.");
+    this.shardCount = shardCount;
+    return this;
+  }
+
+  // Visible for testing
+  int getShardCount() {
+    return shardCount;
+  }
+
+  /**
+   * Sets whether each log is added to the shard of the thread emitting it instead of a random
+   * shard. Threads then keep adding to the same queue, which avoids moving queue state between CPU
+   * cores, but logs are spread unevenly across shards if few threads emit most of them. Only takes
+   * effect with more than one shard, see {@link #setShardCount(int)}.
+   *
+   * <p>Default value is {@code false}.
+   *
+   * @param threadAffineShardSelection whether to select shards by the emitting thread.
+   * @return this.
+   * @since 1.41.0
+   */
+  public BatchLogRecordProcessorBuilder setThreadAffineShardSelection(
+      boolean threadAffineShardSelection) {
+    this.threadAffineShardSelection = threadAffineShardSelection;
+    return this;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to batch export. If not set,
    * metrics will not be collected.
@@ -154,6 +199,8 @@ public final class BatchLogRecordProcessorBuilder {
         scheduleDelayNanos,
         maxQueueSize,
         maxExportBatchSize,
-        exporterTimeoutNanos);
+        exporterTimeoutNanos,
+        shardCount,
+        threadAffineShardSelection);
   }
 }
@@ -6,6 +6,7 @@
 package io.opentelemetry.sdk.logs.export;
 
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
@@ -56,6 +57,19 @@ public interface LogRecordExporter extends Closeable {
     return MultiLogRecordExporter.create(exportersList);
   }
 
+  /**
+   * Returns the memory mode of this exporter. With {@link MemoryMode#REUSABLE_DATA}, the exporter
+   * accepts log records which a {@link BatchLogRecordProcessor} passes without copying and reuses
+   * once the result of {@link #export(Collection)} completes, so the exporter must not read them
+   * afterwards. Otherwise, exported log records are immutable copies. If not overridden, returns
+   * {@link MemoryMode#IMMUTABLE_DATA}.
+   *
+   * @since 1.41.0
+   */
+  default MemoryMode getMemoryMode() {
+    return MemoryMode.IMMUTABLE_DATA;
+  }
+
   /**
    * Exports the collections of given {@link LogRecordData}.
    *
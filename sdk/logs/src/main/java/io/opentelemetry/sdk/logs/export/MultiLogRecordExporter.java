@@ -6,6 +6,7 @@
 package io.opentelemetry.sdk.logs.export;
 
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -39,6 +40,17 @@ final class MultiLogRecordExporter implements LogRecordExporter {
     return new MultiLogRecordExporter(logRecordExporters.toArray(new LogRecordExporter[0]));
   }
 
+  /** Returns {@link MemoryMode#REUSABLE_DATA} if every exporter supports reusable log records. */
+  @Override
+  public MemoryMode getMemoryMode() {
+    for (LogRecordExporter logRecordExporter : logRecordExporters) {
+      if (logRecordExporter.getMemoryMode() != MemoryMode.REUSABLE_DATA) {
+        return MemoryMode.IMMUTABLE_DATA;
+      }
+    }
+    return MemoryMode.REUSABLE_DATA;
+  }
+
   @Override
   public CompletableResultCode export(Collection<LogRecordData> logs) {
     List<CompletableResultCode> results = new ArrayList<>(logRecordExporters.length);
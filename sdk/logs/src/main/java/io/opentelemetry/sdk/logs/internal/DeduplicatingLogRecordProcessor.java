@@ -0,0 +1,360 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.RateLimiter;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LogRecordProcessor} which deduplicates log records before passing them to a delegate
+ * processor.
+ *
+ * <p>Log records are grouped by a fingerprint of their body, severity and instrumentation scope.
+ * Log records don't carry the template their body was formatted from, so the fingerprint is of the
+ * formatted body, and messages which only differ in their arguments have different fingerprints.
+ * Bodies written with a structured body writer are compared by their serialized bytes without being
+ * decoded. Within each time window, the first {@link
+ * DeduplicatingLogRecordProcessorBuilder#setMaxLogsPerWindow(int) N} log records of a fingerprint
+ * are passed to the delegate and the rest are suppressed. When the window of a fingerprint with
+ * suppressed log records ends, a summary log record is passed to the delegate. It is a copy of the
+ * first suppressed log record with the {@link #SUPPRESSED_COUNT} attribute set to the number of
+ * suppressed log records. Summaries are passed when the next log record with the same fingerprint
+ * arrives after the window ends, when the fingerprint is evicted, or on {@link #forceFlush()}.
+ * In addition, each log record checks the next slot of the table in turn for an ended window, so
+ * summaries aren't held back after a burst while other log records are emitted.
+ *
+ * <p>Fingerprints are kept in a fixed size table which is read and updated with compare-and-set
+ * operations, so this processor doesn't lock and its memory is bounded. Fingerprints which hash to
+ * the same slot evict each other. Counts are approximate when log records with the same
+ * fingerprint are emitted concurrently with the end of its window.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class DeduplicatingLogRecordProcessor implements LogRecordProcessor {
+
+  /** The attribute of summary log records with the number of suppressed log records. */
+  public static final AttributeKey<Long> SUPPRESSED_COUNT =
+      AttributeKey.longKey("log.record.suppressed_count");
+
+  private final LogRecordProcessor delegate;
+  private final Clock clock;
+  private final long windowNanos;
+  private final int maxLogsPerWindow;
+  @Nullable private final RateLimiter rateLimiter;
+  private final AtomicReferenceArray<Window> windows;
+  private final int mask;
+  private final AtomicInteger sweepIndex = new AtomicInteger();
+
+  DeduplicatingLogRecordProcessor(
+      LogRecordProcessor delegate,
+      Clock clock,
+      long windowNanos,
+      int maxLogsPerWindow,
+      int maxFingerprints,
+      double maxLogsPerSecond) {
+    this.delegate = delegate;
+    this.clock = clock;
+    this.windowNanos = windowNanos;
+    this.maxLogsPerWindow = maxLogsPerWindow;
+    // The balance must hold at least one log record, or rates below one per second never pass any
+    this.rateLimiter =
+        maxLogsPerSecond > 0
+            ? new RateLimiter(maxLogsPerSecond, Math.max(1.0, maxLogsPerSecond), clock)
+            : null;
+    int tableSize = Integer.highestOneBit(maxFingerprints - 1) << 1;
+    this.windows = new AtomicReferenceArray<>(Math.max(tableSize, 1));
+    this.mask = windows.length() - 1;
+  }
+
+  /**
+   * Returns a new {@link DeduplicatingLogRecordProcessorBuilder} to construct a {@link
+   * DeduplicatingLogRecordProcessor} which passes log records to the {@code delegate}.
+   */
+  public static DeduplicatingLogRecordProcessorBuilder builder(LogRecordProcessor delegate) {
+    return new DeduplicatingLogRecordProcessorBuilder(delegate);
+  }
+
+  @Override
+  public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+    InstrumentationScopeInfo scope = logRecord.getInstrumentationScopeInfo();
+    Severity severity = logRecord.getSeverity();
+    Object body = bodyKey(logRecord.getBody());
+    int hash = fingerprint(scope, severity, body);
+    int index = hash & mask;
+    long nowNanos = clock.nanoTime();
+
+    sweep(nowNanos);
+
+    Window window = windows.get(index);
+    while (window == null || !window.matches(hash, scope, severity, body, nowNanos)) {
+      Window newWindow = new Window(hash, scope, severity, body, nowNanos + windowNanos);
+      if (windows.compareAndSet(index, window, newWindow)) {
+        if (window != null) {
+          emitSummary(window);
+        }
+        window = newWindow;
+        break;
+      }
+      window = windows.get(index);
+    }
+
+    if (window.count.incrementAndGet() <= maxLogsPerWindow
+        && (rateLimiter == null || rateLimiter.trySpend(1.0))) {
+      delegate.onEmit(context, logRecord);
+      return;
+    }
+    if (window.summaryTemplate.get() == null) {
+      // Only the first suppressed log record is copied, to serve as the summary. The template is
+      // set before the count is incremented, so a summary of a nonzero count always has one.
+      window.summaryTemplate.compareAndSet(null, logRecord.toLogRecordData());
+    }
+    window.suppressed.incrementAndGet();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    emitSummaries();
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    emitSummaries();
+    return delegate.forceFlush();
+  }
+
+  /** Removes the window of the next slot in turn if it ended, passing its summary. */
+  private void sweep(long nowNanos) {
+    int index = sweepIndex.getAndIncrement() & mask;
+    Window window = windows.get(index);
+    if (window != null && window.hasEnded(nowNanos) && windows.compareAndSet(index, window, null)) {
+      emitSummary(window);
+    }
+  }
+
+  private void emitSummaries() {
+    for (int i = 0; i < windows.length(); i++) {
+      Window window = windows.getAndSet(i, null);
+      if (window != null) {
+        emitSummary(window);
+      }
+    }
+  }
+
+  private void emitSummary(Window window) {
+    long suppressed = window.suppressed.getAndSet(0);
+    LogRecordData summaryTemplate = window.summaryTemplate.get();
+    if (suppressed == 0 || summaryTemplate == null) {
+      return;
+    }
+    delegate.onEmit(Context.root(), new SummaryLogRecord(summaryTemplate, clock.now(), suppressed));
+  }
+
+  /**
+   * Returns the serialized bytes of a structured body, which avoids decoding it, or else the body as
+   * a string.
+   */
+  private static Object bodyKey(Body body) {
+    if (body instanceof SerializedAnyValueBody) {
+      return ((SerializedAnyValueBody) body).getSerialized();
+    }
+    return body.asString();
+  }
+
+  private static int fingerprint(InstrumentationScopeInfo scope, Severity severity, Object body) {
+    int hash =
+        body instanceof byte[] ? Arrays.hashCode((byte[]) body) : body.hashCode();
+    hash = 31 * hash + severity.getSeverityNumber();
+    hash = 31 * hash + scope.getName().hashCode();
+    // Spread the high bits, as only the low bits select the slot
+    return hash ^ (hash >>> 16);
+  }
+
+  @Override
+  public String toString() {
+    return "DeduplicatingLogRecordProcessor{"
+        + "delegate="
+        + delegate
+        + ", windowNanos="
+        + windowNanos
+        + ", maxLogsPerWindow="
+        + maxLogsPerWindow
+        + ", maxFingerprints="
+        + windows.length()
+        + ", rateLimited="
+        + (rateLimiter != null)
+        + '}';
+  }
+
+  /** The log records of a fingerprint within a time window. */
+  private static final class Window {
+    private final int hash;
+    private final InstrumentationScopeInfo scope;
+    private final Severity severity;
+    private final Object body;
+    private final long endNanos;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicReference<LogRecordData> summaryTemplate = new AtomicReference<>();
+
+    private Window(
+        int hash, InstrumentationScopeInfo scope, Severity severity, Object body, long endNanos) {
+      this.hash = hash;
+      this.scope = scope;
+      this.severity = severity;
+      this.body = body;
+      this.endNanos = endNanos;
+    }
+
+    private boolean matches(
+        int hash, InstrumentationScopeInfo scope, Severity severity, Object body, long nowNanos) {
+      return this.hash == hash
+          && !hasEnded(nowNanos)
+          && this.severity == severity
+          && bodyEquals(this.body, body)
+          && this.scope.equals(scope);
+    }
+
+    private boolean hasEnded(long nowNanos) {
+      return nowNanos - endNanos >= 0;
+    }
+
+    private static boolean bodyEquals(Object body, Object other) {
+      if (body instanceof byte[] && other instanceof byte[]) {
+        return Arrays.equals((byte[]) body, (byte[]) other);
+      }
+      return body.equals(other);
+    }
+  }
+
+  /** A copy of a suppressed log record with the number of suppressed log records. */
+  private static final class SummaryLogRecord implements ReadWriteLogRecord, LogRecordData {
+    private final LogRecordData template;
+    private final long observedTimestampEpochNanos;
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private Attributes attributes;
+
+    @GuardedBy("lock")
+    private int totalAttributeCount;
+
+    private SummaryLogRecord(
+        LogRecordData template, long observedTimestampEpochNanos, long suppressed) {
+      this(
+          template,
+          observedTimestampEpochNanos,
+          template.getAttributes().toBuilder().put(SUPPRESSED_COUNT, suppressed).build(),
+          template.getTotalAttributeCount() + 1);
+    }
+
+    private SummaryLogRecord(
+        LogRecordData template,
+        long observedTimestampEpochNanos,
+        Attributes attributes,
+        int totalAttributeCount) {
+      this.template = template;
+      this.observedTimestampEpochNanos = observedTimestampEpochNanos;
+      this.attributes = attributes;
+      this.totalAttributeCount = totalAttributeCount;
+    }
+
+    @Override
+    public <T> ReadWriteLogRecord setAttribute(AttributeKey<T> key, T value) {
+      if (key == null || key.getKey().isEmpty() || value == null) {
+        return this;
+      }
+      synchronized (lock) {
+        attributes = attributes.toBuilder().put(key, value).build();
+        totalAttributeCount++;
+      }
+      return this;
+    }
+
+    @Override
+    public LogRecordData toLogRecordData() {
+      synchronized (lock) {
+        return new SummaryLogRecord(
+            template, observedTimestampEpochNanos, attributes, totalAttributeCount);
+      }
+    }
+
+    @Override
+    public Resource getResource() {
+      return template.getResource();
+    }
+
+    @Override
+    public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+      return template.getInstrumentationScopeInfo();
+    }
+
+    @Override
+    public long getTimestampEpochNanos() {
+      return template.getTimestampEpochNanos();
+    }
+
+    @Override
+    public long getObservedTimestampEpochNanos() {
+      return observedTimestampEpochNanos;
+    }
+
+    @Override
+    public SpanContext getSpanContext() {
+      return template.getSpanContext();
+    }
+
+    @Override
+    public Severity getSeverity() {
+      return template.getSeverity();
+    }
+
+    @Nullable
+    @Override
+    public String getSeverityText() {
+      return template.getSeverityText();
+    }
+
+    @Override
+    public Body getBody() {
+      return template.getBody();
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      synchronized (lock) {
+        return attributes;
+      }
+    }
+
+    @Override
+    public int getTotalAttributeCount() {
+      synchronized (lock) {
+        return totalAttributeCount;
+      }
+    }
+  }
+}
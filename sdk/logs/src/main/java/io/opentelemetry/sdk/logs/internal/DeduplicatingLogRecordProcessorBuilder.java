@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link DeduplicatingLogRecordProcessor}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class DeduplicatingLogRecordProcessorBuilder {
+
+  // Visible for testing
+  static final long DEFAULT_WINDOW_MILLIS = 10_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_LOGS_PER_WINDOW = 10;
+  // Visible for testing
+  static final int DEFAULT_MAX_FINGERPRINTS = 1024;
+
+  private final LogRecordProcessor delegate;
+  private Clock clock = Clock.getDefault();
+  private long windowNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_WINDOW_MILLIS);
+  private int maxLogsPerWindow = DEFAULT_MAX_LOGS_PER_WINDOW;
+  private int maxFingerprints = DEFAULT_MAX_FINGERPRINTS;
+  private double maxLogsPerSecond;
+
+  DeduplicatingLogRecordProcessorBuilder(LogRecordProcessor delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Sets the length of the time window in which log records with the same fingerprint are
+   * deduplicated. If unset, defaults to {@value DEFAULT_WINDOW_MILLIS}ms.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setWindow(long window, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(window > 0, "window must be positive");
+    this.windowNanos = unit.toNanos(window);
+    return this;
+  }
+
+  /**
+   * Sets the length of the time window in which log records with the same fingerprint are
+   * deduplicated. If unset, defaults to {@value DEFAULT_WINDOW_MILLIS}ms.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setWindow(Duration window) {
+    requireNonNull(window, "window");
+    return setWindow(window.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the number of log records with the same fingerprint passed to the delegate in each time
+   * window before the rest are suppressed. If unset, defaults to {@value
+   * DEFAULT_MAX_LOGS_PER_WINDOW}.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setMaxLogsPerWindow(int maxLogsPerWindow) {
+    checkArgument(maxLogsPerWindow >= 0, "maxLogsPerWindow must be non-negative.");
+    this.maxLogsPerWindow = maxLogsPerWindow;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of fingerprints tracked at once, which bounds the memory used by the
+   * processor. It is rounded up to a power of two. If unset, defaults to {@value
+   * DEFAULT_MAX_FINGERPRINTS}.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setMaxFingerprints(int maxFingerprints) {
+    checkArgument(
+        maxFingerprints > 0 && maxFingerprints <= 1 << 30,
+        "maxFingerprints must be positive and at most 2^30.");
+    this.maxFingerprints = maxFingerprints;
+    return this;
+  }
+
+  /**
+   * Sets the maximum rate of log records passed to the delegate across all fingerprints, excluding
+   * summary log records. Log records above the rate are suppressed and counted in the summary of
+   * their fingerprint. Rates below one, such as {@code 0.5}, pass a log record once per {@code 1 /
+   * maxLogsPerSecond} seconds. If unset or zero, the rate is not limited.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setMaxLogsPerSecond(double maxLogsPerSecond) {
+    checkArgument(maxLogsPerSecond >= 0, "maxLogsPerSecond must be non-negative.");
+    this.maxLogsPerSecond = maxLogsPerSecond;
+    return this;
+  }
+
+  /**
+   * Sets the {@link Clock} used to measure time windows and to timestamp summary log records. If
+   * unset, defaults to {@link Clock#getDefault()}.
+   */
+  public DeduplicatingLogRecordProcessorBuilder setClock(Clock clock) {
+    requireNonNull(clock, "clock");
+    this.clock = clock;
+    return this;
+  }
+
+  /**
+   * Returns a new {@link DeduplicatingLogRecordProcessor} with the configuration of this builder.
+   */
+  public DeduplicatingLogRecordProcessor build() {
+    return new DeduplicatingLogRecordProcessor(
+        delegate, clock, windowNanos, maxLogsPerWindow, maxFingerprints, maxLogsPerSecond);
+  }
+}
@@ -7,10 +7,12 @@ package io.opentelemetry.sdk.logs.internal;
 
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.ScopeConfigurator;
 import io.opentelemetry.sdk.internal.ScopeConfiguratorBuilder;
 import io.opentelemetry.sdk.logs.SdkLoggerProviderBuilder;
+import java.util.Objects;
 import java.util.function.Predicate;
 import javax.annotation.concurrent.Immutable;
 
@@ -26,9 +28,9 @@ import javax.annotation.concurrent.Immutable;
 public abstract class LoggerConfig {
 
   private static final LoggerConfig DEFAULT_CONFIG =
-      new AutoValue_LoggerConfig(/* enabled= */ true);
+      new AutoValue_LoggerConfig(/* enabled= */ true, Severity.UNDEFINED_SEVERITY_NUMBER);
   private static final LoggerConfig DISABLED_CONFIG =
-      new AutoValue_LoggerConfig(/* enabled= */ false);
+      new AutoValue_LoggerConfig(/* enabled= */ false, Severity.UNDEFINED_SEVERITY_NUMBER);
 
   /** Returns a disabled {@link LoggerConfig}. */
   public static LoggerConfig disabled() {
@@ -40,6 +42,15 @@ public abstract class LoggerConfig {
     return DEFAULT_CONFIG;
   }
 
+  /**
+   * Returns an enabled {@link LoggerConfig} which drops log records with a severity below the
+   * {@code minimumSeverity}.
+   */
+  public static LoggerConfig withMinimumSeverity(Severity minimumSeverity) {
+    Objects.requireNonNull(minimumSeverity, "minimumSeverity");
+    return new AutoValue_LoggerConfig(/* enabled= */ true, minimumSeverity);
+  }
+
   /**
    * Returns the default {@link LoggerConfig}, which is used when no configurator is set or when the
    * logger configurator returns {@code null} for a {@link InstrumentationScopeInfo}.
@@ -60,4 +71,12 @@ public abstract class LoggerConfig {
 
   /** Returns {@code true} if this logger is enabled. Defaults to {@code true}. */
   public abstract boolean isEnabled();
+
+  /**
+   * Returns the minimum severity of log records emitted by this logger. Log records with a lower
+   * severity are dropped before they are passed to processors. Log records with {@link
+   * Severity#UNDEFINED_SEVERITY_NUMBER} are never dropped. Defaults to {@link
+   * Severity#UNDEFINED_SEVERITY_NUMBER}, which doesn't drop any log records.
+   */
+  public abstract Severity getMinimumSeverity();
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+
+/**
+ * A log record emitted by a logger provider with {@link MemoryMode#REUSABLE_DATA}, which is
+ * returned to a pool and reused for another log record once every holder has released it. The
+ * emitting logger holds a reference while the record is passed to the processors. A processor
+ * which keeps the record after {@code onEmit} returns must {@link #retain()} it, and {@link
+ * #release()} it once neither the processor nor its exporter read it anymore.
+ *
+ * <p>The record is also its own {@link LogRecordData}, so it can be exported without being copied
+ * by {@link #toLogRecordData()}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface PooledLogRecord extends ReadWriteLogRecord, LogRecordData {
+
+  /** Adds a reference to this record, which must be followed by a call to {@link #release()}. */
+  void retain();
+
+  /** Removes a reference to this record, returning it to its pool if it was the last one. */
+  void release();
+
+  @Override
+  InstrumentationScopeInfo getInstrumentationScopeInfo();
+
+  @Override
+  Severity getSeverity();
+
+  @Override
+  Body getBody();
+
+  @Override
+  SpanContext getSpanContext();
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import io.opentelemetry.api.incubator.logs.AnyValue;
+import io.opentelemetry.api.incubator.logs.KeyAnyValue;
+import io.opentelemetry.sdk.logs.data.Body;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link Body} which holds an {@link AnyValue} serialized in the protobuf binary format of the
+ * OTLP {@code AnyValue} message, as written by a structured body writer. OTLP exporters write the
+ * serialized bytes as is. The {@link AnyValue} is only decoded when it is read with {@link
+ * #asAnyValue()} or {@link #asString()}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+@Immutable
+public final class SerializedAnyValueBody implements Body {
+
+  // Field numbers of the OTLP AnyValue and KeyValue messages
+  private static final int STRING_VALUE = 1;
+  private static final int BOOL_VALUE = 2;
+  private static final int INT_VALUE = 3;
+  private static final int DOUBLE_VALUE = 4;
+  private static final int ARRAY_VALUE = 5;
+  private static final int KVLIST_VALUE = 6;
+  private static final int BYTES_VALUE = 7;
+  private static final int KEY = 1;
+
+  private final byte[] serialized;
+
+  // Decoded lazily, racing threads decode equal values
+  @Nullable private volatile AnyValue<?> anyValue;
+
+  private SerializedAnyValueBody(byte[] serialized) {
+    this.serialized = serialized;
+  }
+
+  /**
+   * Returns a {@link SerializedAnyValueBody} of the {@code serialized} contents of an OTLP {@code
+   * AnyValue} message. The array is not copied and must not be modified afterwards.
+   */
+  public static SerializedAnyValueBody create(byte[] serialized) {
+    return new SerializedAnyValueBody(serialized);
+  }
+
+  @Override
+  public Type getType() {
+    return Type.STRING;
+  }
+
+  @Override
+  public String asString() {
+    return asAnyValue().asString();
+  }
+
+  /**
+   * Returns the contents of the OTLP {@code AnyValue} message, which must not be modified. Its
+   * length is the size of the message.
+   */
+  public byte[] getSerialized() {
+    return serialized;
+  }
+
+  /** Returns the body decoded as an {@link AnyValue}. */
+  public AnyValue<?> asAnyValue() {
+    AnyValue<?> anyValue = this.anyValue;
+    if (anyValue == null) {
+      anyValue = new Decoder(serialized).readAnyValue(serialized.length);
+      this.anyValue = anyValue;
+    }
+    return anyValue;
+  }
+
+  @Override
+  public String toString() {
+    return "SerializedAnyValueBody{" + asString() + "}";
+  }
+
+  private static final class Decoder {
+    private final byte[] buffer;
+    private int position;
+
+    private Decoder(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    private AnyValue<?> readAnyValue(int end) {
+      AnyValue<?> value = AnyValue.of("");
+      while (position < end) {
+        int tag = (int) readVarint();
+        switch (tag >>> 3) {
+          case STRING_VALUE:
+            value = AnyValue.of(readString());
+            break;
+          case BOOL_VALUE:
+            value = AnyValue.of(readVarint() != 0);
+            break;
+          case INT_VALUE:
+            value = AnyValue.of(readVarint());
+            break;
+          case DOUBLE_VALUE:
+            value = AnyValue.of(Double.longBitsToDouble(readFixed64()));
+            break;
+          case ARRAY_VALUE:
+            value = readArray(readLengthDelimitedEnd());
+            break;
+          case KVLIST_VALUE:
+            value = readKeyValueList(readLengthDelimitedEnd());
+            break;
+          case BYTES_VALUE:
+            value = AnyValue.of(readBytes());
+            break;
+          default:
+            throw new IllegalStateException("Unexpected AnyValue field: " + (tag >>> 3));
+        }
+      }
+      return value;
+    }
+
+    private AnyValue<List<AnyValue<?>>> readArray(int end) {
+      List<AnyValue<?>> elements = new ArrayList<>();
+      while (position < end) {
+        readVarint(); // ArrayValue.values
+        elements.add(readAnyValue(readLengthDelimitedEnd()));
+      }
+      return AnyValue.of(elements);
+    }
+
+    private AnyValue<List<KeyAnyValue>> readKeyValueList(int end) {
+      List<KeyAnyValue> fields = new ArrayList<>();
+      while (position < end) {
+        readVarint(); // KeyValueList.values
+        int keyValueEnd = readLengthDelimitedEnd();
+        String key = "";
+        AnyValue<?> value = AnyValue.of("");
+        while (position < keyValueEnd) {
+          int tag = (int) readVarint();
+          if ((tag >>> 3) == KEY) {
+            key = readString();
+          } else {
+            value = readAnyValue(readLengthDelimitedEnd());
+          }
+        }
+        fields.add(KeyAnyValue.of(key, value));
+      }
+      return AnyValue.of(fields.toArray(new KeyAnyValue[0]));
+    }
+
+    private String readString() {
+      int length = (int) readVarint();
+      String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    private byte[] readBytes() {
+      int length = (int) readVarint();
+      byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+      position += length;
+      return value;
+    }
+
+    private int readLengthDelimitedEnd() {
+      int length = (int) readVarint();
+      return position + length;
+    }
+
+    private long readVarint() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = buffer[position++];
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Malformed varint");
+    }
+
+    private long readFixed64() {
+      long value = 0;
+      for (int i = 0; i < 8; i++) {
+        value |= (buffer[position++] & 0xFFL) << (i * 8);
+      }
+      return value;
+    }
+  }
+}
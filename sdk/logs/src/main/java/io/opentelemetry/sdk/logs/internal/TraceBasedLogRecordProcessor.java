@@ -0,0 +1,125 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+
+/**
+ * A {@link LogRecordProcessor} which samples log records by the sampling decision of the trace
+ * they belong to, so that log records and spans are kept or dropped together, before passing them
+ * to a delegate processor.
+ *
+ * <p>A log record is passed to the delegate if any of the following holds:
+ *
+ * <ul>
+ *   <li>Its severity is at least the {@link
+ *       TraceBasedLogRecordProcessorBuilder#setAlwaysKeptSeverity(Severity) always kept severity}.
+ *   <li>It has no valid span context and {@link
+ *       TraceBasedLogRecordProcessorBuilder#setKeepLogsWithoutSpan(boolean) log records without a
+ *       span are kept}.
+ *   <li>Its span context is sampled.
+ *   <li>Its trace ID is within the {@link
+ *       TraceBasedLogRecordProcessorBuilder#setTraceIdRatio(double) trace ID ratio}. The trace ID
+ *       is compared in the same way as by {@code Sampler.traceIdRatioBased(double)}, so a trace is
+ *       kept by this processor if it is sampled by a trace ID ratio based sampler with the same or
+ *       a lower ratio.
+ * </ul>
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class TraceBasedLogRecordProcessor implements LogRecordProcessor {
+
+  private final LogRecordProcessor delegate;
+  private final int alwaysKeptSeverityNumber;
+  private final boolean keepLogsWithoutSpan;
+  private final long idUpperBound;
+
+  TraceBasedLogRecordProcessor(
+      LogRecordProcessor delegate,
+      Severity alwaysKeptSeverity,
+      boolean keepLogsWithoutSpan,
+      double traceIdRatio) {
+    this.delegate = delegate;
+    this.alwaysKeptSeverityNumber = alwaysKeptSeverity.getSeverityNumber();
+    this.keepLogsWithoutSpan = keepLogsWithoutSpan;
+    this.idUpperBound = idUpperBound(traceIdRatio);
+  }
+
+  /**
+   * Returns a new {@link TraceBasedLogRecordProcessorBuilder} to construct a {@link
+   * TraceBasedLogRecordProcessor} which passes sampled log records to the {@code delegate}.
+   */
+  public static TraceBasedLogRecordProcessorBuilder builder(LogRecordProcessor delegate) {
+    return new TraceBasedLogRecordProcessorBuilder(delegate);
+  }
+
+  @Override
+  public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+    if (isSampled(logRecord)) {
+      delegate.onEmit(context, logRecord);
+    }
+  }
+
+  private boolean isSampled(ReadWriteLogRecord logRecord) {
+    int severityNumber = logRecord.getSeverity().getSeverityNumber();
+    if (alwaysKeptSeverityNumber != Severity.UNDEFINED_SEVERITY_NUMBER.getSeverityNumber()
+        && severityNumber >= alwaysKeptSeverityNumber) {
+      return true;
+    }
+    SpanContext spanContext = logRecord.getSpanContext();
+    if (!spanContext.isValid()) {
+      return keepLogsWithoutSpan;
+    }
+    if (spanContext.isSampled()) {
+      return true;
+    }
+    // Matches TraceIdRatioBasedSampler, which compares the lower 64 bits of the trace ID
+    return Math.abs(OtelEncodingUtils.longFromBase16String(spanContext.getTraceId(), 16))
+        < idUpperBound;
+  }
+
+  private static long idUpperBound(double ratio) {
+    // The limits are special cased as in TraceIdRatioBasedSampler, Long.MIN_VALUE never matches
+    if (ratio == 0.0) {
+      return Long.MIN_VALUE;
+    }
+    if (ratio == 1.0) {
+      return Long.MAX_VALUE;
+    }
+    return (long) (ratio * Long.MAX_VALUE);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return delegate.forceFlush();
+  }
+
+  @Override
+  public String toString() {
+    return "TraceBasedLogRecordProcessor{"
+        + "delegate="
+        + delegate
+        + ", alwaysKeptSeverityNumber="
+        + alwaysKeptSeverityNumber
+        + ", keepLogsWithoutSpan="
+        + keepLogsWithoutSpan
+        + ", idUpperBound="
+        + idUpperBound
+        + '}';
+  }
+}
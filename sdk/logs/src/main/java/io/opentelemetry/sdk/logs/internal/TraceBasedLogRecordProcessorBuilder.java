@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+
+/**
+ * Builder class for {@link TraceBasedLogRecordProcessor}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class TraceBasedLogRecordProcessorBuilder {
+
+  private final LogRecordProcessor delegate;
+  private Severity alwaysKeptSeverity = Severity.UNDEFINED_SEVERITY_NUMBER;
+  private boolean keepLogsWithoutSpan = true;
+  private double traceIdRatio;
+
+  TraceBasedLogRecordProcessorBuilder(LogRecordProcessor delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Sets the severity at and above which log records are kept regardless of the sampling decision
+   * of their trace. If unset or {@link Severity#UNDEFINED_SEVERITY_NUMBER}, all log records are
+   * sampled by their trace.
+   */
+  public TraceBasedLogRecordProcessorBuilder setAlwaysKeptSeverity(Severity alwaysKeptSeverity) {
+    requireNonNull(alwaysKeptSeverity, "alwaysKeptSeverity");
+    this.alwaysKeptSeverity = alwaysKeptSeverity;
+    return this;
+  }
+
+  /**
+   * Sets whether log records without a valid span context, which can't be correlated with a
+   * trace, are kept. If unset, defaults to {@code true}.
+   */
+  public TraceBasedLogRecordProcessorBuilder setKeepLogsWithoutSpan(boolean keepLogsWithoutSpan) {
+    this.keepLogsWithoutSpan = keepLogsWithoutSpan;
+    return this;
+  }
+
+  /**
+   * Sets the ratio of traces whose log records are kept even though their span context isn't
+   * sampled, for example because the spans of this service are not recorded. Traces are selected
+   * by trace ID as by {@code Sampler.traceIdRatioBased(double)}. If unset, defaults to {@code 0}.
+   */
+  public TraceBasedLogRecordProcessorBuilder setTraceIdRatio(double traceIdRatio) {
+    checkArgument(
+        traceIdRatio >= 0.0 && traceIdRatio <= 1.0, "traceIdRatio must be in range [0.0, 1.0]");
+    this.traceIdRatio = traceIdRatio;
+    return this;
+  }
+
+  /** Returns a new {@link TraceBasedLogRecordProcessor} with the configuration of this builder. */
+  public TraceBasedLogRecordProcessor build() {
+    return new TraceBasedLogRecordProcessor(
+        delegate, alwaysKeptSeverity, keepLogsWithoutSpan, traceIdRatio);
+  }
+}
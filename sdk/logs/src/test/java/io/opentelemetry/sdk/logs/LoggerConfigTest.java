@@ -13,6 +13,7 @@ import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.asser
 
 import io.opentelemetry.api.incubator.logs.ExtendedLogger;
 import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.ScopeConfigurator;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
@@ -66,6 +67,53 @@ class LoggerConfigTest {
     assertThat(((ExtendedLogger) loggerC).isEnabled()).isTrue();
   }
 
+  @Test
+  void minimumSeverity() {
+    InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            // Only emit logs of at least WARN severity from loggerB
+            .addLoggerConfiguratorCondition(
+                nameEquals("loggerB"), LoggerConfig.withMinimumSeverity(Severity.WARN))
+            .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+            .build();
+
+    ExtendedLogger loggerA = (ExtendedLogger) loggerProvider.get("loggerA");
+    ExtendedLogger loggerB = (ExtendedLogger) loggerProvider.get("loggerB");
+
+    loggerA.logRecordBuilder().setSeverity(Severity.DEBUG).setBody("debugA").emit();
+    loggerB.logRecordBuilder().setSeverity(Severity.DEBUG).setBody("debugB").emit();
+    loggerB.logRecordBuilder().setSeverity(Severity.WARN).setBody("warnB").emit();
+    loggerB.logRecordBuilder().setSeverity(Severity.ERROR).setBody("errorB").emit();
+    // Logs without a severity are never dropped
+    loggerB.logRecordBuilder().setBody("undefinedB").emit();
+
+    assertThat(
+            exporter.getFinishedLogRecordItems().stream()
+                .map(logRecordData -> logRecordData.getBody().asString())
+                .collect(Collectors.toList()))
+        .containsExactly("debugA", "warnB", "errorB", "undefinedB");
+    assertThat(loggerA.isEnabled(Severity.DEBUG)).isTrue();
+    assertThat(loggerB.isEnabled()).isTrue();
+    assertThat(loggerB.isEnabled(Severity.DEBUG)).isFalse();
+    assertThat(loggerB.isEnabled(Severity.WARN)).isTrue();
+    assertThat(loggerB.isEnabled(Severity.FATAL)).isTrue();
+    assertThat(loggerB.isEnabled(Severity.UNDEFINED_SEVERITY_NUMBER)).isTrue();
+  }
+
+  @Test
+  void minimumSeverity_disabledLogger() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLoggerConfiguratorCondition(nameEquals("loggerA"), LoggerConfig.disabled())
+            .build();
+
+    ExtendedLogger loggerA = (ExtendedLogger) loggerProvider.get("loggerA");
+
+    assertThat(loggerA.isEnabled(Severity.FATAL)).isFalse();
+    assertThat(loggerA.isEnabled(Severity.UNDEFINED_SEVERITY_NUMBER)).isFalse();
+  }
+
   @ParameterizedTest
   @MethodSource("loggerConfiguratorArgs")
   void loggerConfigurator(
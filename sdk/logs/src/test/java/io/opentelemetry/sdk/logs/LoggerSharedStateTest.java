@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.resources.Resource;
 import org.junit.jupiter.api.Test;
 
@@ -24,7 +25,11 @@ class LoggerSharedStateTest {
     when(logRecordProcessor.shutdown()).thenReturn(code);
     LoggerSharedState state =
         new LoggerSharedState(
-            Resource.empty(), LogLimits::getDefault, logRecordProcessor, Clock.getDefault());
+            Resource.empty(),
+            LogLimits::getDefault,
+            logRecordProcessor,
+            Clock.getDefault(),
+            MemoryMode.IMMUTABLE_DATA);
     state.shutdown();
     state.shutdown();
     verify(logRecordProcessor, times(1)).shutdown();
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.internal.PooledLogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SdkPooledLogRecordTest {
+
+  private static final InstrumentationScopeInfo SCOPE = InstrumentationScopeInfo.create("test");
+
+  private final List<ReadWriteLogRecord> emitted = new ArrayList<>();
+  private final List<LogRecordData> copies = new ArrayList<>();
+  private final LoggerSharedState sharedState =
+      new LoggerSharedState(
+          Resource.empty(),
+          () -> LogLimits.builder().setMaxNumberOfAttributes(1).build(),
+          (context, logRecord) -> {
+            emitted.add(logRecord);
+            copies.add(logRecord.toLogRecordData());
+          },
+          Clock.getDefault(),
+          MemoryMode.REUSABLE_DATA);
+
+  @Test
+  void emit_reusesRecords() {
+    LogRecordPool pool = sharedState.getLogRecordPool();
+    assertThat(pool).isNotNull();
+
+    new SdkLogRecordBuilder(sharedState, SCOPE)
+        .setBody("first")
+        .setSeverity(Severity.INFO)
+        .setAttribute(stringKey("key"), "value")
+        .setAttribute(stringKey("dropped"), "value")
+        .emit();
+    // The processor didn't retain the record, so it was returned to the pool
+    assertThat(pool.size()).isEqualTo(1);
+
+    new SdkLogRecordBuilder(sharedState, SCOPE).setBody("second").emit();
+    assertThat(pool.size()).isEqualTo(1);
+
+    assertThat(emitted).hasSize(2);
+    assertThat(emitted.get(1)).isSameAs(emitted.get(0)).isInstanceOf(PooledLogRecord.class);
+    // Copies are not affected by reuse
+    assertThat(copies.get(0))
+        .hasBody("first")
+        .hasSeverity(Severity.INFO)
+        .hasAttributes(Attributes.of(stringKey("key"), "value"))
+        .hasTotalAttributeCount(2)
+        .hasInstrumentationScope(SCOPE);
+    assertThat(copies.get(1))
+        .hasBody("second")
+        .hasSeverity(Severity.UNDEFINED_SEVERITY_NUMBER)
+        .hasAttributes(Attributes.empty())
+        .hasTotalAttributeCount(0);
+  }
+
+  @Test
+  void retain() {
+    LogRecordPool pool = sharedState.getLogRecordPool();
+    assertThat(pool).isNotNull();
+    PooledLogRecord record = pool.acquire(LogLimits.getDefault());
+    record.retain();
+
+    record.release();
+    assertThat(pool.size()).isEqualTo(0);
+    // Released by the last holder
+    record.release();
+    assertThat(pool.size()).isEqualTo(1);
+    assertThat(pool.acquire(LogLimits.getDefault())).isSameAs(record);
+  }
+
+  @Test
+  void immutableData_doesNotPool() {
+    LoggerSharedState immutableState =
+        new LoggerSharedState(
+            Resource.empty(),
+            LogLimits::getDefault,
+            (context, logRecord) -> emitted.add(logRecord),
+            Clock.getDefault(),
+            MemoryMode.IMMUTABLE_DATA);
+    assertThat(immutableState.getLogRecordPool()).isNull();
+
+    new SdkLogRecordBuilder(immutableState, SCOPE).setBody("first").emit();
+    new SdkLogRecordBuilder(immutableState, SCOPE).setBody("second").emit();
+    assertThat(emitted).hasSize(2);
+    assertThat(emitted.get(0))
+        .isNotSameAs(emitted.get(1))
+        .isInstanceOf(SdkReadWriteLogRecord.class);
+  }
+}
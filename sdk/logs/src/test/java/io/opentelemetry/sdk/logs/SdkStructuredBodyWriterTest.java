@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.incubator.logs.AnyValue;
+import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
+import io.opentelemetry.api.incubator.logs.KeyAnyValue;
+import io.opentelemetry.api.incubator.logs.StructuredBodyWriter;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.logs.internal.SerializedAnyValueBody;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SdkStructuredBodyWriterTest {
+
+  private final InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+  private final SdkLoggerProvider loggerProvider =
+      SdkLoggerProvider.builder()
+          .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+          .build();
+
+  @AfterEach
+  void tearDown() {
+    loggerProvider.close();
+  }
+
+  @Test
+  void structuredBody() {
+    String longString = String.join("", Collections.nCopies(100, "0123456789"));
+    logRecordBuilder()
+        .setStructuredBody()
+        .put("str_key", "value")
+        .put("bool_key", true)
+        .put("long_key", -1L)
+        .put("double_key", 1.1)
+        .put("bytes_key", "bytes".getBytes(StandardCharsets.UTF_8))
+        .put("unicode_key", "\u00e9t\u00e9 \u2192 \uD83D\uDE00")
+        .put("long_str_key", longString)
+        .startArray("arr_key")
+        .add("entry1")
+        .add(2L)
+        .add(false)
+        .add(3.3)
+        .add(new byte[0])
+        .startKeyValueList()
+        .put("child_key", "child_value")
+        .end()
+        .startArray()
+        .add("inner")
+        .end()
+        .end()
+        .startKeyValueList("key_value_list_key")
+        .put("child_str_key1", "child_value1")
+        .startKeyValueList("empty_key")
+        .end()
+        .end()
+        .endBody()
+        .emit();
+
+    AnyValue<?> expected =
+        AnyValue.of(
+            KeyAnyValue.of("str_key", AnyValue.of("value")),
+            KeyAnyValue.of("bool_key", AnyValue.of(true)),
+            KeyAnyValue.of("long_key", AnyValue.of(-1L)),
+            KeyAnyValue.of("double_key", AnyValue.of(1.1)),
+            KeyAnyValue.of("bytes_key", AnyValue.of("bytes".getBytes(StandardCharsets.UTF_8))),
+            KeyAnyValue.of("unicode_key", AnyValue.of("\u00e9t\u00e9 \u2192 \uD83D\uDE00")),
+            KeyAnyValue.of("long_str_key", AnyValue.of(longString)),
+            KeyAnyValue.of(
+                "arr_key",
+                AnyValue.of(
+                    AnyValue.of("entry1"),
+                    AnyValue.of(2L),
+                    AnyValue.of(false),
+                    AnyValue.of(3.3),
+                    AnyValue.of(new byte[0]),
+                    AnyValue.of(KeyAnyValue.of("child_key", AnyValue.of("child_value"))),
+                    AnyValue.of(AnyValue.of("inner")))),
+            KeyAnyValue.of(
+                "key_value_list_key",
+                AnyValue.of(
+                    KeyAnyValue.of("child_str_key1", AnyValue.of("child_value1")),
+                    KeyAnyValue.of("empty_key", AnyValue.of(new KeyAnyValue[0])))));
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(
+            logRecordData -> {
+              assertThat(logRecordData.getBody()).isInstanceOf(SerializedAnyValueBody.class);
+              assertThat(logRecordData.getBody().asString()).isEqualTo(expected.asString());
+              assertThat(((SerializedAnyValueBody) logRecordData.getBody()).asAnyValue())
+                  .isEqualTo(expected);
+            });
+  }
+
+  @Test
+  void mismatchedCallsIgnored() {
+    logRecordBuilder()
+        .setStructuredBody()
+        .put("key", "value")
+        .add("ignored")
+        .startArray()
+        .add("ignored")
+        .end()
+        .put(null, "ignored")
+        .put("ignored", (String) null)
+        .startArray("arr_key")
+        .put("ignored", 1L)
+        .startKeyValueList("ignored")
+        .put("ignored", 1L)
+        .end()
+        .add(1L)
+        .end()
+        .end()
+        .end()
+        .put("last_key", true)
+        .endBody()
+        .emit();
+
+    assertThat(body(0))
+        .isEqualTo(
+            AnyValue.of(
+                KeyAnyValue.of("key", AnyValue.of("value")),
+                KeyAnyValue.of("arr_key", AnyValue.of(AnyValue.of(1L))),
+                KeyAnyValue.of("last_key", AnyValue.of(true))));
+  }
+
+  @Test
+  void openContainersEndedOnEmit() {
+    StructuredBodyWriter writer =
+        logRecordBuilder().setStructuredBody().startKeyValueList("outer").startArray("inner");
+    writer.add("value");
+    writer.endBody().emit();
+    writer.put("ignored", "value");
+
+    logRecordBuilder().setStructuredBody().startArray("pending").add(1L).endBody();
+    ExtendedLogRecordBuilder builder = logRecordBuilder();
+    builder.setStructuredBody().put("key", "value");
+    builder.emit();
+
+    AnyValue<?> inner = AnyValue.of(AnyValue.of("value"));
+    assertThat(body(0))
+        .isEqualTo(
+            AnyValue.of(KeyAnyValue.of("outer", AnyValue.of(KeyAnyValue.of("inner", inner)))));
+    assertThat(body(1)).isEqualTo(AnyValue.of(KeyAnyValue.of("key", AnyValue.of("value"))));
+  }
+
+  @Test
+  void setBodyReplacesStructuredBody() {
+    ExtendedLogRecordBuilder builder = logRecordBuilder();
+    builder.setStructuredBody().put("key", "value");
+    builder.setBody("plain").emit();
+
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(logRecordData -> assertThat(logRecordData).hasBody("plain"));
+  }
+
+  private ExtendedLogRecordBuilder logRecordBuilder() {
+    return (ExtendedLogRecordBuilder) loggerProvider.get("logger").logRecordBuilder();
+  }
+
+  private AnyValue<?> body(int index) {
+    LogRecordData logRecordData = exporter.getFinishedLogRecordItems().get(index);
+    return ((SerializedAnyValueBody) logRecordData.getBody()).asAnyValue();
+  }
+}
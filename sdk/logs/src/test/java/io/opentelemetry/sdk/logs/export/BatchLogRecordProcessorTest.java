@@ -5,6 +5,8 @@
 
 package io.opentelemetry.sdk.logs.export;
 
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -16,18 +18,25 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.internal.PooledLogRecord;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -78,6 +87,8 @@ class BatchLogRecordProcessorTest {
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(
                 BatchLogRecordProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.getShardCount())
+        .isEqualTo(BatchLogRecordProcessorBuilder.DEFAULT_SHARD_COUNT);
   }
 
   @Test
@@ -111,6 +122,10 @@ class BatchLogRecordProcessorTest {
             () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setShardCount(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("shardCount must be positive.");
   }
 
   @Test
@@ -435,9 +450,226 @@ class BatchLogRecordProcessorTest {
                 + ", scheduleDelayNanos=1000000000"
                 + ", maxExportBatchSize=512"
                 + ", exporterTimeoutNanos=30000000000"
+                + ", shardCount=1"
+                + ", threadAffineShardSelection=false"
                 + "}");
   }
 
+  @Test
+  @Timeout(10)
+  void sharded_exportsAllLogs() throws InterruptedException {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    ConcurrencyCheckingLogRecordExporter exporter = new ConcurrencyCheckingLogRecordExporter();
+    BatchLogRecordProcessor processor =
+        BatchLogRecordProcessor.builder(exporter)
+            .setShardCount(4)
+            .setMaxExportBatchSize(10)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .setMeterProvider(meterProvider)
+            .build();
+    assertThat(processor.getShardCount()).isEqualTo(4);
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder().addLogRecordProcessor(processor).build();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 100; j++) {
+                  emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(exporter.exported).hasValue(800);
+    assertThat(exporter.concurrentExports).isFalse();
+    // Shards report the same metrics as a single queue
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("processedLogs")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasValue(800)
+                                        .hasAttributes(
+                                            Attributes.of(
+                                                stringKey("processorType"),
+                                                "BatchLogRecordProcessor",
+                                                booleanKey("dropped"),
+                                                false)))))
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("queueSize")
+                    .hasLongGaugeSatisfying(
+                        gauge -> gauge.hasPointsSatisfying(point -> point.hasValue(0))));
+
+    sdkLoggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+    assertThat(exporter.shutdownCount).hasValue(1);
+  }
+
+  @Test
+  @Timeout(10)
+  void sharded_threadAffine() {
+    WaitingLogRecordExporter waitingLogRecordExporter =
+        new WaitingLogRecordExporter(10, CompletableResultCode.ofSuccess());
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                BatchLogRecordProcessor.builder(waitingLogRecordExporter)
+                    .setShardCount(4)
+                    .setThreadAffineShardSelection(true)
+                    .setMaxExportBatchSize(10)
+                    .setScheduleDelay(10, TimeUnit.SECONDS)
+                    .build())
+            .build();
+
+    for (int i = 0; i < 10; i++) {
+      emitLog(sdkLoggerProvider, "log_" + i);
+    }
+
+    // All logs of a thread are added to the same shard, so they fill a single batch in order
+    List<LogRecordData> exported = waitingLogRecordExporter.waitForExport();
+    assertThat(exported).hasSize(10);
+    for (int i = 0; i < 10; i++) {
+      assertThat(exported.get(i)).hasBody("log_" + i);
+    }
+    sdkLoggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @Timeout(10)
+  void reusableData_exportsAndReleasesPooledRecords() {
+    RecordingLogRecordExporter exporter = new RecordingLogRecordExporter(MemoryMode.REUSABLE_DATA);
+    SdkLoggerProvider sdkLoggerProvider = emitTwoPooledLogs(exporter);
+
+    assertThat(exporter.exportedBodies).containsExactly(LOG_MESSAGE_1, LOG_MESSAGE_2);
+    // Records are exported without copying, and reused once their export completed
+    assertThat(exporter.exportedRecords).hasSize(2);
+    assertThat(exporter.exportedRecords.get(0))
+        .isInstanceOf(PooledLogRecord.class)
+        .isSameAs(exporter.exportedRecords.get(1));
+    sdkLoggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @Timeout(10)
+  void reusableData_copiedForImmutableDataExporter() {
+    RecordingLogRecordExporter exporter = new RecordingLogRecordExporter(MemoryMode.IMMUTABLE_DATA);
+    SdkLoggerProvider sdkLoggerProvider = emitTwoPooledLogs(exporter);
+
+    assertThat(exporter.exportedBodies).containsExactly(LOG_MESSAGE_1, LOG_MESSAGE_2);
+    // The exporter may keep the records, so it gets copies which aren't reused
+    assertThat(exporter.exportedRecords)
+        .hasSize(2)
+        .allSatisfy(log -> assertThat(log).isNotInstanceOf(PooledLogRecord.class));
+    assertThat(exporter.exportedRecords.get(0).getBody().asString()).isEqualTo(LOG_MESSAGE_1);
+    sdkLoggerProvider.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  private SdkLoggerProvider emitTwoPooledLogs(RecordingLogRecordExporter exporter) {
+    BatchLogRecordProcessor processor =
+        BatchLogRecordProcessor.builder(exporter)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .build();
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder()
+            .setMemoryMode(MemoryMode.REUSABLE_DATA)
+            .addLogRecordProcessor(processor)
+            .build();
+
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_2);
+    // The flush may complete with the previous one, before the second record is exported
+    processor.forceFlush();
+    await().untilAsserted(() -> assertThat(exporter.exportedBodies).hasSize(2));
+    return sdkLoggerProvider;
+  }
+
+  private static final class RecordingLogRecordExporter implements LogRecordExporter {
+
+    private final MemoryMode memoryMode;
+    private final List<LogRecordData> exportedRecords = new CopyOnWriteArrayList<>();
+    private final List<String> exportedBodies = new CopyOnWriteArrayList<>();
+
+    private RecordingLogRecordExporter(MemoryMode memoryMode) {
+      this.memoryMode = memoryMode;
+    }
+
+    @Override
+    public MemoryMode getMemoryMode() {
+      return memoryMode;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+      for (LogRecordData log : logs) {
+        exportedRecords.add(log);
+        exportedBodies.add(log.getBody().asString());
+      }
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  private static final class ConcurrencyCheckingLogRecordExporter implements LogRecordExporter {
+
+    private final AtomicInteger exported = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean concurrentExports = new AtomicBoolean();
+    private final AtomicInteger shutdownCount = new AtomicInteger();
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+      if (inFlight.incrementAndGet() > 1) {
+        concurrentExports.set(true);
+      }
+      try {
+        // Widen the window for concurrent exports to be detected
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exported.addAndGet(logs.size());
+      inFlight.decrementAndGet();
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      shutdownCount.incrementAndGet();
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
   private static final class BlockingLogRecordExporter implements LogRecordExporter {
 
     final Object monitor = new Object();
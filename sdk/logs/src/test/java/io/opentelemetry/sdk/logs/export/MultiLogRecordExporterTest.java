@@ -13,6 +13,7 @@ import static org.mockito.Mockito.when;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.testing.logs.TestLogRecordData;
 import java.util.Arrays;
@@ -58,6 +59,19 @@ class MultiLogRecordExporterTest {
     verify(logRecordExporter1).shutdown();
   }
 
+  @Test
+  void memoryMode() {
+    LogRecordExporter multiLogRecordExporter =
+        LogRecordExporter.composite(Arrays.asList(logRecordExporter1, logRecordExporter2));
+
+    when(logRecordExporter1.getMemoryMode()).thenReturn(MemoryMode.REUSABLE_DATA);
+    when(logRecordExporter2.getMemoryMode()).thenReturn(MemoryMode.IMMUTABLE_DATA);
+    assertThat(multiLogRecordExporter.getMemoryMode()).isEqualTo(MemoryMode.IMMUTABLE_DATA);
+
+    when(logRecordExporter2.getMemoryMode()).thenReturn(MemoryMode.REUSABLE_DATA);
+    assertThat(multiLogRecordExporter.getMemoryMode()).isEqualTo(MemoryMode.REUSABLE_DATA);
+  }
+
   @Test
   void twoLogRecordExporter() {
     LogRecordExporter multiLogRecordExporter =
@@ -0,0 +1,308 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import static io.opentelemetry.sdk.logs.internal.DeduplicatingLogRecordProcessor.SUPPRESSED_COUNT;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.incubator.logs.ExtendedLogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DeduplicatingLogRecordProcessorTest {
+
+  private static final AttributeKey<String> KEY = AttributeKey.stringKey("key");
+
+  private final TestClock clock = TestClock.create();
+  private final InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+  private SdkLoggerProvider loggerProvider;
+
+  @BeforeEach
+  void setUp() {
+    loggerProvider =
+        SdkLoggerProvider.builder()
+            .setClock(clock)
+            .addLogRecordProcessor(
+                DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                    .setClock(clock)
+                    .setWindow(Duration.ofSeconds(1))
+                    .setMaxLogsPerWindow(2)
+                    .build())
+            .build();
+  }
+
+  @Test
+  void invalidConfig() {
+    DeduplicatingLogRecordProcessorBuilder builder =
+        DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter));
+    assertThatThrownBy(() -> DeduplicatingLogRecordProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(() -> builder.setWindow(0, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("window must be positive");
+    assertThatThrownBy(() -> builder.setWindow(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("window");
+    assertThatThrownBy(() -> builder.setMaxLogsPerWindow(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxLogsPerWindow must be non-negative.");
+    assertThatThrownBy(() -> builder.setMaxFingerprints(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxFingerprints must be positive and at most 2^30.");
+    assertThatThrownBy(() -> builder.setMaxLogsPerSecond(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxLogsPerSecond must be non-negative.");
+    assertThatThrownBy(() -> builder.setClock(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("clock");
+  }
+
+  @Test
+  void suppressesDuplicatesAndSummarizes() {
+    Logger logger = loggerProvider.get("logger");
+
+    for (int i = 0; i < 5; i++) {
+      logger
+          .logRecordBuilder()
+          .setSeverity(Severity.ERROR)
+          .setBody("connection refused")
+          .setAttribute(KEY, "value" + i)
+          .emit();
+    }
+    // Different body and severity are different fingerprints
+    logger.logRecordBuilder().setSeverity(Severity.ERROR).setBody("timeout").emit();
+    logger.logRecordBuilder().setSeverity(Severity.WARN).setBody("connection refused").emit();
+
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(4);
+    assertThat(logs.get(0))
+        .hasBody("connection refused")
+        .hasAttributesSatisfyingExactly(equalTo(KEY, "value0"));
+    assertThat(logs.get(1))
+        .hasBody("connection refused")
+        .hasAttributesSatisfyingExactly(equalTo(KEY, "value1"));
+    assertThat(logs.get(2)).hasBody("timeout");
+    assertThat(logs.get(3)).hasBody("connection refused").hasSeverity(Severity.WARN);
+    exporter.reset();
+
+    // The next log after the window ends passes the summary of the suppressed logs
+    clock.advance(Duration.ofSeconds(2));
+    logger
+        .logRecordBuilder()
+        .setSeverity(Severity.ERROR)
+        .setBody("connection refused")
+        .setAttribute(KEY, "value5")
+        .emit();
+
+    logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(2);
+    assertThat(logs.get(0))
+        .hasBody("connection refused")
+        .hasSeverity(Severity.ERROR)
+        .hasAttributesSatisfyingExactly(equalTo(KEY, "value2"), equalTo(SUPPRESSED_COUNT, 3L))
+        .hasTotalAttributeCount(2);
+    assertThat(logs.get(1))
+        .hasBody("connection refused")
+        .hasAttributesSatisfyingExactly(equalTo(KEY, "value5"));
+  }
+
+  @Test
+  void forceFlush_summarizes() {
+    Logger logger = loggerProvider.get("logger");
+
+    for (int i = 0; i < 3; i++) {
+      logger.logRecordBuilder().setBody("message").emit();
+    }
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(2);
+
+    loggerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(3);
+    assertThat(logs.get(2))
+        .hasBody("message")
+        .hasAttributesSatisfyingExactly(equalTo(SUPPRESSED_COUNT, 1L));
+
+    // Nothing is left to summarize
+    loggerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(3);
+  }
+
+  @Test
+  void endedWindow_summarizedByOtherLogs() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .setClock(clock)
+            .addLogRecordProcessor(
+                DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                    .setClock(clock)
+                    .setWindow(Duration.ofSeconds(1))
+                    .setMaxLogsPerWindow(1)
+                    .setMaxFingerprints(4)
+                    .build())
+            .build();
+    Logger logger = loggerProvider.get("logger");
+
+    logger.logRecordBuilder().setBody("a").emit();
+    logger.logRecordBuilder().setBody("a").emit();
+    clock.advance(Duration.ofSeconds(2));
+    // Log records of another fingerprint check every slot of the table within four log records
+    for (int i = 0; i < 4; i++) {
+      logger.logRecordBuilder().setBody("b").emit();
+    }
+
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(3);
+    assertThat(logs.get(0)).hasBody("a");
+    assertThat(logs.get(1)).hasBody("b");
+    assertThat(logs.get(2))
+        .hasBody("a")
+        .hasAttributesSatisfyingExactly(equalTo(SUPPRESSED_COUNT, 1L));
+  }
+
+  @Test
+  void structuredBodies() {
+    Logger logger = loggerProvider.get("logger");
+
+    for (int i = 0; i < 3; i++) {
+      ((ExtendedLogRecordBuilder) logger.logRecordBuilder())
+          .setStructuredBody()
+          .put("message", "connection refused")
+          .endBody()
+          .emit();
+    }
+    ((ExtendedLogRecordBuilder) logger.logRecordBuilder())
+        .setStructuredBody()
+        .put("message", "timeout")
+        .endBody()
+        .emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(3);
+
+    loggerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(4);
+    assertThat(logs.get(3).getBody()).isInstanceOf(SerializedAnyValueBody.class);
+    assertThat(logs.get(3)).hasAttributesSatisfyingExactly(equalTo(SUPPRESSED_COUNT, 1L));
+  }
+
+  @Test
+  void differentScopes() {
+    loggerProvider.get("loggerA").logRecordBuilder().setBody("message").emit();
+    loggerProvider.get("loggerA").logRecordBuilder().setBody("message").emit();
+    loggerProvider.get("loggerA").logRecordBuilder().setBody("message").emit();
+    loggerProvider.get("loggerB").logRecordBuilder().setBody("message").emit();
+
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(3);
+  }
+
+  @Test
+  void evictedFingerprint_summarizes() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                    .setMaxLogsPerWindow(1)
+                    .setMaxFingerprints(1)
+                    .build())
+            .build();
+    Logger logger = loggerProvider.get("logger");
+
+    logger.logRecordBuilder().setBody("a").emit();
+    logger.logRecordBuilder().setBody("a").emit();
+    logger.logRecordBuilder().setBody("b").emit();
+
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(3);
+    assertThat(logs.get(0)).hasBody("a");
+    assertThat(logs.get(1))
+        .hasBody("a")
+        .hasAttributesSatisfyingExactly(equalTo(SUPPRESSED_COUNT, 1L));
+    assertThat(logs.get(2)).hasBody("b");
+  }
+
+  @Test
+  void maxLogsPerSecond() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .setClock(clock)
+            .addLogRecordProcessor(
+                DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                    .setClock(clock)
+                    .setMaxLogsPerSecond(2)
+                    .build())
+            .build();
+    Logger logger = loggerProvider.get("logger");
+
+    logger.logRecordBuilder().setBody("a").emit();
+    logger.logRecordBuilder().setBody("b").emit();
+    logger.logRecordBuilder().setBody("c").emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(2);
+
+    clock.advance(Duration.ofSeconds(1));
+    logger.logRecordBuilder().setBody("c").emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(3);
+
+    loggerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    List<LogRecordData> logs = exporter.getFinishedLogRecordItems();
+    assertThat(logs).hasSize(4);
+    assertThat(logs.get(3))
+        .hasBody("c")
+        .hasAttributesSatisfyingExactly(equalTo(SUPPRESSED_COUNT, 1L));
+  }
+
+  @Test
+  void maxLogsPerSecond_fractional() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .setClock(clock)
+            .addLogRecordProcessor(
+                DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                    .setClock(clock)
+                    .setMaxLogsPerSecond(0.5)
+                    .build())
+            .build();
+    Logger logger = loggerProvider.get("logger");
+
+    logger.logRecordBuilder().setBody("a").emit();
+    logger.logRecordBuilder().setBody("b").emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(1);
+
+    clock.advance(Duration.ofSeconds(1));
+    logger.logRecordBuilder().setBody("c").emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(1);
+
+    clock.advance(Duration.ofSeconds(1));
+    logger.logRecordBuilder().setBody("d").emit();
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(2);
+  }
+
+  @Test
+  void stringRepresentation() {
+    assertThat(
+            DeduplicatingLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter))
+                .setMaxFingerprints(1000)
+                .build()
+                .toString())
+        .startsWith("DeduplicatingLogRecordProcessor{delegate=SimpleLogRecordProcessor")
+        .endsWith(
+            "windowNanos=10000000000, maxLogsPerWindow=10, maxFingerprints=1024, "
+                + "rateLimited=false}");
+  }
+}
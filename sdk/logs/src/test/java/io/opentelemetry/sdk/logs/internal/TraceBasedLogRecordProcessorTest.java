@@ -0,0 +1,146 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.internal;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.Body;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class TraceBasedLogRecordProcessorTest {
+
+  private static final String SPAN_ID = "0000000000000001";
+  // The lower 64 bits of the trace IDs are compared with the ratio
+  private static final String LOW_TRACE_ID = "ffffffffffffffff0000000000000001";
+  private static final String HIGH_TRACE_ID = "00000000000000007ffffffffffffff0";
+
+  private final InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+
+  @Test
+  void invalidConfig() {
+    TraceBasedLogRecordProcessorBuilder builder =
+        TraceBasedLogRecordProcessor.builder(SimpleLogRecordProcessor.create(exporter));
+    assertThatThrownBy(() -> TraceBasedLogRecordProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(() -> builder.setAlwaysKeptSeverity(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("alwaysKeptSeverity");
+    assertThatThrownBy(() -> builder.setTraceIdRatio(-0.1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("traceIdRatio must be in range [0.0, 1.0]");
+    assertThatThrownBy(() -> builder.setTraceIdRatio(1.1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("traceIdRatio must be in range [0.0, 1.0]");
+  }
+
+  @Test
+  void samplesBySpanContext() {
+    Logger logger = logger(TraceBasedLogRecordProcessor.builder(processor()));
+
+    emit(logger, "sampled", spanContext(HIGH_TRACE_ID, TraceFlags.getSampled()), Severity.INFO);
+    emit(logger, "not sampled", spanContext(LOW_TRACE_ID, TraceFlags.getDefault()), Severity.INFO);
+    emit(logger, "no span", SpanContext.getInvalid(), Severity.INFO);
+
+    assertThat(bodies()).containsExactly("sampled", "no span");
+  }
+
+  @Test
+  void dropsLogsWithoutSpan() {
+    Logger logger =
+        logger(TraceBasedLogRecordProcessor.builder(processor()).setKeepLogsWithoutSpan(false));
+
+    emit(logger, "sampled", spanContext(HIGH_TRACE_ID, TraceFlags.getSampled()), Severity.INFO);
+    emit(logger, "no span", SpanContext.getInvalid(), Severity.INFO);
+
+    assertThat(bodies()).containsExactly("sampled");
+  }
+
+  @Test
+  void keepsAlwaysKeptSeverity() {
+    Logger logger =
+        logger(
+            TraceBasedLogRecordProcessor.builder(processor())
+                .setKeepLogsWithoutSpan(false)
+                .setAlwaysKeptSeverity(Severity.WARN));
+
+    SpanContext notSampled = spanContext(LOW_TRACE_ID, TraceFlags.getDefault());
+    emit(logger, "info", notSampled, Severity.INFO);
+    emit(logger, "warn", notSampled, Severity.WARN);
+    emit(logger, "error", SpanContext.getInvalid(), Severity.ERROR);
+    emit(logger, "undefined", notSampled, Severity.UNDEFINED_SEVERITY_NUMBER);
+
+    assertThat(bodies()).containsExactly("warn", "error");
+  }
+
+  @Test
+  void samplesByTraceIdRatio() {
+    Logger logger = logger(TraceBasedLogRecordProcessor.builder(processor()).setTraceIdRatio(0.5));
+
+    emit(logger, "low", spanContext(LOW_TRACE_ID, TraceFlags.getDefault()), Severity.INFO);
+    emit(logger, "high", spanContext(HIGH_TRACE_ID, TraceFlags.getDefault()), Severity.INFO);
+
+    assertThat(bodies()).containsExactly("low");
+  }
+
+  @Test
+  void traceIdRatioLimits() {
+    Logger all = logger(TraceBasedLogRecordProcessor.builder(processor()).setTraceIdRatio(1.0));
+    emit(all, "high", spanContext(HIGH_TRACE_ID, TraceFlags.getDefault()), Severity.INFO);
+    assertThat(bodies()).containsExactly("high");
+
+    exporter.reset();
+    Logger none = logger(TraceBasedLogRecordProcessor.builder(processor()).setTraceIdRatio(0.0));
+    emit(none, "low", spanContext(LOW_TRACE_ID, TraceFlags.getDefault()), Severity.INFO);
+    assertThat(bodies()).isEmpty();
+  }
+
+  private LogRecordProcessor processor() {
+    return SimpleLogRecordProcessor.create(exporter);
+  }
+
+  private static Logger logger(TraceBasedLogRecordProcessorBuilder builder) {
+    return SdkLoggerProvider.builder()
+        .addLogRecordProcessor(builder.build())
+        .build()
+        .get("logger");
+  }
+
+  private static SpanContext spanContext(String traceId, TraceFlags traceFlags) {
+    return SpanContext.create(traceId, SPAN_ID, traceFlags, TraceState.getDefault());
+  }
+
+  private static void emit(Logger logger, String body, SpanContext spanContext, Severity severity) {
+    logger
+        .logRecordBuilder()
+        .setContext(Span.wrap(spanContext).storeInContext(Context.root()))
+        .setSeverity(severity)
+        .setBody(body)
+        .emit();
+  }
+
+  private List<String> bodies() {
+    return exporter.getFinishedLogRecordItems().stream()
+        .map(LogRecordData::getBody)
+        .map(Body::asString)
+        .collect(Collectors.toList());
+  }
+}
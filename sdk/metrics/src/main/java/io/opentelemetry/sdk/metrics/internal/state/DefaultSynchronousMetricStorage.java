@@ -13,6 +13,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.ExemplarData;
@@ -99,6 +100,18 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
 
   @Override
   public void recordLong(long value, Attributes attributes, Context context) {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        doRecordLong(value, attributes, context);
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.METRIC_RECORD_LONG);
+      }
+      return;
+    }
+    doRecordLong(value, attributes, context);
+  }
+
+  private void doRecordLong(long value, Attributes attributes, Context context) {
     AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
     try {
       AggregatorHandle<T, U> handle =
@@ -111,6 +124,18 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
 
   @Override
   public void recordDouble(double value, Attributes attributes, Context context) {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        doRecordDouble(value, attributes, context);
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.METRIC_RECORD_DOUBLE);
+      }
+      return;
+    }
+    doRecordDouble(value, attributes, context);
+  }
+
+  private void doRecordDouble(double value, Attributes attributes, Context context) {
     if (Double.isNaN(value)) {
       logger.log(
           Level.FINE,
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -48,6 +49,18 @@ final class MultiSpanProcessor implements SpanProcessor {
 
   @Override
   public void onEnd(ReadableSpan readableSpan) {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        doOnEnd(readableSpan);
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.SPAN_PROCESSOR_ON_END);
+      }
+      return;
+    }
+    doOnEnd(readableSpan);
+  }
+
+  private void doOnEnd(ReadableSpan readableSpan) {
     for (SpanProcessor spanProcessor : spanProcessorsEnd) {
       spanProcessor.onEnd(readableSpan);
     }
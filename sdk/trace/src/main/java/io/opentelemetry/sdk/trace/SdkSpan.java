@@ -17,6 +17,7 @@ import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.AttributeUtil;
 import io.opentelemetry.sdk.internal.AttributesMap;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import io.opentelemetry.sdk.internal.InstrumentationScopeUtil;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.data.EventData;
@@ -492,6 +493,18 @@ final class SdkSpan implements ReadWriteSpan {
   }
 
   private void endInternal(long endEpochNanos) {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        doEnd(endEpochNanos);
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.SPAN_END);
+      }
+      return;
+    }
+    doEnd(endEpochNanos);
+  }
+
+  private void doEnd(long endEpochNanos) {
     synchronized (lock) {
       if (hasEnded) {
         logger.log(Level.FINE, "Calling end() on an ended Span.");
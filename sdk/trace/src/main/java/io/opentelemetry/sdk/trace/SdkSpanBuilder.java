@@ -30,6 +30,7 @@ import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.AttributeUtil;
 import io.opentelemetry.sdk.internal.AttributesMap;
+import io.opentelemetry.sdk.internal.HotPathProfiler;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
@@ -180,8 +181,19 @@ final class SdkSpanBuilder implements ExtendedSpanBuilder {
   }
 
   @Override
-  @SuppressWarnings({"unchecked", "rawtypes"})
   public Span startSpan() {
+    if (HotPathProfiler.isEnabled() && HotPathProfiler.start()) {
+      try {
+        return doStartSpan();
+      } finally {
+        HotPathProfiler.end(HotPathProfiler.Operation.SPAN_START);
+      }
+    }
+    return doStartSpan();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Span doStartSpan() {
     Context parentContext = parent == null ? Context.current() : parent;
     Span parentSpan = Span.fromContext(parentContext);
     SpanContext parentSpanContext = parentSpan.getSpanContext();
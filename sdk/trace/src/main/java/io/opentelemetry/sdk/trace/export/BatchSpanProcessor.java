@@ -7,12 +7,15 @@ package io.opentelemetry.sdk.trace.export;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.QueueTimeTracker;
 import io.opentelemetry.sdk.internal.ThrowableUtil;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
@@ -20,6 +23,7 @@ import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.internal.JcTools;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
@@ -52,6 +56,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
   private static final AttributeKey<Boolean> SPAN_PROCESSOR_DROPPED_LABEL =
       AttributeKey.booleanKey("dropped");
   private static final String SPAN_PROCESSOR_TYPE_VALUE = BatchSpanProcessor.class.getSimpleName();
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final List<Double> QUEUE_TIME_BUCKETS =
+      Collections.unmodifiableList(
+          Arrays.asList(0.001, 0.005, 0.01, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0, 30.0, 60.0));
 
   private final boolean exportUnsampledSpans;
   private final Worker worker;
@@ -162,6 +170,8 @@ public final class BatchSpanProcessor implements SpanProcessor {
   private static final class Worker implements Runnable {
 
     private final LongCounter processedSpansCounter;
+    private final DoubleHistogram queueTimeHistogram;
+    private final Attributes processorAttrs;
     private final Attributes droppedAttrs;
     private final Attributes exportedAttrs;
 
@@ -173,6 +183,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private long nextExportTime;
 
     private final Queue<ReadableSpan> queue;
+    private final QueueTimeTracker queueTimeTracker = new QueueTimeTracker(Clock.getDefault());
     // When waiting on the spans queue, exporter thread sets this atomic to the number of more
     // spans it needs before doing an export. Writer threads would then wait for the queue to reach
     // spansNeeded size before notifying the exporter thread about new entries.
@@ -199,16 +210,22 @@ public final class BatchSpanProcessor implements SpanProcessor {
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
       Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.trace").build();
+      processorAttrs = Attributes.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE);
       meter
           .gaugeBuilder("queueSize")
           .ofLongs()
           .setDescription("The number of items queued")
           .setUnit("1")
-          .buildWithCallback(
-              result ->
-                  result.record(
-                      queue.size(),
-                      Attributes.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)));
+          .buildWithCallback(result -> result.record(queue.size(), processorAttrs));
+      queueTimeHistogram =
+          meter
+              .histogramBuilder("queueTime")
+              .setUnit("s")
+              .setDescription(
+                  "The time the oldest span of each exported batch waited between being queued "
+                      + "and being exported by the BatchSpanProcessor")
+              .setExplicitBucketBoundariesAdvice(QUEUE_TIME_BUCKETS)
+              .build();
       processedSpansCounter =
           meter
               .counterBuilder("processedSpans")
@@ -234,6 +251,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
     }
 
     private void addSpan(ReadableSpan span) {
+      queueTimeTracker.beforeAdd();
       if (!queue.offer(span)) {
         processedSpansCounter.add(1, droppedAttrs);
       } else {
@@ -251,8 +269,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
+        queueTimeTracker.startDrain();
         JcTools.drain(
             queue, maxExportBatchSize - batch.size(), span -> batch.add(span.toSpanData()));
+        queueTimeTracker.endDrain(batch.isEmpty(), queue.isEmpty());
 
         if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
           exportCurrentBatch();
@@ -276,15 +296,19 @@ public final class BatchSpanProcessor implements SpanProcessor {
 
     private void flush() {
       int spansToFlush = queue.size();
+      queueTimeTracker.startDrain();
       while (spansToFlush > 0) {
         ReadableSpan span = queue.poll();
         assert span != null;
         batch.add(span.toSpanData());
         spansToFlush--;
         if (batch.size() >= maxExportBatchSize) {
+          queueTimeTracker.endDrain(/* batchEmpty= */ false, queue.isEmpty());
           exportCurrentBatch();
+          queueTimeTracker.startDrain();
         }
       }
+      queueTimeTracker.endDrain(batch.isEmpty(), queue.isEmpty());
       exportCurrentBatch();
       CompletableResultCode flushResult = flushRequested.get();
       if (flushResult != null) {
@@ -336,6 +360,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
         return;
       }
 
+      recordQueueTime();
       try {
         CompletableResultCode result = spanExporter.export(Collections.unmodifiableList(batch));
         result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
@@ -351,5 +376,11 @@ public final class BatchSpanProcessor implements SpanProcessor {
         batch.clear();
       }
     }
+
+    private void recordQueueTime() {
+      // Recording with the root context skips exemplar sampling
+      queueTimeHistogram.record(
+          queueTimeTracker.exportBatch() / NANOS_PER_SECOND, processorAttrs, Context.root());
+    }
   }
 }